@@ -0,0 +1,84 @@
+package com.logiflow.analytics.controller;
+
+import com.logiflow.analytics.dto.SalesBucketDTO;
+import com.logiflow.analytics.dto.SalesMetric;
+import com.logiflow.analytics.dto.SkuSalesDTO;
+import com.logiflow.analytics.dto.TrendingSkuDTO;
+import com.logiflow.analytics.model.RollupGranularity;
+import com.logiflow.analytics.model.TrendingWindow;
+import com.logiflow.analytics.service.SalesRollupService;
+import com.logiflow.analytics.service.TrendingSkuTracker;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+@RestController
+@RequestMapping("/api/v1/analytics/sales")
+@RequiredArgsConstructor
+@PreAuthorize("hasAnyRole('SUPER_ADMIN', 'ADMIN', 'WAREHOUSE_MANAGER')")
+@Tag(name = "Sales Analytics", description = "Pre-aggregated sales figures for dashboards")
+public class SalesAnalyticsController {
+
+    private static final int DEFAULT_RANGE_DAYS = 7;
+
+    private final SalesRollupService salesRollupService;
+    private final TrendingSkuTracker trendingSkuTracker;
+
+    @GetMapping("/top")
+    @Operation(summary = "Get top-selling SKUs", description = "Ranks SKUs by units or revenue over a time range (defaults to the last 7 days)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved top SKUs"),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public List<SkuSalesDTO> getTopSkus(
+            @Parameter(description = "Bucket size to aggregate") @RequestParam(defaultValue = "DAY") RollupGranularity granularity,
+            @Parameter(description = "Metric to rank by") @RequestParam(defaultValue = "UNITS") SalesMetric metric,
+            @Parameter(description = "Maximum number of SKUs to return (1-100)") @RequestParam(defaultValue = "10") int limit,
+            @Parameter(description = "Range start (inclusive), ISO date-time") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Range end (exclusive), ISO date-time") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LocalDateTime end = Objects.requireNonNullElseGet(to, LocalDateTime::now);
+        LocalDateTime start = Objects.requireNonNullElseGet(from, () -> end.minusDays(DEFAULT_RANGE_DAYS));
+        return salesRollupService.getTopSkus(granularity, start, end, metric, limit);
+    }
+
+    @GetMapping("/trending")
+    @Operation(summary = "Get trending SKUs", description = "Returns the most ordered SKUs in a sliding window. Refreshed every few seconds; unit counts are estimates that never undercount.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved trending SKUs"),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public List<TrendingSkuDTO> getTrending(
+            @Parameter(description = "Sliding window") @RequestParam(defaultValue = "FIFTEEN_MINUTES") TrendingWindow window) {
+        return trendingSkuTracker.getTrending(window);
+    }
+
+    @GetMapping("/{sku}/series")
+    @Operation(summary = "Get sales time series for a SKU", description = "Returns one entry per non-empty hour or day bucket in the range (defaults to the last 7 days)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved time series"),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public List<SalesBucketDTO> getSeries(
+            @Parameter(description = "Stock Keeping Unit (SKU) identifier") @PathVariable String sku,
+            @Parameter(description = "Bucket size") @RequestParam(defaultValue = "HOUR") RollupGranularity granularity,
+            @Parameter(description = "Range start (inclusive), ISO date-time") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Range end (exclusive), ISO date-time") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LocalDateTime end = Objects.requireNonNullElseGet(to, LocalDateTime::now);
+        LocalDateTime start = Objects.requireNonNullElseGet(from, () -> end.minusDays(DEFAULT_RANGE_DAYS));
+        return salesRollupService.getSeries(sku, granularity, start, end);
+    }
+}
@@ -0,0 +1,49 @@
+package com.logiflow.analytics.controller;
+
+import com.logiflow.analytics.dto.StockHistoryDTO;
+import com.logiflow.analytics.model.StockHistoryResolution;
+import com.logiflow.analytics.service.StockHistoryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@RestController
+@RequestMapping("/api/v1/analytics/stock")
+@RequiredArgsConstructor
+@PreAuthorize("hasAnyRole('SUPER_ADMIN', 'ADMIN', 'WAREHOUSE_MANAGER')")
+@Tag(name = "Stock History", description = "Historical stock levels for planning charts")
+public class StockHistoryController {
+
+    private static final int DEFAULT_RANGE_DAYS = 30;
+
+    private final StockHistoryService stockHistoryService;
+
+    @GetMapping("/{sku}/history")
+    @Operation(summary = "Get stock-level history for a SKU", description = "Returns closing, minimum and maximum stock per bucket in one warehouse (defaults to the last 30 days). Without a resolution the finest one that keeps the chart readable is used.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved stock history"),
+            @ApiResponse(responseCode = "403", description = "Access denied"),
+            @ApiResponse(responseCode = "404", description = "Warehouse not found")
+    })
+    public StockHistoryDTO getHistory(
+            @Parameter(description = "Stock Keeping Unit (SKU) identifier") @PathVariable String sku,
+            @Parameter(description = "Warehouse code; defaults to the default warehouse") @RequestParam(required = false) String warehouseCode,
+            @Parameter(description = "Bucket size; chosen from the range when omitted") @RequestParam(required = false) StockHistoryResolution resolution,
+            @Parameter(description = "Range start (inclusive), ISO date-time") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Range end (exclusive), ISO date-time") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LocalDateTime end = Objects.requireNonNullElseGet(to, LocalDateTime::now);
+        LocalDateTime start = Objects.requireNonNullElseGet(from, () -> end.minusDays(DEFAULT_RANGE_DAYS));
+        return stockHistoryService.getHistory(sku, warehouseCode, resolution, start, end);
+    }
+}
@@ -0,0 +1,19 @@
+package com.logiflow.analytics.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Schema(description = "Sales of a SKU within one rollup bucket")
+public record SalesBucketDTO(
+        @Schema(description = "Start of the bucket", example = "2026-01-06T14:00:00")
+        LocalDateTime bucketStart,
+
+        @Schema(description = "Units sold", example = "12")
+        Long units,
+
+        @Schema(description = "Revenue at order-time prices", example = "359.88")
+        BigDecimal revenue
+) {
+}
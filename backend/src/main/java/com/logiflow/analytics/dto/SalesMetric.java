@@ -0,0 +1,12 @@
+package com.logiflow.analytics.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Metric used to rank SKUs")
+public enum SalesMetric {
+    @Schema(description = "Rank by units sold")
+    UNITS,
+
+    @Schema(description = "Rank by revenue")
+    REVENUE
+}
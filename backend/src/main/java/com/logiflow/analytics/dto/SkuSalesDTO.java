@@ -0,0 +1,18 @@
+package com.logiflow.analytics.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Units sold and revenue of a SKU over a time range")
+public record SkuSalesDTO(
+        @Schema(description = "Stock Keeping Unit identifier", example = "SKU-001")
+        String sku,
+
+        @Schema(description = "Units sold", example = "420")
+        Long units,
+
+        @Schema(description = "Revenue at order-time prices", example = "12595.80")
+        BigDecimal revenue
+) {
+}
@@ -0,0 +1,22 @@
+package com.logiflow.analytics.dto;
+
+import com.logiflow.analytics.model.StockHistoryResolution;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Stock-level history of a SKU in one warehouse")
+public record StockHistoryDTO(
+        @Schema(description = "Stock Keeping Unit identifier", example = "SKU-001")
+        String sku,
+
+        @Schema(description = "Warehouse the history belongs to", example = "MAIN")
+        String warehouseCode,
+
+        @Schema(description = "Bucket size of the returned points")
+        StockHistoryResolution resolution,
+
+        @Schema(description = "Points in ascending time order; buckets without changes are omitted")
+        List<StockLevelPointDTO> points
+) {
+}
@@ -0,0 +1,24 @@
+package com.logiflow.analytics.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Stock level of a SKU in one warehouse at the end of a history bucket")
+public record StockLevelPointDTO(
+        @Schema(description = "Start of the bucket", example = "2026-01-06T14:00:00")
+        LocalDateTime bucketStart,
+
+        @Schema(description = "On-hand quantity at the end of the bucket", example = "120")
+        Long quantity,
+
+        @Schema(description = "Reserved quantity at the end of the bucket", example = "15")
+        Long reserved,
+
+        @Schema(description = "Lowest on-hand quantity seen within the bucket", example = "90")
+        Long minQuantity,
+
+        @Schema(description = "Highest on-hand quantity seen within the bucket", example = "140")
+        Long maxQuantity
+) {
+}
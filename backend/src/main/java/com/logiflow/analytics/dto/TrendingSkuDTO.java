@@ -0,0 +1,16 @@
+package com.logiflow.analytics.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "A SKU ranked by units ordered within a sliding window")
+public record TrendingSkuDTO(
+        @Schema(description = "Position in the ranking, starting at 1", example = "1")
+        int rank,
+
+        @Schema(description = "Stock Keeping Unit identifier", example = "SKU-001")
+        String sku,
+
+        @Schema(description = "Estimated units ordered in the window (may slightly overestimate)", example = "37")
+        long units
+) {
+}
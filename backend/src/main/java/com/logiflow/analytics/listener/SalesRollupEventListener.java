@@ -0,0 +1,31 @@
+package com.logiflow.analytics.listener;
+
+import com.logiflow.analytics.service.SalesRollupService;
+import com.logiflow.order.model.OrderStatus;
+import com.logiflow.shared.event.OrderPlacedEvent;
+import com.logiflow.shared.event.OrderStatusChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs inside the order transaction, so rollups commit or roll back together with the order.
+ */
+@Component
+@RequiredArgsConstructor
+public class SalesRollupEventListener {
+
+    private final SalesRollupService salesRollupService;
+
+    @EventListener
+    public void handleOrderPlacedEvent(OrderPlacedEvent event) {
+        salesRollupService.recordPlaced(event.createdAt(), event.lines());
+    }
+
+    @EventListener
+    public void handleOrderStatusChangedEvent(OrderStatusChangedEvent event) {
+        if (event.newStatus() == OrderStatus.CANCELLED && event.previousStatus() != OrderStatus.CANCELLED) {
+            salesRollupService.recordCancelled(event.createdAt(), event.lines());
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.logiflow.analytics.listener;
+
+import com.logiflow.analytics.service.StockHistoryStore;
+import com.logiflow.shared.event.InventoryChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+public class StockHistoryEventListener {
+
+    private final StockHistoryStore stockHistoryStore;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleInventoryChangedEvent(InventoryChangedEvent event) {
+        stockHistoryStore.record(event.warehouseId(), event.sku(), event.quantity(), event.reserved());
+    }
+}
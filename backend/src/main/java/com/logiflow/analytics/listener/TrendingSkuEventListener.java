@@ -0,0 +1,20 @@
+package com.logiflow.analytics.listener;
+
+import com.logiflow.analytics.service.TrendingSkuTracker;
+import com.logiflow.shared.event.OrderPlacedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+public class TrendingSkuEventListener {
+
+    private final TrendingSkuTracker trendingSkuTracker;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleOrderPlacedEvent(OrderPlacedEvent event) {
+        event.lines().forEach(line -> trendingSkuTracker.record(line.sku(), line.quantity()));
+    }
+}
@@ -0,0 +1,25 @@
+package com.logiflow.analytics.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+@Schema(description = "Size of a sales rollup bucket")
+public enum RollupGranularity {
+    @Schema(description = "One bucket per hour")
+    HOUR(ChronoUnit.HOURS),
+
+    @Schema(description = "One bucket per calendar day")
+    DAY(ChronoUnit.DAYS);
+
+    private final ChronoUnit unit;
+
+    RollupGranularity(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    public LocalDateTime bucketStart(LocalDateTime timestamp) {
+        return timestamp.truncatedTo(unit);
+    }
+}
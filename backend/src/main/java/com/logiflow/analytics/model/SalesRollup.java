@@ -0,0 +1,34 @@
+package com.logiflow.analytics.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Units sold and revenue for one SKU in one hour or day bucket. Rows are only ever incremented
+ * (or decremented on cancellation) through {@code SalesRollupRepository#increment}.
+ */
+@Entity
+@Table(
+        name = "sales_rollups",
+        indexes = {
+                @Index(name = "idx_sales_rollup_bucket", columnList = "granularity, bucketStart")
+        }
+)
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class SalesRollup {
+
+    @EmbeddedId
+    private SalesRollupId id;
+
+    @Column(nullable = false)
+    private Long units;
+
+    @Column(nullable = false)
+    private BigDecimal revenue;
+}
@@ -0,0 +1,38 @@
+package com.logiflow.analytics.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Bucket size of a stock-level history series; buckets are aligned to UTC")
+public enum StockHistoryResolution {
+    @Schema(description = "One point per minute with changes")
+    MINUTE(60, 86_400),
+
+    @Schema(description = "One point per hour with changes")
+    HOUR(3_600, 30 * 86_400),
+
+    @Schema(description = "One point per day with changes")
+    DAY(86_400, 365 * 86_400);
+
+    private final long seconds;
+    private final long maxChunkSeconds;
+
+    StockHistoryResolution(long seconds, long maxChunkSeconds) {
+        this.seconds = seconds;
+        this.maxChunkSeconds = maxChunkSeconds;
+    }
+
+    public long seconds() {
+        return seconds;
+    }
+
+    /**
+     * Longest time span one stored chunk may cover, so expired segment files hold only expired points.
+     */
+    public long maxChunkSeconds() {
+        return maxChunkSeconds;
+    }
+
+    public long bucketStart(long epochSecond) {
+        return epochSecond - Math.floorMod(epochSecond, seconds);
+    }
+}
@@ -0,0 +1,31 @@
+package com.logiflow.analytics.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Sliding window used for trending SKU detection")
+public enum TrendingWindow {
+    @Schema(description = "Last 5 minutes")
+    FIVE_MINUTES(5, "5m"),
+
+    @Schema(description = "Last 15 minutes")
+    FIFTEEN_MINUTES(15, "15m"),
+
+    @Schema(description = "Last 60 minutes")
+    SIXTY_MINUTES(60, "60m");
+
+    private final int minutes;
+    private final String label;
+
+    TrendingWindow(int minutes, String label) {
+        this.minutes = minutes;
+        this.label = label;
+    }
+
+    public int minutes() {
+        return minutes;
+    }
+
+    public String label() {
+        return label;
+    }
+}
@@ -0,0 +1,55 @@
+package com.logiflow.analytics.repository;
+
+import com.logiflow.analytics.dto.SalesBucketDTO;
+import com.logiflow.analytics.dto.SkuSalesDTO;
+import com.logiflow.analytics.model.RollupGranularity;
+import com.logiflow.analytics.model.SalesRollup;
+import com.logiflow.analytics.model.SalesRollupId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface SalesRollupRepository extends JpaRepository<SalesRollup, SalesRollupId> {
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO sales_rollups (sku, granularity, bucket_start, units, revenue)
+            VALUES (:sku, :granularity, :bucketStart, :units, :revenue)
+            ON CONFLICT (sku, granularity, bucket_start) DO UPDATE
+            SET units = sales_rollups.units + EXCLUDED.units,
+                revenue = sales_rollups.revenue + EXCLUDED.revenue
+            """, nativeQuery = true)
+    void increment(String sku, String granularity, LocalDateTime bucketStart, long units, BigDecimal revenue);
+
+    @Query("""
+            SELECT new com.logiflow.analytics.dto.SkuSalesDTO(r.id.sku, SUM(r.units), SUM(r.revenue))
+            FROM SalesRollup r
+            WHERE r.id.granularity = :granularity AND r.id.bucketStart >= :from AND r.id.bucketStart < :to
+            GROUP BY r.id.sku
+            ORDER BY SUM(r.units) DESC, r.id.sku
+            """)
+    List<SkuSalesDTO> findTopByUnits(RollupGranularity granularity, LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    @Query("""
+            SELECT new com.logiflow.analytics.dto.SkuSalesDTO(r.id.sku, SUM(r.units), SUM(r.revenue))
+            FROM SalesRollup r
+            WHERE r.id.granularity = :granularity AND r.id.bucketStart >= :from AND r.id.bucketStart < :to
+            GROUP BY r.id.sku
+            ORDER BY SUM(r.revenue) DESC, r.id.sku
+            """)
+    List<SkuSalesDTO> findTopByRevenue(RollupGranularity granularity, LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    @Query("""
+            SELECT new com.logiflow.analytics.dto.SalesBucketDTO(r.id.bucketStart, r.units, r.revenue)
+            FROM SalesRollup r
+            WHERE r.id.sku = :sku AND r.id.granularity = :granularity
+              AND r.id.bucketStart >= :from AND r.id.bucketStart < :to
+            ORDER BY r.id.bucketStart
+            """)
+    List<SalesBucketDTO> findSeries(String sku, RollupGranularity granularity, LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,83 @@
+package com.logiflow.analytics.service;
+
+import com.logiflow.analytics.dto.SalesBucketDTO;
+import com.logiflow.analytics.dto.SalesMetric;
+import com.logiflow.analytics.dto.SkuSalesDTO;
+import com.logiflow.analytics.model.RollupGranularity;
+import com.logiflow.analytics.repository.SalesRollupRepository;
+import com.logiflow.shared.event.OrderLine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps per-SKU hourly and daily sales totals up to date as orders are placed and cancelled, so
+ * dashboards read a handful of rollup rows instead of aggregating the order history.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SalesRollupService {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final SalesRollupRepository salesRollupRepository;
+
+    @Transactional
+    public void recordPlaced(LocalDateTime orderCreatedAt, List<OrderLine> lines) {
+        apply(orderCreatedAt, lines, 1);
+    }
+
+    @Transactional
+    public void recordCancelled(LocalDateTime orderCreatedAt, List<OrderLine> lines) {
+        apply(orderCreatedAt, lines, -1);
+    }
+
+    @Transactional(readOnly = true)
+    public List<SkuSalesDTO> getTopSkus(RollupGranularity granularity, LocalDateTime from, LocalDateTime to,
+                                        SalesMetric metric, int limit) {
+        PageRequest page = PageRequest.of(0, Math.clamp(limit, 1, MAX_LIMIT));
+        return switch (metric) {
+            case UNITS -> salesRollupRepository.findTopByUnits(granularity, from, to, page);
+            case REVENUE -> salesRollupRepository.findTopByRevenue(granularity, from, to, page);
+        };
+    }
+
+    @Transactional(readOnly = true)
+    public List<SalesBucketDTO> getSeries(String sku, RollupGranularity granularity, LocalDateTime from, LocalDateTime to) {
+        return salesRollupRepository.findSeries(sku, granularity, from, to);
+    }
+
+    private void apply(LocalDateTime orderCreatedAt, List<OrderLine> lines, int sign) {
+        // Sorted by SKU so concurrent orders lock rollup rows in the same order and cannot deadlock
+        Map<String, LineTotal> totals = new TreeMap<>();
+        lines.forEach(line -> totals.merge(line.sku(), LineTotal.of(line), LineTotal::plus));
+
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            LocalDateTime bucketStart = granularity.bucketStart(orderCreatedAt);
+            totals.forEach((sku, total) -> salesRollupRepository.increment(
+                    sku, granularity.name(), bucketStart,
+                    sign * total.units(), total.revenue().multiply(BigDecimal.valueOf(sign))));
+        }
+        log.debug("Applied {} order lines to sales rollups with sign {}", lines.size(), sign);
+    }
+
+    private record LineTotal(long units, BigDecimal revenue) {
+
+        static LineTotal of(OrderLine line) {
+            return new LineTotal(line.quantity(), line.unitPrice().multiply(BigDecimal.valueOf(line.quantity())));
+        }
+
+        LineTotal plus(LineTotal other) {
+            return new LineTotal(units + other.units, revenue.add(other.revenue));
+        }
+    }
+}
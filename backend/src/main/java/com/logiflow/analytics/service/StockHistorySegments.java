@@ -0,0 +1,217 @@
+package com.logiflow.analytics.service;
+
+import com.logiflow.analytics.model.StockHistoryResolution;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Append-only segment files holding sealed chunks, one active file per resolution and day, so
+ * retention is a file delete. Reads slice read-only memory maps and decode straight from the page
+ * cache.
+ * <p>
+ * Record layout: magic, series key, resolution, point count, first and last timestamp, payload
+ * length, payload. A torn record at the end of a file (crash mid-append) is ignored on load.
+ */
+final class StockHistorySegments implements Closeable {
+
+    private static final int MAGIC = 0x4C465348;
+    private static final int HEADER_BYTES = 4 + 2 + 1 + 4 + 8 + 8 + 4;
+    private static final long MAX_SEGMENT_BYTES = 256L << 20;
+    private static final Pattern FILE_NAME = Pattern.compile("(minute|hour|day)-(\\d{4}-\\d{2}-\\d{2})-(\\d+)\\.seg");
+    private static final StockHistoryResolution[] RESOLUTIONS = StockHistoryResolution.values();
+
+    private final Path directory;
+    private final List<Segment> segments = new ArrayList<>();
+    private final Map<StockHistoryResolution, Segment> active = new EnumMap<>(StockHistoryResolution.class);
+
+    record ChunkRef(Segment segment, int offset, int length, int count, long firstTimestamp, long lastTimestamp) {
+    }
+
+    interface ChunkVisitor {
+        void visit(String seriesKey, StockHistoryResolution resolution, ChunkRef ref);
+    }
+
+    StockHistorySegments(Path directory) {
+        this.directory = directory;
+    }
+
+    synchronized void load(ChunkVisitor visitor) throws IOException {
+        Files.createDirectories(directory);
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.sorted().toList();
+        }
+        for (Path file : files) {
+            Matcher matcher = FILE_NAME.matcher(file.getFileName().toString());
+            if (!matcher.matches()) {
+                continue;
+            }
+            Segment segment = new Segment(file, StockHistoryResolution.valueOf(matcher.group(1).toUpperCase(Locale.ROOT)),
+                    LocalDate.parse(matcher.group(2)), Integer.parseInt(matcher.group(3)), Files.size(file));
+            segments.add(segment);
+            scan(segment, visitor);
+        }
+    }
+
+    synchronized ChunkRef append(String seriesKey, StockHistoryResolution resolution, TimeSeriesChunk chunk,
+                                 LocalDate day) throws IOException {
+        byte[] key = seriesKey.getBytes(StandardCharsets.UTF_8);
+        byte[] payload = chunk.toByteArray();
+        ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + key.length + payload.length)
+                .putInt(MAGIC)
+                .putShort((short) key.length)
+                .put(key)
+                .put((byte) resolution.ordinal())
+                .putInt(chunk.count())
+                .putLong(chunk.firstTimestamp())
+                .putLong(chunk.lastTimestamp())
+                .putInt(payload.length);
+        int payloadOffset = record.position();
+        record.put(payload).flip();
+
+        Segment segment = activeSegment(resolution, day, record.remaining());
+        long start = segment.size;
+        while (record.hasRemaining()) {
+            segment.channel.write(record, start + record.position());
+        }
+        segment.size += record.limit();
+        return new ChunkRef(segment, (int) start + payloadOffset, payload.length,
+                chunk.count(), chunk.firstTimestamp(), chunk.lastTimestamp());
+    }
+
+    ByteBuffer read(ChunkRef ref) {
+        return ref.segment().slice(ref.offset(), ref.length());
+    }
+
+    /**
+     * Deletes the segments of a resolution written before {@code cutoff} and returns them, so callers
+     * can drop their chunk references.
+     */
+    synchronized Set<Segment> dropBefore(StockHistoryResolution resolution, LocalDate cutoff) throws IOException {
+        Set<Segment> dropped = new HashSet<>();
+        Iterator<Segment> iterator = segments.iterator();
+        while (iterator.hasNext()) {
+            Segment segment = iterator.next();
+            if (segment.resolution == resolution && segment.day.isBefore(cutoff) && active.get(resolution) != segment) {
+                iterator.remove();
+                segment.closeChannel();
+                Files.deleteIfExists(segment.path);
+                dropped.add(segment);
+            }
+        }
+        return dropped;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (Segment segment : active.values()) {
+            segment.channel.force(false);
+            segment.closeChannel();
+        }
+        active.clear();
+    }
+
+    private Segment activeSegment(StockHistoryResolution resolution, LocalDate day, int recordBytes) throws IOException {
+        Segment current = active.get(resolution);
+        if (current != null && current.day.equals(day) && current.size + recordBytes <= MAX_SEGMENT_BYTES) {
+            return current;
+        }
+        if (current != null) {
+            current.channel.force(false);
+            current.closeChannel();
+        }
+
+        int sequence = segments.stream()
+                .filter(segment -> segment.resolution == resolution && segment.day.equals(day))
+                .mapToInt(segment -> segment.sequence + 1)
+                .max()
+                .orElse(0);
+        Path path = directory.resolve(resolution.name().toLowerCase(Locale.ROOT) + "-" + day + "-" + sequence + ".seg");
+        Segment created = new Segment(path, resolution, day, sequence, 0);
+        created.channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        segments.add(created);
+        active.put(resolution, created);
+        return created;
+    }
+
+    private static void scan(Segment segment, ChunkVisitor visitor) {
+        ByteBuffer buffer = segment.slice(0, (int) segment.size);
+        while (buffer.remaining() >= HEADER_BYTES && buffer.getInt() == MAGIC) {
+            int keyLength = buffer.getShort();
+            if (buffer.remaining() < keyLength + HEADER_BYTES - 6) {
+                return;
+            }
+            byte[] key = new byte[keyLength];
+            buffer.get(key);
+            StockHistoryResolution resolution = RESOLUTIONS[buffer.get()];
+            int count = buffer.getInt();
+            long first = buffer.getLong();
+            long last = buffer.getLong();
+            int length = buffer.getInt();
+            if (buffer.remaining() < length) {
+                return;
+            }
+            visitor.visit(new String(key, StandardCharsets.UTF_8), resolution,
+                    new ChunkRef(segment, buffer.position(), length, count, first, last));
+            buffer.position(buffer.position() + length);
+        }
+    }
+
+    static final class Segment {
+        private final Path path;
+        private final StockHistoryResolution resolution;
+        private final LocalDate day;
+        private final int sequence;
+        private long size;
+        private FileChannel channel;
+        private volatile MappedByteBuffer mapped;
+
+        private Segment(Path path, StockHistoryResolution resolution, LocalDate day, int sequence, long size) {
+            this.path = path;
+            this.resolution = resolution;
+            this.day = day;
+            this.sequence = sequence;
+            this.size = size;
+        }
+
+        ByteBuffer slice(int offset, int length) {
+            MappedByteBuffer current = mapped;
+            if (current == null || current.capacity() < offset + length) {
+                current = remap();
+            }
+            return current.slice(offset, length);
+        }
+
+        // The active segment grows after it was first mapped, so it is re-mapped on demand
+        private synchronized MappedByteBuffer remap() {
+            try (FileChannel reader = FileChannel.open(path, StandardOpenOption.READ)) {
+                MappedByteBuffer remapped = reader.map(FileChannel.MapMode.READ_ONLY, 0, reader.size());
+                mapped = remapped;
+                return remapped;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void closeChannel() throws IOException {
+            if (channel != null) {
+                channel.close();
+                channel = null;
+            }
+        }
+    }
+}
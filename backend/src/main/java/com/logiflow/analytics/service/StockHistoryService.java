@@ -0,0 +1,51 @@
+package com.logiflow.analytics.service;
+
+import com.logiflow.analytics.dto.StockHistoryDTO;
+import com.logiflow.analytics.dto.StockLevelPointDTO;
+import com.logiflow.analytics.model.StockHistoryResolution;
+import com.logiflow.inventory.model.Warehouse;
+import com.logiflow.inventory.service.WarehouseService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class StockHistoryService {
+
+    // Roughly one point per pixel of a wide chart
+    private static final int MAX_POINTS = 1_500;
+
+    private final StockHistoryStore stockHistoryStore;
+    private final WarehouseService warehouseService;
+
+    /**
+     * @param resolution bucket size, or {@code null} to pick the finest one that fits the range
+     */
+    public StockHistoryDTO getHistory(String sku, String warehouseCode, StockHistoryResolution resolution,
+                                      LocalDateTime from, LocalDateTime to) {
+        Warehouse warehouse = warehouseCode == null
+                ? warehouseService.getDefaultWarehouse()
+                : warehouseService.getByCode(warehouseCode);
+        long start = toEpochSecond(from);
+        long end = toEpochSecond(to);
+        StockHistoryResolution effective = resolution != null
+                ? resolution
+                : stockHistoryStore.resolutionFor(start, end, MAX_POINTS);
+
+        List<StockLevelPointDTO> points = stockHistoryStore.query(warehouse.getId(), sku, effective, start, end).stream()
+                .map(point -> new StockLevelPointDTO(
+                        LocalDateTime.ofInstant(Instant.ofEpochSecond(point.timestamp()), ZoneId.systemDefault()),
+                        point.quantity(), point.reserved(), point.minQuantity(), point.maxQuantity()))
+                .toList();
+        return new StockHistoryDTO(sku, warehouse.getCode(), effective, points);
+    }
+
+    private static long toEpochSecond(LocalDateTime timestamp) {
+        return timestamp.atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+}
@@ -0,0 +1,370 @@
+package com.logiflow.analytics.service;
+
+import com.logiflow.analytics.model.StockHistoryResolution;
+import com.logiflow.analytics.service.StockHistorySegments.ChunkRef;
+import com.logiflow.analytics.service.StockHistorySegments.Segment;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compact history of stock levels per warehouse and SKU, kept in local segment files instead of a
+ * row per change.
+ * <p>
+ * Every committed inventory change lands in an open minute bucket (closing quantity and reserved,
+ * plus min/max quantity). When a bucket closes it is appended to the series' {@link TimeSeriesChunk}
+ * and rolled into the hour bucket, which rolls into the day bucket the same way. A chunk holding
+ * {@code chunk-points} points, or spanning its resolution's maximum, is sealed into a segment file;
+ * only chunk references and the open chunks stay on the heap. Open state is checkpointed hourly and
+ * on shutdown, so a crash loses at most an hour of changes. Minute and hour points expire after
+ * their retention; day points are kept for years.
+ */
+@Component
+@Slf4j
+public class StockHistoryStore {
+
+    private static final StockHistoryResolution[] RESOLUTIONS = StockHistoryResolution.values();
+    private static final String CHECKPOINT_FILE = "checkpoint.bin";
+
+    private final Clock clock;
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+    private StockHistorySegments segments;
+
+    @Value("${app.stock-history.directory:data/stock-history}")
+    private String directory = "data/stock-history";
+
+    @Value("${app.stock-history.chunk-points:240}")
+    private int chunkPoints = 240;
+
+    @Value("${app.stock-history.retention.minute-days:14}")
+    private int minuteRetentionDays = 14;
+
+    @Value("${app.stock-history.retention.hour-days:400}")
+    private int hourRetentionDays = 400;
+
+    @Value("${app.stock-history.retention.day-days:3650}")
+    private int dayRetentionDays = 3650;
+
+    public record Point(long timestamp, long quantity, long reserved, long minQuantity, long maxQuantity) {
+
+        Point mergedWith(Point later) {
+            return new Point(timestamp, later.quantity, later.reserved,
+                    Math.min(minQuantity, later.minQuantity), Math.max(maxQuantity, later.maxQuantity));
+        }
+    }
+
+    @Autowired
+    public StockHistoryStore() {
+        this(Clock.systemUTC());
+    }
+
+    StockHistoryStore(Clock clock) {
+        this.clock = clock;
+    }
+
+    StockHistoryStore(Clock clock, String directory, int chunkPoints) {
+        this(clock);
+        this.directory = directory;
+        this.chunkPoints = chunkPoints;
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        segments = new StockHistorySegments(Path.of(directory));
+        segments.load((key, resolution, ref) ->
+                series.computeIfAbsent(key, Series::new).tier(resolution.ordinal()).chunks.add(ref));
+        restoreCheckpoint();
+        log.info("Stock history loaded from {}: {} series", directory, series.size());
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        checkpoint();
+        segments.close();
+    }
+
+    public void record(long warehouseId, String sku, long quantity, long reserved) {
+        long now = clock.instant().getEpochSecond();
+        Series target = series.computeIfAbsent(seriesKey(warehouseId, sku), Series::new);
+        synchronized (target) {
+            add(target, 0, new Point(now, quantity, reserved, quantity, quantity));
+        }
+    }
+
+    /**
+     * Points of one series in {@code [from, to)} (epoch seconds), including the still-open buckets.
+     */
+    public List<Point> query(long warehouseId, String sku, StockHistoryResolution resolution, long from, long to) {
+        Series source = series.get(seriesKey(warehouseId, sku));
+        if (source == null) {
+            return List.of();
+        }
+
+        int level = resolution.ordinal();
+        List<ChunkRef> refs = new ArrayList<>();
+        List<Point> unsealed = new ArrayList<>();
+        synchronized (source) {
+            Tier tier = source.tiers[level];
+            if (tier != null) {
+                tier.chunks.stream()
+                        .filter(ref -> ref.lastTimestamp() >= from && ref.firstTimestamp() < to)
+                        .forEach(refs::add);
+                if (tier.open != null) {
+                    unsealed.addAll(TimeSeriesChunk.decode(ByteBuffer.wrap(tier.open.toByteArray()), tier.open.count()));
+                }
+            }
+            unsealed.addAll(pendingBuckets(source, level));
+        }
+
+        // Keyed by timestamp so a point both sealed and restored from an older checkpoint shows once
+        SortedMap<Long, Point> points = new TreeMap<>();
+        for (ChunkRef ref : refs) {
+            try {
+                TimeSeriesChunk.decode(segments.read(ref), ref.count()).forEach(point -> points.put(point.timestamp(), point));
+            } catch (UncheckedIOException e) {
+                log.debug("Skipping stock history chunk of an expired segment: {}", e.getMessage());
+            }
+        }
+        unsealed.forEach(point -> points.put(point.timestamp(), point));
+        return List.copyOf(points.subMap(from, to).values());
+    }
+
+    /**
+     * Finest resolution whose retention still covers {@code from} and that returns at most
+     * {@code maxPoints} buckets for the range.
+     */
+    public StockHistoryResolution resolutionFor(long from, long to, int maxPoints) {
+        long now = clock.instant().getEpochSecond();
+        for (StockHistoryResolution resolution : RESOLUTIONS) {
+            boolean retained = from >= now - retentionDays(resolution) * 86_400L;
+            if (retained && (to - from) / resolution.seconds() <= maxPoints) {
+                return resolution;
+            }
+        }
+        return StockHistoryResolution.DAY;
+    }
+
+    @Scheduled(cron = "${app.stock-history.maintenance-cron:0 30 * * * *}")
+    public void maintain() throws IOException {
+        long now = clock.instant().getEpochSecond();
+        for (Series target : series.values()) {
+            synchronized (target) {
+                for (int level = 0; level < RESOLUTIONS.length; level++) {
+                    Tier tier = target.tiers[level];
+                    if (tier != null && tier.open != null
+                            && now - tier.open.firstTimestamp() >= RESOLUTIONS[level].maxChunkSeconds()) {
+                        seal(target, level);
+                    }
+                }
+            }
+        }
+        dropExpiredSegments();
+        checkpoint();
+    }
+
+    private void add(Series target, int level, Point point) {
+        Tier tier = target.tier(level);
+        long bucket = RESOLUTIONS[level].bucketStart(point.timestamp());
+        if (tier.bucket != null && bucket > tier.bucket.timestamp()) {
+            closeBucket(target, level);
+        }
+        tier.bucket = tier.bucket == null
+                ? new Point(bucket, point.quantity(), point.reserved(), point.minQuantity(), point.maxQuantity())
+                : tier.bucket.mergedWith(point);
+    }
+
+    private void closeBucket(Series target, int level) {
+        Tier tier = target.tiers[level];
+        Point closed = tier.bucket;
+        tier.bucket = null;
+        if (tier.open == null) {
+            tier.open = new TimeSeriesChunk();
+        }
+        tier.open.append(closed);
+        if (tier.open.count() >= chunkPoints
+                || closed.timestamp() - tier.open.firstTimestamp() >= RESOLUTIONS[level].maxChunkSeconds()) {
+            seal(target, level);
+        }
+        if (level + 1 < RESOLUTIONS.length) {
+            add(target, level + 1, closed);
+        }
+    }
+
+    private void seal(Series target, int level) {
+        Tier tier = target.tiers[level];
+        try {
+            tier.chunks.add(segments.append(target.key, RESOLUTIONS[level], tier.open, LocalDate.now(clock)));
+            tier.open = null;
+        } catch (IOException e) {
+            // Keep the chunk in memory; the next seal attempt retries the write
+            log.error("Failed to write stock history chunk for {}", target.key, e);
+        }
+    }
+
+    // Open buckets of finer tiers have not been rolled up yet, so fold them into this tier's view
+    private static List<Point> pendingBuckets(Series source, int level) {
+        List<Point> pending = new ArrayList<>(2);
+        for (int finer = level; finer >= 0; finer--) {
+            Tier tier = source.tiers[finer];
+            if (tier == null || tier.bucket == null) {
+                continue;
+            }
+            Point bucket = tier.bucket;
+            long start = RESOLUTIONS[level].bucketStart(bucket.timestamp());
+            Point last = pending.isEmpty() ? null : pending.getLast();
+            if (last != null && last.timestamp() == start) {
+                pending.set(pending.size() - 1, last.mergedWith(bucket));
+            } else {
+                pending.add(new Point(start, bucket.quantity(), bucket.reserved(), bucket.minQuantity(), bucket.maxQuantity()));
+            }
+        }
+        return pending;
+    }
+
+    private void dropExpiredSegments() throws IOException {
+        LocalDate today = LocalDate.now(clock);
+        Set<Segment> dropped = new HashSet<>();
+        for (StockHistoryResolution resolution : RESOLUTIONS) {
+            dropped.addAll(segments.dropBefore(resolution, today.minusDays(retentionDays(resolution))));
+        }
+        if (dropped.isEmpty()) {
+            return;
+        }
+        for (Series target : series.values()) {
+            synchronized (target) {
+                for (Tier tier : target.tiers) {
+                    if (tier != null) {
+                        tier.chunks.removeIf(ref -> dropped.contains(ref.segment()));
+                    }
+                }
+            }
+        }
+        log.info("Dropped {} expired stock history segments", dropped.size());
+    }
+
+    private void checkpoint() throws IOException {
+        Path target = Path.of(directory).resolve(CHECKPOINT_FILE);
+        Path temporary = target.resolveSibling(CHECKPOINT_FILE + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            for (Series source : series.values()) {
+                synchronized (source) {
+                    if (!source.hasOpenState()) {
+                        continue;
+                    }
+                    out.writeBoolean(true);
+                    out.writeUTF(source.key);
+                    for (Tier tier : source.tiers) {
+                        writeOpenState(out, tier);
+                    }
+                }
+            }
+            out.writeBoolean(false);
+        }
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void writeOpenState(DataOutputStream out, Tier tier) throws IOException {
+        Point bucket = tier == null ? null : tier.bucket;
+        out.writeBoolean(bucket != null);
+        if (bucket != null) {
+            writePoint(out, bucket);
+        }
+        List<Point> open = tier == null || tier.open == null
+                ? List.of()
+                : TimeSeriesChunk.decode(ByteBuffer.wrap(tier.open.toByteArray()), tier.open.count());
+        out.writeInt(open.size());
+        for (Point point : open) {
+            writePoint(out, point);
+        }
+    }
+
+    private void restoreCheckpoint() throws IOException {
+        Path source = Path.of(directory).resolve(CHECKPOINT_FILE);
+        if (!Files.exists(source)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(source)))) {
+            while (in.readBoolean()) {
+                Series target = series.computeIfAbsent(in.readUTF(), Series::new);
+                for (int level = 0; level < RESOLUTIONS.length; level++) {
+                    Point bucket = in.readBoolean() ? readPoint(in) : null;
+                    List<Point> open = new ArrayList<>();
+                    for (int i = in.readInt(); i > 0; i--) {
+                        open.add(readPoint(in));
+                    }
+                    if (bucket != null || !open.isEmpty()) {
+                        Tier tier = target.tier(level);
+                        tier.bucket = bucket;
+                        tier.open = open.isEmpty() ? null : TimeSeriesChunk.of(open);
+                    }
+                }
+            }
+        } catch (EOFException e) {
+            log.warn("Stock history checkpoint {} is truncated; open buckets were partially restored", source);
+        }
+    }
+
+    private static void writePoint(DataOutputStream out, Point point) throws IOException {
+        out.writeLong(point.timestamp());
+        out.writeLong(point.quantity());
+        out.writeLong(point.reserved());
+        out.writeLong(point.minQuantity());
+        out.writeLong(point.maxQuantity());
+    }
+
+    private static Point readPoint(DataInputStream in) throws IOException {
+        return new Point(in.readLong(), in.readLong(), in.readLong(), in.readLong(), in.readLong());
+    }
+
+    private int retentionDays(StockHistoryResolution resolution) {
+        return switch (resolution) {
+            case MINUTE -> minuteRetentionDays;
+            case HOUR -> hourRetentionDays;
+            case DAY -> dayRetentionDays;
+        };
+    }
+
+    private static String seriesKey(long warehouseId, String sku) {
+        return warehouseId + ":" + sku;
+    }
+
+    private static final class Series {
+        private final String key;
+        private final Tier[] tiers = new Tier[RESOLUTIONS.length];
+
+        private Series(String key) {
+            this.key = key;
+        }
+
+        private Tier tier(int level) {
+            if (tiers[level] == null) {
+                tiers[level] = new Tier();
+            }
+            return tiers[level];
+        }
+
+        private boolean hasOpenState() {
+            return Arrays.stream(tiers).anyMatch(tier -> tier != null && (tier.bucket != null || tier.open != null));
+        }
+    }
+
+    private static final class Tier {
+        private final List<ChunkRef> chunks = new ArrayList<>();
+        private Point bucket;
+        private TimeSeriesChunk open;
+    }
+}
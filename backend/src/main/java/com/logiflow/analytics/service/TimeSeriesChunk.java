@@ -0,0 +1,119 @@
+package com.logiflow.analytics.service;
+
+import com.logiflow.analytics.service.StockHistoryStore.Point;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Append-only, compressed run of stock-level points of one series.
+ * <p>
+ * Timestamps are stored as delta-of-deltas, so evenly spaced buckets cost a single byte; quantity
+ * and reserved as deltas from the previous point, and the bucket's min/max as distances from its
+ * closing quantity. Every number is a zig-zag varint, which keeps a typical point at 4-6 bytes.
+ */
+final class TimeSeriesChunk {
+
+    private byte[] bytes = new byte[16];
+    private int size;
+    private int count;
+    private long firstTimestamp;
+    private long lastTimestamp;
+    private long lastDelta;
+    private long lastQuantity;
+    private long lastReserved;
+
+    static TimeSeriesChunk of(List<Point> points) {
+        TimeSeriesChunk chunk = new TimeSeriesChunk();
+        points.forEach(chunk::append);
+        return chunk;
+    }
+
+    void append(Point point) {
+        if (count == 0) {
+            firstTimestamp = point.timestamp();
+            writeSigned(point.timestamp());
+            writeSigned(point.quantity());
+            writeSigned(point.reserved());
+        } else {
+            long delta = point.timestamp() - lastTimestamp;
+            writeSigned(delta - lastDelta);
+            writeSigned(point.quantity() - lastQuantity);
+            writeSigned(point.reserved() - lastReserved);
+            lastDelta = delta;
+        }
+        writeSigned(point.quantity() - point.minQuantity());
+        writeSigned(point.maxQuantity() - point.quantity());
+
+        lastTimestamp = point.timestamp();
+        lastQuantity = point.quantity();
+        lastReserved = point.reserved();
+        count++;
+    }
+
+    int count() {
+        return count;
+    }
+
+    long firstTimestamp() {
+        return firstTimestamp;
+    }
+
+    long lastTimestamp() {
+        return lastTimestamp;
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(bytes, size);
+    }
+
+    static List<Point> decode(ByteBuffer payload, int count) {
+        List<Point> points = new ArrayList<>(count);
+        long timestamp = 0;
+        long delta = 0;
+        long quantity = 0;
+        long reserved = 0;
+        for (int i = 0; i < count; i++) {
+            if (i == 0) {
+                timestamp = readSigned(payload);
+                quantity = readSigned(payload);
+                reserved = readSigned(payload);
+            } else {
+                delta += readSigned(payload);
+                timestamp += delta;
+                quantity += readSigned(payload);
+                reserved += readSigned(payload);
+            }
+            long min = quantity - readSigned(payload);
+            long max = quantity + readSigned(payload);
+            points.add(new Point(timestamp, quantity, reserved, min, max));
+        }
+        return points;
+    }
+
+    private void writeSigned(long value) {
+        long zigZag = (value << 1) ^ (value >> 63);
+        if (bytes.length - size < 10) {
+            bytes = Arrays.copyOf(bytes, bytes.length * 2);
+        }
+        while ((zigZag & ~0x7FL) != 0) {
+            bytes[size++] = (byte) ((zigZag & 0x7F) | 0x80);
+            zigZag >>>= 7;
+        }
+        bytes[size++] = (byte) zigZag;
+    }
+
+    private static long readSigned(ByteBuffer in) {
+        long zigZag = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            zigZag |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return (zigZag >>> 1) ^ -(zigZag & 1);
+    }
+}
@@ -0,0 +1,224 @@
+package com.logiflow.analytics.service;
+
+import com.logiflow.analytics.dto.TrendingSkuDTO;
+import com.logiflow.analytics.model.TrendingWindow;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks the most ordered SKUs over the last 5, 15 and 60 minutes in bounded memory.
+ * <p>
+ * Each minute gets its own Count-Min sketch plus a small set of candidate SKUs, kept in a ring that
+ * is slightly longer than the largest window. Recording an order line only increments sketch
+ * counters; ranking happens in {@link #refresh()}, which publishes immutable top-k snapshots that
+ * queries and gauges read directly. A full candidate set makes room for a SKU selling faster than its
+ * weakest member, so a SKU that takes off late in a busy minute still gets ranked.
+ * <p>
+ * Gauges are one fixed set per window, tagged by rank only, so the number of series does not grow
+ * with the number of SKUs that ever trended; the SKUs themselves come from the trending endpoint.
+ */
+@Component
+public class TrendingSkuTracker {
+
+    private static final int SKETCH_DEPTH = 4;
+    private static final int SKETCH_WIDTH = 2048;
+    // Two spare slots: the one being prepared for the next minute and a buffer against late writers
+    private static final int RING_SIZE = TrendingWindow.SIXTY_MINUTES.minutes() + 2;
+
+    private final Clock clock;
+    private final MinuteBucket[] ring = new MinuteBucket[RING_SIZE];
+    private final MultiGauge trendingGauge;
+
+    @Value("${app.trending.top-k:10}")
+    private int topK = 10;
+
+    @Value("${app.trending.candidates-per-minute:256}")
+    private int candidatesPerMinute = 256;
+
+    private volatile long admissionThreshold;
+    private volatile Map<TrendingWindow, List<TrendingSkuDTO>> snapshots = emptySnapshots();
+
+    @Autowired
+    public TrendingSkuTracker(MeterRegistry meterRegistry) {
+        this(meterRegistry, Clock.systemUTC());
+    }
+
+    TrendingSkuTracker(MeterRegistry meterRegistry, Clock clock) {
+        this.clock = clock;
+        for (int i = 0; i < RING_SIZE; i++) {
+            ring[i] = new MinuteBucket(new CountMinSketch(SKETCH_DEPTH, SKETCH_WIDTH));
+        }
+        this.trendingGauge = MultiGauge.builder("logiflow.trending.sku.units")
+                .description("Estimated units ordered by the trending SKU at each rank per window")
+                .register(meterRegistry);
+        prepare(currentMinute());
+    }
+
+    public void record(String sku, int quantity) {
+        MinuteBucket bucket = ring[slot(currentMinute())];
+        bucket.sketch.add(sku, quantity);
+
+        Set<String> candidates = bucket.candidates;
+        if (candidates.contains(sku)) {
+            return;
+        }
+        if (candidates.size() < candidatesPerMinute) {
+            candidates.add(sku);
+            return;
+        }
+        long estimate = bucket.sketch.estimate(sku);
+        if (estimate >= admissionThreshold && estimate > bucket.floor) {
+            bucket.replaceWeakest(sku, estimate);
+        }
+    }
+
+    public List<TrendingSkuDTO> getTrending(TrendingWindow window) {
+        return snapshots.get(window);
+    }
+
+    @Scheduled(fixedRateString = "${app.trending.refresh-interval-ms:5000}")
+    public void refresh() {
+        long now = currentMinute();
+        prepare(now);
+        prepare(now + 1);
+
+        Set<String> candidates = new HashSet<>();
+        for (long minute = now - TrendingWindow.SIXTY_MINUTES.minutes() + 1; minute <= now; minute++) {
+            MinuteBucket bucket = ring[slot(minute)];
+            if (bucket.minute == minute) {
+                candidates.addAll(bucket.candidates);
+            }
+        }
+
+        Map<TrendingWindow, List<TrendingSkuDTO>> next = new EnumMap<>(TrendingWindow.class);
+        for (TrendingWindow window : TrendingWindow.values()) {
+            next.put(window, rank(candidates, now, window));
+        }
+        snapshots = next;
+        admissionThreshold = perMinuteThreshold(next.get(TrendingWindow.FIVE_MINUTES));
+        publishGauges(next);
+    }
+
+    private List<TrendingSkuDTO> rank(Set<String> candidates, long now, TrendingWindow window) {
+        PriorityQueue<Map.Entry<String, Long>> heap = new PriorityQueue<>(Map.Entry.comparingByValue());
+        for (String sku : candidates) {
+            long units = estimate(sku, now, window);
+            if (units == 0) {
+                continue;
+            }
+            if (heap.size() < topK) {
+                heap.add(Map.entry(sku, units));
+            } else if (units > heap.peek().getValue()) {
+                heap.poll();
+                heap.add(Map.entry(sku, units));
+            }
+        }
+
+        List<Map.Entry<String, Long>> top = new ArrayList<>(heap);
+        top.sort(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        List<TrendingSkuDTO> result = new ArrayList<>(top.size());
+        for (int i = 0; i < top.size(); i++) {
+            result.add(new TrendingSkuDTO(i + 1, top.get(i).getKey(), top.get(i).getValue()));
+        }
+        return List.copyOf(result);
+    }
+
+    private long estimate(String sku, long now, TrendingWindow window) {
+        long total = 0;
+        for (long minute = now - window.minutes() + 1; minute <= now; minute++) {
+            MinuteBucket bucket = ring[slot(minute)];
+            if (bucket.minute == minute) {
+                total += bucket.sketch.estimate(sku);
+            }
+        }
+        return total;
+    }
+
+    // Once the candidate set of a minute is full, only SKUs selling at the pace of the current top-k get in
+    private long perMinuteThreshold(List<TrendingSkuDTO> fiveMinuteTop) {
+        if (fiveMinuteTop.size() < topK) {
+            return 0;
+        }
+        return fiveMinuteTop.getLast().units() / TrendingWindow.FIVE_MINUTES.minutes();
+    }
+
+    // Every rank up to top-k is published, as zero when fewer SKUs sold in the window
+    private void publishGauges(Map<TrendingWindow, List<TrendingSkuDTO>> next) {
+        List<MultiGauge.Row<?>> rows = new ArrayList<>();
+        next.forEach((window, top) -> {
+            for (int rank = 1; rank <= topK; rank++) {
+                long units = rank <= top.size() ? top.get(rank - 1).units() : 0;
+                rows.add(MultiGauge.Row.of(Tags.of("window", window.label(), "rank", String.valueOf(rank)), units));
+            }
+        });
+        trendingGauge.register(rows, true);
+    }
+
+    private void prepare(long minute) {
+        MinuteBucket bucket = ring[slot(minute)];
+        if (bucket.minute != minute) {
+            bucket.sketch.clear();
+            bucket.candidates.clear();
+            bucket.floor = 0;
+            bucket.minute = minute;
+        }
+    }
+
+    private long currentMinute() {
+        return clock.millis() / 60_000;
+    }
+
+    private static int slot(long minute) {
+        return (int) Math.floorMod(minute, (long) RING_SIZE);
+    }
+
+    private static Map<TrendingWindow, List<TrendingSkuDTO>> emptySnapshots() {
+        Map<TrendingWindow, List<TrendingSkuDTO>> empty = new EnumMap<>(TrendingWindow.class);
+        for (TrendingWindow window : TrendingWindow.values()) {
+            empty.put(window, List.of());
+        }
+        return empty;
+    }
+
+    private static final class MinuteBucket {
+        private final CountMinSketch sketch;
+        private final Set<String> candidates = ConcurrentHashMap.newKeySet();
+        private volatile long minute = Long.MIN_VALUE;
+        // Estimate of the weakest candidate at the last replacement; estimates only grow within a
+        // minute, so a SKU at or below it cannot displace anyone and skips the scan
+        private volatile long floor;
+
+        private MinuteBucket(CountMinSketch sketch) {
+            this.sketch = sketch;
+        }
+
+        private synchronized void replaceWeakest(String sku, long estimate) {
+            if (candidates.contains(sku)) {
+                return;
+            }
+            String weakest = null;
+            long weakestEstimate = Long.MAX_VALUE;
+            for (String candidate : candidates) {
+                long candidateEstimate = sketch.estimate(candidate);
+                if (candidateEstimate < weakestEstimate) {
+                    weakest = candidate;
+                    weakestEstimate = candidateEstimate;
+                }
+            }
+            if (weakest != null && estimate > weakestEstimate) {
+                candidates.remove(weakest);
+                candidates.add(sku);
+            }
+            floor = Math.min(estimate, weakestEstimate);
+        }
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.Map;
 
 @Document(collection = "products")
@@ -45,4 +46,11 @@ public class Product {
     @Indexed
     @Schema(description = "Whether the product is active (false indicates soft-deleted)", example = "true")
     private Boolean active = true;
+
+    @Indexed
+    @Schema(description = "Catalog change sequence of the last write, used by delta sync", example = "1042", accessMode = Schema.AccessMode.READ_ONLY)
+    private Long changeSeq;
+
+    @Schema(description = "When the change sequence was assigned", example = "2025-12-27T10:30:00Z", accessMode = Schema.AccessMode.READ_ONLY)
+    private Instant changedAt;
 }
@@ -6,12 +6,18 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ProductRepository extends MongoRepository<@NonNull Product, @NonNull String> {
     Page<Product> findByActiveTrue(Pageable pageable);
     Optional<Product> findBySkuAndActiveTrue(String sku);
     List<Product> findBySkuInAndActiveTrue(List<String> skus);
+    Stream<Product> streamByActiveTrue();
+    Stream<Product> streamByChangeSeqGreaterThanAndChangedAtBeforeOrderByChangeSeqAsc(long changeSeq, Instant changedBefore);
+    long countByChangeSeqGreaterThanAndChangedAtBefore(long changeSeq, Instant changedBefore);
+    Optional<Product> findFirstByChangedAtBeforeOrderByChangeSeqDesc(Instant changedBefore);
     Page<Product> findByNameContainingIgnoreCaseAndActiveTrueOrSkuContainingIgnoreCaseAndActiveTrue(String name, String sku, Pageable pageable);
 }
@@ -0,0 +1,94 @@
+package com.logiflow.catalog.service;
+
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Monotonic counter stamped on every product write, so delta sync can find catalog changes without
+ * scanning the catalog.
+ * <p>
+ * Separately, Redis holds the catalog version, which lets order quotes check that the catalog is
+ * unchanged without a Mongo round trip. It is incremented once per product write, after the write
+ * has completed, so a quote can only see a version older than the prices it read, never newer, and a
+ * write that completes late still changes the version. If Redis loses the version it restarts from
+ * the counter, which is never below it.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogChangeSequence {
+
+    private static final String COUNTERS_COLLECTION = "counters";
+    private static final String COUNTER_ID = "product_changes";
+    private static final String VERSION_KEY = "logiflow:catalog:version";
+
+    private static final RedisScript<Long> INCREMENT_IF_PRESENT = RedisScript.of("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then return -1 end
+            return redis.call('INCR', KEYS[1])
+            """, Long.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final StringRedisTemplate redisTemplate;
+
+    public long next() {
+        Document counter = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(COUNTER_ID)),
+                new Update().inc("seq", 1L),
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                Document.class,
+                COUNTERS_COLLECTION);
+        return counter.get("seq", Number.class).longValue();
+    }
+
+    /**
+     * Moves the catalog version on for a product write, once the surrounding transaction, if any,
+     * has completed either way.
+     */
+    public void advance() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    increment();
+                }
+            });
+        } else {
+            increment();
+        }
+    }
+
+    /**
+     * @return the catalog version, restarted from Mongo only when Redis has lost it
+     */
+    public long current() {
+        String cached = redisTemplate.opsForValue().get(VERSION_KEY);
+        if (cached != null) {
+            return Long.parseLong(cached);
+        }
+        Document counter = mongoTemplate.findOne(Query.query(Criteria.where("_id").is(COUNTER_ID)),
+                Document.class, COUNTERS_COLLECTION);
+        long seq = counter == null ? 0 : counter.get("seq", Number.class).longValue();
+        redisTemplate.opsForValue().setIfAbsent(VERSION_KEY, Long.toString(seq));
+        return Long.parseLong(Objects.requireNonNull(redisTemplate.opsForValue().get(VERSION_KEY)));
+    }
+
+    private void increment() {
+        Long version = redisTemplate.execute(INCREMENT_IF_PRESENT, List.of(VERSION_KEY));
+        if (version == null || version < 0) {
+            current();
+            redisTemplate.execute(INCREMENT_IF_PRESENT, List.of(VERSION_KEY));
+        }
+    }
+}
@@ -19,6 +19,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
 
 @Service
@@ -29,6 +30,7 @@ public class ProductService {
     private final ProductRepository productRepository;
     private final ApplicationEventPublisher eventPublisher;
     private final ProductMapper productMapper;
+    private final CatalogChangeSequence catalogChangeSequence;
 
     @Transactional(readOnly = true)
     public Page<ProductResponseDTO> getAllProducts(Pageable pageable, String search) {
@@ -39,7 +41,7 @@ public class ProductService {
         return products.map(productMapper::toDto);
     }
 
-    @Cacheable(value = "products", key = "#id")
+    @Cacheable(value = "products", key = "#id", sync = true)
     @Transactional(readOnly = true)
     public ProductResponseDTO getProductById(String id) {
         return productMapper.toDto(findByIdOrThrow(id));
@@ -56,7 +58,9 @@ public class ProductService {
     @CachePut(value = "products", key = "#result.id")
     public ProductResponseDTO createProduct(ProductRequestDTO dto) {
         Product product = productMapper.toEntity(dto);
+        stampChange(product);
         Product savedProduct = productRepository.save(product);
+        catalogChangeSequence.advance();
 
         publishEvent(new ProductCreatedEvent(savedProduct.getId(), savedProduct.getSku()));
 
@@ -70,7 +74,9 @@ public class ProductService {
         String oldSku = product.getSku();
 
         updateProductFields(product, dto);
+        stampChange(product);
         Product savedProduct = productRepository.save(product);
+        catalogChangeSequence.advance();
 
         publishSkuUpdateEventIfChanged(oldSku, dto.sku(), savedProduct.getId());
 
@@ -82,7 +88,14 @@ public class ProductService {
     public void deleteProduct(String id) {
         Product product = findByIdOrThrow(id);
         product.setActive(false);
+        stampChange(product);
         productRepository.save(product);
+        catalogChangeSequence.advance();
+    }
+
+    private void stampChange(Product product) {
+        product.setChangeSeq(catalogChangeSequence.next());
+        product.setChangedAt(Instant.now());
     }
 
     private Product findByIdOrThrow(String id) {
@@ -0,0 +1,45 @@
+package com.logiflow.cluster.controller;
+
+import com.logiflow.cluster.dto.ClusterReservationRequestDTO;
+import com.logiflow.cluster.dto.ClusterReservationResponseDTO;
+import com.logiflow.cluster.service.ClusterReservationService;
+import io.swagger.v3.oas.annotations.Hidden;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Node-to-node endpoints used to forward reservations to a SKU's owner. They are authenticated by
+ * the shared cluster token rather than a user JWT and are not part of the public API.
+ */
+@Hidden
+@RestController
+@RequestMapping("/internal/v1/cluster")
+@RequiredArgsConstructor
+public class ClusterReservationController {
+
+    private static final String TOKEN_HEADER = "X-Cluster-Token";
+
+    private final ClusterReservationService clusterReservationService;
+
+    @PostMapping("/reservations")
+    public ClusterReservationResponseDTO reserve(@RequestHeader(value = TOKEN_HEADER, required = false) String token,
+                                                 @Valid @RequestBody ClusterReservationRequestDTO request) {
+        return new ClusterReservationResponseDTO(clusterReservationService.handleForwarded(
+                token, request.requestId(), request.warehouseCode(), request.sku(), request.quantity(), true));
+    }
+
+    @PostMapping("/releases")
+    public ClusterReservationResponseDTO release(@RequestHeader(value = TOKEN_HEADER, required = false) String token,
+                                                 @Valid @RequestBody ClusterReservationRequestDTO request) {
+        return new ClusterReservationResponseDTO(clusterReservationService.handleForwarded(
+                token, request.requestId(), request.warehouseCode(), request.sku(), request.quantity(), false));
+    }
+
+    @PostMapping("/cancellations")
+    public ClusterReservationResponseDTO cancel(@RequestHeader(value = TOKEN_HEADER, required = false) String token,
+                                                @Valid @RequestBody ClusterReservationRequestDTO request) {
+        return new ClusterReservationResponseDTO(clusterReservationService.handleCancel(
+                token, request.requestId(), request.warehouseCode(), request.sku()));
+    }
+}
@@ -0,0 +1,22 @@
+package com.logiflow.cluster.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+@Schema(description = "Reservation or release forwarded to the node owning the SKU")
+public record ClusterReservationRequestDTO(
+        @Schema(description = "Id the owner deduplicates on; a retry after a lost reply reuses it", example = "1b4e28ba-2fa1-11d2-883f-0016d3cca427", requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotBlank String requestId,
+
+        @Schema(description = "Warehouse holding the stock", example = "KYIV-01", requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotBlank String warehouseCode,
+
+        @Schema(description = "Stock Keeping Unit - unique product identifier", example = "WM-001", requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotBlank String sku,
+
+        @Schema(description = "Units to reserve (at most) or release", example = "3", minimum = "1", requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotNull @Positive Integer quantity
+) {
+}
@@ -0,0 +1,10 @@
+package com.logiflow.cluster.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Outcome of a forwarded reservation or release")
+public record ClusterReservationResponseDTO(
+        @Schema(description = "Units actually reserved or released", example = "3")
+        Integer quantity
+) {
+}
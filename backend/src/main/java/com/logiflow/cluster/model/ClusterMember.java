@@ -0,0 +1,7 @@
+package com.logiflow.cluster.model;
+
+/**
+ * A live backend node: its stable id and the base URL other nodes forward requests to.
+ */
+public record ClusterMember(String nodeId, String url) {
+}
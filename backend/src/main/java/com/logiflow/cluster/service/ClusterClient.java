@@ -0,0 +1,62 @@
+package com.logiflow.cluster.service;
+
+import com.logiflow.cluster.dto.ClusterReservationRequestDTO;
+import com.logiflow.cluster.dto.ClusterReservationResponseDTO;
+import com.logiflow.cluster.model.ClusterMember;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Forwards reservations to the node owning the SKU over the internal cluster endpoints. Every
+ * request carries an id the owner deduplicates on, so a request whose reply was lost can be resent.
+ */
+@Component
+public class ClusterClient {
+
+    private static final String TOKEN_HEADER = "X-Cluster-Token";
+
+    private final RestClient restClient;
+
+    @Value("${app.cluster.token:}")
+    private String token = "";
+
+    public ClusterClient(@Value("${app.cluster.forward-timeout-ms:2000}") long timeoutMs) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(timeoutMs))
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(timeoutMs));
+        this.restClient = RestClient.builder().requestFactory(requestFactory).build();
+    }
+
+    public int reserveUpTo(ClusterMember owner, String requestId, String warehouseCode, String sku, int amount) {
+        return post(owner, "/internal/v1/cluster/reservations", requestId, warehouseCode, sku, amount);
+    }
+
+    public int release(ClusterMember owner, String requestId, String warehouseCode, String sku, int amount) {
+        return post(owner, "/internal/v1/cluster/releases", requestId, warehouseCode, sku, amount);
+    }
+
+    /**
+     * Withdraws the reservation sent under {@code requestId}, whether or not it reached the owner.
+     */
+    public int cancel(ClusterMember owner, String requestId, String warehouseCode, String sku, int amount) {
+        return post(owner, "/internal/v1/cluster/cancellations", requestId, warehouseCode, sku, amount);
+    }
+
+    private int post(ClusterMember owner, String path, String requestId, String warehouseCode, String sku, int amount) {
+        ClusterReservationResponseDTO response = restClient.post()
+                .uri(owner.url() + path)
+                .header(TOKEN_HEADER, token)
+                .body(new ClusterReservationRequestDTO(requestId, warehouseCode, sku, amount))
+                .retrieve()
+                .body(ClusterReservationResponseDTO.class);
+        return Objects.requireNonNull(response).quantity();
+    }
+}
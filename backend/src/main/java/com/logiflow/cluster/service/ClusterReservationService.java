@@ -0,0 +1,212 @@
+package com.logiflow.cluster.service;
+
+import com.logiflow.cluster.model.ClusterMember;
+import com.logiflow.shared.exception.ReservationOwnerUnavailableException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+
+import java.net.ConnectException;
+import java.net.http.HttpConnectTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntSupplier;
+
+/**
+ * Sends reservations of a SKU to the node owning it, which serializes them in memory instead of
+ * every node queueing on the same stock rows. When the owner cannot be connected to, the request
+ * never left this node and runs here instead; that is safe because the owner's lanes lock the rows
+ * they write, too.
+ * <p>
+ * Once a request may have reached the owner it is never run locally, which could apply it twice.
+ * A request whose reply is lost is resent once under the same id, which the owner deduplicates on;
+ * if that fails as well a reservation is cancelled by id and the caller gets
+ * {@link ReservationOwnerUnavailableException}.
+ * <p>
+ * Owners commit on their own, so a reservation made for a transaction that rolls back is released
+ * afterwards, and a release only goes out once the caller's transaction has committed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ClusterReservationService {
+
+    private static final int REMEMBERED_REQUESTS = 100_000;
+
+    private final SkuOwnershipService skuOwnershipService;
+    private final OwnedReservationExecutor ownedReservationExecutor;
+    private final ClusterClient clusterClient;
+
+    // Outcomes of recently forwarded requests by id, so a resent request is answered, not repeated
+    private final Map<String, CompletableFuture<Integer>> handled = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CompletableFuture<Integer>> eldest) {
+            return size() > REMEMBERED_REQUESTS;
+        }
+    };
+
+    @Value("${app.cluster.token:}")
+    private String token = "";
+
+    public boolean isEnabled() {
+        return skuOwnershipService.isEnabled();
+    }
+
+    public int reserveUpTo(String warehouseCode, String sku, int amount) {
+        int reserved = route(warehouseCode, sku, amount, true);
+        if (reserved > 0 && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        route(warehouseCode, sku, reserved, false);
+                    }
+                }
+            });
+        }
+        return reserved;
+    }
+
+    public void release(String warehouseCode, String sku, int amount) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    try {
+                        route(warehouseCode, sku, amount, false);
+                    } catch (ReservationOwnerUnavailableException e) {
+                        // The caller already committed; the units stay reserved until released by hand
+                        log.error("Release of {} units of SKU {} in {} may be lost: {}",
+                                amount, sku, warehouseCode, e.getMessage());
+                    }
+                }
+            });
+        } else {
+            route(warehouseCode, sku, amount, false);
+        }
+    }
+
+    /**
+     * Entry point of forwarded requests; they are always run here, even if ownership moved meanwhile.
+     * A request id seen before returns the first outcome without running again.
+     */
+    public int handleForwarded(String presentedToken, String requestId, String warehouseCode, String sku,
+                               int amount, boolean reserve) {
+        checkToken(presentedToken);
+        return once(requestId, () -> reserve
+                ? ownedReservationExecutor.reserveUpTo(warehouseCode, sku, amount)
+                : ownedReservationExecutor.release(warehouseCode, sku, amount));
+    }
+
+    /**
+     * Releases what the reservation sent under {@code requestId} reserved. If it has not arrived yet,
+     * it is recorded as reserving nothing, so it has no effect when it does arrive.
+     */
+    public int handleCancel(String presentedToken, String requestId, String warehouseCode, String sku) {
+        checkToken(presentedToken);
+        int reserved = once(requestId, () -> 0);
+        return reserved > 0
+                ? once("cancel:" + requestId, () -> ownedReservationExecutor.release(warehouseCode, sku, reserved))
+                : 0;
+    }
+
+    private int route(String warehouseCode, String sku, int amount, boolean reserve) {
+        ClusterMember owner = skuOwnershipService.ownerOf(sku);
+        if (!owner.equals(skuOwnershipService.self())) {
+            String requestId = UUID.randomUUID().toString();
+            try {
+                return forward(owner, requestId, warehouseCode, sku, amount, reserve);
+            } catch (RestClientException e) {
+                if (!neverSent(e)) {
+                    return resend(owner, requestId, warehouseCode, sku, amount, reserve, e);
+                }
+                log.warn("Owner {} of SKU {} unreachable, handling locally: {}", owner.nodeId(), sku, e.getMessage());
+            }
+        }
+        return reserve
+                ? ownedReservationExecutor.reserveUpTo(warehouseCode, sku, amount)
+                : ownedReservationExecutor.release(warehouseCode, sku, amount);
+    }
+
+    private int resend(ClusterMember owner, String requestId, String warehouseCode, String sku, int amount,
+                       boolean reserve, RestClientException failure) {
+        if (failure instanceof ResourceAccessException) {
+            log.warn("No reply from owner {} of SKU {}, resending request {}: {}",
+                    owner.nodeId(), sku, requestId, failure.getMessage());
+            try {
+                return forward(owner, requestId, warehouseCode, sku, amount, reserve);
+            } catch (RestClientException e) {
+                failure = e;
+            }
+        }
+        if (reserve) {
+            try {
+                clusterClient.cancel(owner, requestId, warehouseCode, sku, amount);
+            } catch (RestClientException e) {
+                log.error("Could not cancel request {} for {} units of SKU {} on owner {}: {}",
+                        requestId, amount, sku, owner.nodeId(), e.getMessage());
+            }
+        }
+        throw new ReservationOwnerUnavailableException(
+                "Owner " + owner.nodeId() + " of SKU " + sku + " did not confirm the request", failure);
+    }
+
+    private int forward(ClusterMember owner, String requestId, String warehouseCode, String sku, int amount,
+                        boolean reserve) {
+        return reserve
+                ? clusterClient.reserveUpTo(owner, requestId, warehouseCode, sku, amount)
+                : clusterClient.release(owner, requestId, warehouseCode, sku, amount);
+    }
+
+    // Only a failed connection proves the owner never saw the request; a timeout or an error reply does not
+    private static boolean neverSent(RestClientException e) {
+        if (!(e instanceof ResourceAccessException)) {
+            return false;
+        }
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException || cause instanceof HttpConnectTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int once(String requestId, IntSupplier action) {
+        CompletableFuture<Integer> result = new CompletableFuture<>();
+        CompletableFuture<Integer> previous;
+        synchronized (handled) {
+            previous = handled.putIfAbsent(requestId, result);
+        }
+        if (previous != null) {
+            return previous.join();
+        }
+        try {
+            result.complete(action.getAsInt());
+        } catch (RuntimeException e) {
+            // Nothing was applied, so a resent request may try again
+            synchronized (handled) {
+                handled.remove(requestId);
+            }
+            result.completeExceptionally(e);
+            throw e;
+        }
+        return result.join();
+    }
+
+    private void checkToken(String presentedToken) {
+        if (token.isEmpty() || presentedToken == null || !MessageDigest.isEqual(
+                token.getBytes(StandardCharsets.UTF_8), presentedToken.getBytes(StandardCharsets.UTF_8))) {
+            throw new AccessDeniedException("Invalid cluster token");
+        }
+    }
+}
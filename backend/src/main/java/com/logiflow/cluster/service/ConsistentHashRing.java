@@ -0,0 +1,70 @@
+package com.logiflow.cluster.service;
+
+import com.logiflow.cluster.model.ClusterMember;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Immutable hash ring with virtual nodes. Each member takes {@code virtualNodes} points, so keys
+ * spread evenly, and a member joining or leaving only moves the keys next to its own points.
+ */
+public final class ConsistentHashRing {
+
+    private final long[] points;
+    private final ClusterMember[] owners;
+    private final Set<ClusterMember> members;
+
+    public ConsistentHashRing(Collection<ClusterMember> members, int virtualNodes) {
+        TreeMap<Long, ClusterMember> ring = new TreeMap<>();
+        // Sorted so every node resolves point collisions the same way
+        List<ClusterMember> sorted = members.stream()
+                .sorted(Comparator.comparing(ClusterMember::nodeId))
+                .toList();
+        for (ClusterMember member : sorted) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.putIfAbsent(hash(member.nodeId() + "#" + i), member);
+            }
+        }
+        this.points = new long[ring.size()];
+        this.owners = new ClusterMember[ring.size()];
+        int i = 0;
+        for (Map.Entry<Long, ClusterMember> point : ring.entrySet()) {
+            points[i] = point.getKey();
+            owners[i++] = point.getValue();
+        }
+        this.members = Set.copyOf(sorted);
+    }
+
+    /**
+     * @return the member owning the key, or {@code null} when the ring is empty
+     */
+    public ClusterMember owner(String key) {
+        if (points.length == 0) {
+            return null;
+        }
+        int index = Arrays.binarySearch(points, hash(key));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    public Set<ClusterMember> members() {
+        return members;
+    }
+
+    // FNV-1a with a splitmix64 finalizer: FNV alone clusters short, similar keys such as SKU codes
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 30;
+        hash *= 0xbf58476d1ce4e5b9L;
+        hash ^= hash >>> 27;
+        hash *= 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+}
@@ -0,0 +1,50 @@
+package com.logiflow.cluster.service;
+
+import com.logiflow.cluster.model.ClusterMember;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry local to one JVM, for tests and for running several nodes in one process.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.cluster", name = "membership", havingValue = "local")
+public class InMemoryMembershipRegistry implements MembershipRegistry {
+
+    private final Map<ClusterMember, Instant> expiries = new ConcurrentHashMap<>();
+    private final Clock clock;
+
+    @Autowired
+    public InMemoryMembershipRegistry() {
+        this(Clock.systemUTC());
+    }
+
+    InMemoryMembershipRegistry(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public void heartbeat(ClusterMember member, Duration ttl) {
+        expiries.put(member, clock.instant().plus(ttl));
+    }
+
+    @Override
+    public void leave(ClusterMember member) {
+        expiries.remove(member);
+    }
+
+    @Override
+    public List<ClusterMember> liveMembers() {
+        Instant now = clock.instant();
+        expiries.values().removeIf(expiry -> !expiry.isAfter(now));
+        return List.copyOf(expiries.keySet());
+    }
+}
@@ -0,0 +1,19 @@
+package com.logiflow.cluster.service;
+
+import com.logiflow.cluster.model.ClusterMember;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Shared list of live nodes. A member stays listed until its last heartbeat is older than the TTL it
+ * gave, or until it leaves.
+ */
+public interface MembershipRegistry {
+
+    void heartbeat(ClusterMember member, Duration ttl);
+
+    void leave(ClusterMember member);
+
+    List<ClusterMember> liveMembers();
+}
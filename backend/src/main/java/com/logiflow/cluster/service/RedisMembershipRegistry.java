@@ -0,0 +1,55 @@
+package com.logiflow.cluster.service;
+
+import com.logiflow.cluster.model.ClusterMember;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Members in a sorted set scored by the time their heartbeat expires.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.cluster", name = "membership", havingValue = "redis", matchIfMissing = true)
+@RequiredArgsConstructor
+public class RedisMembershipRegistry implements MembershipRegistry {
+
+    private static final String MEMBERS_KEY = "logiflow:cluster:members";
+    private static final String SEPARATOR = " ";
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Override
+    public void heartbeat(ClusterMember member, Duration ttl) {
+        redisTemplate.opsForZSet().add(MEMBERS_KEY, encode(member), System.currentTimeMillis() + ttl.toMillis());
+    }
+
+    @Override
+    public void leave(ClusterMember member) {
+        redisTemplate.opsForZSet().remove(MEMBERS_KEY, encode(member));
+    }
+
+    @Override
+    public List<ClusterMember> liveMembers() {
+        long now = System.currentTimeMillis();
+        redisTemplate.opsForZSet().removeRangeByScore(MEMBERS_KEY, Double.NEGATIVE_INFINITY, now);
+        Set<String> members = redisTemplate.opsForZSet().rangeByScore(MEMBERS_KEY, now, Double.POSITIVE_INFINITY);
+        return Objects.requireNonNullElse(members, Set.<String>of()).stream()
+                .map(RedisMembershipRegistry::decode)
+                .toList();
+    }
+
+    private static String encode(ClusterMember member) {
+        return member.nodeId() + SEPARATOR + member.url();
+    }
+
+    private static ClusterMember decode(String value) {
+        int separator = value.indexOf(SEPARATOR);
+        return new ClusterMember(value.substring(0, separator), value.substring(separator + 1));
+    }
+}
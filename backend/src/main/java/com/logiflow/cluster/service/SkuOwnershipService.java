@@ -0,0 +1,109 @@
+package com.logiflow.cluster.service;
+
+import com.logiflow.cluster.model.ClusterMember;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Assigns every SKU to one live node through a consistent hash ring over the membership registry.
+ * <p>
+ * Nodes heartbeat into the registry and rebuild the ring when membership changes; a node shutting
+ * down leaves at once, a crashed one drops out when its heartbeat expires. Ownership only decides
+ * where reservations are serialized: during a hand-off two nodes may briefly both act as owner,
+ * which costs contention but not correctness, since the stock rows are still locked when written.
+ */
+@Service
+@Slf4j
+public class SkuOwnershipService {
+
+    private final MembershipRegistry membershipRegistry;
+
+    @Value("${app.cluster.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.cluster.node-id:}")
+    private String nodeId = "";
+
+    @Value("${app.cluster.advertised-url:http://localhost:8080}")
+    private String advertisedUrl = "http://localhost:8080";
+
+    @Value("${app.cluster.member-ttl-ms:6000}")
+    private long memberTtlMs = 6_000;
+
+    @Value("${app.cluster.virtual-nodes:128}")
+    private int virtualNodes = 128;
+
+    private volatile ClusterMember self;
+    private volatile ConsistentHashRing ring = new ConsistentHashRing(List.of(), 0);
+
+    @Autowired
+    public SkuOwnershipService(MembershipRegistry membershipRegistry) {
+        this.membershipRegistry = membershipRegistry;
+    }
+
+    SkuOwnershipService(MembershipRegistry membershipRegistry, String nodeId, String advertisedUrl) {
+        this.membershipRegistry = membershipRegistry;
+        this.enabled = true;
+        this.nodeId = nodeId;
+        this.advertisedUrl = advertisedUrl;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public ClusterMember self() {
+        if (self == null) {
+            self = new ClusterMember(nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId, advertisedUrl);
+        }
+        return self;
+    }
+
+    /**
+     * @return the owning node, this one while the ring is still empty
+     */
+    public ClusterMember ownerOf(String sku) {
+        ClusterMember owner = ring.owner(sku);
+        return owner == null ? self() : owner;
+    }
+
+    public boolean ownsLocally(String sku) {
+        return ownerOf(sku).equals(self());
+    }
+
+    @Scheduled(fixedDelayString = "${app.cluster.heartbeat-ms:2000}")
+    public void heartbeat() {
+        if (!enabled) {
+            return;
+        }
+        membershipRegistry.heartbeat(self(), Duration.ofMillis(memberTtlMs));
+        refresh();
+    }
+
+    void refresh() {
+        Set<ClusterMember> members = new HashSet<>(membershipRegistry.liveMembers());
+        members.add(self());
+        if (!members.equals(ring.members())) {
+            ring = new ConsistentHashRing(members, virtualNodes);
+            log.info("Cluster membership changed, SKUs now spread over {} nodes: {}", members.size(),
+                    members.stream().map(ClusterMember::nodeId).sorted().toList());
+        }
+    }
+
+    @PreDestroy
+    public void leave() {
+        if (enabled) {
+            membershipRegistry.leave(self());
+        }
+    }
+}
@@ -0,0 +1,379 @@
+package com.logiflow.config;
+
+import com.logiflow.catalog.dto.ProductResponseDTO;
+import com.logiflow.inventory.dto.InventoryResponseDTO;
+import com.logiflow.user.dto.UserResponse;
+import com.logiflow.user.model.Role;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Writes the cached DTOs as compact binary records instead of polymorphic JSON. An entry is a
+ * format version byte, a type tag and the record's fields in declaration order: strings as a
+ * varint length plus UTF-8, numbers as zigzag varints, nullable values behind a presence marker.
+ * Product attributes are free-form, so they are kept as JSON and deflated once they are large. The
+ * freshness {@link StampedeProtectedCache} keeps with a value is a record around the value's own bytes.
+ * <p>
+ * Types without a binary layout are written by the JSON serializer, and entries that start like
+ * JSON are read by it, so entries cached before the switch stay readable until they expire. An
+ * entry this node cannot decode, such as one in a newer format written during a rolling deploy,
+ * reads as a cache miss and is overwritten. Changing a layout means bumping {@link #FORMAT_VERSION}.
+ */
+@Slf4j
+public class CacheValueSerializer implements RedisSerializer<Object> {
+
+    static final byte FORMAT_VERSION = 2;
+
+    private static final byte PRODUCT = 1;
+    private static final byte INVENTORY = 2;
+    private static final byte USER = 3;
+    private static final byte CACHED = 4;
+
+    private static final byte ATTRIBUTES_NULL = 0;
+    private static final byte ATTRIBUTES_JSON = 1;
+    private static final byte ATTRIBUTES_DEFLATED = 2;
+
+    private static final TypeReference<Map<String, Object>> ATTRIBUTES_TYPE = new TypeReference<>() {
+    };
+
+    private final RedisSerializer<Object> jsonSerializer;
+    private final ObjectMapper objectMapper;
+    private final int compressionThreshold;
+
+    public CacheValueSerializer(RedisSerializer<Object> jsonSerializer, ObjectMapper objectMapper, int compressionThreshold) {
+        this.jsonSerializer = jsonSerializer;
+        this.objectMapper = objectMapper;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] serialize(Object value) {
+        Writer out = new Writer();
+        switch (value) {
+            case ProductResponseDTO product -> {
+                out.header(PRODUCT);
+                out.string(product.id());
+                out.string(product.name());
+                out.string(product.sku());
+                out.decimal(product.price());
+                writeAttributes(out, product.attributes());
+                out.flag(product.active());
+            }
+            case InventoryResponseDTO inventory -> {
+                out.header(INVENTORY);
+                out.string(inventory.sku());
+                out.nullableLong(inventory.availableQuantity() == null ? null : inventory.availableQuantity().longValue());
+            }
+            case UserResponse user -> {
+                out.header(USER);
+                out.nullableLong(user.id());
+                out.string(user.username());
+                out.string(user.email());
+                out.string(user.fullName());
+                out.string(user.role() == null ? null : user.role().name());
+                out.string(user.customerGroup());
+                out.flag(user.enabled());
+                out.dateTime(user.createdAt());
+                out.dateTime(user.updatedAt());
+            }
+            case StampedeProtectedCache.CachedValue cached -> {
+                out.header(CACHED);
+                out.signedLong(cached.freshUntil());
+                out.signedLong(cached.loadMillis());
+                out.bytes(serialize(cached.value()));
+            }
+            case null, default -> {
+                return jsonSerializer.serialize(value);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        try {
+            if (bytes[0] == '{' || bytes[0] == '[') {
+                return jsonSerializer.deserialize(bytes);
+            }
+            if (bytes[0] != FORMAT_VERSION) {
+                log.debug("Ignoring cache entry in format {}", bytes[0]);
+                return null;
+            }
+            Reader in = new Reader(bytes, 1);
+            return switch (in.readByte()) {
+                case PRODUCT -> new ProductResponseDTO(in.string(), in.string(), in.string(), in.decimal(),
+                        readAttributes(in), in.flag());
+                case INVENTORY -> {
+                    String sku = in.string();
+                    Long available = in.nullableLong();
+                    yield new InventoryResponseDTO(sku, available == null ? null : available.intValue());
+                }
+                case USER -> new UserResponse(in.nullableLong(), in.string(), in.string(), in.string(),
+                        role(in.string()), in.string(), Boolean.TRUE.equals(in.flag()), in.dateTime(), in.dateTime());
+                case CACHED -> {
+                    long freshUntil = in.signedLong();
+                    long loadMillis = in.signedLong();
+                    Object value = deserialize(in.bytes());
+                    yield value == null ? null : new StampedeProtectedCache.CachedValue(value, freshUntil, loadMillis);
+                }
+                default -> null;
+            };
+        } catch (RuntimeException | DataFormatException e) {
+            log.debug("Ignoring unreadable cache entry: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeAttributes(Writer out, Map<String, Object> attributes) {
+        if (attributes == null) {
+            out.writeByte(ATTRIBUTES_NULL);
+            return;
+        }
+        byte[] json = objectMapper.writeValueAsBytes(attributes);
+        if (json.length >= compressionThreshold) {
+            byte[] deflated = deflate(json);
+            if (deflated.length < json.length) {
+                out.writeByte(ATTRIBUTES_DEFLATED);
+                out.varLong(json.length);
+                out.bytes(deflated);
+                return;
+            }
+        }
+        out.writeByte(ATTRIBUTES_JSON);
+        out.bytes(json);
+    }
+
+    private Map<String, Object> readAttributes(Reader in) throws DataFormatException {
+        return switch (in.readByte()) {
+            case ATTRIBUTES_NULL -> null;
+            case ATTRIBUTES_JSON -> objectMapper.readValue(in.bytes(), ATTRIBUTES_TYPE);
+            case ATTRIBUTES_DEFLATED -> {
+                int length = Math.toIntExact(in.varLong());
+                yield objectMapper.readValue(inflate(in.bytes(), length), ATTRIBUTES_TYPE);
+            }
+            default -> throw new IllegalStateException("Unknown attributes encoding");
+        };
+    }
+
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            byte[] output = new byte[input.length];
+            int length = deflater.deflate(output);
+            // Did not fit into the input's size, so it would not have saved anything
+            return deflater.finished() ? Arrays.copyOf(output, length) : input;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] input, int length) throws DataFormatException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+            byte[] output = new byte[length];
+            if (inflater.inflate(output) != length || !inflater.finished()) {
+                throw new DataFormatException("Truncated attributes");
+            }
+            return output;
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static Role role(String name) {
+        return name == null ? null : Role.valueOf(name);
+    }
+
+    private static final class Writer {
+        private byte[] buffer = new byte[128];
+        private int size;
+
+        void header(byte type) {
+            writeByte(FORMAT_VERSION);
+            writeByte(type);
+        }
+
+        void writeByte(int value) {
+            ensure(1);
+            buffer[size++] = (byte) value;
+        }
+
+        void varLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        void signedLong(long value) {
+            varLong((value << 1) ^ (value >> 63));
+        }
+
+        void nullableLong(Long value) {
+            writeByte(value == null ? 0 : 1);
+            if (value != null) {
+                signedLong(value);
+            }
+        }
+
+        void flag(Boolean value) {
+            writeByte(value == null ? 0 : value ? 2 : 1);
+        }
+
+        void bytes(byte[] value) {
+            varLong(value.length);
+            ensure(value.length);
+            System.arraycopy(value, 0, buffer, size, value.length);
+            size += value.length;
+        }
+
+        // Length plus one, so zero can mark null
+        void string(String value) {
+            if (value == null) {
+                writeByte(0);
+                return;
+            }
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            varLong(utf8.length + 1L);
+            ensure(utf8.length);
+            System.arraycopy(utf8, 0, buffer, size, utf8.length);
+            size += utf8.length;
+        }
+
+        void decimal(BigDecimal value) {
+            if (value == null) {
+                writeByte(0);
+            } else if (value.unscaledValue().bitLength() < Long.SIZE) {
+                writeByte(1);
+                signedLong(value.scale());
+                signedLong(value.unscaledValue().longValue());
+            } else {
+                writeByte(2);
+                signedLong(value.scale());
+                bytes(value.unscaledValue().toByteArray());
+            }
+        }
+
+        void dateTime(LocalDateTime value) {
+            writeByte(value == null ? 0 : 1);
+            if (value != null) {
+                signedLong(value.toEpochSecond(ZoneOffset.UTC));
+                varLong(value.getNano());
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+
+        private void ensure(int bytes) {
+            if (size + bytes > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + bytes));
+            }
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] buffer;
+        private int position;
+
+        Reader(byte[] buffer, int position) {
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        byte readByte() {
+            return buffer[position++];
+        }
+
+        long varLong() {
+            long value = 0;
+            for (int shift = 0; shift < Long.SIZE; shift += 7) {
+                byte b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IllegalStateException("Malformed varint");
+        }
+
+        long signedLong() {
+            long value = varLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        Long nullableLong() {
+            return readByte() == 0 ? null : signedLong();
+        }
+
+        Boolean flag() {
+            byte value = readByte();
+            return value == 0 ? null : value == 2;
+        }
+
+        byte[] bytes() {
+            int length = Math.toIntExact(varLong());
+            byte[] value = Arrays.copyOfRange(buffer, position, Math.addExact(position, length));
+            position += length;
+            return value;
+        }
+
+        String string() {
+            int length = Math.toIntExact(varLong()) - 1;
+            if (length < 0) {
+                return null;
+            }
+            if (position + length > buffer.length) {
+                throw new IllegalStateException("Truncated string");
+            }
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        BigDecimal decimal() {
+            return switch (readByte()) {
+                case 0 -> null;
+                case 1 -> {
+                    int scale = Math.toIntExact(signedLong());
+                    yield BigDecimal.valueOf(signedLong(), scale);
+                }
+                case 2 -> {
+                    int scale = Math.toIntExact(signedLong());
+                    yield new BigDecimal(new BigInteger(bytes()), scale);
+                }
+                default -> throw new IllegalStateException("Malformed decimal");
+            };
+        }
+
+        LocalDateTime dateTime() {
+            if (readByte() == 0) {
+                return null;
+            }
+            long seconds = signedLong();
+            return LocalDateTime.ofEpochSecond(seconds, Math.toIntExact(varLong()), ZoneOffset.UTC);
+        }
+    }
+}
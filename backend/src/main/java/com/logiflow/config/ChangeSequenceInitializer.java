@@ -0,0 +1,52 @@
+package com.logiflow.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Installs the trigger that stamps {@code inventories.change_seq} on every insert and update, and
+ * bumps {@code version} for the set-based JDBC writers that do not, so optimistic reservations
+ * notice them too.
+ * <p>
+ * The stamp is the id of the writing transaction rather than a sequence value: ids are handed out in
+ * order, and {@code pg_snapshot_xmin} tells which of them can no longer commit, which is what lets
+ * delta sync hand out cursors that never skip a row committed late.
+ */
+@Component
+@Slf4j
+public class ChangeSequenceInitializer implements SmartInitializingSingleton {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Depends on the EntityManagerFactory so Hibernate has added the column before the trigger uses it
+    public ChangeSequenceInitializer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        jdbcTemplate.execute("""
+                CREATE OR REPLACE FUNCTION inventories_stamp_change_seq() RETURNS trigger
+                LANGUAGE plpgsql AS $$
+                BEGIN
+                    NEW.change_seq := pg_current_xact_id()::text::bigint;
+                    IF TG_OP = 'INSERT' THEN
+                        NEW.version := COALESCE(NEW.version, 0);
+                    ELSIF NEW.version IS NOT DISTINCT FROM OLD.version THEN
+                        NEW.version := COALESCE(OLD.version, 0) + 1;
+                    END IF;
+                    RETURN NEW;
+                END
+                $$""");
+        jdbcTemplate.execute("""
+                CREATE OR REPLACE TRIGGER trg_inventories_change_seq
+                BEFORE INSERT OR UPDATE ON inventories
+                FOR EACH ROW EXECUTE FUNCTION inventories_stamp_change_seq()""");
+        // Rows written while the version column was not managed by JPA
+        jdbcTemplate.update("UPDATE inventories SET version = 0 WHERE version IS NULL");
+        log.info("Inventory change sequence trigger installed");
+    }
+}
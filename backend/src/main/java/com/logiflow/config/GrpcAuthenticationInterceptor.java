@@ -0,0 +1,112 @@
+package com.logiflow.config;
+
+import com.logiflow.user.service.JwtService;
+import io.grpc.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.grpc.server.GlobalServerInterceptor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * gRPC counterpart of {@link JwtAuthenticationFilter}: requires an {@code authorization: Bearer <jwt>}
+ * header on every call. gRPC runs a call's callbacks on pool threads, so the security context is set
+ * around each callback rather than once per call. Health checks and reflection stay open.
+ */
+@Component
+@GlobalServerInterceptor
+@RequiredArgsConstructor
+@Slf4j
+public class GrpcAuthenticationInterceptor implements ServerInterceptor {
+
+    private static final Metadata.Key<String> AUTHORIZATION =
+            Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER);
+
+    private final JwtService jwtService;
+    private final UserDetailsService userDetailsService;
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+                                                                 ServerCallHandler<ReqT, RespT> next) {
+        if (call.getMethodDescriptor().getServiceName().startsWith("grpc.")) {
+            return next.startCall(call, headers);
+        }
+        Authentication authentication = authenticate(headers.get(AUTHORIZATION));
+        if (authentication == null) {
+            call.close(Status.UNAUTHENTICATED.withDescription("Missing or invalid bearer token"), new Metadata());
+            return new ServerCall.Listener<>() {
+            };
+        }
+
+        ServerCall.Listener<ReqT> listener = callAs(authentication, () -> next.startCall(call, headers));
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(listener) {
+            @Override
+            public void onMessage(ReqT message) {
+                runAs(authentication, () -> super.onMessage(message));
+            }
+
+            @Override
+            public void onHalfClose() {
+                runAs(authentication, super::onHalfClose);
+            }
+
+            @Override
+            public void onCancel() {
+                runAs(authentication, super::onCancel);
+            }
+
+            @Override
+            public void onComplete() {
+                runAs(authentication, super::onComplete);
+            }
+
+            @Override
+            public void onReady() {
+                runAs(authentication, super::onReady);
+            }
+        };
+    }
+
+    private Authentication authenticate(String header) {
+        if (header == null || !header.startsWith("Bearer ")) {
+            return null;
+        }
+        String jwt = header.substring(7);
+        try {
+            String username = jwtService.extractUsername(jwt);
+            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (!jwtService.isTokenValid(jwt, userDetails)) {
+                return null;
+            }
+            return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        } catch (RuntimeException e) {
+            log.debug("Rejected gRPC token: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static <T> T callAs(Authentication authentication, Supplier<T> action) {
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(authentication);
+        SecurityContextHolder.setContext(context);
+        try {
+            return action.get();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private static void runAs(Authentication authentication, Runnable action) {
+        callAs(authentication, () -> {
+            action.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,78 @@
+package com.logiflow.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Moves every pooled ID sequence past the highest ID already stored in its table, so rows created
+ * while the tables still used IDENTITY columns keep their IDs.
+ * <p>
+ * The sequence is advanced with {@code nextval} rather than {@code setval}: other nodes may be drawing
+ * ID blocks from it at the same time, and {@code setval} could move it back below a block one of them
+ * has already handed out. Nodes starting together serialize on an advisory lock, so only the first
+ * one advances a sequence.
+ */
+@Component
+@Slf4j
+public class IdSequenceInitializer implements SmartInitializingSingleton {
+
+    private static final List<PooledSequence> SEQUENCES = List.of(
+            new PooledSequence("orders", "orders_seq", 50),
+            new PooledSequence("order_items", "order_items_seq", 50),
+            new PooledSequence("inventories", "inventories_seq", 50),
+            new PooledSequence("users", "users_seq", 50),
+            new PooledSequence("refresh_tokens", "refresh_tokens_seq", 50)
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // Depends on the EntityManagerFactory so Hibernate has created the sequences before we align them
+    public IdSequenceInitializer(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                 EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        transactionTemplate.executeWithoutResult(_ -> {
+            jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(hashtext(?))", "id-sequences");
+            SEQUENCES.forEach(this::align);
+        });
+    }
+
+    private void align(PooledSequence sequence) {
+        long maxId = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(id), 0) FROM " + sequence.table(), Long.class);
+        SequenceState state = jdbcTemplate.queryForObject(
+                "SELECT last_value, is_called FROM " + sequence.name(),
+                (rs, _) -> new SequenceState(rs.getLong("last_value"), rs.getBoolean("is_called")));
+
+        // A pooled value v hands out the block (v - allocationSize, v], so the next value must be at least
+        // maxId + allocationSize. The first nextval returns last_value itself if it was never called.
+        long next = state.called() ? state.lastValue() + sequence.allocationSize() : state.lastValue();
+        long target = maxId + sequence.allocationSize();
+        if (next >= target) {
+            log.info("Sequence {} already past {}", sequence.name(), maxId);
+            return;
+        }
+        long calls = Math.ceilDiv(target - next, sequence.allocationSize()) + 1;
+        Long value = jdbcTemplate.queryForObject(
+                "SELECT MAX(nextval(?::regclass)) FROM generate_series(1, ?)",
+                Long.class, sequence.name(), calls);
+        log.info("Sequence {} advanced to {}", sequence.name(), value);
+    }
+
+    private record SequenceState(long lastValue, boolean called) {
+    }
+
+    private record PooledSequence(String table, String name, int allocationSize) {
+    }
+}
@@ -1,25 +1,53 @@
 package com.logiflow.config;
 
+import com.logiflow.inventory.listener.InventoryChangeRelay;
+import com.logiflow.inventory.listener.WarehouseChangeRelay;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJacksonJsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import tools.jackson.databind.ObjectMapper;
 import tools.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
 import tools.jackson.databind.jsontype.PolymorphicTypeValidator;
 
+import java.time.Clock;
 import java.time.Duration;
 
 @Configuration
 @EnableCaching
 public class RedisConfig {
 
+    private static final Duration FRESH_FOR = Duration.ofHours(1);
+
+    @Value("${app.cache.compression-threshold-bytes:512}")
+    private int compressionThreshold = 512;
+
+    @Value("${app.cache.stale-seconds:300}")
+    private long staleSeconds = 300;
+
+    @Value("${app.cache.early-refresh-beta:1.0}")
+    private double earlyRefreshBeta = 1.0;
+
+    @Value("${app.cache.lock-timeout-ms:2000}")
+    private long lockTimeoutMs = 2000;
+
+    // Assumed load time of values written without a measured one, which drives their early refresh
+    @Value("${app.cache.default-load-ms:50}")
+    private long defaultLoadMs = 50;
+
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory redisConnectionFactory) {
+    public RedisCacheManager cacheManager(RedisConnectionFactory redisConnectionFactory, ObjectMapper objectMapper,
+                                          StringRedisTemplate redisTemplate) {
         PolymorphicTypeValidator ptv = BasicPolymorphicTypeValidator.builder()
                 .allowIfBaseType("com.logiflow.")
                 .allowIfBaseType("java.util.")
@@ -27,21 +55,38 @@ public class RedisConfig {
                 .allowIfBaseType("java.time.")
                 .build();
 
-        GenericJacksonJsonRedisSerializer valueSerializer =
+        // Still reads entries cached before the binary format, and writes types it has no layout for
+        GenericJacksonJsonRedisSerializer jsonSerializer =
                 GenericJacksonJsonRedisSerializer.builder()
                         .enableDefaultTyping(ptv)
                         .build();
+        CacheValueSerializer valueSerializer = new CacheValueSerializer(jsonSerializer, objectMapper, compressionThreshold);
 
         RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofHours(1))
+                .entryTtl(FRESH_FOR.plusSeconds(staleSeconds))
                 .disableCachingNullValues()
                 .serializeKeysWith(RedisSerializationContext.SerializationPair
                         .fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(RedisSerializationContext.SerializationPair
                         .fromSerializer(valueSerializer));
 
-        return RedisCacheManager.builder(redisConnectionFactory)
-                .cacheDefaults(defaultConfig)
-                .build();
+        return new RedisCacheManager(RedisCacheWriter.nonLockingRedisCacheWriter(redisConnectionFactory), defaultConfig) {
+            @Override
+            protected Cache decorateCache(Cache cache) {
+                return new StampedeProtectedCache(super.decorateCache(cache), redisTemplate, FRESH_FOR, earlyRefreshBeta,
+                        Duration.ofMillis(lockTimeoutMs), Duration.ofMillis(defaultLoadMs), Clock.systemUTC());
+            }
+        };
+    }
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                                       InventoryChangeRelay inventoryChangeRelay,
+                                                                       WarehouseChangeRelay warehouseChangeRelay) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(inventoryChangeRelay, inventoryChangeRelay.topics());
+        container.addMessageListener(warehouseChangeRelay, warehouseChangeRelay.topic());
+        return container;
     }
 }
@@ -47,6 +47,8 @@ public class SecurityConfig {
                                 "/v3/api-docs/**",
                                 "/actuator/health"
                         ).permitAll()
+                        // Node-to-node forwarding, authenticated by the cluster token in the service
+                        .requestMatchers("/internal/v1/cluster/**").permitAll()
                         // User management - requires admin roles (further refined by @PreAuthorize)
                         .requestMatchers("/api/v1/users/**").authenticated()
                         .requestMatchers("/api/v1/inventory/**").authenticated()
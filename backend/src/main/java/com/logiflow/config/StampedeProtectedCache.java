@@ -0,0 +1,264 @@
+package com.logiflow.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Wraps a Redis cache so a hot key expiring does not send every concurrent request to the database.
+ * Values are stored with the time they stay fresh until and how long they took to load, and kept in
+ * Redis for a stale window beyond that. Through {@code @Cacheable(sync = true)}:
+ * <ul>
+ *     <li>concurrent misses on a key share one load: callers on this node wait for the same future,
+ *     and other nodes wait, up to the lock timeout, for the holder of a short Redis lock to write it;</li>
+ *     <li>a fresh value is reloaded early with a probability that grows as it nears expiry and with its
+ *     load time (XFetch), so a hot key is normally refreshed by a single request before it expires;</li>
+ *     <li>a value past its freshness but inside the stale window is still served to everyone while one
+ *     caller reloads it.</li>
+ * </ul>
+ * Plain {@code @Cacheable} lookups treat a stale value as a miss. Values written through {@code put},
+ * as {@code @CachePut} and plain {@code @Cacheable} do, have no measured load time: they keep the load
+ * time of the entry they replace, or the configured default, so they are refreshed early too. Entries
+ * written before values carried their freshness are served until Redis expires them.
+ */
+@Slf4j
+public class StampedeProtectedCache implements Cache {
+
+    private static final long LOCK_POLL_MS = 25;
+
+    private static final RedisScript<Long> UNLOCK = RedisScript.of("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+              return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final Cache delegate;
+    private final StringRedisTemplate redisTemplate;
+    private final Duration freshFor;
+    private final double beta;
+    private final Duration lockTimeout;
+    private final long defaultLoadMillis;
+    private final Clock clock;
+    private final ConcurrentMap<Object, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+
+    record CachedValue(Object value, long freshUntil, long loadMillis) {
+
+        // XFetch: refresh once now - loadMillis * beta * ln(random) reaches the expiry
+        boolean needsRefresh(long now, double beta) {
+            return now - loadMillis * beta * Math.log(ThreadLocalRandom.current().nextDouble()) >= freshUntil;
+        }
+    }
+
+    public StampedeProtectedCache(Cache delegate, StringRedisTemplate redisTemplate, Duration freshFor, double beta,
+                                  Duration lockTimeout, Duration defaultLoadTime, Clock clock) {
+        this.delegate = delegate;
+        this.redisTemplate = redisTemplate;
+        this.freshFor = freshFor;
+        this.beta = beta;
+        this.lockTimeout = lockTimeout;
+        this.defaultLoadMillis = defaultLoadTime.toMillis();
+        this.clock = clock;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        CachedValue cached = lookup(key);
+        return cached == null || clock.millis() >= cached.freshUntil() ? null : new SimpleValueWrapper(cached.value());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper == null ? null : wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        CachedValue cached = lookup(key);
+        if (cached != null && !cached.needsRefresh(clock.millis(), beta)) {
+            return (T) cached.value();
+        }
+
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> running = loading.putIfAbsent(key, load);
+        if (running != null) {
+            return cached != null ? (T) cached.value() : (T) join(running);
+        }
+        try {
+            T value = cached != null ? refresh(key, cached, valueLoader) : loadOnce(key, valueLoader);
+            load.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, load);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        CachedValue previous = lookup(key);
+        store(key, value, previous != null && previous.loadMillis() > 0 ? previous.loadMillis() : defaultLoadMillis);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, wrap(value, defaultLoadMillis));
+        if (existing != null && existing.get() instanceof CachedValue cached) {
+            return new SimpleValueWrapper(cached.value());
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+    // Another node already refreshing keeps serving the current value
+    @SuppressWarnings("unchecked")
+    private <T> T refresh(Object key, CachedValue cached, Callable<T> valueLoader) {
+        String token = tryLock(key);
+        if (token == null) {
+            return (T) cached.value();
+        }
+        try {
+            return load(key, valueLoader);
+        } finally {
+            unlock(key, token);
+        }
+    }
+
+    // Waits for another node's load before loading itself, so a cold key costs one query cluster-wide
+    @SuppressWarnings("unchecked")
+    private <T> T loadOnce(Object key, Callable<T> valueLoader) {
+        long deadline = clock.millis() + lockTimeout.toMillis();
+        String token = tryLock(key);
+        while (token == null && clock.millis() < deadline) {
+            sleep();
+            CachedValue cached = lookup(key);
+            if (cached != null) {
+                return (T) cached.value();
+            }
+            token = tryLock(key);
+        }
+        if (token == null) {
+            log.debug("Loading {} in cache {} without the lock after {}", key, getName(), lockTimeout);
+            return load(key, valueLoader);
+        }
+        try {
+            CachedValue cached = lookup(key);
+            return cached != null ? (T) cached.value() : load(key, valueLoader);
+        } finally {
+            unlock(key, token);
+        }
+    }
+
+    private <T> T load(Object key, Callable<T> valueLoader) {
+        long started = clock.millis();
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        store(key, value, clock.millis() - started);
+        return value;
+    }
+
+    private void store(Object key, Object value, long loadMillis) {
+        if (value != null) {
+            delegate.put(key, wrap(value, loadMillis));
+        }
+    }
+
+    private CachedValue wrap(Object value, long loadMillis) {
+        return new CachedValue(value, clock.millis() + freshFor.toMillis(), loadMillis);
+    }
+
+    private CachedValue lookup(Object key) {
+        ValueWrapper wrapper = delegate.get(key);
+        Object stored = wrapper == null ? null : wrapper.get();
+        if (stored == null) {
+            return null;
+        }
+        return stored instanceof CachedValue cached ? cached : new CachedValue(stored, Long.MAX_VALUE, 0);
+    }
+
+    private String tryLock(Object key) {
+        String token = UUID.randomUUID().toString();
+        Boolean acquired = redisTemplate.opsForValue().setIfAbsent(lockKey(key), token, lockTimeout);
+        return Boolean.TRUE.equals(acquired) ? token : null;
+    }
+
+    private void unlock(Object key, String token) {
+        redisTemplate.execute(UNLOCK, List.of(lockKey(key)), token);
+    }
+
+    private String lockKey(Object key) {
+        return getName() + "::lock::" + key;
+    }
+
+    private static Object join(CompletableFuture<Object> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(LOCK_POLL_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a cache load", e);
+        }
+    }
+}
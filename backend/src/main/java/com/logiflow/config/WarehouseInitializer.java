@@ -0,0 +1,74 @@
+package com.logiflow.config;
+
+import com.logiflow.inventory.model.Warehouse;
+import com.logiflow.inventory.service.WarehouseAvailabilityIndex;
+import com.logiflow.inventory.service.WarehouseService;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Makes sure a default warehouse exists and moves inventory rows created before warehouses existed
+ * into it, replacing the old one-row-per-SKU unique constraint with one per (warehouse, SKU).
+ * Then loads the availability index.
+ */
+@Component
+@Slf4j
+public class WarehouseInitializer implements SmartInitializingSingleton {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final WarehouseService warehouseService;
+    private final WarehouseAvailabilityIndex availabilityIndex;
+
+    // Depends on the EntityManagerFactory so Hibernate has created the tables before we migrate them
+    public WarehouseInitializer(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                WarehouseService warehouseService, WarehouseAvailabilityIndex availabilityIndex,
+                                EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.warehouseService = warehouseService;
+        this.availabilityIndex = availabilityIndex;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        transactionTemplate.executeWithoutResult(_ -> migrateInventories(warehouseService.ensureDefaultWarehouse()));
+        availabilityIndex.reload();
+    }
+
+    private void migrateInventories(Warehouse defaultWarehouse) {
+        // Hibernate cannot add a NOT NULL column to a populated table, so add and backfill it here
+        jdbcTemplate.execute("ALTER TABLE inventories ADD COLUMN IF NOT EXISTS warehouse_id bigint");
+        int moved = jdbcTemplate.update("UPDATE inventories SET warehouse_id = ? WHERE warehouse_id IS NULL",
+                defaultWarehouse.getId());
+        jdbcTemplate.execute("ALTER TABLE inventories ALTER COLUMN warehouse_id SET NOT NULL");
+
+        jdbcTemplate.queryForList(
+                "SELECT c.conname FROM pg_constraint c JOIN pg_attribute a " +
+                        "ON a.attrelid = c.conrelid AND a.attnum = c.conkey[1] " +
+                        "WHERE c.conrelid = 'inventories'::regclass AND c.contype = 'u' " +
+                        "AND array_length(c.conkey, 1) = 1 AND a.attname = 'sku'",
+                String.class
+        ).forEach(name -> jdbcTemplate.execute("ALTER TABLE inventories DROP CONSTRAINT " + name));
+
+        addConstraintIfMissing("uk_inventory_warehouse_sku", "UNIQUE (warehouse_id, sku)");
+        addConstraintIfMissing("fk_inventory_warehouse", "FOREIGN KEY (warehouse_id) REFERENCES warehouses (id)");
+
+        if (moved > 0) {
+            log.info("Assigned {} inventory rows to default warehouse {}", moved, defaultWarehouse.getCode());
+        }
+    }
+
+    private void addConstraintIfMissing(String name, String definition) {
+        Boolean exists = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_constraint WHERE conrelid = 'inventories'::regclass AND conname = ?)",
+                Boolean.class, name);
+        if (!Boolean.TRUE.equals(exists)) {
+            jdbcTemplate.execute("ALTER TABLE inventories ADD CONSTRAINT " + name + " " + definition);
+        }
+    }
+}
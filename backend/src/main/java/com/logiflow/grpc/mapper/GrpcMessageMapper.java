@@ -0,0 +1,74 @@
+package com.logiflow.grpc.mapper;
+
+import com.google.protobuf.Timestamp;
+import com.logiflow.grpc.v1.CreateOrderRequest;
+import com.logiflow.grpc.v1.InventorySummary;
+import com.logiflow.grpc.v1.Order;
+import com.logiflow.grpc.v1.OrderItem;
+import com.logiflow.grpc.v1.WarehouseStock;
+import com.logiflow.inventory.dto.InventorySummaryDTO;
+import com.logiflow.inventory.dto.WarehouseStockDTO;
+import com.logiflow.order.dto.DeliveryLocationDTO;
+import com.logiflow.order.dto.OrderItemRequestDTO;
+import com.logiflow.order.dto.OrderItemResponseDTO;
+import com.logiflow.order.dto.OrderRequestDTO;
+import com.logiflow.order.dto.OrderResponseDTO;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.ZoneId;
+
+@Component
+public class GrpcMessageMapper {
+
+    public InventorySummary toMessage(InventorySummaryDTO summary) {
+        InventorySummary.Builder builder = InventorySummary.newBuilder()
+                .setSku(summary.sku())
+                .setAvailableQuantity(summary.availableQuantity());
+        for (WarehouseStockDTO warehouse : summary.warehouses()) {
+            builder.addWarehouses(WarehouseStock.newBuilder()
+                    .setWarehouseCode(warehouse.warehouseCode())
+                    .setQuantity(warehouse.quantity())
+                    .setReserved(warehouse.reserved())
+                    .setAvailableQuantity(warehouse.availableQuantity()));
+        }
+        return builder.build();
+    }
+
+    public OrderRequestDTO toDto(CreateOrderRequest request) {
+        DeliveryLocationDTO deliveryLocation = request.hasDeliveryLocation()
+                ? new DeliveryLocationDTO(request.getDeliveryLocation().getLatitude(), request.getDeliveryLocation().getLongitude())
+                : null;
+        return new OrderRequestDTO(
+                request.getCustomerName(),
+                request.getItemsList().stream()
+                        .map(item -> new OrderItemRequestDTO(item.getSku(), item.getQuantity()))
+                        .toList(),
+                request.getAllowBackorder(),
+                request.getPriority(),
+                deliveryLocation,
+                request.getQuoteToken().isEmpty() ? null : request.getQuoteToken());
+    }
+
+    public Order toMessage(OrderResponseDTO order) {
+        Instant createdAt = order.createdAt().atZone(ZoneId.systemDefault()).toInstant();
+        Order.Builder builder = Order.newBuilder()
+                .setId(order.id())
+                .setCustomerName(order.customerName())
+                .setStatus(order.status().name())
+                .setCreatedAt(Timestamp.newBuilder()
+                        .setSeconds(createdAt.getEpochSecond())
+                        .setNanos(createdAt.getNano()));
+        for (OrderItemResponseDTO item : order.items()) {
+            OrderItem.Builder itemBuilder = OrderItem.newBuilder()
+                    .setSku(item.sku())
+                    .setQuantity(item.quantity())
+                    .setPrice(item.priceAtTimeOfOrder().toPlainString());
+            if (item.warehouseCode() != null) {
+                itemBuilder.setWarehouseCode(item.warehouseCode());
+            }
+            builder.addItems(itemBuilder);
+        }
+        return builder.build();
+    }
+}
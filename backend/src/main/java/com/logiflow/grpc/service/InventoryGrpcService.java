@@ -0,0 +1,87 @@
+package com.logiflow.grpc.service;
+
+import com.logiflow.grpc.mapper.GrpcMessageMapper;
+import com.logiflow.grpc.v1.GetInventoriesRequest;
+import com.logiflow.grpc.v1.InventoryServiceGrpc;
+import com.logiflow.grpc.v1.InventorySummary;
+import com.logiflow.grpc.v1.StockAdjustment;
+import com.logiflow.grpc.v1.StockAdjustmentResult;
+import com.logiflow.inventory.service.InventoryService;
+import com.logiflow.shared.exception.GlobalGrpcExceptionHandler;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryGrpcService extends InventoryServiceGrpc.InventoryServiceImplBase {
+
+    // SKUs looked up per query; results are sent before the next slice is read
+    private static final int LOOKUP_SLICE = 500;
+
+    private final InventoryService inventoryService;
+    private final GrpcMessageMapper grpcMessageMapper;
+    private final GlobalGrpcExceptionHandler grpcExceptionHandler;
+
+    @Override
+    public void getInventories(GetInventoriesRequest request, StreamObserver<InventorySummary> responseObserver) {
+        ServerCallStreamObserver<InventorySummary> call = (ServerCallStreamObserver<InventorySummary>) responseObserver;
+        List<String> skus = request.getSkusList().stream()
+                .map(String::trim)
+                .filter(sku -> !sku.isEmpty())
+                .distinct()
+                .toList();
+        for (int from = 0; from < skus.size() && !call.isCancelled(); from += LOOKUP_SLICE) {
+            inventoryService.getInventoriesBySKUs(skus.subList(from, Math.min(from + LOOKUP_SLICE, skus.size())))
+                    .forEach(summary -> call.onNext(grpcMessageMapper.toMessage(summary)));
+        }
+        call.onCompleted();
+    }
+
+    @Override
+    public StreamObserver<StockAdjustment> adjustStock(StreamObserver<StockAdjustmentResult> responseObserver) {
+        return new StreamObserver<>() {
+            @Override
+            public void onNext(StockAdjustment adjustment) {
+                StockAdjustmentResult.Builder result = StockAdjustmentResult.newBuilder()
+                        .setRequestId(adjustment.getRequestId());
+                try {
+                    apply(adjustment);
+                    result.setApplied(true);
+                } catch (RuntimeException e) {
+                    Status status = grpcExceptionHandler.toStatus(e);
+                    result.setError(status.getCode() + ": " + status.getDescription());
+                }
+                responseObserver.onNext(result.build());
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                log.debug("Stock adjustment stream aborted by client: {}", t.getMessage());
+            }
+
+            @Override
+            public void onCompleted() {
+                responseObserver.onCompleted();
+            }
+        };
+    }
+
+    private void apply(StockAdjustment adjustment) {
+        if (adjustment.getSku().isBlank() || adjustment.getQuantity() < 1) {
+            throw new IllegalArgumentException("SKU is required and quantity must be at least 1");
+        }
+        String warehouseCode = adjustment.getWarehouseCode().isBlank() ? null : adjustment.getWarehouseCode();
+        switch (adjustment.getType()) {
+            case ADD -> inventoryService.addStock(warehouseCode, adjustment.getSku(), adjustment.getQuantity());
+            case REMOVE -> inventoryService.reserveStock(warehouseCode, adjustment.getSku(), adjustment.getQuantity());
+            default -> throw new IllegalArgumentException("Adjustment type must be ADD or REMOVE");
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.logiflow.grpc.service;
+
+import com.logiflow.grpc.mapper.GrpcMessageMapper;
+import com.logiflow.grpc.v1.CreateOrderRequest;
+import com.logiflow.grpc.v1.Order;
+import com.logiflow.grpc.v1.OrderServiceGrpc;
+import com.logiflow.order.dto.OrderRequestDTO;
+import com.logiflow.order.service.OrderService;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+public class OrderGrpcService extends OrderServiceGrpc.OrderServiceImplBase {
+
+    private final OrderService orderService;
+    private final GrpcMessageMapper grpcMessageMapper;
+    private final Validator validator;
+
+    @Override
+    public void createOrder(CreateOrderRequest request, StreamObserver<Order> responseObserver) {
+        OrderRequestDTO dto = grpcMessageMapper.toDto(request);
+        // Same constraints as the REST endpoint's @Valid
+        Set<ConstraintViolation<OrderRequestDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        responseObserver.onNext(grpcMessageMapper.toMessage(orderService.createOrder(dto)));
+        responseObserver.onCompleted();
+    }
+}
@@ -1,8 +1,17 @@
 package com.logiflow.inventory.controller;
 
+import com.logiflow.inventory.dto.BinAssignmentDTO;
 import com.logiflow.inventory.dto.InventoryResponseDTO;
+import com.logiflow.inventory.dto.InventorySummaryDTO;
 import com.logiflow.inventory.dto.StockAdjustmentDTO;
+import com.logiflow.inventory.dto.StockLevelDTO;
+import com.logiflow.inventory.dto.StockMovementDTO;
+import com.logiflow.inventory.dto.StockReceiptBatchDTO;
+import com.logiflow.inventory.service.AvailabilityReadModel;
 import com.logiflow.inventory.service.InventoryService;
+import com.logiflow.inventory.service.InventoryStreamService;
+import com.logiflow.inventory.service.ScanIngestionService;
+import com.logiflow.inventory.service.StockLedgerService;
 import com.logiflow.shared.dto.ErrorResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,11 +20,23 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -26,24 +47,47 @@ import java.util.List;
 public class InventoryController {
 
     private final InventoryService inventoryService;
+    private final StockLedgerService stockLedgerService;
+    private final InventoryStreamService inventoryStreamService;
+    private final ScanIngestionService scanIngestionService;
+    private final AvailabilityReadModel availabilityReadModel;
 
 
     @GetMapping("/batch")
-    @Operation(summary = "Get inventories by SKUs", description = "Returns inventory data for a list of SKUs")
+    @Operation(summary = "Get inventories by SKUs", description = "Returns available stock for a list of SKUs, in total and per warehouse")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved inventories")
     })
-    public List<InventoryResponseDTO> getInventoriesBySKUs(
+    public List<InventorySummaryDTO> getInventoriesBySKUs(
             @Parameter(description = "Comma-separated list of SKUs") @RequestParam String skus) {
         List<String> skuList = Arrays.stream(skus.split(","))
                 .map(String::trim)
                 .filter(s -> !s.isEmpty())
                 .toList();
-        return inventoryService.getInventoriesBySKUs(skuList);
+        List<String> unanswered = new ArrayList<>();
+        List<InventorySummaryDTO> summaries = availabilityReadModel.findSummaries(skuList, unanswered);
+        if (!unanswered.isEmpty()) {
+            summaries.addAll(inventoryService.getInventoriesBySKUs(unanswered));
+        }
+        return summaries;
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream stock levels", description = "Server-Sent Events stream of available stock for a set of SKUs (up to 500). Starts with the current level of every SKU, then sends a `stock` event with the latest levels whenever they change; intermediate values are skipped for slow clients.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream opened")
+    })
+    public SseEmitter streamInventory(
+            @Parameter(description = "Comma-separated list of SKUs") @RequestParam String skus) {
+        List<String> skuList = Arrays.stream(skus.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .toList();
+        return inventoryStreamService.subscribe(skuList);
     }
 
     @GetMapping("/{sku}")
-    @Operation(summary = "Get inventory by SKU", description = "Retrieves the current available inventory for a product by its SKU")
+    @Operation(summary = "Get inventory by SKU", description = "Retrieves the current available inventory for a product by its SKU, summed over all warehouses")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Inventory found",
                     content = @Content(schema = @Schema(implementation = InventoryResponseDTO.class))),
@@ -52,7 +96,45 @@ public class InventoryController {
     })
     public ResponseEntity<InventoryResponseDTO> getInventory(
             @Parameter(description = "Stock Keeping Unit (SKU) identifier") @PathVariable String sku) {
-        return ResponseEntity.ok(inventoryService.getAvailableInventory(sku));
+        InventoryResponseDTO inventory = availabilityReadModel.find(sku);
+        return ResponseEntity.ok(inventory != null ? inventory : inventoryService.getAvailableInventory(sku));
+    }
+
+    @GetMapping("/{sku}/as-of")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'ADMIN', 'WAREHOUSE_MANAGER')")
+    @Operation(summary = "Get stock at a point in time", description = "Rebuilds stock from the latest ledger snapshot before the given time plus the movements after it")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stock level found",
+                    content = @Content(schema = @Schema(implementation = StockLevelDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Inventory not found for the specified SKU",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<StockLevelDTO> getStockAsOf(
+            @Parameter(description = "Stock Keeping Unit (SKU) identifier") @PathVariable String sku,
+            @Parameter(description = "Point in time (ISO-8601)", example = "2025-12-27T10:30:00")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at,
+            @Parameter(description = "Warehouse code; all warehouses when omitted") @RequestParam(required = false) String warehouseCode) {
+        return ResponseEntity.ok(stockLedgerService.getStockAsOf(sku, warehouseCode, at));
+    }
+
+    @GetMapping("/{sku}/movements")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'ADMIN', 'WAREHOUSE_MANAGER')")
+    @Operation(summary = "Get stock movements", description = "Returns the recorded stock changes of a SKU in a time range, oldest first")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved movements"),
+            @ApiResponse(responseCode = "404", description = "Inventory not found for the specified SKU",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public Page<StockMovementDTO> getMovements(
+            @Parameter(description = "Stock Keeping Unit (SKU) identifier") @PathVariable String sku,
+            @Parameter(description = "Start of the range (ISO-8601)", example = "2025-12-01T00:00:00")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "End of the range (ISO-8601)", example = "2025-12-31T23:59:59")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Warehouse code; all warehouses when omitted") @RequestParam(required = false) String warehouseCode,
+            @Parameter(description = "Pageable parameters (page, size, sort)")
+            @PageableDefault(size = 50, sort = "occurredAt") Pageable pageable) {
+        return stockLedgerService.getMovements(sku, warehouseCode, from, to, pageable);
     }
 
     @PostMapping("/stock")
@@ -69,9 +151,47 @@ public class InventoryController {
     public ResponseEntity<Void> adjustStock(
             @Valid @RequestBody StockAdjustmentDTO dto) {
         switch (dto.type()) {
-            case ADD -> inventoryService.addStock(dto.sku(), dto.adjustmentQuantity());
-            case REMOVE -> inventoryService.reserveStock(dto.sku(), dto.adjustmentQuantity());
+            case ADD -> inventoryService.addStock(dto.warehouseCode(), dto.sku(), dto.adjustmentQuantity());
+            case REMOVE -> inventoryService.reserveStock(dto.warehouseCode(), dto.sku(), dto.adjustmentQuantity());
         }
         return ResponseEntity.noContent().build();
     }
+
+    @PostMapping("/receipts")
+    @Operation(summary = "Receive stock in bulk", description = "Adds stock for several SKUs in one transaction. Waiting backorders for those SKUs are allocated afterwards.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Stock received successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data - validation failed",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<Void> receiveStock(@Valid @RequestBody StockReceiptBatchDTO dto) {
+        inventoryService.receiveStock(dto.receipts());
+        return ResponseEntity.noContent().build();
+    }
+
+    // Handled synchronously on the request thread: scan streams stay open far longer than the async timeout
+    @PostMapping(path = "/scans", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream dock scans", description = "Accepts a long-lived stream of newline-delimited scans and receives them as stock in short batches. After each committed batch one acknowledgement line per scanner is written back with the highest applied sequence number; resend every scan above it after a reconnect, retransmissions are skipped.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream processed until the client closed it")
+    })
+    public void ingestScans(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        scanIngestionService.ingest(request.getInputStream(), response.getOutputStream());
+    }
+
+    @PutMapping("/bin-locations")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'ADMIN', 'WAREHOUSE_MANAGER')")
+    @Operation(summary = "Assign a storage bin", description = "Records the zone, aisle and bay a SKU is stored in. Pick waves route workers through these bins.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Bin assigned successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data - validation failed",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Inventory not found for the specified SKU",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<Void> assignBin(@Valid @RequestBody BinAssignmentDTO dto) {
+        inventoryService.assignBin(dto);
+        return ResponseEntity.noContent().build();
+    }
 }
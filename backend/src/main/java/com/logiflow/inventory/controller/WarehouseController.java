@@ -0,0 +1,53 @@
+package com.logiflow.inventory.controller;
+
+import com.logiflow.inventory.dto.WarehouseRequestDTO;
+import com.logiflow.inventory.dto.WarehouseResponseDTO;
+import com.logiflow.inventory.service.WarehouseService;
+import com.logiflow.shared.dto.ErrorResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/warehouses")
+@RequiredArgsConstructor
+@Tag(name = "Warehouses", description = "Operations for managing warehouses")
+public class WarehouseController {
+
+    private final WarehouseService warehouseService;
+
+    @GetMapping
+    @Operation(summary = "Get all warehouses", description = "Returns every registered warehouse")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved warehouses")
+    })
+    public List<WarehouseResponseDTO> getAllWarehouses() {
+        return warehouseService.getAllWarehouses();
+    }
+
+    @PostMapping
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'ADMIN', 'WAREHOUSE_MANAGER')")
+    @Operation(summary = "Register a warehouse", description = "Adds a warehouse that can hold stock and ship orders")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Warehouse created",
+                    content = @Content(schema = @Schema(implementation = WarehouseResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input data - validation failed",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Warehouse code already in use",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<WarehouseResponseDTO> createWarehouse(@Valid @RequestBody WarehouseRequestDTO dto) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(warehouseService.createWarehouse(dto));
+    }
+}
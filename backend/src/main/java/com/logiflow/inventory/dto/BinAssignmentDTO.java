@@ -0,0 +1,27 @@
+package com.logiflow.inventory.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+@Schema(description = "Request payload for assigning a SKU to a storage bin")
+public record BinAssignmentDTO(
+        @Schema(description = "Warehouse holding the stock; the default warehouse when omitted", example = "KYIV-01")
+        String warehouseCode,
+
+        @Schema(description = "Stock Keeping Unit - unique product identifier", example = "WM-001", requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotBlank String sku,
+
+        @Schema(description = "Pick zone", example = "A", requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotBlank @Size(max = 16) String zone,
+
+        @Schema(description = "Aisle number within the zone", example = "3", requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotNull @Positive @Max(9999) Integer aisle,
+
+        @Schema(description = "Bay number along the aisle, counted from the front cross-aisle", example = "12", requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotNull @Positive @Max(9999) Integer bay
+) {
+}
@@ -0,0 +1,18 @@
+package com.logiflow.inventory.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Inventory of a SKU across all warehouses")
+public record InventorySummaryDTO(
+        @Schema(description = "Stock Keeping Unit - unique product identifier", example = "WM-001")
+        String sku,
+
+        @Schema(description = "Available quantity summed over all warehouses", example = "310")
+        Integer availableQuantity,
+
+        @Schema(description = "Per-warehouse breakdown")
+        List<WarehouseStockDTO> warehouses
+) {
+}
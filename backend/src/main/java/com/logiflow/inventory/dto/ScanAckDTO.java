@@ -0,0 +1,18 @@
+package com.logiflow.inventory.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Acknowledgement written back on the scan stream once a batch is committed")
+public record ScanAckDTO(
+        @Schema(description = "Scanner the acknowledgement is for", example = "DOCK-3-GUN-07")
+        String deviceId,
+
+        @Schema(description = "Every scan of this device up to and including this sequence number is durable", example = "1042")
+        Long ackSeq,
+
+        @Schema(description = "Sequence numbers of this batch that were invalid and will not be applied")
+        List<Long> rejectedSeqs
+) {
+}
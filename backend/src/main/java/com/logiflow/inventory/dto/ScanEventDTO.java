@@ -0,0 +1,22 @@
+package com.logiflow.inventory.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "One barcode scan at a receiving dock, sent as a line of the scan stream")
+public record ScanEventDTO(
+        @Schema(description = "Scanner that produced the scan", example = "DOCK-3-GUN-07", requiredMode = Schema.RequiredMode.REQUIRED)
+        String deviceId,
+
+        @Schema(description = "Per-device sequence number starting at 1 and increasing by scan; retransmitted scans keep their number", example = "1042", requiredMode = Schema.RequiredMode.REQUIRED)
+        Long seq,
+
+        @Schema(description = "Stock Keeping Unit - unique product identifier", example = "WM-001", requiredMode = Schema.RequiredMode.REQUIRED)
+        String sku,
+
+        @Schema(description = "Receiving warehouse; the default warehouse when omitted", example = "KYIV-01")
+        String warehouseCode,
+
+        @Schema(description = "Units scanned; 1 when omitted", example = "1", minimum = "1")
+        Integer quantity
+) {
+}
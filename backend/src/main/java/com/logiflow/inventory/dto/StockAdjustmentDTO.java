@@ -14,7 +14,10 @@ public record StockAdjustmentDTO(
         @NotNull @Positive Integer adjustmentQuantity,
 
         @Schema(description = "Type of stock adjustment", example = "ADD", requiredMode = Schema.RequiredMode.REQUIRED)
-        @NotNull AdjustmentType type
+        @NotNull AdjustmentType type,
+
+        @Schema(description = "Warehouse to adjust; the default warehouse when omitted", example = "KYIV-01")
+        String warehouseCode
 ) {
 
     @Schema(description = "Type of stock adjustment operation")
@@ -0,0 +1,27 @@
+package com.logiflow.inventory.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Stock of a SKU as of a point in time, rebuilt from the movement ledger")
+public record StockLevelDTO(
+        @Schema(description = "Stock Keeping Unit", example = "WM-001")
+        String sku,
+
+        @Schema(description = "Warehouse, or empty for the total over all warehouses", example = "KYIV-01")
+        String warehouseCode,
+
+        @Schema(description = "Point in time the stock is given for", example = "2025-12-27T10:30:00")
+        LocalDateTime asOf,
+
+        @Schema(description = "Units in stock", example = "200")
+        long quantity,
+
+        @Schema(description = "Units reserved", example = "50")
+        long reserved,
+
+        @Schema(description = "Units available (quantity - reserved)", example = "150")
+        long availableQuantity
+) {
+}
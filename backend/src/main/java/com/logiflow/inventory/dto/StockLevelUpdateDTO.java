@@ -0,0 +1,13 @@
+package com.logiflow.inventory.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Latest available quantity of a SKU, pushed over the inventory stream")
+public record StockLevelUpdateDTO(
+        @Schema(description = "Stock Keeping Unit - unique product identifier", example = "WM-001")
+        String sku,
+
+        @Schema(description = "Available quantity summed over all warehouses", example = "310")
+        Integer availableQuantity
+) {
+}
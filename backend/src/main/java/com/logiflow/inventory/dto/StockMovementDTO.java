@@ -0,0 +1,31 @@
+package com.logiflow.inventory.dto;
+
+import com.logiflow.inventory.model.MovementType;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "One recorded change to a SKU's stock")
+public record StockMovementDTO(
+        @Schema(description = "Movement identifier", example = "1051")
+        Long id,
+
+        @Schema(description = "Warehouse the change happened in", example = "KYIV-01")
+        String warehouseCode,
+
+        @Schema(description = "Stock Keeping Unit at the time of the movement", example = "WM-001")
+        String sku,
+
+        @Schema(description = "Reason for the change", example = "RECEIPT")
+        MovementType type,
+
+        @Schema(description = "Change in units in stock", example = "25")
+        int quantityDelta,
+
+        @Schema(description = "Change in units reserved", example = "0")
+        int reservedDelta,
+
+        @Schema(description = "When the change was made", example = "2025-12-27T10:30:00")
+        LocalDateTime occurredAt
+) {
+}
@@ -0,0 +1,16 @@
+package com.logiflow.inventory.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+@Schema(description = "Request payload for receiving stock for several SKUs at once")
+public record StockReceiptBatchDTO(
+        @Schema(description = "Received SKUs and quantities")
+        @NotEmpty(message = "At least one receipt is required")
+        @Valid
+        List<StockReceiptDTO> receipts
+) {
+}
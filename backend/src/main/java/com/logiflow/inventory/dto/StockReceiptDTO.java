@@ -0,0 +1,19 @@
+package com.logiflow.inventory.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+@Schema(description = "Units of one SKU received into stock")
+public record StockReceiptDTO(
+        @Schema(description = "Receiving warehouse; the default warehouse when omitted", example = "KYIV-01")
+        String warehouseCode,
+
+        @Schema(description = "Stock Keeping Unit - unique product identifier", example = "WM-001", requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotBlank String sku,
+
+        @Schema(description = "Quantity received", example = "40", minimum = "1", requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotNull @Positive Integer quantity
+) {
+}
@@ -0,0 +1,35 @@
+package com.logiflow.inventory.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Request payload for registering a warehouse")
+public record WarehouseRequestDTO(
+        @Schema(description = "Unique warehouse code", example = "KYIV-01", requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotBlank(message = "Warehouse code must not be blank")
+        @Size(max = 32, message = "Warehouse code must be at most 32 characters")
+        String code,
+
+        @Schema(description = "Display name", example = "Kyiv Central", requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotBlank(message = "Warehouse name must not be blank")
+        String name,
+
+        @Schema(description = "Latitude in degrees", example = "50.4501")
+        @DecimalMin("-90.0") @DecimalMax("90.0")
+        Double latitude,
+
+        @Schema(description = "Longitude in degrees", example = "30.5234")
+        @DecimalMin("-180.0") @DecimalMax("180.0")
+        Double longitude,
+
+        @Schema(description = "Shipping cost per unit sent from this warehouse", example = "0.35")
+        @PositiveOrZero
+        BigDecimal shippingCostPerUnit
+) {
+}
@@ -0,0 +1,27 @@
+package com.logiflow.inventory.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Response containing warehouse information")
+public record WarehouseResponseDTO(
+        @Schema(description = "Unique warehouse code", example = "KYIV-01")
+        String code,
+
+        @Schema(description = "Display name", example = "Kyiv Central")
+        String name,
+
+        @Schema(description = "Latitude in degrees", example = "50.4501")
+        Double latitude,
+
+        @Schema(description = "Longitude in degrees", example = "30.5234")
+        Double longitude,
+
+        @Schema(description = "Shipping cost per unit sent from this warehouse", example = "0.35")
+        BigDecimal shippingCostPerUnit,
+
+        @Schema(description = "Whether stock operations without a warehouse code use this warehouse", example = "false")
+        boolean defaultWarehouse
+) {
+}
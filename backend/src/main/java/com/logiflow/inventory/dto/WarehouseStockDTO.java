@@ -0,0 +1,19 @@
+package com.logiflow.inventory.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Stock of a SKU in a single warehouse")
+public record WarehouseStockDTO(
+        @Schema(description = "Warehouse code", example = "KYIV-01")
+        String warehouseCode,
+
+        @Schema(description = "Total quantity in stock", example = "200")
+        Integer quantity,
+
+        @Schema(description = "Quantity reserved for pending orders", example = "50")
+        Integer reserved,
+
+        @Schema(description = "Available quantity (quantity minus reserved)", example = "150")
+        Integer availableQuantity
+) {
+}
@@ -0,0 +1,94 @@
+package com.logiflow.inventory.listener;
+
+import com.logiflow.inventory.service.AvailabilityReadModel;
+import com.logiflow.inventory.service.InventoryStreamService;
+import com.logiflow.inventory.service.WarehouseAvailabilityIndex;
+import com.logiflow.shared.event.InventoryChangedEvent;
+import com.logiflow.shared.event.ProductSkuUpdatedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.Topic;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Shares committed inventory changes between nodes over one Redis pub/sub channel, so every node's
+ * availability index, availability read model and inventory stream see changes made elsewhere.
+ * Messages carry absolute values and the row version they were written with, so receivers ignore
+ * a node's own echo and any message that arrives after a newer one. Pub/sub can drop messages, so
+ * the receivers also resync from the database periodically.
+ * <p>
+ * SKU renames go out on a second channel carrying the old SKU, so other nodes drop it as well;
+ * the stock under the new SKU arrives as ordinary changes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryChangeRelay implements MessageListener {
+
+    private final StringRedisTemplate redisTemplate;
+    private final WarehouseAvailabilityIndex availabilityIndex;
+    private final AvailabilityReadModel availabilityReadModel;
+    private final InventoryStreamService inventoryStreamService;
+
+    // Renamed with the message format, so nodes on the old format never parse the new one
+    @Value("${app.inventory.stream.channel:logiflow:inventory-changes:v2}")
+    private String channel = "logiflow:inventory-changes:v2";
+
+    @Value("${app.inventory.stream.retired-sku-channel:logiflow:retired-skus:v1}")
+    private String retiredSkuChannel = "logiflow:retired-skus:v1";
+
+    public List<Topic> topics() {
+        return List.of(new ChannelTopic(channel), new ChannelTopic(retiredSkuChannel));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleInventoryChangedEvent(InventoryChangedEvent event) {
+        // Local subscribers don't wait for the Redis round trip
+        apply(event);
+        try {
+            redisTemplate.convertAndSend(channel, event.warehouseId() + ":" + event.quantity() + ":" + event.reserved()
+                    + ":" + event.version() + ":" + event.sku());
+        } catch (RuntimeException e) {
+            log.warn("Failed to relay inventory change for SKU {}: {}", event.sku(), e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleProductSkuUpdatedEvent(ProductSkuUpdatedEvent event) {
+        try {
+            redisTemplate.convertAndSend(retiredSkuChannel, event.oldSku());
+        } catch (RuntimeException e) {
+            log.warn("Failed to relay retirement of SKU {}: {}", event.oldSku(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(@NonNull Message message, byte[] pattern) {
+        if (retiredSkuChannel.equals(new String(message.getChannel(), StandardCharsets.UTF_8))) {
+            String sku = new String(message.getBody(), StandardCharsets.UTF_8);
+            availabilityIndex.retire(sku);
+            availabilityReadModel.retire(sku);
+            return;
+        }
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(":", 5);
+        apply(new InventoryChangedEvent(Long.parseLong(parts[0]), parts[4], Integer.parseInt(parts[1]),
+                Integer.parseInt(parts[2]), Long.parseLong(parts[3])));
+    }
+
+    private void apply(InventoryChangedEvent event) {
+        availabilityIndex.handleInventoryChangedEvent(event);
+        availabilityReadModel.apply(event);
+        inventoryStreamService.publish(event.sku());
+    }
+}
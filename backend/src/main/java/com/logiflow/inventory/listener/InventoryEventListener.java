@@ -1,12 +1,16 @@
 package com.logiflow.inventory.listener;
 
 import com.logiflow.inventory.service.InventoryService;
+import com.logiflow.inventory.service.RedisReservationEngine;
 import com.logiflow.shared.event.ProductCreatedEvent;
 import com.logiflow.shared.event.ProductSkuUpdatedEvent;
+import com.logiflow.shared.event.StockAvailabilityChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 @Component
 @RequiredArgsConstructor
@@ -15,6 +19,7 @@ public class InventoryEventListener {
 
 
     private final InventoryService inventoryService;
+    private final RedisReservationEngine redisReservationEngine;
 
     @EventListener
     public void handleProductCreatedEvent(ProductCreatedEvent event) {
@@ -28,4 +33,11 @@ public class InventoryEventListener {
                 event.productId(), event.oldSku(), event.newSku());
         inventoryService.updateSku(event.oldSku(), event.newSku());
     }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleStockAvailabilityChangedEvent(StockAvailabilityChangedEvent event) {
+        if (redisReservationEngine.manages(event.sku())) {
+            redisReservationEngine.adjust(event.warehouseCode(), event.sku(), event.delta(), event.version());
+        }
+    }
 }
@@ -0,0 +1,52 @@
+package com.logiflow.inventory.listener;
+
+import com.logiflow.inventory.service.WarehouseAvailabilityIndex;
+import com.logiflow.shared.event.WarehouseCreatedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.Topic;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Tells other nodes about committed warehouses, so their availability index plans with the new
+ * warehouse's stock right away. The message is only the id; receivers read the row themselves.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WarehouseChangeRelay implements MessageListener {
+
+    private final StringRedisTemplate redisTemplate;
+    private final WarehouseAvailabilityIndex availabilityIndex;
+
+    @Value("${app.warehouses.channel:logiflow:warehouse-changes}")
+    private String channel = "logiflow:warehouse-changes";
+
+    public Topic topic() {
+        return new ChannelTopic(channel);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleWarehouseCreatedEvent(WarehouseCreatedEvent event) {
+        try {
+            redisTemplate.convertAndSend(channel, String.valueOf(event.warehouseId()));
+        } catch (RuntimeException e) {
+            log.warn("Failed to relay creation of warehouse {}: {}", event.code(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(@NonNull Message message, byte[] pattern) {
+        availabilityIndex.registerWarehouse(Long.parseLong(new String(message.getBody(), StandardCharsets.UTF_8)));
+    }
+}
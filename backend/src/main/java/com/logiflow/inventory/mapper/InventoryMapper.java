@@ -1,16 +1,64 @@
 package com.logiflow.inventory.mapper;
 
 import com.logiflow.inventory.dto.InventoryResponseDTO;
+import com.logiflow.inventory.dto.InventorySummaryDTO;
+import com.logiflow.inventory.dto.StockMovementDTO;
+import com.logiflow.inventory.dto.WarehouseStockDTO;
 import com.logiflow.inventory.model.Inventory;
+import com.logiflow.inventory.model.StockMovement;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 public class InventoryMapper {
 
     public InventoryResponseDTO toDto(Inventory inventory) {
         if (inventory == null) return null;
-        int available = inventory.getQuantity() - inventory.getReserved();
-        return new InventoryResponseDTO(inventory.getSku(), available);
+        return new InventoryResponseDTO(inventory.getSku(), available(inventory));
+    }
+
+    public InventoryResponseDTO toAggregateDto(String sku, List<Inventory> inventories) {
+        return new InventoryResponseDTO(sku, totalAvailable(inventories));
     }
-}
 
+    public InventorySummaryDTO toSummary(String sku, List<Inventory> inventories) {
+        List<WarehouseStockDTO> warehouses = inventories.stream()
+                .map(this::toWarehouseStockDto)
+                .toList();
+        return new InventorySummaryDTO(sku, totalAvailable(inventories), warehouses);
+    }
+
+    public WarehouseStockDTO toWarehouseStockDto(Inventory inventory) {
+        if (inventory == null) return null;
+        return new WarehouseStockDTO(
+                inventory.getWarehouse().getCode(),
+                inventory.getQuantity(),
+                inventory.getReserved(),
+                available(inventory)
+        );
+    }
+
+    public StockMovementDTO toMovementDto(StockMovement movement) {
+        if (movement == null) return null;
+        return new StockMovementDTO(
+                movement.getId(),
+                movement.getWarehouseCode(),
+                movement.getSku(),
+                movement.getType(),
+                movement.getQuantityDelta(),
+                movement.getReservedDelta(),
+                movement.getOccurredAt()
+        );
+    }
+
+    private int totalAvailable(List<Inventory> inventories) {
+        return inventories.stream()
+                .mapToInt(this::available)
+                .sum();
+    }
+
+    private int available(Inventory inventory) {
+        return inventory.getQuantity() - inventory.getReserved();
+    }
+}
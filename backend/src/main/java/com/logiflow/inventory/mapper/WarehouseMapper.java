@@ -0,0 +1,36 @@
+package com.logiflow.inventory.mapper;
+
+import com.logiflow.inventory.dto.WarehouseRequestDTO;
+import com.logiflow.inventory.dto.WarehouseResponseDTO;
+import com.logiflow.inventory.model.Warehouse;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+@Component
+public class WarehouseMapper {
+
+    public Warehouse toEntity(WarehouseRequestDTO dto) {
+        if (dto == null) return null;
+        return Warehouse.builder()
+                .code(dto.code())
+                .name(dto.name())
+                .latitude(dto.latitude())
+                .longitude(dto.longitude())
+                .shippingCostPerUnit(Objects.requireNonNullElse(dto.shippingCostPerUnit(), BigDecimal.ZERO))
+                .build();
+    }
+
+    public WarehouseResponseDTO toDto(Warehouse warehouse) {
+        if (warehouse == null) return null;
+        return new WarehouseResponseDTO(
+                warehouse.getCode(),
+                warehouse.getName(),
+                warehouse.getLatitude(),
+                warehouse.getLongitude(),
+                warehouse.getShippingCostPerUnit(),
+                warehouse.isDefaultWarehouse()
+        );
+    }
+}
@@ -0,0 +1,29 @@
+package com.logiflow.inventory.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Where a SKU is stored inside a warehouse: a pick zone, an aisle within the zone and a bay along
+ * the aisle. Bay 1 is next to the front cross-aisle.
+ */
+@Embeddable
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Builder
+public class BinLocation {
+
+    @Column(name = "bin_zone", length = 16)
+    private String zone;
+
+    @Column(name = "bin_aisle")
+    private Integer aisle;
+
+    @Column(name = "bin_bay")
+    private Integer bay;
+}
@@ -0,0 +1,15 @@
+package com.logiflow.inventory.model;
+
+/**
+ * How reservations of a SKU are serialized, picked per SKU from its recent contention.
+ */
+public enum ContentionMode {
+    /** Unlocked read and a version-checked update, retried on conflict */
+    OPTIMISTIC,
+
+    /** Row locked with {@code SELECT ... FOR UPDATE} before it is changed */
+    PESSIMISTIC,
+
+    /** Handed to an in-memory reservation lane that batches the SKU's requests */
+    QUEUED
+}
@@ -3,12 +3,20 @@ package com.logiflow.inventory.model;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import lombok.*;
-import org.springframework.data.annotation.Version;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "inventories")
+@Table(
+        name = "inventories",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_inventory_warehouse_sku", columnNames = {"warehouse_id", "sku"})
+        },
+        indexes = {
+                @Index(name = "idx_inventory_sku", columnList = "sku"),
+                @Index(name = "idx_inventory_change_seq", columnList = "change_seq")
+        }
+)
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
@@ -18,11 +26,17 @@ import java.time.LocalDateTime;
 public class Inventory {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inventories_seq")
+    @SequenceGenerator(name = "inventories_seq", sequenceName = "inventories_seq", allocationSize = 50)
     @Schema(description = "Unique inventory record identifier", example = "1", accessMode = Schema.AccessMode.READ_ONLY)
     private Long id;
 
-    @Column(unique = true, nullable = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "warehouse_id", nullable = false, foreignKey = @ForeignKey(name = "fk_inventory_warehouse"))
+    @Schema(description = "Warehouse holding this stock", accessMode = Schema.AccessMode.READ_ONLY)
+    private Warehouse warehouse;
+
+    @Column(nullable = false)
     @Schema(description = "Stock Keeping Unit - unique product identifier", example = "WM-001")
     private String sku;
 
@@ -35,9 +49,18 @@ public class Inventory {
     @Schema(description = "Quantity reserved for pending orders", example = "50")
     private Integer reserved = 0;
 
+    @Embedded
+    @Schema(description = "Storage bin within the warehouse; empty until assigned")
+    private BinLocation binLocation;
+
     @Schema(description = "Timestamp of the last inventory update", example = "2025-12-27T10:30:00", accessMode = Schema.AccessMode.READ_ONLY)
     private LocalDateTime lastUpdated;
 
+    // Stamped by a database trigger with the id of the writing transaction, see ChangeSequenceInitializer
+    @Column(name = "change_seq", insertable = false, updatable = false)
+    @Schema(description = "Change sequence of the last write, used by delta sync", example = "48213", accessMode = Schema.AccessMode.READ_ONLY)
+    private Long changeSeq;
+
     @Version
     @Schema(description = "Version number for optimistic locking", example = "1", accessMode = Schema.AccessMode.READ_ONLY)
     private Long version;
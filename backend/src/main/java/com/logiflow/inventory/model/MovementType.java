@@ -0,0 +1,21 @@
+package com.logiflow.inventory.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Reason for a stock movement")
+public enum MovementType {
+    @Schema(description = "Stock level carried over from before the ledger existed")
+    OPENING_BALANCE,
+
+    @Schema(description = "Stock received into the warehouse")
+    RECEIPT,
+
+    @Schema(description = "Stock reserved for an order or a manual removal")
+    RESERVATION,
+
+    @Schema(description = "Reservation given back, e.g. on cancellation")
+    RELEASE,
+
+    @Schema(description = "Reserved stock shipped out of the warehouse")
+    SHIPMENT
+}
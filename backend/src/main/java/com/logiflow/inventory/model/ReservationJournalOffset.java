@@ -0,0 +1,28 @@
+package com.logiflow.inventory.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Last Redis reservation journal entry applied to {@code inventories}, written in the same
+ * transaction as the applied changes so no entry is applied twice.
+ */
+@Entity
+@Table(name = "reservation_journal_offsets")
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Builder
+public class ReservationJournalOffset {
+
+    @Id
+    private String journal;
+
+    @Column(name = "last_id", nullable = false)
+    private String lastId;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
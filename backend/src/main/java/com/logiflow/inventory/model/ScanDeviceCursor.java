@@ -0,0 +1,29 @@
+package com.logiflow.inventory.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Highest scan sequence number applied per scanning device, so retransmitted scans are recognised
+ * and skipped. Read and written in bulk by {@code ScanIngestionService}.
+ */
+@Entity
+@Table(name = "scan_device_cursors")
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Builder
+public class ScanDeviceCursor {
+
+    @Id
+    @Column(name = "device_id")
+    private String deviceId;
+
+    @Column(name = "last_seq", nullable = false)
+    private long lastSeq;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
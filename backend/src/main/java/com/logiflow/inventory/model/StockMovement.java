@@ -0,0 +1,54 @@
+package com.logiflow.inventory.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * One change to an inventory row. Rows are only ever inserted; the table is partitioned by month on
+ * {@code occurred_at} when partitioning is enabled.
+ */
+@Entity
+@Immutable
+@Table(
+        name = "stock_movements",
+        indexes = {
+                @Index(name = "idx_stock_movement_inventory", columnList = "inventory_id, occurred_at")
+        }
+)
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Builder
+public class StockMovement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_movements_seq")
+    @SequenceGenerator(name = "stock_movements_seq", sequenceName = "stock_movements_seq", allocationSize = 50)
+    private Long id;
+
+    // Inventory ids survive SKU renames, so history stays attached to the row
+    @Column(name = "inventory_id", nullable = false, updatable = false)
+    private Long inventoryId;
+
+    @Column(nullable = false, updatable = false)
+    private String warehouseCode;
+
+    @Column(nullable = false, updatable = false)
+    private String sku;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false, length = 16)
+    private MovementType type;
+
+    @Column(nullable = false, updatable = false)
+    private int quantityDelta;
+
+    @Column(nullable = false, updatable = false)
+    private int reservedDelta;
+
+    @Column(name = "occurred_at", nullable = false, updatable = false)
+    private LocalDateTime occurredAt;
+}
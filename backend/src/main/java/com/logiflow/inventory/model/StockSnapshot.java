@@ -0,0 +1,28 @@
+package com.logiflow.inventory.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Stock level of one inventory row as of a point in time: the previous snapshot plus every movement
+ * up to {@code asOf}. Written in bulk by {@code StockSnapshotService}.
+ */
+@Entity
+@Immutable
+@Table(name = "stock_snapshots")
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Builder
+public class StockSnapshot {
+
+    @EmbeddedId
+    private StockSnapshotId id;
+
+    @Column(nullable = false)
+    private int quantity;
+
+    @Column(nullable = false)
+    private int reserved;
+}
@@ -0,0 +1,40 @@
+package com.logiflow.inventory.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Entity
+@Table(name = "warehouses")
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class Warehouse {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "warehouses_seq")
+    @SequenceGenerator(name = "warehouses_seq", sequenceName = "warehouses_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, unique = true, updatable = false)
+    private String code;
+
+    @Column(nullable = false)
+    private String name;
+
+    private Double latitude;
+
+    private Double longitude;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private BigDecimal shippingCostPerUnit = BigDecimal.ZERO;
+
+    // Target of stock operations that do not name a warehouse
+    @Builder.Default
+    @Column(name = "is_default", nullable = false)
+    private boolean defaultWarehouse = false;
+}
@@ -2,20 +2,43 @@ package com.logiflow.inventory.repository;
 
 import com.logiflow.inventory.model.Inventory;
 import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface InventoryRepository extends JpaRepository<Inventory, Long> {
 
+    // SKU-only lookups resolve to the default warehouse
+    @Query("SELECT i FROM Inventory i WHERE i.sku = :sku AND i.warehouse.defaultWarehouse = true")
     Optional<Inventory> findBySku(String sku);
 
-    List<Inventory> findBySkuIn(List<String> skus);
-
     @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("SELECT i FROM Inventory i WHERE i.sku = :sku")
+    @Query("SELECT i FROM Inventory i WHERE i.sku = :sku AND i.warehouse.defaultWarehouse = true")
     Optional<Inventory> findBySkuForUpdate(String sku);
+
+    @Query("SELECT i FROM Inventory i WHERE i.warehouse.code = :warehouseCode AND i.sku = :sku")
+    Optional<Inventory> findByWarehouseCodeAndSku(String warehouseCode, String sku);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Inventory i WHERE i.warehouse.code = :warehouseCode AND i.sku = :sku")
+    Optional<Inventory> findByWarehouseCodeAndSkuForUpdate(String warehouseCode, String sku);
+
+    @EntityGraph(attributePaths = "warehouse")
+    List<Inventory> findBySkuIn(Collection<String> skus);
+
+    List<Inventory> findAllBySku(String sku);
+
+    // Optimistic reservation: applies only if nobody changed the row since it was read
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE Inventory i
+            SET i.reserved = i.reserved + :delta, i.version = i.version + 1, i.lastUpdated = CURRENT_TIMESTAMP
+            WHERE i.id = :id AND i.version = :version""")
+    int addReservedIfVersion(Long id, Long version, int delta);
 }
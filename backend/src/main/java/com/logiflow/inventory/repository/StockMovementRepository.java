@@ -0,0 +1,30 @@
+package com.logiflow.inventory.repository;
+
+import com.logiflow.inventory.model.StockMovement;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface StockMovementRepository extends JpaRepository<StockMovement, Long> {
+
+    interface Delta {
+        long getQuantity();
+
+        long getReserved();
+    }
+
+    @Query("""
+            SELECT COALESCE(SUM(m.quantityDelta), 0) AS quantity, COALESCE(SUM(m.reservedDelta), 0) AS reserved
+            FROM StockMovement m
+            WHERE m.inventoryId = :inventoryId AND m.occurredAt > :after AND m.occurredAt <= :until
+            """)
+    Delta sumDeltas(Long inventoryId, LocalDateTime after, LocalDateTime until);
+
+    Page<StockMovement> findByInventoryIdInAndOccurredAtBetween(Collection<Long> inventoryIds,
+                                                                LocalDateTime from, LocalDateTime to,
+                                                                Pageable pageable);
+}
@@ -0,0 +1,13 @@
+package com.logiflow.inventory.repository;
+
+import com.logiflow.inventory.model.StockSnapshot;
+import com.logiflow.inventory.model.StockSnapshotId;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface StockSnapshotRepository extends JpaRepository<StockSnapshot, StockSnapshotId> {
+
+    Optional<StockSnapshot> findFirstByIdInventoryIdAndIdAsOfLessThanEqualOrderByIdAsOfDesc(Long inventoryId, LocalDateTime asOf);
+}
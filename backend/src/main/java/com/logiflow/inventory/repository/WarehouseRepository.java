@@ -0,0 +1,15 @@
+package com.logiflow.inventory.repository;
+
+import com.logiflow.inventory.model.Warehouse;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface WarehouseRepository extends JpaRepository<Warehouse, Long> {
+
+    Optional<Warehouse> findByCode(String code);
+
+    Optional<Warehouse> findByDefaultWarehouseTrue();
+
+    boolean existsByCode(String code);
+}
@@ -0,0 +1,175 @@
+package com.logiflow.inventory.service;
+
+import com.logiflow.inventory.service.WarehouseAvailabilityIndex.SkuStock;
+import com.logiflow.inventory.service.WarehouseAvailabilityIndex.WarehouseSite;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Decides which warehouses ship which order lines, using only the in-memory availability index.
+ * <p>
+ * Preference order: fewest warehouses (shipments), then shortest distance to the delivery
+ * location, then lowest shipping cost. If one warehouse can ship everything it is chosen outright;
+ * otherwise warehouses are picked greedily by how many outstanding units they cover, which is the
+ * classic set-cover approximation and keeps a 100-line order over 50 warehouses well under a
+ * millisecond.
+ */
+@Component
+@RequiredArgsConstructor
+public class AllocationEngine {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    private final WarehouseAvailabilityIndex availabilityIndex;
+
+    public record Allocation(String sku, String warehouseCode, int quantity) {
+    }
+
+    public record StockKey(String warehouseCode, String sku) {
+    }
+
+    public record Plan(List<Allocation> allocations, Map<String, Integer> shortfalls) {
+    }
+
+    /**
+     * @param quantities units requested per SKU
+     * @param latitude   delivery latitude, or {@code null} to ignore distance
+     * @param longitude  delivery longitude, or {@code null} to ignore distance
+     * @param exhausted  warehouse/SKU pairs known to be out of stock despite what the index says
+     */
+    public Plan plan(Map<String, Integer> quantities, Double latitude, Double longitude, Set<StockKey> exhausted) {
+        WarehouseSite[] sites = availabilityIndex.sites();
+        String[] skus = quantities.keySet().toArray(String[]::new);
+        int[] need = new int[skus.length];
+        for (int line = 0; line < skus.length; line++) {
+            need[line] = quantities.get(skus[line]);
+        }
+
+        int[][] available = availabilityMatrix(sites, skus, exhausted);
+        double[] distance = distances(sites, latitude, longitude);
+
+        List<Allocation> allocations = new ArrayList<>();
+        int single = bestSingleSite(sites, available, need, distance);
+        if (single >= 0) {
+            for (int line = 0; line < skus.length; line++) {
+                allocations.add(new Allocation(skus[line], sites[single].code(), need[line]));
+                need[line] = 0;
+            }
+        } else {
+            allocateGreedily(sites, skus, available, need, distance, allocations);
+        }
+
+        Map<String, Integer> shortfalls = new TreeMap<>();
+        for (int line = 0; line < skus.length; line++) {
+            if (need[line] > 0) {
+                shortfalls.put(skus[line], need[line]);
+            }
+        }
+        return new Plan(allocations, shortfalls);
+    }
+
+    private int[][] availabilityMatrix(WarehouseSite[] sites, String[] skus, Set<StockKey> exhausted) {
+        int[][] available = new int[sites.length][skus.length];
+        for (int line = 0; line < skus.length; line++) {
+            SkuStock stock = availabilityIndex.stock(skus[line]);
+            for (int i = 0; i < stock.slots().length; i++) {
+                int slot = stock.slots()[i];
+                if (slot < sites.length && !exhausted.contains(new StockKey(sites[slot].code(), skus[line]))) {
+                    available[slot][line] = stock.available()[i];
+                }
+            }
+        }
+        return available;
+    }
+
+    private int bestSingleSite(WarehouseSite[] sites, int[][] available, int[] need, double[] distance) {
+        int best = -1;
+        for (int site = 0; site < sites.length; site++) {
+            if (coversAll(available[site], need) && (best < 0 || isCloserOrCheaper(sites, distance, site, best))) {
+                best = site;
+            }
+        }
+        return best;
+    }
+
+    private void allocateGreedily(WarehouseSite[] sites, String[] skus, int[][] available, int[] need,
+                                  double[] distance, List<Allocation> allocations) {
+        boolean[] used = new boolean[sites.length];
+        while (true) {
+            int best = -1;
+            long bestCovered = 0;
+            for (int site = 0; site < sites.length; site++) {
+                if (used[site]) {
+                    continue;
+                }
+                long covered = covered(available[site], need);
+                if (covered > bestCovered
+                        || (covered > 0 && covered == bestCovered && isCloserOrCheaper(sites, distance, site, best))) {
+                    best = site;
+                    bestCovered = covered;
+                }
+            }
+            if (best < 0) {
+                return;
+            }
+
+            used[best] = true;
+            for (int line = 0; line < skus.length; line++) {
+                int take = Math.min(available[best][line], need[line]);
+                if (take > 0) {
+                    allocations.add(new Allocation(skus[line], sites[best].code(), take));
+                    need[line] -= take;
+                }
+            }
+        }
+    }
+
+    private static boolean coversAll(int[] available, int[] need) {
+        for (int line = 0; line < need.length; line++) {
+            if (available[line] < need[line]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long covered(int[] available, int[] need) {
+        long covered = 0;
+        for (int line = 0; line < need.length; line++) {
+            covered += Math.min(available[line], need[line]);
+        }
+        return covered;
+    }
+
+    private static boolean isCloserOrCheaper(WarehouseSite[] sites, double[] distance, int candidate, int current) {
+        int byDistance = Double.compare(distance[candidate], distance[current]);
+        if (byDistance != 0) {
+            return byDistance < 0;
+        }
+        return sites[candidate].costPerUnit() < sites[current].costPerUnit();
+    }
+
+    private static double[] distances(WarehouseSite[] sites, Double latitude, Double longitude) {
+        double[] distance = new double[sites.length];
+        if (latitude == null || longitude == null) {
+            return distance;
+        }
+        for (int site = 0; site < sites.length; site++) {
+            // Warehouses without coordinates rank behind every located one
+            distance[site] = sites[site].located()
+                    ? haversineKm(latitude, longitude, sites[site].latitude(), sites[site].longitude())
+                    : Double.MAX_VALUE;
+        }
+        return distance;
+    }
+
+    private static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.pow(Math.sin(dLat / 2), 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.pow(Math.sin(dLon / 2), 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
+    }
+}
@@ -0,0 +1,497 @@
+package com.logiflow.inventory.service;
+
+import com.logiflow.inventory.dto.InventoryResponseDTO;
+import com.logiflow.inventory.dto.InventorySummaryDTO;
+import com.logiflow.inventory.dto.WarehouseStockDTO;
+import com.logiflow.inventory.service.WarehouseAvailabilityIndex.WarehouseSite;
+import com.logiflow.shared.event.InventoryChangedEvent;
+import com.logiflow.shared.event.ProductSkuUpdatedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Available stock per (warehouse, SKU) in a memory-mapped file, so the inventory read endpoints are
+ * answered without Redis or Postgres and the data survives a restart. The file is a fixed-size
+ * open-addressing table of fixed-width records keyed by a hash of the warehouse and SKU; every
+ * committed inventory change, local or relayed from another node, overwrites its record in place
+ * unless the record already holds a newer row version. A SKU renamed away leaves a retired record
+ * that keeps its version, so a late message for the old SKU cannot bring it back. Reads take no lock
+ * and allocate nothing but the response.
+ * <p>
+ * The header holds a transaction-id watermark (see {@link com.logiflow.config.ChangeSequenceInitializer}):
+ * every row written by a transaction below it is in the file. At startup only the rows changed since
+ * the watermark are read back, and the same catch-up runs periodically to repair relay messages lost
+ * on the way. A file with another layout, written against another database or server run, or
+ * holding a record torn by a crash is rebuilt from scratch.
+ * <p>
+ * Lookups return {@code null} whenever the database has to answer instead: before the first
+ * catch-up, for SKUs too long for a record, for retired SKUs, for SKUs stocked in a warehouse the
+ * availability index does not know yet, and for pairs left out once the table is three quarters
+ * full.
+ */
+@Component
+@Slf4j
+public class AvailabilityReadModel {
+
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+    private static final int MAGIC = 0x4C464156;
+    private static final int FORMAT = 2;
+    private static final int MAX_SLOTS = 1 << 23;
+    private static final int HEADER_BYTES = 64;
+    private static final int RECORD_BYTES = 192;
+    private static final int MAX_SKU_BYTES = RECORD_BYTES - 40;
+    private static final long ABSENT = Long.MIN_VALUE;
+    private static final long RETIRED = Long.MIN_VALUE + 1;
+
+    // Header offsets; a negative watermark means the file has not been loaded yet
+    private static final int MAGIC_AT = 0;
+    private static final int FORMAT_AT = 4;
+    private static final int SLOTS_AT = 8;
+    private static final int WATERMARK_AT = 16;
+    private static final int DATABASE_AT = 24;
+
+    // Record offsets; the sequence is odd while the record is being written, a zero SKU length marks a free slot
+    private static final int SEQUENCE = 0;
+    private static final int SKU_LENGTH = 4;
+    private static final int WAREHOUSE_ID = 8;
+    private static final int QUANTITY = 16;
+    private static final int RESERVED = 20;
+    private static final int PRESENT = 24;
+    private static final int VERSION = 32;
+    private static final int SKU = 40;
+
+    // Changes whenever the table is recreated or the server restarted, either of which can reset transaction ids
+    private static final String POSITION_SQL = """
+            SELECT 'inventories'::regclass::oid::bigint * 31
+                       + (extract(epoch FROM pg_postmaster_start_time()) * 1000000)::bigint,
+                   pg_snapshot_xmin(pg_current_snapshot())::text::bigint""";
+    private static final String ROWS_SQL = "SELECT warehouse_id, sku, quantity, reserved, version FROM inventories";
+    private static final String CHANGED_ROWS_SQL = ROWS_SQL + " WHERE change_seq >= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final WarehouseAvailabilityIndex availabilityIndex;
+
+    private final Object refreshLock = new Object();
+
+    @Value("${app.inventory.read-model.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${app.inventory.read-model.path:data/availability.bin}")
+    private String path = "data/availability.bin";
+
+    @Value("${app.inventory.read-model.capacity:1048576}")
+    private int capacity = 1 << 20;
+
+    private volatile MappedByteBuffer buffer;
+    private volatile boolean ready;
+    private volatile boolean complete = true;
+    // Every warehouse with a record in the file, which can include ones the index has not loaded yet
+    private volatile long[] warehouseIds = new long[0];
+    private int mask;
+    private int used;
+
+    @Autowired
+    public AvailabilityReadModel(JdbcTemplate jdbcTemplate, WarehouseAvailabilityIndex availabilityIndex) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.availabilityIndex = availabilityIndex;
+    }
+
+    AvailabilityReadModel(JdbcTemplate jdbcTemplate, WarehouseAvailabilityIndex availabilityIndex,
+                          String path, int capacity) {
+        this(jdbcTemplate, availabilityIndex);
+        this.path = path;
+        this.capacity = capacity;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void open() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            map(Path.of(path));
+        } catch (IOException e) {
+            log.warn("Availability read model disabled, cannot map {}: {}", path, e.getMessage());
+            return;
+        }
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${app.inventory.read-model.refresh-interval-ms:30000}")
+    public void refresh() {
+        if (buffer == null) {
+            return;
+        }
+        synchronized (refreshLock) {
+            long started = System.nanoTime();
+            long[] position = jdbcTemplate.queryForObject(POSITION_SQL, (rs, _) -> new long[]{rs.getLong(1), rs.getLong(2)});
+            long database = position[0];
+            long next = position[1];
+            long watermark = buffer.getLong(WATERMARK_AT);
+            boolean rebuild = watermark < 0 || watermark > next || buffer.getLong(DATABASE_AT) != database;
+            if (rebuild) {
+                ready = false;
+                clear();
+                jdbcTemplate.query(ROWS_SQL, (RowCallbackHandler) this::putRow);
+            } else {
+                jdbcTemplate.query(CHANGED_ROWS_SQL, (RowCallbackHandler) this::putRow, watermark);
+            }
+            // Records reach the disk before the watermark that vouches for them
+            buffer.force();
+            buffer.putLong(DATABASE_AT, database);
+            buffer.putLong(WATERMARK_AT, next);
+            buffer.force(0, HEADER_BYTES);
+            if (rebuild || !ready) {
+                log.info("Availability read model {} in {} ms: {} records, watermark {}",
+                        rebuild ? "rebuilt" : "caught up", (System.nanoTime() - started) / 1_000_000, used, next);
+            }
+            ready = true;
+        }
+    }
+
+    public void apply(InventoryChangedEvent event) {
+        if (buffer != null) {
+            put(event.warehouseId(), event.sku().getBytes(StandardCharsets.UTF_8), event.quantity(), event.reserved(),
+                    event.version());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleProductSkuUpdatedEvent(ProductSkuUpdatedEvent event) {
+        retire(event.oldSku());
+    }
+
+    /**
+     * Retires the records of a SKU that no longer exists, here or on another node; its levels are
+     * then read from the database.
+     */
+    public void retire(String sku) {
+        if (buffer == null) {
+            return;
+        }
+        byte[] key = sku.getBytes(StandardCharsets.UTF_8);
+        if (key.length == 0 || key.length > MAX_SKU_BYTES) {
+            return;
+        }
+        synchronized (this) {
+            for (long warehouseId : warehouseIds) {
+                int at = locate(warehouseId, key);
+                if (at >= 0) {
+                    write(at, warehouseId, key, 0, 0, buffer.getLong(at + VERSION), false, false);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the stock of the SKU summed over all warehouses, or {@code null} if the database has to answer
+     */
+    public InventoryResponseDTO find(String sku) {
+        byte[] key = readableKey(sku);
+        if (key == null) {
+            return null;
+        }
+        WarehouseSite[] sites = availabilityIndex.sites();
+        if (heldByUnknownWarehouse(sites, key)) {
+            return null;
+        }
+        boolean found = false;
+        int available = 0;
+        for (WarehouseSite site : sites) {
+            long stock = lookup(site.id(), key);
+            if (stock == RETIRED) {
+                return null;
+            }
+            if (stock != ABSENT) {
+                found = true;
+                available += quantity(stock) - reserved(stock);
+            }
+        }
+        return found ? new InventoryResponseDTO(sku, available) : null;
+    }
+
+    /**
+     * Summaries of the SKUs this model can answer for, in request order. SKUs without any stock row
+     * are left out, as the database query does; those it cannot vouch for are added to {@code unanswered}.
+     */
+    public List<InventorySummaryDTO> findSummaries(List<String> skus, List<String> unanswered) {
+        List<InventorySummaryDTO> summaries = new ArrayList<>(skus.size());
+        WarehouseSite[] sites = availabilityIndex.sites();
+        for (String sku : skus) {
+            byte[] key = readableKey(sku);
+            if (key == null) {
+                unanswered.add(sku);
+                continue;
+            }
+            List<WarehouseStockDTO> warehouses = new ArrayList<>(2);
+            int available = 0;
+            boolean answerable = !heldByUnknownWarehouse(sites, key);
+            for (int i = 0; answerable && i < sites.length; i++) {
+                long stock = lookup(sites[i].id(), key);
+                if (stock == RETIRED) {
+                    answerable = false;
+                } else if (stock != ABSENT) {
+                    available += quantity(stock) - reserved(stock);
+                    warehouses.add(new WarehouseStockDTO(sites[i].code(), quantity(stock), reserved(stock),
+                            quantity(stock) - reserved(stock)));
+                }
+            }
+            if (!answerable) {
+                unanswered.add(sku);
+            } else if (!warehouses.isEmpty()) {
+                summaries.add(new InventorySummaryDTO(sku, available, warehouses));
+            } else if (!complete) {
+                unanswered.add(sku);
+            }
+        }
+        return summaries;
+    }
+
+    private byte[] readableKey(String sku) {
+        if (!ready) {
+            return null;
+        }
+        byte[] key = sku.getBytes(StandardCharsets.UTF_8);
+        return key.length == 0 || key.length > MAX_SKU_BYTES ? null : key;
+    }
+
+    private long lookup(long warehouseId, byte[] sku) {
+        MappedByteBuffer table = buffer;
+        for (int slot = hash(warehouseId, sku) & mask, probes = 0; probes <= mask; slot = (slot + 1) & mask, probes++) {
+            int at = HEADER_BYTES + slot * RECORD_BYTES;
+            while (true) {
+                int sequence = (int) INT.getAcquire(table, at + SEQUENCE);
+                if ((sequence & 1) != 0) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                int length = table.getInt(at + SKU_LENGTH);
+                boolean matches = length == sku.length && table.getLong(at + WAREHOUSE_ID) == warehouseId
+                        && skuEquals(table, at, sku);
+                boolean present = table.getInt(at + PRESENT) != 0;
+                long stock = pack(table.getInt(at + QUANTITY), table.getInt(at + RESERVED));
+                VarHandle.loadLoadFence();
+                if ((int) INT.get(table, at + SEQUENCE) != sequence) {
+                    continue;
+                }
+                if (length == 0) {
+                    return ABSENT;
+                }
+                if (matches) {
+                    return present ? stock : RETIRED;
+                }
+                break;
+            }
+        }
+        return ABSENT;
+    }
+
+    private void putRow(ResultSet rs) throws SQLException {
+        put(rs.getLong(1), rs.getString(2).getBytes(StandardCharsets.UTF_8), rs.getInt(3), rs.getInt(4), rs.getLong(5));
+    }
+
+    private synchronized void put(long warehouseId, byte[] sku, int quantity, int reserved, long version) {
+        if (sku.length == 0 || sku.length > MAX_SKU_BYTES) {
+            return;
+        }
+        int at = locate(warehouseId, sku);
+        if (at >= 0) {
+            // A retired record only gives way to a change made after the rename
+            long stored = buffer.getLong(at + VERSION);
+            boolean present = buffer.getInt(at + PRESENT) != 0;
+            if (version > stored || present && version == stored) {
+                write(at, warehouseId, sku, quantity, reserved, version, true, false);
+            }
+            return;
+        }
+        if (at == -1) {
+            return;
+        }
+        if (used >= (mask + 1) / 4 * 3) {
+            if (complete) {
+                log.warn("Availability read model is full at {} records, raise app.inventory.read-model.capacity", used);
+                complete = false;
+            }
+            return;
+        }
+        used++;
+        write(-at - 2, warehouseId, sku, quantity, reserved, version, true, true);
+        noteWarehouse(warehouseId);
+    }
+
+    /**
+     * @return the offset of the record of the pair; {@code -offset - 2} of the free slot it would go
+     * in if it has none; -1 if the table has no free slot on its probe path
+     */
+    private int locate(long warehouseId, byte[] sku) {
+        for (int slot = hash(warehouseId, sku) & mask, probes = 0; probes <= mask; slot = (slot + 1) & mask, probes++) {
+            int at = HEADER_BYTES + slot * RECORD_BYTES;
+            int length = buffer.getInt(at + SKU_LENGTH);
+            if (length == 0) {
+                return -at - 2;
+            }
+            if (length == sku.length && buffer.getLong(at + WAREHOUSE_ID) == warehouseId && skuEquals(buffer, at, sku)) {
+                return at;
+            }
+        }
+        return -1;
+    }
+
+    private void noteWarehouse(long warehouseId) {
+        long[] current = warehouseIds;
+        for (long id : current) {
+            if (id == warehouseId) {
+                return;
+            }
+        }
+        long[] grown = Arrays.copyOf(current, current.length + 1);
+        grown[current.length] = warehouseId;
+        warehouseIds = grown;
+    }
+
+    private void write(int at, long warehouseId, byte[] sku, int quantity, int reserved, long version, boolean present,
+                       boolean newKey) {
+        int sequence = buffer.getInt(at + SEQUENCE);
+        buffer.putInt(at + SEQUENCE, sequence + 1);
+        VarHandle.storeStoreFence();
+        if (newKey) {
+            buffer.putLong(at + WAREHOUSE_ID, warehouseId);
+            buffer.put(at + SKU, sku);
+            buffer.putInt(at + SKU_LENGTH, sku.length);
+        }
+        buffer.putInt(at + QUANTITY, quantity);
+        buffer.putInt(at + RESERVED, reserved);
+        buffer.putInt(at + PRESENT, present ? 1 : 0);
+        buffer.putLong(at + VERSION, version);
+        INT.setRelease(buffer, at + SEQUENCE, sequence + 2);
+    }
+
+    private void map(Path file) throws IOException {
+        int slots = Math.min(MAX_SLOTS, Integer.highestOneBit(Math.max(1024, capacity) - 1) << 1);
+        long size = HEADER_BYTES + (long) slots * RECORD_BYTES;
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (channel.size() != size) {
+                channel.truncate(0);
+            }
+            mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+        mapped.order(ByteOrder.nativeOrder());
+
+        synchronized (this) {
+            mask = slots - 1;
+            buffer = mapped;
+            if (mapped.getInt(MAGIC_AT) != MAGIC || mapped.getInt(FORMAT_AT) != FORMAT || mapped.getInt(SLOTS_AT) != slots) {
+                log.info("Availability read model at {} has another layout, starting empty", file);
+                clear();
+                return;
+            }
+            used = 0;
+            warehouseIds = new long[0];
+            for (int slot = 0; slot < slots; slot++) {
+                int at = HEADER_BYTES + slot * RECORD_BYTES;
+                if ((mapped.getInt(at + SEQUENCE) & 1) != 0) {
+                    log.warn("Availability read model at {} holds a torn record, rebuilding it", file);
+                    clear();
+                    return;
+                }
+                if (mapped.getInt(at + SKU_LENGTH) != 0) {
+                    used++;
+                    noteWarehouse(mapped.getLong(at + WAREHOUSE_ID));
+                }
+            }
+        }
+    }
+
+    private synchronized void clear() {
+        for (int at = 0; at < buffer.capacity(); at += Long.BYTES) {
+            buffer.putLong(at, 0);
+        }
+        buffer.putInt(MAGIC_AT, MAGIC);
+        buffer.putInt(FORMAT_AT, FORMAT);
+        buffer.putInt(SLOTS_AT, mask + 1);
+        buffer.putLong(WATERMARK_AT, -1);
+        used = 0;
+        warehouseIds = new long[0];
+        complete = true;
+    }
+
+    // Stock in a warehouse missing from the sites would be left out of the totals, so the database answers instead
+    private boolean heldByUnknownWarehouse(WarehouseSite[] sites, byte[] sku) {
+        for (long warehouseId : warehouseIds) {
+            if (!known(sites, warehouseId) && lookup(warehouseId, sku) != ABSENT) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean known(WarehouseSite[] sites, long warehouseId) {
+        for (WarehouseSite site : sites) {
+            if (site.id() == warehouseId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean skuEquals(MappedByteBuffer table, int at, byte[] sku) {
+        for (int i = 0; i < sku.length; i++) {
+            if (table.get(at + SKU + i) != sku[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(long warehouseId, byte[] sku) {
+        int hash = Long.hashCode(warehouseId);
+        for (byte b : sku) {
+            hash = 31 * hash + b;
+        }
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static long pack(int quantity, int reserved) {
+        return ((long) quantity << 32) | (reserved & 0xFFFFFFFFL);
+    }
+
+    private static int quantity(long stock) {
+        return (int) (stock >> 32);
+    }
+
+    private static int reserved(long stock) {
+        return (int) stock;
+    }
+}
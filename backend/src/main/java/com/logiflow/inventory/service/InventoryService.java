@@ -1,42 +1,124 @@
 package com.logiflow.inventory.service;
 
+import com.logiflow.cluster.service.ClusterReservationService;
+import com.logiflow.inventory.dto.BinAssignmentDTO;
 import com.logiflow.inventory.dto.InventoryResponseDTO;
+import com.logiflow.inventory.dto.InventorySummaryDTO;
+import com.logiflow.inventory.dto.StockReceiptDTO;
 import com.logiflow.inventory.mapper.InventoryMapper;
+import com.logiflow.inventory.model.BinLocation;
+import com.logiflow.inventory.model.ContentionMode;
 import com.logiflow.inventory.model.Inventory;
+import com.logiflow.inventory.model.MovementType;
+import com.logiflow.inventory.model.StockMovement;
+import com.logiflow.inventory.model.Warehouse;
 import com.logiflow.inventory.repository.InventoryRepository;
+import com.logiflow.inventory.service.AllocationEngine.Allocation;
+import com.logiflow.shared.event.InventoryChangedEvent;
+import com.logiflow.shared.event.StockAvailabilityChangedEvent;
+import com.logiflow.shared.event.StockReceivedEvent;
 import com.logiflow.shared.exception.InsufficientStockException;
 import com.logiflow.shared.exception.InventoryNotFoundException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
 
+/**
+ * Stock per (warehouse, SKU). Methods that take no warehouse code, or a {@code null} one, work on
+ * the default warehouse; read methods aggregate over all warehouses.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class InventoryService {
 
+    private static final String LOCK_ROWS_SQL = """
+            SELECT i.id
+            FROM inventories i
+            JOIN warehouses w ON w.id = i.warehouse_id
+            JOIN unnest(?::bigint[], ?::text[], ?::int[]) AS s(warehouse_id, sku, quantity)
+              ON s.warehouse_id = i.warehouse_id AND s.sku = i.sku
+            ORDER BY w.code, i.sku
+            FOR UPDATE OF i
+            """;
+    private static final String ADD_QUANTITIES_SQL = """
+            UPDATE inventories i
+            SET quantity = i.quantity + s.quantity, last_updated = now()
+            FROM unnest(?::bigint[], ?::text[], ?::int[]) AS s(warehouse_id, sku, quantity)
+            WHERE i.warehouse_id = s.warehouse_id AND i.sku = s.sku
+            RETURNING i.id, i.warehouse_id, i.sku, i.quantity, i.reserved, i.version
+            """;
+    // Only rows the update did not find reach this; the conflict clause covers a concurrent insert
+    private static final String INSERT_MISSING_SQL = """
+            INSERT INTO inventories (id, warehouse_id, sku, quantity, reserved, last_updated)
+            SELECT nextval('inventories_seq'), s.warehouse_id, s.sku, s.quantity, 0, now()
+            FROM unnest(?::bigint[], ?::text[], ?::int[]) AS s(warehouse_id, sku, quantity)
+            ON CONFLICT (warehouse_id, sku) DO UPDATE
+            SET quantity = inventories.quantity + EXCLUDED.quantity, last_updated = EXCLUDED.last_updated
+            RETURNING id, warehouse_id, sku, quantity, reserved, version
+            """;
     private final InventoryRepository inventoryRepository;
     private final InventoryMapper inventoryMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final WarehouseService warehouseService;
+    private final StockLedgerService stockLedgerService;
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheManager cacheManager;
+    private final RedisReservationEngine redisReservationEngine;
+    private final ClusterReservationService clusterReservationService;
+    private final SkuContentionTracker contentionTracker;
+    private final EntityManager entityManager;
+
+    @Value("${app.inventory.contention.optimistic-attempts:3}")
+    private int optimisticAttempts = 3;
 
     @Transactional(readOnly = true)
-    public List<InventoryResponseDTO> getInventoriesBySKUs(List<String> skus) {
-        return inventoryRepository.findBySkuIn(skus).stream()
-                .map(inventoryMapper::toDto)
+    public List<InventorySummaryDTO> getInventoriesBySKUs(List<String> skus) {
+        Map<String, List<Inventory>> bySku = inventoryRepository.findBySkuIn(skus).stream()
+                .collect(Collectors.groupingBy(Inventory::getSku, LinkedHashMap::new, Collectors.toList()));
+        return bySku.entrySet().stream()
+                .map(entry -> inventoryMapper.toSummary(entry.getKey(), entry.getValue()))
                 .toList();
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "inventory", key = "#sku")
+    @Cacheable(value = "inventory", key = "#sku", sync = true)
     public InventoryResponseDTO getAvailableInventory(String sku) {
-        return inventoryMapper.toDto(findBySkuOrThrow(sku));
+        List<Inventory> inventories = inventoryRepository.findAllBySku(sku);
+        if (inventories.isEmpty()) {
+            throw new InventoryNotFoundException(sku);
+        }
+        return inventoryMapper.toAggregateDto(sku, inventories);
+    }
+
+    @Transactional(readOnly = true)
+    public List<String> getWarehouseCodesWithAvailableStock(String sku) {
+        return inventoryRepository.findAllBySku(sku).stream()
+                .filter(inventory -> inventory.getQuantity() > inventory.getReserved())
+                .sorted(Comparator.comparingInt((Inventory inventory) -> inventory.getQuantity() - inventory.getReserved()).reversed())
+                .map(inventory -> inventory.getWarehouse().getCode())
+                .toList();
     }
 
     @Transactional
@@ -45,7 +127,7 @@ public class InventoryService {
             log.info("Inventory already exists for SKU: {}", sku);
             return;
         }
-        createInventory(sku, 0);
+        createInventory(warehouseService.getDefaultWarehouse(), sku, 0);
         log.info("Initialized inventory for SKU: {}", sku);
     }
 
@@ -56,57 +138,368 @@ public class InventoryService {
     @Transactional
     @CacheEvict(value = "inventory", key = "#sku")
     public void addStock(String sku, Integer amount) {
-        addOrCreateStock(sku, amount);
+        addOrCreateStock(null, sku, amount);
+        eventPublisher.publishEvent(new StockReceivedEvent(Set.of(sku)));
+    }
+
+    @Retryable(
+            retryFor = DataIntegrityViolationException.class,
+            backoff = @Backoff(delay = 50)
+    )
+    @Transactional
+    @CacheEvict(value = "inventory", key = "#sku")
+    public void addStock(String warehouseCode, String sku, Integer amount) {
+        addOrCreateStock(warehouseCode, sku, amount);
+        eventPublisher.publishEvent(new StockReceivedEvent(Set.of(sku)));
+    }
+
+    @Retryable(
+            retryFor = DataIntegrityViolationException.class,
+            backoff = @Backoff(delay = 50)
+    )
+    @Transactional
+    @CacheEvict(value = "inventory", allEntries = true)
+    public void receiveStock(List<StockReceiptDTO> receipts) {
+        receipts.stream()
+                .sorted(Comparator.comparing(StockReceiptDTO::warehouseCode, Comparator.nullsFirst(Comparator.naturalOrder()))
+                        .thenComparing(StockReceiptDTO::sku))
+                .forEach(receipt -> addOrCreateStock(receipt.warehouseCode(), receipt.sku(), receipt.quantity()));
+
+        Set<String> skus = receipts.stream()
+                .map(StockReceiptDTO::sku)
+                .collect(Collectors.toSet());
+        eventPublisher.publishEvent(new StockReceivedEvent(skus));
+        log.info("Received stock for {} SKUs", skus.size());
+    }
+
+    /**
+     * Adds stock for many warehouse/SKU pairs with a few set-based statements instead of a locked read
+     * and write per row, creating missing rows. Meant for high-rate feeds such as dock scanners;
+     * receipts for the same pair are summed. An unknown warehouse fails the whole batch before
+     * anything is written. Writes bypass the persistence context.
+     */
+    @Transactional
+    public void receiveStockBatch(List<StockReceiptDTO> receipts) {
+        if (receipts.isEmpty()) {
+            return;
+        }
+        Map<String, Warehouse> warehouses = new HashMap<>();
+        receipts.forEach(receipt -> warehouses.computeIfAbsent(receipt.warehouseCode(), this::resolveWarehouse));
+        Map<Long, String> codesById = warehouses.values().stream()
+                .collect(Collectors.toMap(Warehouse::getId, Warehouse::getCode, (first, _) -> first));
+
+        Map<List<Object>, Integer> pending = new LinkedHashMap<>();
+        receipts.forEach(receipt -> pending.merge(
+                List.of(warehouses.get(receipt.warehouseCode()).getId(), receipt.sku()), receipt.quantity(), Integer::sum));
+
+        List<StockMovement> movements = new ArrayList<>();
+        RowCallbackHandler applied = rs -> {
+            long warehouseId = rs.getLong(2);
+            String sku = rs.getString(3);
+            int delta = pending.remove(List.of(warehouseId, sku));
+            movements.add(StockMovement.builder()
+                    .inventoryId(rs.getLong(1))
+                    .warehouseCode(codesById.get(warehouseId))
+                    .sku(sku)
+                    .type(MovementType.RECEIPT)
+                    .quantityDelta(delta)
+                    .reservedDelta(0)
+                    .occurredAt(LocalDateTime.now())
+                    .build());
+            eventPublisher.publishEvent(new InventoryChangedEvent(warehouseId, sku, rs.getInt(4), rs.getInt(5), rs.getLong(6)));
+            eventPublisher.publishEvent(new StockAvailabilityChangedEvent(codesById.get(warehouseId), sku, delta, rs.getLong(6)));
+        };
+        jdbcTemplate.query(withReceipts(LOCK_ROWS_SQL, pending), (RowCallbackHandler) _ -> {
+        });
+        jdbcTemplate.query(withReceipts(ADD_QUANTITIES_SQL, pending), applied);
+        if (!pending.isEmpty()) {
+            jdbcTemplate.query(withReceipts(INSERT_MISSING_SQL, pending), applied);
+        }
+        stockLedgerService.recordAll(movements);
+
+        Set<String> skus = receipts.stream()
+                .map(StockReceiptDTO::sku)
+                .collect(Collectors.toSet());
+        Cache cache = cacheManager.getCache("inventory");
+        if (cache != null) {
+            skus.forEach(cache::evict);
+        }
+        eventPublisher.publishEvent(new StockReceivedEvent(skus));
+        log.debug("Received batched stock for {} warehouse/SKU pairs", movements.size());
     }
 
     @Transactional
     @CacheEvict(value = "inventory", key = "#sku")
     public void reserveStock(String sku, Integer amount) {
-        Inventory inventory = findBySkuForUpdateOrThrow(sku);
-        validateSufficientStock(inventory, amount);
+        reserveStock(null, sku, amount);
+    }
 
-        inventory.setReserved(inventory.getReserved() + amount);
-        inventoryRepository.save(inventory);
+    @Transactional
+    @CacheEvict(value = "inventory", key = "#sku")
+    public void reserveStock(String warehouseCode, String sku, Integer amount) {
+        if (redisReservationEngine.manages(sku)) {
+            Allocation line = new Allocation(sku, resolveWarehouse(warehouseCode).getCode(), amount);
+            if (!redisReservationEngine.reserveAll(List.of(line)).isEmpty()) {
+                throw new InsufficientStockException("Insufficient stock available to reserve");
+            }
+            return;
+        }
+        if (clusterReservationService.isEnabled()) {
+            // A shortfall rolls the transaction back, which releases the partial reservation
+            if (clusterReservationService.reserveUpTo(resolveWarehouse(warehouseCode).getCode(), sku, amount) < amount) {
+                throw new InsufficientStockException("Insufficient stock available to reserve");
+            }
+            return;
+        }
+        if (contentionTracker.mode(sku) == ContentionMode.QUEUED) {
+            Integer reserved = reserveQueued(warehouseCode, sku, amount);
+            if (reserved != null) {
+                // A shortfall rolls the transaction back, which releases the partial reservation
+                if (reserved < amount) {
+                    throw new InsufficientStockException("Insufficient stock available to reserve");
+                }
+                return;
+            }
+        }
+        changeReserved(warehouseCode, sku, MovementType.RESERVATION, inventory -> {
+            validateSufficientStock(inventory, amount);
+            return amount;
+        }).orElseThrow(() -> new InventoryNotFoundException(sku));
+    }
+
+    /**
+     * Reserves as much of {@code amount} as is currently available in the warehouse and returns the
+     * reserved quantity.
+     */
+    @Transactional
+    @CacheEvict(value = "inventory", key = "#sku")
+    public int reserveUpTo(String warehouseCode, String sku, int amount) {
+        if (redisReservationEngine.manages(sku)) {
+            return redisReservationEngine.reserveUpTo(resolveWarehouse(warehouseCode).getCode(), sku, amount);
+        }
+        if (clusterReservationService.isEnabled()) {
+            return clusterReservationService.reserveUpTo(resolveWarehouse(warehouseCode).getCode(), sku, amount);
+        }
+        if (contentionTracker.mode(sku) == ContentionMode.QUEUED) {
+            Integer reserved = reserveQueued(warehouseCode, sku, amount);
+            if (reserved != null) {
+                return reserved;
+            }
+        }
+        return changeReserved(warehouseCode, sku, MovementType.RESERVATION,
+                inventory -> Math.min(Math.max(0, inventory.getQuantity() - inventory.getReserved()), amount))
+                .orElse(0);
     }
 
     @Transactional
+    @CacheEvict(value = "inventory", key = "#sku")
+    public void releaseStock(String warehouseCode, String sku, Integer amount) {
+        if (redisReservationEngine.manages(sku)) {
+            redisReservationEngine.release(List.of(new Allocation(sku, resolveWarehouse(warehouseCode).getCode(), amount)));
+            return;
+        }
+        if (clusterReservationService.isEnabled()) {
+            clusterReservationService.release(resolveWarehouse(warehouseCode).getCode(), sku, amount);
+            return;
+        }
+        if (contentionTracker.mode(sku) == ContentionMode.QUEUED) {
+            clusterReservationService.release(resolveWarehouse(warehouseCode).getCode(), sku, amount);
+            contentionTracker.recordQueued(sku);
+            return;
+        }
+        changeReserved(warehouseCode, sku, MovementType.RELEASE, inventory -> -Math.min(inventory.getReserved(), amount))
+                .orElseThrow(() -> new InventoryNotFoundException(sku));
+    }
+
+    @Transactional
+    @CacheEvict(value = "inventory", key = "#sku")
+    public void shipStock(String warehouseCode, String sku, Integer amount) {
+        Inventory inventory = findForUpdateOrThrow(warehouseCode, sku);
+        if (redisReservationEngine.manages(sku)) {
+            // The reservation may not be reconciled yet, so it is settled through the journal rather
+            // than taken off the row; Redis already stopped counting these units when they were reserved
+            inventory.setQuantity(inventory.getQuantity() - amount);
+            save(inventory);
+            stockLedgerService.record(inventory, MovementType.SHIPMENT, -amount, 0);
+            redisReservationEngine.settle(List.of(new Allocation(sku, inventory.getWarehouse().getCode(), amount)));
+            return;
+        }
+        int unreserved = Math.min(inventory.getReserved(), amount);
+        inventory.setQuantity(inventory.getQuantity() - amount);
+        inventory.setReserved(inventory.getReserved() - unreserved);
+        save(inventory, MovementType.SHIPMENT, -amount, -unreserved);
+    }
+
+    @Transactional
+    @CacheEvict(value = "inventory", key = "#oldSku")
     public void updateSku(String oldSku, String newSku) {
-        Inventory inventory = findBySkuOrThrow(oldSku);
-        inventory.setSku(newSku);
-        inventoryRepository.save(inventory);
+        List<Inventory> inventories = inventoryRepository.findAllBySku(oldSku);
+        if (inventories.isEmpty()) {
+            throw new InventoryNotFoundException(oldSku);
+        }
+        inventories.forEach(inventory -> {
+            inventory.setSku(newSku);
+            save(inventory);
+        });
         log.info("Updated inventory SKU from {} to {}", oldSku, newSku);
     }
 
-    private Inventory findBySkuOrThrow(String sku) {
-        return inventoryRepository.findBySku(sku)
-                .orElseThrow(() -> new InventoryNotFoundException(sku));
+    @Transactional
+    public void assignBin(BinAssignmentDTO dto) {
+        Inventory inventory = findForUpdateOrThrow(dto.warehouseCode(), dto.sku());
+        inventory.setBinLocation(BinLocation.builder()
+                .zone(dto.zone())
+                .aisle(dto.aisle())
+                .bay(dto.bay())
+                .build());
+        inventoryRepository.save(inventory);
+        log.info("Assigned SKU {} to bin {}-{}-{}", dto.sku(), dto.zone(), dto.aisle(), dto.bay());
     }
 
-    private Inventory findBySkuForUpdateOrThrow(String sku) {
-        return inventoryRepository.findBySkuForUpdate(sku)
+    /**
+     * Changes the reserved quantity of a row by the delta {@code decide} picks from its levels, the
+     * way {@link SkuContentionTracker} chose for the SKU: a version-checked update while the SKU is
+     * quiet, falling back to the row lock after {@code optimistic-attempts} conflicts, and the row
+     * lock straight away once it is contended.
+     *
+     * @return the applied delta, or empty if the row does not exist
+     */
+    private Optional<Integer> changeReserved(String warehouseCode, String sku, MovementType type,
+                                             ToIntFunction<Inventory> decide) {
+        Inventory inventory = null;
+        if (contentionTracker.mode(sku) == ContentionMode.OPTIMISTIC) {
+            Optional<Inventory> found = find(warehouseCode, sku);
+            if (found.isEmpty()) {
+                return Optional.empty();
+            }
+            inventory = found.get();
+            for (int attempt = 0; attempt < optimisticAttempts; attempt++) {
+                int delta = decide.applyAsInt(inventory);
+                boolean applied = delta == 0
+                        || inventoryRepository.addReservedIfVersion(inventory.getId(), inventory.getVersion(), delta) == 1;
+                contentionTracker.recordOptimistic(sku, !applied);
+                if (delta == 0) {
+                    return Optional.of(0);
+                }
+                // The update bypassed the persistence context, and a conflict means the row moved on
+                entityManager.refresh(inventory);
+                if (applied) {
+                    save(inventory, type, 0, delta);
+                    return Optional.of(delta);
+                }
+            }
+        }
+
+        long started = System.nanoTime();
+        Optional<Inventory> locked;
+        if (inventory != null) {
+            entityManager.refresh(inventory, LockModeType.PESSIMISTIC_WRITE);
+            locked = Optional.of(inventory);
+        } else {
+            locked = findForUpdate(warehouseCode, sku);
+        }
+        contentionTracker.recordLocked(sku, System.nanoTime() - started);
+        return locked.map(row -> {
+            int delta = decide.applyAsInt(row);
+            row.setReserved(row.getReserved() + delta);
+            save(row, type, 0, delta);
+            return delta;
+        });
+    }
+
+    // Null when the lane failed, e.g. it timed out on a row this transaction already holds
+    private Integer reserveQueued(String warehouseCode, String sku, int amount) {
+        try {
+            int reserved = clusterReservationService.reserveUpTo(resolveWarehouse(warehouseCode).getCode(), sku, amount);
+            contentionTracker.recordQueued(sku);
+            return reserved;
+        } catch (RuntimeException e) {
+            log.debug("Queued reservation of SKU {} failed, locking the row instead: {}", sku, e.getMessage());
+            return null;
+        }
+    }
+
+    private Optional<Inventory> find(String warehouseCode, String sku) {
+        return warehouseCode == null
+                ? inventoryRepository.findBySku(sku)
+                : inventoryRepository.findByWarehouseCodeAndSku(warehouseCode, sku);
+    }
+
+    private Optional<Inventory> findForUpdate(String warehouseCode, String sku) {
+        return warehouseCode == null
+                ? inventoryRepository.findBySkuForUpdate(sku)
+                : inventoryRepository.findByWarehouseCodeAndSkuForUpdate(warehouseCode, sku);
+    }
+
+    private Inventory findForUpdateOrThrow(String warehouseCode, String sku) {
+        return findForUpdate(warehouseCode, sku)
                 .orElseThrow(() -> new InventoryNotFoundException(sku));
     }
 
-    private void addOrCreateStock(String sku, Integer amount) {
-        inventoryRepository.findBySku(sku)
-                .ifPresentOrElse(
-                        inventory -> incrementQuantity(inventory, amount),
-                        () -> createInventory(sku, amount)
-                );
+    private void addOrCreateStock(String warehouseCode, String sku, Integer amount) {
+        find(warehouseCode, sku).ifPresentOrElse(
+                inventory -> incrementQuantity(inventory, amount),
+                () -> createInventory(resolveWarehouse(warehouseCode), sku, amount)
+        );
+    }
+
+    private static PreparedStatementCreator withReceipts(String sql, Map<List<Object>, Integer> receipts) {
+        return connection -> {
+            Long[] warehouseIds = new Long[receipts.size()];
+            String[] skus = new String[receipts.size()];
+            Integer[] quantities = new Integer[receipts.size()];
+            int i = 0;
+            for (Map.Entry<List<Object>, Integer> receipt : receipts.entrySet()) {
+                warehouseIds[i] = (Long) receipt.getKey().get(0);
+                skus[i] = (String) receipt.getKey().get(1);
+                quantities[i++] = receipt.getValue();
+            }
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setArray(1, connection.createArrayOf("bigint", warehouseIds));
+            statement.setArray(2, connection.createArrayOf("text", skus));
+            statement.setArray(3, connection.createArrayOf("integer", quantities));
+            return statement;
+        };
+    }
+
+    private Warehouse resolveWarehouse(String warehouseCode) {
+        return warehouseCode == null
+                ? warehouseService.getDefaultWarehouse()
+                : warehouseService.getByCode(warehouseCode);
     }
 
     private void incrementQuantity(Inventory inventory, Integer amount) {
         inventory.setQuantity(inventory.getQuantity() + amount);
-        inventoryRepository.save(inventory);
+        save(inventory, MovementType.RECEIPT, amount, 0);
     }
 
-    private void createInventory(String sku, Integer quantity) {
+    private void createInventory(Warehouse warehouse, String sku, Integer quantity) {
         Inventory newInventory = Inventory.builder()
+                .warehouse(warehouse)
                 .sku(sku)
                 .quantity(quantity)
                 .reserved(0)
                 .build();
-        inventoryRepository.save(newInventory);
+        save(newInventory, MovementType.RECEIPT, quantity, 0);
+    }
+
+    private void save(Inventory inventory, MovementType type, int quantityDelta, int reservedDelta) {
+        long version = save(inventory);
+        stockLedgerService.record(inventory, type, quantityDelta, reservedDelta);
+        if (quantityDelta != reservedDelta) {
+            eventPublisher.publishEvent(new StockAvailabilityChangedEvent(
+                    inventory.getWarehouse().getCode(), inventory.getSku(), quantityDelta - reservedDelta, version));
+        }
+    }
+
+    // Flushed so the events carry the version the row was written with
+    private long save(Inventory inventory) {
+        inventoryRepository.save(inventory);
+        entityManager.flush();
+        long version = inventory.getVersion() == null ? 0 : inventory.getVersion();
+        eventPublisher.publishEvent(new InventoryChangedEvent(inventory.getWarehouse().getId(), inventory.getSku(),
+                inventory.getQuantity(), inventory.getReserved(), version));
+        return version;
     }
 
     private void validateSufficientStock(Inventory inventory, Integer amount) {
@@ -0,0 +1,148 @@
+package com.logiflow.inventory.service;
+
+import com.logiflow.inventory.dto.StockLevelUpdateDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes available stock to SSE clients subscribed to sets of SKUs.
+ * <p>
+ * A change only stores the SKU's new total in each subscriber's pending map and wakes it. Every
+ * subscriber drains its map on its own virtual thread, so a slow client holds up nobody else and
+ * only ever receives the latest value per SKU; intermediate values are dropped.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryStreamService {
+
+    private final WarehouseAvailabilityIndex availabilityIndex;
+
+    private final Map<String, Set<Subscriber>> subscribersBySku = new ConcurrentHashMap<>();
+
+    @Value("${app.inventory.stream.max-skus:500}")
+    private int maxSkus = 500;
+
+    @Value("${app.inventory.stream.timeout-ms:1800000}")
+    private long timeoutMs = 1_800_000;
+
+    @Value("${app.inventory.stream.heartbeat-seconds:20}")
+    private long heartbeatSeconds = 20;
+
+    public SseEmitter subscribe(Collection<String> skus) {
+        Set<String> watched = skus.stream()
+                .limit(maxSkus)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, watched);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(_ -> subscriber.close());
+
+        // The first batch sent is the current stock of every watched SKU
+        for (String sku : watched) {
+            subscribersBySku.compute(sku, (_, subscribers) -> {
+                Set<Subscriber> updated = subscribers == null ? ConcurrentHashMap.newKeySet() : subscribers;
+                updated.add(subscriber);
+                return updated;
+            });
+            subscriber.offer(sku, available(sku));
+        }
+        Thread.ofVirtual().name("inventory-stream").start(subscriber::run);
+        return emitter;
+    }
+
+    public void publish(String sku) {
+        Set<Subscriber> subscribers = subscribersBySku.get(sku);
+        if (subscribers == null || subscribers.isEmpty()) {
+            return;
+        }
+        int available = available(sku);
+        subscribers.forEach(subscriber -> subscriber.offer(sku, available));
+    }
+
+    private int available(String sku) {
+        return Arrays.stream(availabilityIndex.stock(sku).available()).sum();
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscriber.skus.forEach(sku -> subscribersBySku.computeIfPresent(sku, (_, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        }));
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Set<String> skus;
+        private final Map<String, Integer> pending = new ConcurrentHashMap<>();
+        // Only touched by the subscriber's own thread
+        private final Map<String, Integer> sent = new HashMap<>();
+        private final Semaphore signal = new Semaphore(0);
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, Set<String> skus) {
+            this.emitter = emitter;
+            this.skus = skus;
+        }
+
+        private void offer(String sku, int available) {
+            pending.put(sku, available);
+            if (signal.availablePermits() == 0) {
+                signal.release();
+            }
+        }
+
+        private void run() {
+            try {
+                while (!closed) {
+                    if (!signal.tryAcquire(heartbeatSeconds, TimeUnit.SECONDS)) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                        continue;
+                    }
+                    signal.drainPermits();
+                    List<StockLevelUpdateDTO> updates = drain();
+                    if (!updates.isEmpty() && !closed) {
+                        emitter.send(SseEmitter.event().name("stock").data(updates));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Inventory stream client disconnected: {}", e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                close();
+            }
+        }
+
+        private List<StockLevelUpdateDTO> drain() {
+            List<StockLevelUpdateDTO> updates = new ArrayList<>();
+            for (String sku : pending.keySet()) {
+                Integer available = pending.remove(sku);
+                if (available != null && !available.equals(sent.put(sku, available))) {
+                    updates.add(new StockLevelUpdateDTO(sku, available));
+                }
+            }
+            return updates;
+        }
+
+        private void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            unsubscribe(this);
+            signal.release();
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package com.logiflow.inventory.service;
+
+import com.logiflow.inventory.service.AllocationEngine.Allocation;
+import com.logiflow.inventory.service.AllocationEngine.StockKey;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tools.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Keeps the available stock of selected SKUs in Redis and reserves it with Lua scripts, so hot SKUs
+ * are reserved without Postgres row locks. Each SKU is a hash of available units per warehouse code.
+ * Every reservation or release is also appended to a journal stream that {@link ReservationReconciler}
+ * applies to {@code inventories}, so Postgres trails Redis by one reconcile run for these SKUs.
+ * <p>
+ * A hash is seeded from Postgres on first use. Receipts are still written to Postgres and mirrored
+ * into the hash after commit; shipments settle their reservation through the journal. Reservations
+ * made in a transaction that rolls back are released again; releases are deferred until their
+ * transaction commits.
+ * <p>
+ * A reservation updates several SKUs' hashes and the journal in one script, so on Redis Cluster all
+ * of these keys share a hash tag and live on a single shard. Sharding them would need a journal per
+ * slot and would lose all-or-nothing reservations across SKUs.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RedisReservationEngine {
+
+    // One hash tag for every key, so Redis Cluster puts them in one slot and the scripts never go CROSSSLOT
+    private static final String KEY_PREFIX = "{logiflow:reservations}:";
+    static final String JOURNAL_KEY = KEY_PREFIX + "journal";
+    static final String SEEDED_SKUS_KEY = KEY_PREFIX + "skus";
+    private static final String STOCK_KEY_PREFIX = KEY_PREFIX + "stock:";
+    private static final String VERSIONS_KEY_PREFIX = KEY_PREFIX + "versions:";
+    private static final int SEED_ATTEMPTS = 3;
+
+    // KEYS: stock hash, seeded SKUs, versions hash; ARGV: SKU, then warehouse, available, row version
+    // per row read. Fails with -1 if a newer change was mirrored after the rows were read.
+    private static final String SEED_LUA = """
+            if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end
+            local read = {}
+            for i = 2, #ARGV, 3 do
+              read[ARGV[i]] = tonumber(ARGV[i + 2])
+            end
+            local mirrored = redis.call('HGETALL', KEYS[3])
+            for i = 1, #mirrored, 2 do
+              if (read[mirrored[i]] or -1) < tonumber(mirrored[i + 1]) then return -1 end
+            end
+            for i = 2, #ARGV, 3 do
+              redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1])
+              redis.call('HSET', KEYS[3], ARGV[i], ARGV[i + 2])
+            end
+            redis.call('SADD', KEYS[2], ARGV[1])
+            return 1
+            """;
+    // KEYS: journal, then one stock hash per line; ARGV: warehouse, SKU, quantity per line.
+    // Lines must be distinct (warehouse, SKU) pairs, otherwise the check below under-counts.
+    private static final String RESERVE_ALL_LUA = """
+            local missing, short = {}, {}
+            for i = 2, #KEYS do
+              if redis.call('EXISTS', KEYS[i]) == 0 then
+                missing[#missing + 1] = i - 2
+              elseif tonumber(redis.call('HGET', KEYS[i], ARGV[3 * i - 5]) or '0') < tonumber(ARGV[3 * i - 3]) then
+                short[#short + 1] = i - 2
+              end
+            end
+            if #missing > 0 then return {2, unpack(missing)} end
+            if #short > 0 then return {1, unpack(short)} end
+            for i = 2, #KEYS do
+              redis.call('HINCRBY', KEYS[i], ARGV[3 * i - 5], -tonumber(ARGV[3 * i - 3]))
+            end
+            redis.call('XADD', KEYS[1], '*', 'lines', cjson.encode(ARGV))
+            return {0}
+            """;
+    private static final String RESERVE_UP_TO_LUA = """
+            if redis.call('EXISTS', KEYS[2]) == 0 then return -1 end
+            local available = tonumber(redis.call('HGET', KEYS[2], ARGV[1]) or '0')
+            local reserved = math.min(math.max(available, 0), tonumber(ARGV[3]))
+            if reserved > 0 then
+              redis.call('HINCRBY', KEYS[2], ARGV[1], -reserved)
+              redis.call('XADD', KEYS[1], '*', 'lines', cjson.encode({ARGV[1], ARGV[2], tostring(reserved)}))
+            end
+            return reserved
+            """;
+    private static final String RELEASE_LUA = """
+            local lines = {}
+            for i = 2, #KEYS do
+              if redis.call('EXISTS', KEYS[i]) == 1 then
+                redis.call('HINCRBY', KEYS[i], ARGV[3 * i - 5], tonumber(ARGV[3 * i - 3]))
+              end
+              lines[#lines + 1] = ARGV[3 * i - 5]
+              lines[#lines + 1] = ARGV[3 * i - 4]
+              lines[#lines + 1] = tostring(-tonumber(ARGV[3 * i - 3]))
+            end
+            redis.call('XADD', KEYS[1], '*', 'lines', cjson.encode(lines))
+            return 0
+            """;
+    // KEYS: stock hash, versions hash; ARGV: warehouse, delta, row version. The version is recorded
+    // even before the hash is seeded, so a seed that read older rows fails instead of losing the change.
+    private static final String ADJUST_LUA = """
+            if tonumber(redis.call('HGET', KEYS[2], ARGV[1]) or '-1') >= tonumber(ARGV[3]) then return 0 end
+            redis.call('HSET', KEYS[2], ARGV[1], ARGV[3])
+            if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end
+            redis.call('HINCRBY', KEYS[1], ARGV[1], ARGV[2])
+            return 1
+            """;
+
+    private static final RedisScript<Long> SEED = RedisScript.of(SEED_LUA, Long.class);
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> RESERVE_ALL = RedisScript.of(RESERVE_ALL_LUA, List.class);
+    private static final RedisScript<Long> RESERVE_UP_TO = RedisScript.of(RESERVE_UP_TO_LUA, Long.class);
+    private static final RedisScript<Long> RELEASE = RedisScript.of(RELEASE_LUA, Long.class);
+    private static final RedisScript<Long> ADJUST = RedisScript.of(ADJUST_LUA, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.inventory.redis-reservations.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.inventory.redis-reservations.skus:}")
+    private Set<String> skus = Set.of();
+
+    /**
+     * Whether reservations of the SKU go through Redis: all SKUs when enabled globally, otherwise
+     * only the listed ones.
+     */
+    public boolean manages(String sku) {
+        return enabled || skus.contains(sku);
+    }
+
+    /**
+     * Reserves every line or none of them in one atomic step.
+     *
+     * @return indexes of the lines lacking stock; empty when everything was reserved
+     */
+    public List<Integer> reserveAll(List<Allocation> lines) {
+        List<Integer> result = runReserveAll(lines);
+        if (!result.isEmpty() && result.getFirst() == 2) {
+            lines.forEach(line -> seed(line.sku()));
+            result = runReserveAll(lines);
+        }
+        if (result.getFirst() == 0) {
+            releaseOnRollback(lines);
+            return List.of();
+        }
+        // Still missing after seeding means the SKU has no stock rows at all
+        return result.subList(1, result.size());
+    }
+
+    public int reserveUpTo(String warehouseCode, String sku, int amount) {
+        List<String> keys = List.of(JOURNAL_KEY, stockKey(sku));
+        String[] args = {warehouseCode, sku, Integer.toString(amount)};
+        long reserved = Objects.requireNonNull(redisTemplate.execute(RESERVE_UP_TO, keys, (Object[]) args));
+        if (reserved < 0) {
+            seed(sku);
+            reserved = Math.max(0, Objects.requireNonNull(redisTemplate.execute(RESERVE_UP_TO, keys, (Object[]) args)));
+        }
+        if (reserved > 0) {
+            releaseOnRollback(List.of(new Allocation(sku, warehouseCode, (int) reserved)));
+        }
+        return (int) reserved;
+    }
+
+    public void release(List<Allocation> lines) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    runRelease(lines);
+                }
+            });
+        } else {
+            runRelease(lines);
+        }
+    }
+
+    /**
+     * Settles reservations of shipped units: once the shipment commits, the units are journaled as
+     * released so the reconciler takes them off the reserved quantity, while the hash, which stopped
+     * counting them when they were reserved, is left alone. The shipment itself must only lower the
+     * Postgres quantity; whether the reservation was already reconciled or not, availability then
+     * matches Redis.
+     */
+    public void settle(List<Allocation> lines) {
+        Object[] args = arguments(lines);
+        for (int i = 2; i < args.length; i += 3) {
+            args[i] = Integer.toString(-Integer.parseInt((String) args[i]));
+        }
+        String entry = objectMapper.writeValueAsString(args);
+        Runnable journal = () -> redisTemplate.opsForStream().add(JOURNAL_KEY, Map.of("lines", entry));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    journal.run();
+                }
+            });
+        } else {
+            journal.run();
+        }
+    }
+
+    /**
+     * Applies a committed Postgres change of available stock, e.g. a receipt, to the SKU's hash if it
+     * has been seeded; otherwise the next seed reads it from Postgres. {@code version} is the row
+     * version the change produced; a change the hash already contains, because the seed read it or
+     * the message was repeated, is skipped.
+     */
+    public void adjust(String warehouseCode, String sku, int delta, long version) {
+        redisTemplate.execute(ADJUST, List.of(stockKey(sku), versionsKey(sku)), warehouseCode,
+                Integer.toString(delta), Long.toString(version));
+    }
+
+    List<MapRecord<String, Object, Object>> readJournal(String afterId, int count) {
+        Range<String> range = afterId == null
+                ? Range.unbounded()
+                : Range.rightUnbounded(Range.Bound.exclusive(afterId));
+        return Objects.requireNonNullElse(
+                redisTemplate.opsForStream().range(JOURNAL_KEY, range, Limit.limit().count(count)), List.of());
+    }
+
+    void trimJournal(String appliedId) {
+        // XTRIM MINID keeps the given id, so the newest applied entry stays until the next trim
+        redisTemplate.execute(connection -> connection.execute("XTRIM",
+                JOURNAL_KEY.getBytes(StandardCharsets.UTF_8), "MINID".getBytes(StandardCharsets.UTF_8),
+                appliedId.getBytes(StandardCharsets.UTF_8)), true);
+    }
+
+    /**
+     * Decodes the lines of a journal entry into signed reserved-quantity changes.
+     */
+    Map<StockKey, Integer> decode(MapRecord<String, Object, Object> entry) {
+        String[] values = objectMapper.readValue(String.valueOf(entry.getValue().get("lines")), String[].class);
+        Map<StockKey, Integer> deltas = new LinkedHashMap<>();
+        for (int i = 0; i + 2 < values.length; i += 3) {
+            deltas.merge(new StockKey(values[i], values[i + 1]), Integer.parseInt(values[i + 2]), Integer::sum);
+        }
+        return deltas;
+    }
+
+    Set<String> seededSkus() {
+        return Objects.requireNonNullElse(redisTemplate.opsForSet().members(SEEDED_SKUS_KEY), Set.of());
+    }
+
+    Map<String, Integer> available(String sku) {
+        Map<String, Integer> available = new HashMap<>();
+        redisTemplate.<String, String>opsForHash().entries(stockKey(sku))
+                .forEach((warehouseCode, units) -> available.put(warehouseCode, Integer.parseInt(units)));
+        return available;
+    }
+
+    void forget(String sku) {
+        redisTemplate.delete(List.of(stockKey(sku), versionsKey(sku)));
+        redisTemplate.opsForSet().remove(SEEDED_SKUS_KEY, sku);
+    }
+
+    // Compare-and-set against the versions mirrored so far; retried while receipts race with the read
+    private void seed(String sku) {
+        for (int attempt = 1; attempt <= SEED_ATTEMPTS; attempt++) {
+            List<String> args = new ArrayList<>();
+            args.add(sku);
+            jdbcTemplate.query("""
+                    SELECT w.code, i.quantity - i.reserved, COALESCE(i.version, 0)
+                    FROM inventories i
+                    JOIN warehouses w ON w.id = i.warehouse_id
+                    WHERE i.sku = ?
+                    """, (RowCallbackHandler) rs -> {
+                args.add(rs.getString(1));
+                args.add(Integer.toString(rs.getInt(2)));
+                args.add(Long.toString(rs.getLong(3)));
+            }, sku);
+            long seeded = Objects.requireNonNull(redisTemplate.execute(SEED,
+                    List.of(stockKey(sku), SEEDED_SKUS_KEY, versionsKey(sku)), args.toArray()));
+            if (seeded >= 0) {
+                log.info("Seeded Redis reservations for SKU: {} from {} warehouse rows", sku, (args.size() - 1) / 3);
+                return;
+            }
+        }
+        log.warn("Could not seed Redis reservations for SKU: {}; stock kept changing while it was read", sku);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Integer> runReserveAll(List<Allocation> lines) {
+        List<Long> result = redisTemplate.execute(RESERVE_ALL, keys(lines), arguments(lines));
+        return Objects.requireNonNull(result).stream()
+                .map(Long::intValue)
+                .toList();
+    }
+
+    private void runRelease(List<Allocation> lines) {
+        redisTemplate.execute(RELEASE, keys(lines), arguments(lines));
+    }
+
+    private void releaseOnRollback(List<Allocation> lines) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    runRelease(lines);
+                }
+            }
+        });
+    }
+
+    private static List<String> keys(List<Allocation> lines) {
+        List<String> keys = new ArrayList<>(lines.size() + 1);
+        keys.add(JOURNAL_KEY);
+        lines.forEach(line -> keys.add(stockKey(line.sku())));
+        return keys;
+    }
+
+    private static Object[] arguments(List<Allocation> lines) {
+        Object[] args = new Object[lines.size() * 3];
+        for (int i = 0; i < lines.size(); i++) {
+            args[3 * i] = lines.get(i).warehouseCode();
+            args[3 * i + 1] = lines.get(i).sku();
+            args[3 * i + 2] = Integer.toString(lines.get(i).quantity());
+        }
+        return args;
+    }
+
+    private static String stockKey(String sku) {
+        return STOCK_KEY_PREFIX + sku;
+    }
+
+    private static String versionsKey(String sku) {
+        return VERSIONS_KEY_PREFIX + sku;
+    }
+}
@@ -0,0 +1,185 @@
+package com.logiflow.inventory.service;
+
+import com.logiflow.inventory.service.AllocationEngine.StockKey;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.*;
+
+/**
+ * Applies the Redis reservation journal to {@code inventories} in batches, and periodically checks
+ * that every seeded Redis hash still equals Postgres availability minus the journal entries not yet
+ * applied.
+ * <p>
+ * Both jobs hold the same advisory lock, so only one node applies the journal and a drift check
+ * never sees a half-applied batch. The offset of the last applied entry is committed together with
+ * the batch. Mirrored receipts reach Redis shortly after their commit, so a difference is only
+ * reported when two consecutive checks find the same one.
+ */
+@Service
+@Slf4j
+public class ReservationReconciler {
+
+    private static final String JOURNAL = "reservations";
+    private static final int DRIFT_CHECK_SLICE = 500;
+    private static final String LOCK_SQL = "SELECT pg_try_advisory_xact_lock(hashtext('reservation-journal'))";
+
+    private final RedisReservationEngine redisReservationEngine;
+    private final ReservedStockWriter reservedStockWriter;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter driftCounter;
+
+    private Map<StockKey, Integer> previousDrift = Map.of();
+
+    @Value("${app.inventory.redis-reservations.reconcile-batch-size:1000}")
+    private int batchSize = 1_000;
+
+    public ReservationReconciler(RedisReservationEngine redisReservationEngine, ReservedStockWriter reservedStockWriter,
+                                 JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                 MeterRegistry meterRegistry) {
+        this.redisReservationEngine = redisReservationEngine;
+        this.reservedStockWriter = reservedStockWriter;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.driftCounter = Counter.builder("logiflow.reservations.redis.drift")
+                .description("Warehouse/SKU pairs whose Redis availability disagreed with Postgres")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.inventory.redis-reservations.reconcile-interval-ms:1000}")
+    public void reconcile() {
+        int applied;
+        do {
+            applied = Objects.requireNonNull(transactionTemplate.execute(_ -> applyBatch()));
+        } while (applied == batchSize);
+    }
+
+    @Scheduled(cron = "${app.inventory.redis-reservations.drift-check-cron:0 */5 * * * *}")
+    public void checkDrift() {
+        transactionTemplate.executeWithoutResult(_ -> {
+            if (!tryLock()) {
+                return;
+            }
+            String offset = readOffset();
+            Map<StockKey, Integer> pending = new HashMap<>();
+            String after = offset;
+            List<MapRecord<String, Object, Object>> entries;
+            do {
+                entries = redisReservationEngine.readJournal(after, batchSize);
+                entries.forEach(entry -> redisReservationEngine.decode(entry).forEach((key, delta) -> pending.merge(key, delta, Integer::sum)));
+                after = entries.isEmpty() ? after : entries.getLast().getId().getValue();
+            } while (entries.size() == batchSize);
+
+            List<String> managed = new ArrayList<>();
+            for (String sku : redisReservationEngine.seededSkus()) {
+                if (redisReservationEngine.manages(sku)) {
+                    managed.add(sku);
+                } else {
+                    forgetIfDrained(sku, pending);
+                }
+            }
+
+            Map<StockKey, Integer> drift = new HashMap<>();
+            for (int from = 0; from < managed.size(); from += DRIFT_CHECK_SLICE) {
+                List<String> slice = managed.subList(from, Math.min(from + DRIFT_CHECK_SLICE, managed.size()));
+                Map<StockKey, Integer> expected = postgresAvailable(slice);
+                Map<StockKey, Integer> actual = new HashMap<>();
+                slice.forEach(sku -> redisReservationEngine.available(sku)
+                        .forEach((warehouseCode, units) -> actual.put(new StockKey(warehouseCode, sku), units)));
+
+                Set<StockKey> keys = new HashSet<>(expected.keySet());
+                keys.addAll(actual.keySet());
+                for (StockKey key : keys) {
+                    int difference = actual.getOrDefault(key, 0)
+                            - (expected.getOrDefault(key, 0) - pending.getOrDefault(key, 0));
+                    if (difference != 0) {
+                        drift.put(key, difference);
+                    }
+                }
+            }
+
+            drift.forEach((key, difference) -> {
+                if (difference.equals(previousDrift.get(key))) {
+                    driftCounter.increment();
+                    log.warn("Redis availability of SKU: {} in warehouse {} is off by {} units",
+                            key.sku(), key.warehouseCode(), difference);
+                }
+            });
+            previousDrift = drift;
+        });
+    }
+
+    private int applyBatch() {
+        if (!tryLock()) {
+            return 0;
+        }
+        List<MapRecord<String, Object, Object>> entries = redisReservationEngine.readJournal(readOffset(), batchSize);
+        if (entries.isEmpty()) {
+            return 0;
+        }
+
+        Map<StockKey, Integer> deltas = new HashMap<>();
+        entries.forEach(entry -> redisReservationEngine.decode(entry).forEach((key, delta) -> deltas.merge(key, delta, Integer::sum)));
+        deltas.values().removeIf(delta -> delta == 0);
+        reservedStockWriter.apply(deltas);
+
+        String appliedId = entries.getLast().getId().getValue();
+        jdbcTemplate.update("""
+                INSERT INTO reservation_journal_offsets (journal, last_id, updated_at) VALUES (?, ?, now())
+                ON CONFLICT (journal) DO UPDATE SET last_id = EXCLUDED.last_id, updated_at = EXCLUDED.updated_at
+                """, JOURNAL, appliedId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                redisReservationEngine.trimJournal(appliedId);
+            }
+        });
+        log.debug("Applied {} reservation journal entries up to {}", entries.size(), appliedId);
+        return entries.size();
+    }
+
+    // A SKU switched back to row locking keeps its hash until the journal holds nothing for it
+    private void forgetIfDrained(String sku, Map<StockKey, Integer> pending) {
+        boolean drained = pending.keySet().stream().noneMatch(key -> key.sku().equals(sku));
+        if (drained) {
+            redisReservationEngine.forget(sku);
+            log.info("Stopped Redis reservations for SKU: {}", sku);
+        }
+    }
+
+    private Map<StockKey, Integer> postgresAvailable(List<String> skus) {
+        Map<StockKey, Integer> available = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement("""
+                    SELECT w.code, i.sku, i.quantity - i.reserved
+                    FROM inventories i
+                    JOIN warehouses w ON w.id = i.warehouse_id
+                    WHERE i.sku = ANY(?)
+                    """);
+            statement.setArray(1, connection.createArrayOf("text", skus.toArray()));
+            return statement;
+        }, (RowCallbackHandler) rs -> available.put(new StockKey(rs.getString(1), rs.getString(2)), rs.getInt(3)));
+        return available;
+    }
+
+    private boolean tryLock() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(LOCK_SQL, Boolean.class));
+    }
+
+    private String readOffset() {
+        return jdbcTemplate.query("SELECT last_id FROM reservation_journal_offsets WHERE journal = ?",
+                rs -> rs.next() ? rs.getString(1) : null, JOURNAL);
+    }
+}
@@ -0,0 +1,138 @@
+package com.logiflow.inventory.service;
+
+import com.logiflow.inventory.model.MovementType;
+import com.logiflow.inventory.model.StockMovement;
+import com.logiflow.inventory.service.AllocationEngine.StockKey;
+import com.logiflow.shared.event.InventoryChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Applies reserved-quantity changes decided outside the row-locking path (the Redis journal, or a
+ * SKU owner's in-memory batch) to the stock rows with set-based statements, recording them in the
+ * ledger. Positive deltas are reservations, negative ones releases.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReservedStockWriter {
+
+    private static final String LOCK_ROWS_SQL = """
+            SELECT w.code, i.sku, i.quantity, i.reserved
+            FROM inventories i
+            JOIN warehouses w ON w.id = i.warehouse_id
+            JOIN unnest(?::text[], ?::text[], ?::int[]) AS s(warehouse_code, sku, delta)
+              ON s.warehouse_code = w.code AND s.sku = i.sku
+            ORDER BY w.code, i.sku
+            FOR UPDATE OF i
+            """;
+    private static final String APPLY_SQL = """
+            UPDATE inventories i
+            SET reserved = i.reserved + s.delta, last_updated = now()
+            FROM unnest(?::text[], ?::text[], ?::int[]) AS s(warehouse_code, sku, delta)
+            JOIN warehouses w ON w.code = s.warehouse_code
+            WHERE i.warehouse_id = w.id AND i.sku = s.sku
+            RETURNING i.id, i.warehouse_id, w.code, i.sku, i.quantity, i.reserved, s.delta, i.version
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockLedgerService stockLedgerService;
+    private final CacheManager cacheManager;
+
+    public record StockLevel(int quantity, int reserved) {
+    }
+
+    /**
+     * Locks the given rows in warehouse/SKU order and returns their current levels; missing rows are
+     * left out.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<StockKey, StockLevel> lock(Collection<StockKey> keys) {
+        Map<StockKey, StockLevel> levels = new HashMap<>();
+        if (keys.isEmpty()) {
+            return levels;
+        }
+        Map<StockKey, Integer> rows = new LinkedHashMap<>();
+        keys.forEach(key -> rows.put(key, 0));
+        jdbcTemplate.query(statement(LOCK_ROWS_SQL, rows), (RowCallbackHandler) rs -> levels.put(
+                new StockKey(rs.getString(1), rs.getString(2)), new StockLevel(rs.getInt(3), rs.getInt(4))));
+        return levels;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Map<StockKey, Integer> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        lock(deltas.keySet());
+
+        List<StockMovement> movements = new ArrayList<>();
+        Set<String> skus = new HashSet<>();
+        jdbcTemplate.query(statement(APPLY_SQL, deltas), (RowCallbackHandler) rs -> {
+            String sku = rs.getString(4);
+            int delta = rs.getInt(7);
+            movements.add(StockMovement.builder()
+                    .inventoryId(rs.getLong(1))
+                    .warehouseCode(rs.getString(3))
+                    .sku(sku)
+                    .type(delta > 0 ? MovementType.RESERVATION : MovementType.RELEASE)
+                    .quantityDelta(0)
+                    .reservedDelta(delta)
+                    .occurredAt(LocalDateTime.now())
+                    .build());
+            eventPublisher.publishEvent(new InventoryChangedEvent(rs.getLong(2), sku, rs.getInt(5), rs.getInt(6), rs.getLong(8)));
+            skus.add(sku);
+        });
+        if (movements.size() < deltas.size()) {
+            log.warn("Applied reservations to {} of {} stock rows; the rest no longer exist",
+                    movements.size(), deltas.size());
+        }
+        stockLedgerService.recordAll(movements);
+
+        // Evicted before the commit, a concurrent read could cache the old rows again
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                Cache cache = cacheManager.getCache("inventory");
+                if (cache != null) {
+                    skus.forEach(cache::evict);
+                }
+            }
+        });
+    }
+
+    private static PreparedStatementCreator statement(String sql, Map<StockKey, Integer> deltas) {
+        return connection -> {
+            String[] warehouseCodes = new String[deltas.size()];
+            String[] skus = new String[deltas.size()];
+            Integer[] quantities = new Integer[deltas.size()];
+            int i = 0;
+            for (Map.Entry<StockKey, Integer> delta : deltas.entrySet()) {
+                warehouseCodes[i] = delta.getKey().warehouseCode();
+                skus[i] = delta.getKey().sku();
+                quantities[i++] = delta.getValue();
+            }
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setArray(1, connection.createArrayOf("text", warehouseCodes));
+            statement.setArray(2, connection.createArrayOf("text", skus));
+            statement.setArray(3, connection.createArrayOf("integer", quantities));
+            return statement;
+        };
+    }
+}
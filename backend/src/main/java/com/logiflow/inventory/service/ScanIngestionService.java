@@ -0,0 +1,229 @@
+package com.logiflow.inventory.service;
+
+import com.logiflow.inventory.dto.ScanAckDTO;
+import com.logiflow.inventory.dto.ScanEventDTO;
+import com.logiflow.inventory.dto.StockReceiptDTO;
+import com.logiflow.shared.exception.WarehouseNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies a continuous stream of dock scans as stock receipts.
+ * <p>
+ * Scans are collected for a short window (or until a batch fills up), summed per warehouse and SKU,
+ * and applied with {@link InventoryService#receiveStockBatch} in one transaction together with the
+ * per-device sequence cursors. Each committed batch is acknowledged with the highest sequence number
+ * per device; scans at or below a device's cursor are retransmissions and skipped, so clients can
+ * safely resend everything not yet acknowledged. If a batch fails the stream is closed without an
+ * acknowledgement and the client reconnects and resends.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ScanIngestionService {
+
+    private static final ScanEventDTO END_OF_STREAM = new ScanEventDTO(null, null, null, null, null);
+
+    private static final String INSERT_CURSORS_SQL = """
+            INSERT INTO scan_device_cursors (device_id, last_seq, updated_at)
+            SELECT device_id, 0, now() FROM unnest(?::text[]) AS device_id
+            ON CONFLICT (device_id) DO NOTHING
+            """;
+    private static final String LOCK_CURSORS_SQL = """
+            SELECT device_id, last_seq FROM scan_device_cursors
+            WHERE device_id = ANY(?::text[])
+            ORDER BY device_id
+            FOR UPDATE
+            """;
+    private static final String UPDATE_CURSORS_SQL = """
+            UPDATE scan_device_cursors c
+            SET last_seq = s.last_seq, updated_at = now()
+            FROM unnest(?::text[], ?::bigint[]) AS s(device_id, last_seq)
+            WHERE c.device_id = s.device_id
+            """;
+
+    private final InventoryService inventoryService;
+    private final WarehouseService warehouseService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.inventory.scans.window-ms:250}")
+    private long windowMs = 250;
+
+    @Value("${app.inventory.scans.max-batch:2000}")
+    private int maxBatch = 2_000;
+
+    @Value("${app.inventory.scans.queue-capacity:10000}")
+    private int queueCapacity = 10_000;
+
+    /**
+     * Reads newline-delimited {@link ScanEventDTO}s from {@code in} until the client closes it, writing
+     * one {@link ScanAckDTO} line per device to {@code out} after every committed batch.
+     */
+    public void ingest(InputStream in, OutputStream out) throws IOException {
+        // Bounded, so a client sending faster than batches commit is slowed down by TCP backpressure
+        BlockingQueue<ScanEventDTO> queue = new LinkedBlockingQueue<>(queueCapacity);
+        Thread reader = Thread.ofVirtual().name("scan-reader").start(() -> read(in, queue));
+        Map<String, Optional<String>> warehouseCodes = new HashMap<>();
+        try {
+            boolean open = true;
+            while (open) {
+                ScanEventDTO first = queue.take();
+                if (first == END_OF_STREAM) {
+                    break;
+                }
+                List<ScanEventDTO> batch = new ArrayList<>();
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(windowMs);
+                while (batch.size() < maxBatch) {
+                    ScanEventDTO next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    if (next == END_OF_STREAM) {
+                        open = false;
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                for (ScanAckDTO ack : apply(batch, warehouseCodes)) {
+                    out.write(objectMapper.writeValueAsBytes(ack));
+                    out.write('\n');
+                }
+                out.flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("Scan batch failed, closing the stream so the client resends: {}", e.getMessage(), e);
+        } finally {
+            reader.interrupt();
+        }
+    }
+
+    private void read(InputStream in, BlockingQueue<ScanEventDTO> queue) {
+        try (BufferedReader lines = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = lines.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    queue.put(objectMapper.readValue(line, ScanEventDTO.class));
+                } catch (JacksonException e) {
+                    log.warn("Skipping malformed scan line: {}", e.getOriginalMessage());
+                }
+            }
+        } catch (IOException e) {
+            log.debug("Scan stream ended: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            queue.put(END_OF_STREAM);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private List<ScanAckDTO> apply(List<ScanEventDTO> batch, Map<String, Optional<String>> warehouseCodes) {
+        Map<String, List<ScanEventDTO>> scansByDevice = new TreeMap<>();
+        for (ScanEventDTO scan : batch) {
+            if (scan.deviceId() == null || scan.deviceId().isBlank() || scan.seq() == null) {
+                log.warn("Skipping scan without device id or sequence number: {}", scan);
+                continue;
+            }
+            scansByDevice.computeIfAbsent(scan.deviceId(), _ -> new ArrayList<>()).add(scan);
+        }
+        if (scansByDevice.isEmpty()) {
+            return List.of();
+        }
+
+        return transactionTemplate.execute(_ -> {
+            Map<String, Long> cursors = lockCursors(scansByDevice.keySet());
+            Map<List<String>, Integer> received = new LinkedHashMap<>();
+            List<ScanAckDTO> acks = new ArrayList<>();
+            scansByDevice.forEach((deviceId, scans) -> {
+                scans.sort(Comparator.comparing(ScanEventDTO::seq));
+                long lastSeq = cursors.get(deviceId);
+                List<Long> rejected = new ArrayList<>();
+                for (ScanEventDTO scan : scans) {
+                    if (scan.seq() <= lastSeq) {
+                        continue;
+                    }
+                    lastSeq = scan.seq();
+                    int quantity = Objects.requireNonNullElse(scan.quantity(), 1);
+                    Optional<String> warehouseCode = warehouseCodes.computeIfAbsent(
+                            Objects.requireNonNullElse(scan.warehouseCode(), ""), this::resolveWarehouseCode);
+                    if (scan.sku() == null || scan.sku().isBlank() || quantity <= 0 || warehouseCode.isEmpty()) {
+                        rejected.add(scan.seq());
+                        continue;
+                    }
+                    received.merge(List.of(warehouseCode.get(), scan.sku()), quantity, Integer::sum);
+                }
+                cursors.put(deviceId, lastSeq);
+                acks.add(new ScanAckDTO(deviceId, lastSeq, rejected));
+            });
+
+            inventoryService.receiveStockBatch(received.entrySet().stream()
+                    .map(entry -> new StockReceiptDTO(entry.getKey().get(0), entry.getKey().get(1), entry.getValue()))
+                    .toList());
+            updateCursors(cursors);
+            log.debug("Applied {} scans as {} receipts", batch.size(), received.size());
+            return acks;
+        });
+    }
+
+    private Optional<String> resolveWarehouseCode(String warehouseCode) {
+        try {
+            return Optional.of(warehouseCode.isEmpty()
+                    ? warehouseService.getDefaultWarehouse().getCode()
+                    : warehouseService.getByCode(warehouseCode).getCode());
+        } catch (WarehouseNotFoundException e) {
+            return Optional.empty();
+        }
+    }
+
+    private Map<String, Long> lockCursors(Set<String> deviceIds) {
+        String[] ids = deviceIds.toArray(String[]::new);
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_CURSORS_SQL);
+            statement.setArray(1, connection.createArrayOf("text", ids));
+            return statement;
+        });
+        Map<String, Long> cursors = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(LOCK_CURSORS_SQL);
+            statement.setArray(1, connection.createArrayOf("text", ids));
+            return statement;
+        }, (RowCallbackHandler) rs -> cursors.put(rs.getString(1), rs.getLong(2)));
+        return cursors;
+    }
+
+    private void updateCursors(Map<String, Long> cursors) {
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(UPDATE_CURSORS_SQL);
+            statement.setArray(1, connection.createArrayOf("text", cursors.keySet().toArray()));
+            statement.setArray(2, connection.createArrayOf("bigint", cursors.values().toArray()));
+            return statement;
+        });
+    }
+}
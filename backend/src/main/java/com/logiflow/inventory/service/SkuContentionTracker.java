@@ -0,0 +1,183 @@
+package com.logiflow.inventory.service;
+
+import com.logiflow.inventory.model.ContentionMode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Picks the {@link ContentionMode} of each SKU from how contended its reservations were in the last
+ * window. A reservation counts as contended when its version check failed, or, once the SKU is
+ * locked, when it waited longer than {@code lock-wait-threshold-ms} for the row.
+ * <p>
+ * A SKU moves up one mode when at least {@code min-samples} reservations ran in a window and the
+ * contended share reached {@code escalate-rate}, and back down when the share fell below
+ * {@code deescalate-rate}; a queued SKU steps back once its traffic drops under {@code min-samples}.
+ * The gap between the two rates keeps SKUs from flapping. Only SKUs seen recently are tracked.
+ */
+@Component
+@Slf4j
+public class SkuContentionTracker {
+
+    private final Clock clock;
+    private final Map<String, SkuStats> stats = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final MultiGauge modeGauge;
+    private final MultiGauge conflictGauge;
+
+    @Value("${app.inventory.contention.window-ms:10000}")
+    private long windowMs = 10_000;
+
+    @Value("${app.inventory.contention.min-samples:20}")
+    private int minSamples = 20;
+
+    @Value("${app.inventory.contention.escalate-rate:0.2}")
+    private double escalateRate = 0.2;
+
+    @Value("${app.inventory.contention.deescalate-rate:0.05}")
+    private double deescalateRate = 0.05;
+
+    @Value("${app.inventory.contention.lock-wait-threshold-ms:20}")
+    private long lockWaitThresholdMs = 20;
+
+    @Value("${app.inventory.contention.queued-enabled:true}")
+    private boolean queuedEnabled = true;
+
+    private static final class SkuStats {
+        private ContentionMode mode = ContentionMode.OPTIMISTIC;
+        private long windowStart;
+        private int samples;
+        private int contended;
+        private long conflicts;
+    }
+
+    @Autowired
+    public SkuContentionTracker(MeterRegistry meterRegistry) {
+        this(meterRegistry, Clock.systemUTC());
+    }
+
+    SkuContentionTracker(MeterRegistry meterRegistry, Clock clock) {
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+        this.modeGauge = MultiGauge.builder("logiflow.inventory.contention.mode")
+                .description("SKUs reserved in a mode other than optimistic, tagged by mode")
+                .register(meterRegistry);
+        this.conflictGauge = MultiGauge.builder("logiflow.inventory.contention.conflicts")
+                .description("Version conflicts of tracked SKUs' reservations since they were first seen")
+                .register(meterRegistry);
+    }
+
+    public ContentionMode mode(String sku) {
+        SkuStats current = stats.get(sku);
+        if (current == null) {
+            return ContentionMode.OPTIMISTIC;
+        }
+        synchronized (current) {
+            roll(sku, current, clock.millis());
+            return current.mode;
+        }
+    }
+
+    public void recordOptimistic(String sku, boolean conflict) {
+        record(sku, conflict, conflict);
+    }
+
+    public void recordLocked(String sku, long waitNanos) {
+        record(sku, waitNanos > lockWaitThresholdMs * 1_000_000, false);
+    }
+
+    public void recordQueued(String sku) {
+        record(sku, false, false);
+    }
+
+    private void record(String sku, boolean contended, boolean conflict) {
+        long now = clock.millis();
+        SkuStats current = stats.computeIfAbsent(sku, _ -> {
+            SkuStats created = new SkuStats();
+            created.windowStart = now;
+            return created;
+        });
+        synchronized (current) {
+            roll(sku, current, now);
+            current.samples++;
+            if (contended) {
+                current.contended++;
+            }
+            if (conflict) {
+                current.conflicts++;
+            }
+        }
+    }
+
+    private void roll(String sku, SkuStats current, long now) {
+        if (now - current.windowStart < windowMs) {
+            return;
+        }
+        double rate = current.samples == 0 ? 0 : (double) current.contended / current.samples;
+        boolean busy = current.samples >= minSamples;
+        ContentionMode next = switch (current.mode) {
+            case OPTIMISTIC -> busy && rate >= escalateRate ? ContentionMode.PESSIMISTIC : ContentionMode.OPTIMISTIC;
+            case PESSIMISTIC -> {
+                if (busy && rate >= escalateRate && queuedEnabled) {
+                    yield ContentionMode.QUEUED;
+                }
+                yield rate < deescalateRate ? ContentionMode.OPTIMISTIC : ContentionMode.PESSIMISTIC;
+            }
+            case QUEUED -> busy ? ContentionMode.QUEUED : ContentionMode.PESSIMISTIC;
+        };
+        if (next != current.mode) {
+            log.info("SKU {} switched from {} to {} reservations ({} of {} contended)",
+                    sku, current.mode, next, current.contended, current.samples);
+            Counter.builder("logiflow.inventory.contention.switches")
+                    .description("Reservation mode switches")
+                    .tags("from", current.mode.name(), "to", next.name())
+                    .register(meterRegistry)
+                    .increment();
+            current.mode = next;
+        }
+        current.windowStart = now;
+        current.samples = 0;
+        current.contended = 0;
+    }
+
+    /**
+     * Rolls idle SKUs' windows, forgets those back to optimistic without traffic and republishes the
+     * per-SKU gauges.
+     */
+    @Scheduled(fixedRateString = "${app.inventory.contention.window-ms:10000}")
+    public void sweep() {
+        long now = clock.millis();
+        List<MultiGauge.Row<?>> modes = new ArrayList<>();
+        List<MultiGauge.Row<?>> conflicts = new ArrayList<>();
+        stats.forEach((sku, current) -> {
+            synchronized (current) {
+                boolean idle = now - current.windowStart >= windowMs && current.samples == 0;
+                roll(sku, current, now);
+                if (idle && current.mode == ContentionMode.OPTIMISTIC) {
+                    stats.remove(sku, current);
+                    return;
+                }
+                if (current.mode != ContentionMode.OPTIMISTIC) {
+                    modes.add(MultiGauge.Row.of(Tags.of("sku", sku, "mode", current.mode.name()), 1));
+                }
+                if (current.conflicts > 0) {
+                    conflicts.add(MultiGauge.Row.of(Tags.of("sku", sku), current.conflicts));
+                }
+            }
+        });
+        modeGauge.register(modes, true);
+        conflictGauge.register(conflicts, true);
+    }
+}
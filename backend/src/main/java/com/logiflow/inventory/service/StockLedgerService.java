@@ -0,0 +1,103 @@
+package com.logiflow.inventory.service;
+
+import com.logiflow.inventory.dto.StockLevelDTO;
+import com.logiflow.inventory.dto.StockMovementDTO;
+import com.logiflow.inventory.mapper.InventoryMapper;
+import com.logiflow.inventory.model.Inventory;
+import com.logiflow.inventory.model.MovementType;
+import com.logiflow.inventory.model.StockMovement;
+import com.logiflow.inventory.model.StockSnapshot;
+import com.logiflow.inventory.repository.InventoryRepository;
+import com.logiflow.inventory.repository.StockMovementRepository;
+import com.logiflow.inventory.repository.StockMovementRepository.Delta;
+import com.logiflow.inventory.repository.StockSnapshotRepository;
+import com.logiflow.shared.exception.InventoryNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Append-only record of every stock change. Past stock levels are the latest snapshot at or before
+ * the requested time plus the movements after it, so a lookup never reads more than one snapshot
+ * interval of movements.
+ */
+@Service
+@RequiredArgsConstructor
+public class StockLedgerService {
+
+    // Lower bound for rows that have no snapshot yet; no movement is older than the ledger
+    private static final LocalDateTime LEDGER_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final StockMovementRepository stockMovementRepository;
+    private final StockSnapshotRepository stockSnapshotRepository;
+    private final InventoryRepository inventoryRepository;
+    private final InventoryMapper inventoryMapper;
+
+    // Joins the caller's transaction so a movement is only kept if the stock change commits
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Inventory inventory, MovementType type, int quantityDelta, int reservedDelta) {
+        if (quantityDelta == 0 && reservedDelta == 0) {
+            return;
+        }
+        stockMovementRepository.save(StockMovement.builder()
+                .inventoryId(inventory.getId())
+                .warehouseCode(inventory.getWarehouse().getCode())
+                .sku(inventory.getSku())
+                .type(type)
+                .quantityDelta(quantityDelta)
+                .reservedDelta(reservedDelta)
+                .occurredAt(LocalDateTime.now())
+                .build());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(List<StockMovement> movements) {
+        stockMovementRepository.saveAll(movements);
+    }
+
+    /**
+     * @param warehouseCode warehouse to look at, or {@code null} for the total over all warehouses
+     */
+    @Transactional(readOnly = true)
+    public StockLevelDTO getStockAsOf(String sku, String warehouseCode, LocalDateTime asOf) {
+        long quantity = 0;
+        long reserved = 0;
+        for (Inventory inventory : findInventories(sku, warehouseCode)) {
+            Optional<StockSnapshot> snapshot = stockSnapshotRepository
+                    .findFirstByIdInventoryIdAndIdAsOfLessThanEqualOrderByIdAsOfDesc(inventory.getId(), asOf);
+            LocalDateTime after = snapshot.map(s -> s.getId().getAsOf()).orElse(LEDGER_START);
+            Delta tail = stockMovementRepository.sumDeltas(inventory.getId(), after, asOf);
+
+            quantity += snapshot.map(StockSnapshot::getQuantity).orElse(0) + tail.getQuantity();
+            reserved += snapshot.map(StockSnapshot::getReserved).orElse(0) + tail.getReserved();
+        }
+        return new StockLevelDTO(sku, warehouseCode, asOf, quantity, reserved, quantity - reserved);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<StockMovementDTO> getMovements(String sku, String warehouseCode, LocalDateTime from,
+                                               LocalDateTime to, Pageable pageable) {
+        List<Long> inventoryIds = findInventories(sku, warehouseCode).stream()
+                .map(Inventory::getId)
+                .toList();
+        return stockMovementRepository.findByInventoryIdInAndOccurredAtBetween(inventoryIds, from, to, pageable)
+                .map(inventoryMapper::toMovementDto);
+    }
+
+    private List<Inventory> findInventories(String sku, String warehouseCode) {
+        List<Inventory> inventories = inventoryRepository.findAllBySku(sku).stream()
+                .filter(inventory -> warehouseCode == null || inventory.getWarehouse().getCode().equals(warehouseCode))
+                .toList();
+        if (inventories.isEmpty()) {
+            throw new InventoryNotFoundException(sku);
+        }
+        return inventories;
+    }
+}
@@ -0,0 +1,93 @@
+package com.logiflow.inventory.service;
+
+import com.logiflow.shared.partition.MonthlyPartitionManager;
+import com.logiflow.shared.partition.PartitionedTable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Maintains the stock ledger: opening balances for inventory rows that predate it, monthly
+ * partitions of {@code stock_movements} and periodic per-row snapshots.
+ * <p>
+ * Snapshots are taken up to a point a few minutes in the past, so movements written by transactions
+ * still in flight are not skipped by the next snapshot.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StockSnapshotService {
+
+    static final PartitionedTable STOCK_MOVEMENTS = new PartitionedTable("stock_movements", "occurred_at");
+
+    private static final String OPENING_BALANCES_SQL = """
+            INSERT INTO stock_movements (id, inventory_id, warehouse_code, sku, type, quantity_delta, reserved_delta, occurred_at)
+            SELECT nextval('stock_movements_seq'), i.id, w.code, i.sku, 'OPENING_BALANCE', i.quantity, i.reserved, now()
+            FROM inventories i
+            JOIN warehouses w ON w.id = i.warehouse_id
+            WHERE (i.quantity <> 0 OR i.reserved <> 0)
+              AND NOT EXISTS (SELECT 1 FROM stock_movements m WHERE m.inventory_id = i.id)
+            """;
+
+    // Previous snapshot plus the movements since it, only for rows that moved
+    private static final String SNAPSHOT_SQL = """
+            INSERT INTO stock_snapshots (inventory_id, as_of, quantity, reserved)
+            SELECT i.id, ?, COALESCE(s.quantity, 0) + t.quantity_delta, COALESCE(s.reserved, 0) + t.reserved_delta
+            FROM inventories i
+            LEFT JOIN LATERAL (SELECT quantity, reserved, as_of FROM stock_snapshots
+                               WHERE inventory_id = i.id ORDER BY as_of DESC LIMIT 1) s ON true
+            CROSS JOIN LATERAL (SELECT COUNT(*) AS movements,
+                                       COALESCE(SUM(m.quantity_delta), 0) AS quantity_delta,
+                                       COALESCE(SUM(m.reserved_delta), 0) AS reserved_delta
+                                FROM stock_movements m
+                                WHERE m.inventory_id = i.id
+                                  AND m.occurred_at > COALESCE(s.as_of, '-infinity'::timestamp)
+                                  AND m.occurred_at <= ?) t
+            WHERE t.movements > 0
+            ON CONFLICT DO NOTHING
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectProvider<MonthlyPartitionManager> partitionManager;
+
+    @Value("${app.ledger.snapshot-lag-minutes:5}")
+    private int snapshotLagMinutes;
+
+    @Value("${app.partitioning.months-ahead:3}")
+    private int monthsAhead;
+
+    // After every initializer, so inventory rows already belong to a warehouse
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeLedger() {
+        partitionManager.ifAvailable(manager -> {
+            manager.convertIfNeeded(STOCK_MOVEMENTS);
+            manager.createUpcomingPartitions(STOCK_MOVEMENTS, monthsAhead);
+        });
+        Integer opened = transactionTemplate.execute(_ -> jdbcTemplate.update(OPENING_BALANCES_SQL));
+        if (opened != null && opened > 0) {
+            log.info("Recorded opening balances for {} inventory rows", opened);
+        }
+    }
+
+    @Scheduled(cron = "${app.ledger.snapshot-cron:0 5 * * * *}")
+    public void takeSnapshots() {
+        partitionManager.ifAvailable(manager -> manager.createUpcomingPartitions(STOCK_MOVEMENTS, monthsAhead));
+
+        LocalDateTime asOf = LocalDateTime.now().minusMinutes(snapshotLagMinutes);
+        Integer rows = transactionTemplate.execute(_ -> {
+            jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(hashtext('stock-snapshots'))");
+            return jdbcTemplate.update(SNAPSHOT_SQL, asOf, asOf);
+        });
+        log.info("Stock snapshots taken as of {} for {} inventory rows", asOf, rows);
+    }
+}
@@ -0,0 +1,247 @@
+package com.logiflow.inventory.service;
+
+import com.logiflow.inventory.model.Warehouse;
+import com.logiflow.shared.event.InventoryChangedEvent;
+import com.logiflow.shared.event.ProductSkuUpdatedEvent;
+import com.logiflow.shared.event.WarehouseCreatedEvent;
+import com.logiflow.shared.sku.SkuArray;
+import com.logiflow.shared.sku.SkuDictionary;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * In-memory copy of available stock per SKU and warehouse, used to plan allocations without
+ * touching the database. Updated after each committed inventory change; it may briefly lag behind
+ * other nodes, which is fine because reservations re-check the locked rows.
+ * <p>
+ * A warehouse created after the last reload, on this node or another, is added when its creation
+ * commits or is relayed, or at the latest when an inventory change names it. A periodic reload
+ * repairs anything else that was missed. Slots are never renumbered once handed out.
+ * <p>
+ * Every value carries the row version it was read or relayed with, and a change older than the
+ * one already held is ignored, so a late, repeated or out-of-order message cannot roll a level back.
+ * <p>
+ * Warehouses get dense slot numbers so per-SKU availability is two small sorted int arrays, and
+ * SKUs are looked up by {@link SkuDictionary} id rather than through a map of strings.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WarehouseAvailabilityIndex {
+
+    private static final String WAREHOUSES_SQL =
+            "SELECT id, code, latitude, longitude, shipping_cost_per_unit FROM warehouses";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SkuDictionary skuDictionary;
+
+    private volatile SkuArray<SkuStock> stockBySku = new SkuArray<>();
+    private volatile WarehouseSite[] sites = new WarehouseSite[0];
+    private volatile Map<Long, Integer> slotsById = Map.of();
+
+    public record WarehouseSite(int slot, long id, String code, double latitude, double longitude,
+                                boolean located, double costPerUnit) {
+    }
+
+    /**
+     * Available units of one SKU and the row versions they come from, as parallel arrays sorted by
+     * warehouse slot.
+     */
+    public record SkuStock(int[] slots, int[] available, long[] versions) {
+        static final SkuStock EMPTY = new SkuStock(new int[0], new int[0], new long[0]);
+    }
+
+    @Scheduled(fixedDelayString = "${app.inventory.availability-index.reload-interval-ms:300000}",
+            initialDelayString = "${app.inventory.availability-index.reload-interval-ms:300000}")
+    public synchronized void reload() {
+        // Known warehouses keep their slot, new ones are appended in id order
+        List<WarehouseSite> loaded = new ArrayList<>(Arrays.asList(sites));
+        for (WarehouseSite site : jdbcTemplate.query(WAREHOUSES_SQL + " ORDER BY id", this::mapSite)) {
+            Integer slot = slotsById.get(site.id());
+            if (slot == null) {
+                loaded.add(withSlot(site, loaded.size()));
+            } else {
+                loaded.set(slot, withSlot(site, slot));
+            }
+        }
+        publishSites(loaded);
+
+        SkuArray<SkuStock> reloaded = new SkuArray<>();
+        int[] rows = new int[1];
+        jdbcTemplate.query("SELECT warehouse_id, sku, quantity - reserved, COALESCE(version, 0) FROM inventories",
+                (RowCallbackHandler) rs -> {
+                    Integer slot = slotsById.get(rs.getLong(1));
+                    if (slot != null) {
+                        int available = Math.max(0, rs.getInt(3));
+                        long version = rs.getLong(4);
+                        reloaded.update(skuDictionary.encode(rs.getString(2)),
+                                current -> withAvailability(current, slot, available, version));
+                        rows[0]++;
+                    }
+                });
+
+        SkuArray<SkuStock> previous = stockBySku;
+        stockBySku = reloaded;
+        // Changes applied while the rows were being read may be newer than what was read
+        previous.forEach((stock, sku) -> {
+            for (int i = 0; i < stock.slots().length; i++) {
+                int slot = stock.slots()[i];
+                int available = stock.available()[i];
+                long version = stock.versions()[i];
+                reloaded.update(sku, current -> withAvailability(current, slot, available, version));
+            }
+        });
+        log.info("Availability index loaded: {} warehouses, {} stock rows", loaded.size(), rows[0]);
+    }
+
+    public synchronized void registerWarehouse(Warehouse warehouse) {
+        if (slotsById.containsKey(warehouse.getId())) {
+            return;
+        }
+        addSite(toSite(sites.length, warehouse.getId(), warehouse.getCode(),
+                warehouse.getLatitude(), warehouse.getLongitude(), warehouse.getShippingCostPerUnit().doubleValue()));
+    }
+
+    /**
+     * Adds a committed warehouse this index has not seen yet, reading it from the database; returns
+     * its slot, or null if there is no such warehouse.
+     */
+    public Integer registerWarehouse(long warehouseId) {
+        Integer slot = slotsById.get(warehouseId);
+        return slot != null ? slot : loadWarehouse(warehouseId);
+    }
+
+    public WarehouseSite[] sites() {
+        return sites;
+    }
+
+    public SkuStock stock(String sku) {
+        int id = skuDictionary.idOf(sku);
+        SkuStock stock = id < 0 ? null : stockBySku.get(id);
+        return stock == null ? SkuStock.EMPTY : stock;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleWarehouseCreatedEvent(WarehouseCreatedEvent event) {
+        registerWarehouse(event.warehouseId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleInventoryChangedEvent(InventoryChangedEvent event) {
+        Integer slot = registerWarehouse(event.warehouseId());
+        if (slot == null) {
+            log.warn("Ignoring inventory change for unknown warehouse {}", event.warehouseId());
+            return;
+        }
+        int available = Math.max(0, event.quantity() - event.reserved());
+        int sku = skuDictionary.encode(event.sku());
+        SkuArray<SkuStock> written;
+        SkuArray<SkuStock> target = stockBySku;
+        do {
+            // Repeated on the array a concurrent reload swapped in, in case it merged before this write
+            target.update(sku, current -> withAvailability(current, slot, available, event.version()));
+            written = target;
+            target = stockBySku;
+        } while (target != written);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleProductSkuUpdatedEvent(ProductSkuUpdatedEvent event) {
+        retire(event.oldSku());
+    }
+
+    /**
+     * Forgets the stock of a SKU that no longer exists, here or on another node.
+     */
+    public void retire(String sku) {
+        int id = skuDictionary.idOf(sku);
+        if (id >= 0) {
+            stockBySku.set(id, null);
+        }
+    }
+
+    // Copy-on-write so planners never observe a half-updated set of arrays
+    private static SkuStock withAvailability(SkuStock current, int slot, int available, long version) {
+        SkuStock stock = current == null ? SkuStock.EMPTY : current;
+        int index = Arrays.binarySearch(stock.slots(), slot);
+        if (index >= 0) {
+            if (stock.versions()[index] > version) {
+                return current;
+            }
+            int[] availableCopy = stock.available().clone();
+            long[] versionsCopy = stock.versions().clone();
+            availableCopy[index] = available;
+            versionsCopy[index] = version;
+            return new SkuStock(stock.slots(), availableCopy, versionsCopy);
+        }
+        int insert = -index - 1;
+        int size = stock.slots().length;
+        int[] slots = new int[size + 1];
+        int[] availableCopy = new int[size + 1];
+        long[] versionsCopy = new long[size + 1];
+        System.arraycopy(stock.slots(), 0, slots, 0, insert);
+        System.arraycopy(stock.available(), 0, availableCopy, 0, insert);
+        System.arraycopy(stock.versions(), 0, versionsCopy, 0, insert);
+        slots[insert] = slot;
+        availableCopy[insert] = available;
+        versionsCopy[insert] = version;
+        System.arraycopy(stock.slots(), insert, slots, insert + 1, size - insert);
+        System.arraycopy(stock.available(), insert, availableCopy, insert + 1, size - insert);
+        System.arraycopy(stock.versions(), insert, versionsCopy, insert + 1, size - insert);
+        return new SkuStock(slots, availableCopy, versionsCopy);
+    }
+
+    private static WarehouseSite toSite(int slot, long id, String code, Double latitude, Double longitude, double cost) {
+        boolean located = latitude != null && longitude != null;
+        return new WarehouseSite(slot, id, code, located ? latitude : 0, located ? longitude : 0, located, cost);
+    }
+
+    private synchronized Integer loadWarehouse(long warehouseId) {
+        Integer slot = slotsById.get(warehouseId);
+        if (slot != null) {
+            return slot;
+        }
+        List<WarehouseSite> found = jdbcTemplate.query(WAREHOUSES_SQL + " WHERE id = ?", this::mapSite, warehouseId);
+        if (found.isEmpty()) {
+            return null;
+        }
+        WarehouseSite site = withSlot(found.getFirst(), sites.length);
+        addSite(site);
+        log.info("Warehouse {} added to the availability index", site.code());
+        return site.slot();
+    }
+
+    private WarehouseSite mapSite(ResultSet rs, int row) throws SQLException {
+        return toSite(row, rs.getLong("id"), rs.getString("code"),
+                (Double) rs.getObject("latitude"), (Double) rs.getObject("longitude"),
+                rs.getBigDecimal("shipping_cost_per_unit").doubleValue());
+    }
+
+    private void addSite(WarehouseSite site) {
+        List<WarehouseSite> updated = new ArrayList<>(Arrays.asList(sites));
+        updated.add(site);
+        publishSites(updated);
+    }
+
+    private static WarehouseSite withSlot(WarehouseSite site, int slot) {
+        return new WarehouseSite(slot, site.id(), site.code(), site.latitude(), site.longitude(), site.located(),
+                site.costPerUnit());
+    }
+
+    private void publishSites(List<WarehouseSite> loaded) {
+        Map<Long, Integer> ids = new HashMap<>();
+        loaded.forEach(site -> ids.put(site.id(), site.slot()));
+        sites = loaded.toArray(WarehouseSite[]::new);
+        slotsById = Map.copyOf(ids);
+    }
+}
@@ -0,0 +1,75 @@
+package com.logiflow.inventory.service;
+
+import com.logiflow.inventory.dto.WarehouseRequestDTO;
+import com.logiflow.inventory.dto.WarehouseResponseDTO;
+import com.logiflow.inventory.mapper.WarehouseMapper;
+import com.logiflow.inventory.model.Warehouse;
+import com.logiflow.inventory.repository.WarehouseRepository;
+import com.logiflow.shared.event.WarehouseCreatedEvent;
+import com.logiflow.shared.exception.DuplicateResourceException;
+import com.logiflow.shared.exception.WarehouseNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WarehouseService {
+
+    private final WarehouseRepository warehouseRepository;
+    private final WarehouseMapper warehouseMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.warehouses.default-code:MAIN}")
+    private String defaultWarehouseCode;
+
+    @Transactional(readOnly = true)
+    public List<WarehouseResponseDTO> getAllWarehouses() {
+        return warehouseRepository.findAll().stream()
+                .map(warehouseMapper::toDto)
+                .toList();
+    }
+
+    @Transactional
+    public WarehouseResponseDTO createWarehouse(WarehouseRequestDTO dto) {
+        if (warehouseRepository.existsByCode(dto.code())) {
+            throw new DuplicateResourceException("Warehouse already exists with code: " + dto.code());
+        }
+        Warehouse saved = warehouseRepository.save(warehouseMapper.toEntity(dto));
+        // Indexes pick the warehouse up once it has committed, here and on every other node
+        eventPublisher.publishEvent(new WarehouseCreatedEvent(saved.getId(), saved.getCode()));
+        log.info("Warehouse created: {}", saved.getCode());
+        return warehouseMapper.toDto(saved);
+    }
+
+    @Transactional(readOnly = true)
+    public Warehouse getByCode(String code) {
+        return warehouseRepository.findByCode(code)
+                .orElseThrow(() -> new WarehouseNotFoundException(code));
+    }
+
+    @Transactional(readOnly = true)
+    public Warehouse getDefaultWarehouse() {
+        return warehouseRepository.findByDefaultWarehouseTrue()
+                .orElseThrow(() -> new WarehouseNotFoundException(defaultWarehouseCode));
+    }
+
+    @Transactional
+    public Warehouse ensureDefaultWarehouse() {
+        return warehouseRepository.findByDefaultWarehouseTrue()
+                .orElseGet(() -> {
+                    log.info("No default warehouse found. Creating {}", defaultWarehouseCode);
+                    return warehouseRepository.save(Warehouse.builder()
+                            .code(defaultWarehouseCode)
+                            .name(defaultWarehouseCode)
+                            .defaultWarehouse(true)
+                            .build());
+                });
+    }
+}
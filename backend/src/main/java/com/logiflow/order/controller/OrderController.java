@@ -2,9 +2,14 @@ package com.logiflow.order.controller;
 
 import com.logiflow.order.dto.OrderRequestDTO;
 import com.logiflow.order.dto.OrderResponseDTO;
+import com.logiflow.order.dto.OrderStatusUpdateDTO;
+import com.logiflow.order.dto.QuoteRequestDTO;
+import com.logiflow.order.dto.QuoteResponseDTO;
 import com.logiflow.order.service.OrderService;
+import com.logiflow.order.service.QuoteService;
 import com.logiflow.shared.dto.ErrorResponse;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -14,10 +19,8 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
 
 @RestController
 @RequestMapping("/api/v1/orders")
@@ -26,13 +29,14 @@ import org.springframework.web.bind.annotation.RestController;
 public class OrderController {
 
     private final OrderService orderService;
+    private final QuoteService quoteService;
 
     @PostMapping
-    @Operation(summary = "Create a new order", description = "Creates a new order, validates product SKUs, reserves stock, and returns the created order with PENDING status")
+    @Operation(summary = "Create a new order", description = "Creates a new order, validates product SKUs, reserves stock, and returns the created order with PENDING status (or BACKORDERED when allowBackorder is set and some items are out of stock)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Order created successfully",
                     content = @Content(schema = @Schema(implementation = OrderResponseDTO.class))),
-            @ApiResponse(responseCode = "400", description = "Invalid input data - validation failed",
+            @ApiResponse(responseCode = "400", description = "Invalid input data - validation failed, or an invalid or expired quote token",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "404", description = "Product not found for one or more SKUs",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
@@ -42,4 +46,37 @@ public class OrderController {
     public ResponseEntity<OrderResponseDTO> createOrder(@Valid @RequestBody OrderRequestDTO dto) {
         return ResponseEntity.status(HttpStatus.CREATED).body(orderService.createOrder(dto));
     }
+
+    @PostMapping("/quotes")
+    @Operation(summary = "Quote an order", description = "Prices the items against the catalog and returns a signed token valid for a few minutes. Passing it as quoteToken when creating the order skips re-reading the catalog unless it changed meanwhile. Available stock is softly held against other quotes, not reserved.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Quote issued",
+                    content = @Content(schema = @Schema(implementation = QuoteResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input data - validation failed",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Product not found for one or more SKUs",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<QuoteResponseDTO> createQuote(@Valid @RequestBody QuoteRequestDTO dto) {
+        return ResponseEntity.ok(quoteService.quote(dto));
+    }
+
+    @PatchMapping("/{id}/status")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'ADMIN', 'WAREHOUSE_MANAGER', 'WAREHOUSE_WORKER')")
+    @Operation(summary = "Change order status", description = "Moves an order along its lifecycle. Cancelling releases reserved stock, shipping removes it from inventory.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Order status changed",
+                    content = @Content(schema = @Schema(implementation = OrderResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input data - validation failed",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Order not found",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Transition not allowed from the current status",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<OrderResponseDTO> updateStatus(
+            @Parameter(description = "Order identifier") @PathVariable Long id,
+            @Valid @RequestBody OrderStatusUpdateDTO dto) {
+        return ResponseEntity.ok(orderService.updateStatus(id, dto.status()));
+    }
 }
@@ -0,0 +1,18 @@
+package com.logiflow.order.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+
+@Schema(description = "Delivery coordinates, used to prefer nearby warehouses")
+public record DeliveryLocationDTO(
+        @Schema(description = "Latitude in degrees", example = "50.4501")
+        @NotNull @DecimalMin("-90.0") @DecimalMax("90.0")
+        Double latitude,
+
+        @Schema(description = "Longitude in degrees", example = "30.5234")
+        @NotNull @DecimalMin("-180.0") @DecimalMax("180.0")
+        Double longitude
+) {
+}
@@ -13,7 +13,10 @@ public record OrderItemResponseDTO(
         Integer quantity,
 
         @Schema(description = "Price of the product at the time the order was placed", example = "29.99")
-        BigDecimal priceAtTimeOfOrder
+        BigDecimal priceAtTimeOfOrder,
+
+        @Schema(description = "Warehouse shipping this item; empty while the item is backordered", example = "KYIV-01")
+        String warehouseCode
 ) {
 }
 
@@ -16,6 +16,23 @@ public record OrderRequestDTO(
         @Schema(description = "List of items to order")
         @NotEmpty(message = "Order must have at least one item")
         @Valid
-        List<OrderItemRequestDTO> items
+        List<OrderItemRequestDTO> items,
+
+        @Schema(description = "Queue items that are out of stock instead of rejecting the order (only if backorders are enabled)", example = "false")
+        Boolean allowBackorder,
+
+        @Schema(description = "Backorder priority; higher values are allocated first, ties in arrival order", example = "0")
+        Integer priority,
+
+        @Schema(description = "Delivery location; when omitted, warehouses are ranked by cost only")
+        @Valid
+        DeliveryLocationDTO deliveryLocation,
+
+        @Schema(description = "Token from POST /api/v1/orders/quotes; its prices are used without re-checking the catalog while the catalog is unchanged")
+        String quoteToken
 ) {
+
+    public OrderRequestDTO(String customerName, List<OrderItemRequestDTO> items) {
+        this(customerName, items, false, 0, null, null);
+    }
 }
@@ -0,0 +1,13 @@
+package com.logiflow.order.dto;
+
+import com.logiflow.order.model.OrderStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+@Schema(description = "Request payload for changing the status of an order")
+public record OrderStatusUpdateDTO(
+        @Schema(description = "New order status", example = "CONFIRMED", requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotNull(message = "Status is required")
+        OrderStatus status
+) {
+}
@@ -0,0 +1,18 @@
+package com.logiflow.order.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Priced line of a quote")
+public record QuoteLineDTO(
+        @Schema(description = "Stock Keeping Unit identifier", example = "SKU-001")
+        String sku,
+
+        @Schema(description = "Quoted quantity", example = "2")
+        Integer quantity,
+
+        @Schema(description = "Unit price the order will be placed at", example = "29.99")
+        BigDecimal unitPrice
+) {
+}
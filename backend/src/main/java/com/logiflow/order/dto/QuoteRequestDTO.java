@@ -0,0 +1,16 @@
+package com.logiflow.order.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+@Schema(description = "Request payload for pricing an order before placing it")
+public record QuoteRequestDTO(
+        @Schema(description = "List of items to quote")
+        @NotEmpty(message = "Quote must have at least one item")
+        @Valid
+        List<OrderItemRequestDTO> items
+) {
+}
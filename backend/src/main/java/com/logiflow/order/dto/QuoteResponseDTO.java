@@ -0,0 +1,29 @@
+package com.logiflow.order.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Schema(description = "Signed, short-lived price and availability quote")
+public record QuoteResponseDTO(
+        @Schema(description = "Token to pass as quoteToken when creating the order")
+        String token,
+
+        @Schema(description = "Time after which the token is rejected", example = "2026-01-06T14:40:00")
+        LocalDateTime expiresAt,
+
+        @Schema(description = "Catalog version the prices were read at", example = "1042")
+        Long catalogVersion,
+
+        @Schema(description = "Priced lines, one per SKU")
+        List<QuoteLineDTO> lines,
+
+        @Schema(description = "Sum of all lines", example = "59.98")
+        BigDecimal total,
+
+        @Schema(description = "Whether the stock is currently available and softly held for this quote; a held quote is not a reservation, ordering can still fail if the stock runs out", example = "true")
+        Boolean held
+) {
+}
@@ -0,0 +1,27 @@
+package com.logiflow.order.listener;
+
+import com.logiflow.order.service.BackorderService;
+import com.logiflow.shared.event.StockReceivedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BackorderEventListener {
+
+    private final BackorderService backorderService;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleStockReceivedEvent(StockReceivedEvent event) {
+        try {
+            backorderService.allocate(event.skus());
+        } catch (RuntimeException e) {
+            // The stock is already committed; the next receipt for these SKUs retries the allocation
+            log.error("Backorder allocation failed for SKUs: {}", event.skus(), e);
+        }
+    }
+}
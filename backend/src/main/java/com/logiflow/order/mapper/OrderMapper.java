@@ -32,7 +32,8 @@ public class OrderMapper {
         return new OrderItemResponseDTO(
                 item.getSku(),
                 item.getQuantity(),
-                item.getPriceAtTimeOfOrder()
+                item.getPriceAtTimeOfOrder(),
+                item.getWarehouseCode()
         );
     }
 }
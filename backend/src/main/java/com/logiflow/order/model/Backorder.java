@@ -0,0 +1,48 @@
+package com.logiflow.order.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Part of an order line that could not be reserved yet. Waits in a per-SKU queue ordered by
+ * priority, then arrival, and is deleted once fully allocated.
+ */
+@Entity
+@Table(
+        name = "backorders",
+        indexes = {
+                @Index(name = "idx_backorder_queue", columnList = "sku, priority DESC, id"),
+                @Index(name = "idx_backorder_order_id", columnList = "orderId")
+        }
+)
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class Backorder {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "backorders_seq")
+    @SequenceGenerator(name = "backorders_seq", sequenceName = "backorders_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long orderId;
+
+    @Column(nullable = false)
+    private String sku;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer priority = 0;
+
+    @Builder.Default
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
@@ -4,13 +4,15 @@ import jakarta.persistence.*;
 import lombok.*;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 
 @Entity
 @Table(
         name = "orders",
         indexes = {
-                @Index(name = "idx_order_id", columnList = "order_id"),
                 @Index(name = "idx_status", columnList = "status"),
                 @Index(name = "idx_created_at", columnList = "createdAt")
         }
@@ -23,7 +25,8 @@ import java.util.List;
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -33,11 +36,45 @@ public class Order {
     @Column(nullable = false)
     private OrderStatus status;
 
-    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
-    @JoinColumn(name = "order_id")
-    private List<OrderItem> items;
+    @Builder.Default
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    private List<OrderItem> items = new ArrayList<>();
 
     @Builder.Default
     @Column(updatable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
+
+    public void addItem(OrderItem item) {
+        items.add(item);
+        item.setOrder(this);
+        item.setCreatedAt(createdAt);
+    }
+
+    /**
+     * Moves {@code quantity} units of a backordered item to the warehouse they were allocated from.
+     */
+    public void allocateBackorderedItem(String sku, String warehouseCode, int quantity) {
+        OrderItem waiting = findItem(sku, null)
+                .orElseThrow(() -> new IllegalStateException("Order " + id + " has no backordered item for SKU " + sku));
+        waiting.setQuantity(waiting.getQuantity() - quantity);
+        if (waiting.getQuantity() == 0) {
+            items.remove(waiting);
+        }
+
+        findItem(sku, warehouseCode).ifPresentOrElse(
+                allocated -> allocated.setQuantity(allocated.getQuantity() + quantity),
+                () -> addItem(OrderItem.builder()
+                        .sku(sku)
+                        .quantity(quantity)
+                        .priceAtTimeOfOrder(waiting.getPriceAtTimeOfOrder())
+                        .warehouseCode(warehouseCode)
+                        .build())
+        );
+    }
+
+    private Optional<OrderItem> findItem(String sku, String warehouseCode) {
+        return items.stream()
+                .filter(item -> item.getSku().equals(sku) && Objects.equals(item.getWarehouseCode(), warehouseCode))
+                .findFirst();
+    }
 }
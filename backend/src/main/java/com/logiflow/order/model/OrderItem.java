@@ -4,9 +4,15 @@ import jakarta.persistence.*;
 import lombok.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "order_items")
+@Table(
+        name = "order_items",
+        indexes = {
+                @Index(name = "idx_order_item_order_id", columnList = "order_id")
+        }
+)
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
@@ -14,10 +20,16 @@ import java.math.BigDecimal;
 @Setter
 public class OrderItem {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_seq")
+    @SequenceGenerator(name = "order_items_seq", sequenceName = "order_items_seq", allocationSize = 50)
     private Long id;
 
-    @Column(nullable = false, unique = true)
+    // No FK constraint: orders and order_items are partitioned and archived independently
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "order_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private Order order;
+
+    @Column(nullable = false)
     private String sku;
 
     @Column(nullable = false)
@@ -25,4 +37,11 @@ public class OrderItem {
 
     @Column(nullable = false)
     private BigDecimal priceAtTimeOfOrder;
+
+    // Null while the item is backordered and not yet allocated to a warehouse
+    private String warehouseCode;
+
+    // Partition key, copied from the owning order
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
 }
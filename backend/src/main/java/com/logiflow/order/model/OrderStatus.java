@@ -7,6 +7,9 @@ public enum OrderStatus {
     @Schema(description = "Order created, awaiting confirmation")
     PENDING,
 
+    @Schema(description = "Some items are out of stock and waiting for a restock")
+    BACKORDERED,
+
     @Schema(description = "Order confirmed and being processed")
     CONFIRMED,
 
@@ -14,5 +17,14 @@ public enum OrderStatus {
     SHIPPED,
 
     @Schema(description = "Order was cancelled")
-    CANCELLED
+    CANCELLED;
+
+    public boolean canTransitionTo(OrderStatus next) {
+        return switch (this) {
+            case PENDING -> next == CONFIRMED || next == CANCELLED;
+            case BACKORDERED -> next == CANCELLED;
+            case CONFIRMED -> next == SHIPPED || next == CANCELLED;
+            case SHIPPED, CANCELLED -> false;
+        };
+    }
 }
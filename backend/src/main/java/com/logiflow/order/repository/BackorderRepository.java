@@ -0,0 +1,24 @@
+package com.logiflow.order.repository;
+
+import com.logiflow.order.model.Backorder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+public interface BackorderRepository extends JpaRepository<Backorder, Long> {
+
+    @Query("SELECT b FROM Backorder b WHERE b.sku = :sku ORDER BY b.priority DESC, b.id")
+    List<Backorder> findQueue(String sku, Pageable pageable);
+
+    @Query("SELECT COALESCE(SUM(b.quantity), 0) FROM Backorder b WHERE b.sku = :sku")
+    long sumQuantityBySku(String sku);
+
+    @Query("SELECT DISTINCT b.orderId FROM Backorder b WHERE b.orderId IN :orderIds")
+    Set<Long> findWaitingOrderIds(Collection<Long> orderIds);
+
+    List<Backorder> findByOrderId(Long orderId);
+}
@@ -0,0 +1,145 @@
+package com.logiflow.order.service;
+
+import com.logiflow.inventory.service.AllocationEngine.Allocation;
+import com.logiflow.inventory.service.InventoryService;
+import com.logiflow.order.model.Backorder;
+import com.logiflow.order.model.OrderStatus;
+import com.logiflow.order.repository.BackorderRepository;
+import com.logiflow.order.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * Queues order lines that could not be reserved and hands out newly received stock to them,
+ * highest priority first and first-come first-served within a priority.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BackorderService {
+
+    private static final int QUEUE_PAGE_SIZE = 500;
+
+    private final BackorderRepository backorderRepository;
+    private final OrderRepository orderRepository;
+    private final InventoryService inventoryService;
+
+    @Transactional
+    public void enqueue(Long orderId, Map<String, Integer> shortfalls, int priority) {
+        List<Backorder> backorders = shortfalls.entrySet().stream()
+                .map(shortfall -> Backorder.builder()
+                        .orderId(orderId)
+                        .sku(shortfall.getKey())
+                        .quantity(shortfall.getValue())
+                        .priority(priority)
+                        .build())
+                .toList();
+        backorderRepository.saveAll(backorders);
+        log.info("Order {} backordered for SKUs: {}", orderId, shortfalls.keySet());
+    }
+
+    @Transactional
+    public void cancel(Long orderId) {
+        backorderRepository.deleteAll(backorderRepository.findByOrderId(orderId));
+    }
+
+    /**
+     * Allocates available stock of the given SKUs to their queues in one transaction. Only the
+     * listed SKUs are touched, and each queue is read in pages until the stock runs out.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void allocate(Collection<String> skus) {
+        Map<Long, List<Allocation>> allocationsByOrder = new HashMap<>();
+        skus.stream()
+                .sorted()
+                .forEach(sku -> allocateSku(sku, allocationsByOrder));
+        applyToOrders(allocationsByOrder);
+    }
+
+    private void allocateSku(String sku, Map<Long, List<Allocation>> allocationsByOrder) {
+        long demand = backorderRepository.sumQuantityBySku(sku);
+        if (demand == 0) {
+            return;
+        }
+
+        Deque<Allocation> stock = reserveAvailableStock(sku, (int) Math.min(demand, Integer.MAX_VALUE));
+        int reserved = stock.stream().mapToInt(Allocation::quantity).sum();
+        while (!stock.isEmpty()) {
+            List<Backorder> queue = backorderRepository.findQueue(sku, PageRequest.of(0, QUEUE_PAGE_SIZE));
+            if (queue.isEmpty()) {
+                break;
+            }
+
+            List<Backorder> fulfilled = new ArrayList<>();
+            for (Backorder backorder : queue) {
+                fill(backorder, stock, allocationsByOrder);
+                if (backorder.getQuantity() == 0) {
+                    fulfilled.add(backorder);
+                }
+                if (stock.isEmpty()) {
+                    break;
+                }
+            }
+            backorderRepository.deleteAll(fulfilled);
+        }
+
+        // Another allocation may have served part of the queue between reading the demand and locking the stock
+        int surplus = 0;
+        for (Allocation left : stock) {
+            inventoryService.releaseStock(left.warehouseCode(), sku, left.quantity());
+            surplus += left.quantity();
+        }
+        log.info("Allocated {} units of SKU {} to backorders", reserved - surplus, sku);
+    }
+
+    private Deque<Allocation> reserveAvailableStock(String sku, int demand) {
+        Deque<Allocation> stock = new ArrayDeque<>();
+        int remaining = demand;
+        for (String warehouseCode : inventoryService.getWarehouseCodesWithAvailableStock(sku)) {
+            if (remaining == 0) {
+                break;
+            }
+            int reserved = inventoryService.reserveUpTo(warehouseCode, sku, remaining);
+            if (reserved > 0) {
+                stock.add(new Allocation(sku, warehouseCode, reserved));
+                remaining -= reserved;
+            }
+        }
+        return stock;
+    }
+
+    private void fill(Backorder backorder, Deque<Allocation> stock, Map<Long, List<Allocation>> allocationsByOrder) {
+        while (backorder.getQuantity() > 0 && !stock.isEmpty()) {
+            Allocation chunk = stock.pop();
+            int allocated = Math.min(chunk.quantity(), backorder.getQuantity());
+            backorder.setQuantity(backorder.getQuantity() - allocated);
+            allocationsByOrder.computeIfAbsent(backorder.getOrderId(), _ -> new ArrayList<>())
+                    .add(new Allocation(chunk.sku(), chunk.warehouseCode(), allocated));
+            if (chunk.quantity() > allocated) {
+                stock.push(new Allocation(chunk.sku(), chunk.warehouseCode(), chunk.quantity() - allocated));
+            }
+        }
+    }
+
+    private void applyToOrders(Map<Long, List<Allocation>> allocationsByOrder) {
+        if (allocationsByOrder.isEmpty()) {
+            return;
+        }
+        Set<Long> stillWaiting = backorderRepository.findWaitingOrderIds(allocationsByOrder.keySet());
+
+        orderRepository.findWithItemsByIdIn(allocationsByOrder.keySet()).forEach(order -> {
+            allocationsByOrder.get(order.getId()).forEach(allocation ->
+                    order.allocateBackorderedItem(allocation.sku(), allocation.warehouseCode(), allocation.quantity()));
+            if (order.getStatus() == OrderStatus.BACKORDERED && !stillWaiting.contains(order.getId())) {
+                order.setStatus(OrderStatus.PENDING);
+                log.info("Order {} fully allocated, moved to PENDING", order.getId());
+            }
+        });
+    }
+}
@@ -0,0 +1,118 @@
+package com.logiflow.order.service;
+
+import com.logiflow.shared.partition.MonthlyPartitionManager;
+import com.logiflow.shared.partition.PartitionArchiveWriter;
+import com.logiflow.shared.partition.PartitionedTable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Keeps {@code orders} and {@code order_items} partitioned by month and archives old months once
+ * every order in them is closed (SHIPPED or CANCELLED). The rows from before partitioning are
+ * archived together once the newest of them is past retention.
+ */
+@Service
+@ConditionalOnProperty(prefix = "app.partitioning", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class OrderPartitionService implements SmartInitializingSingleton {
+
+    static final PartitionedTable ORDERS = new PartitionedTable("orders", "created_at",
+            "UPDATE orders SET created_at = now() WHERE created_at IS NULL");
+    static final PartitionedTable ORDER_ITEMS = new PartitionedTable("order_items", "created_at",
+            "UPDATE order_items i SET created_at = o.created_at FROM orders o " +
+                    "WHERE i.order_id = o.id AND i.created_at IS NULL");
+
+    // Children before parents, so a month is never left with items but no orders
+    private static final List<PartitionedTable> ARCHIVE_ORDER = List.of(ORDER_ITEMS, ORDERS);
+
+    private final MonthlyPartitionManager partitionManager;
+    private final PartitionArchiveWriter archiveWriter;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.partitioning.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${app.orders.archive.retention-months:24}")
+    private int retentionMonths;
+
+    @Value("${app.orders.archive.directory:archive/orders}")
+    private Path archiveDirectory;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        partitionManager.convertIfNeeded(ORDERS);
+        partitionManager.convertIfNeeded(ORDER_ITEMS);
+        createUpcomingPartitions();
+    }
+
+    @Scheduled(cron = "${app.partitioning.cron:0 0 2 * * *}")
+    public void maintainPartitions() {
+        createUpcomingPartitions();
+        archiveClosedPartitions();
+    }
+
+    private void createUpcomingPartitions() {
+        partitionManager.createUpcomingPartitions(ORDERS, monthsAhead);
+        partitionManager.createUpcomingPartitions(ORDER_ITEMS, monthsAhead);
+    }
+
+    private void archiveClosedPartitions() {
+        YearMonth cutoff = YearMonth.now().minusMonths(retentionMonths);
+        partitionManager.listMonthlyPartitions(ORDERS).stream()
+                .filter(month -> month.isBefore(cutoff))
+                .forEach(month -> transactionTemplate.executeWithoutResult(_ -> archiveMonth(month)));
+        partitionManager.legacyUpperBound(ORDERS)
+                .filter(bound -> !bound.isAfter(cutoff.atDay(1).atStartOfDay()))
+                .ifPresent(_ -> transactionTemplate.executeWithoutResult(_ -> archiveLegacy()));
+    }
+
+    private void archiveLegacy() {
+        partitionManager.lock(ORDERS);
+        if (hasOpenOrders(ORDERS.legacyPartitionName())) {
+            log.warn("Skipping archival of {}: it still contains open orders", ORDERS.legacyPartitionName());
+            return;
+        }
+        for (PartitionedTable table : ARCHIVE_ORDER) {
+            archive(table, table.legacyPartitionName());
+        }
+    }
+
+    private void archiveMonth(YearMonth month) {
+        partitionManager.lock(ORDERS);
+        String ordersPartition = partitionManager.partitionName(ORDERS, month);
+
+        if (hasOpenOrders(ordersPartition)) {
+            log.warn("Skipping archival of {}: it still contains open orders", ordersPartition);
+            return;
+        }
+
+        for (PartitionedTable table : ARCHIVE_ORDER) {
+            archive(table, partitionManager.partitionName(table, month));
+        }
+    }
+
+    private void archive(PartitionedTable table, String partition) {
+        Path file = archiveWriter.export(partition, archiveDirectory);
+        partitionManager.detachAndDrop(table, partition);
+        log.info("Archived partition {} to {}", partition, file);
+    }
+
+    private boolean hasOpenOrders(String partition) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM " + partition + " WHERE status NOT IN ('SHIPPED', 'CANCELLED'))",
+                Boolean.class));
+    }
+}
@@ -2,8 +2,13 @@ package com.logiflow.order.service;
 
 import com.logiflow.catalog.dto.ProductResponseDTO;
 import com.logiflow.catalog.service.ProductService;
+import com.logiflow.inventory.service.AllocationEngine;
+import com.logiflow.inventory.service.AllocationEngine.Allocation;
+import com.logiflow.inventory.service.AllocationEngine.Plan;
+import com.logiflow.inventory.service.AllocationEngine.StockKey;
 import com.logiflow.inventory.service.InventoryService;
-import com.logiflow.order.dto.OrderItemRequestDTO;
+import com.logiflow.inventory.service.RedisReservationEngine;
+import com.logiflow.order.dto.DeliveryLocationDTO;
 import com.logiflow.order.dto.OrderRequestDTO;
 import com.logiflow.order.dto.OrderResponseDTO;
 import com.logiflow.order.mapper.OrderMapper;
@@ -11,17 +16,29 @@ import com.logiflow.order.model.Order;
 import com.logiflow.order.model.OrderItem;
 import com.logiflow.order.model.OrderStatus;
 import com.logiflow.order.repository.OrderRepository;
+import com.logiflow.order.service.QuoteService.Quote;
+import com.logiflow.promotion.service.PromotionEngine;
+import com.logiflow.shared.event.OrderLine;
+import com.logiflow.shared.event.OrderPlacedEvent;
+import com.logiflow.shared.event.OrderStatusChangedEvent;
+import com.logiflow.shared.exception.InsufficientStockException;
+import com.logiflow.shared.exception.InvalidOrderStatusTransitionException;
+import com.logiflow.shared.exception.InvalidQuoteException;
+import com.logiflow.shared.exception.OrderNotFoundException;
 import com.logiflow.shared.exception.ProductNotFoundException;
+import com.logiflow.shared.money.Money;
+import com.logiflow.user.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.math.BigDecimal;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.StructuredTaskScope;
+import java.util.concurrent.StructuredTaskScope.Subtask;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,38 +46,140 @@ import java.util.stream.Collectors;
 @Slf4j
 public class OrderService {
 
+    // Re-plans after a warehouse turned out to have less stock than the index said
+    private static final int MAX_ALLOCATION_ATTEMPTS = 3;
+    private static final Comparator<StockKey> LOCK_ORDER =
+            Comparator.comparing(StockKey::warehouseCode).thenComparing(StockKey::sku);
+
     private final OrderRepository orderRepository;
     private final ProductService productService;
     private final InventoryService inventoryService;
     private final OrderMapper orderMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BackorderService backorderService;
+    private final AllocationEngine allocationEngine;
+    private final RedisReservationEngine redisReservationEngine;
+    private final TransactionTemplate transactionTemplate;
+    private final QuoteService quoteService;
+    private final PromotionEngine promotionEngine;
+    private final UserService userService;
 
-    @Transactional
+    @Value("${app.orders.backorders.enabled:false}")
+    private boolean backordersEnabled;
+
+    /**
+     * Prices the items from the catalog and the active promotions, or takes the prices from a quote
+     * while neither has changed (an invalid or expired quote token is ignored), and plans the
+     * allocation against the in-memory index concurrently, outside any transaction, failing fast if
+     * pricing fails. Only the reservations and the order insert then run in one short transaction, so
+     * row locks are never held across a catalog round trip. Whether there is enough stock is decided
+     * there, against the locked rows. Group prices follow the customer group on the caller's account.
+     */
     public OrderResponseDTO createOrder(OrderRequestDTO request) {
-        List<String> skus = extractSkus(request.items());
-        Map<String, BigDecimal> priceMap = validateAndGetPrices(skus);
+        boolean backorderAllowed = backordersEnabled && Boolean.TRUE.equals(request.allowBackorder());
+        Map<String, Integer> quantities = new TreeMap<>();
+        request.items().forEach(item -> quantities.merge(item.sku(), item.quantity(), Integer::sum));
 
-        reserveStockForItems(request.items());
+        Quote quote = request.quoteToken() == null ? null : verifiedQuote(request);
+        // Read here: the security context does not reach the forked subtasks
+        String customerGroup = userService.getCurrentCustomerGroup();
 
-        Order order = buildOrder(request, priceMap);
-        Order savedOrder = orderRepository.save(order);
+        Map<String, Money> priceMap;
+        Plan initialPlan;
+        try (var scope = StructuredTaskScope.open()) {
+            Subtask<Map<String, Money>> prices = scope.fork(() -> Optional.ofNullable(quote)
+                    .flatMap(q -> quoteService.trustedPrices(q, quantities, customerGroup))
+                    .orElseGet(() -> validateAndGetPrices(quantities, customerGroup)));
+            Subtask<Plan> availability = scope.fork(() -> precheckAvailability(request, quantities));
+            scope.join();
+            priceMap = prices.get();
+            initialPlan = availability.get();
+        } catch (StructuredTaskScope.FailedException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while preparing order", e);
+        }
+
+        Order savedOrder = Objects.requireNonNull(transactionTemplate.execute(_ -> {
+            Plan reservation = reserveStockForItems(quantities, initialPlan, request.deliveryLocation(), backorderAllowed);
+            Order order = orderRepository.save(buildOrder(request, priceMap, reservation));
+            if (!reservation.shortfalls().isEmpty()) {
+                backorderService.enqueue(order.getId(), reservation.shortfalls(), Objects.requireNonNullElse(request.priority(), 0));
+            }
+            eventPublisher.publishEvent(new OrderPlacedEvent(order.getId(), order.getCreatedAt(), toOrderLines(order)));
+            return order;
+        }));
+
+        if (quote != null) {
+            quoteService.releaseHold(quote);
+        }
 
         log.info("Order created with ID: {} for customer: {}", savedOrder.getId(), savedOrder.getCustomerName());
         return orderMapper.toDto(savedOrder);
     }
 
-    private List<String> extractSkus(List<OrderItemRequestDTO> items) {
-        return items.stream()
-                .map(OrderItemRequestDTO::sku)
+    @Transactional
+    public OrderResponseDTO updateStatus(Long orderId, OrderStatus newStatus) {
+        Order order = orderRepository.findWithItemsById(orderId)
+                .orElseThrow(() -> new OrderNotFoundException(orderId));
+        OrderStatus previousStatus = order.getStatus();
+        if (!previousStatus.canTransitionTo(newStatus)) {
+            throw new InvalidOrderStatusTransitionException(previousStatus, newStatus);
+        }
+
+        applyStockChanges(order, newStatus);
+        order.setStatus(newStatus);
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(
+                order.getId(), previousStatus, newStatus, order.getCreatedAt(), toOrderLines(order)));
+
+        log.info("Order {} moved from {} to {}", orderId, previousStatus, newStatus);
+        return orderMapper.toDto(order);
+    }
+
+    private void applyStockChanges(Order order, OrderStatus newStatus) {
+        switch (newStatus) {
+            case CANCELLED -> releaseReservedStock(order);
+            case SHIPPED -> order.getItems().forEach(item ->
+                    inventoryService.shipStock(item.getWarehouseCode(), item.getSku(), item.getQuantity()));
+            default -> {
+            }
+        }
+    }
+
+    private void releaseReservedStock(Order order) {
+        backorderService.cancel(order.getId());
+        order.getItems().stream()
+                .filter(item -> item.getWarehouseCode() != null)
+                .forEach(item -> inventoryService.releaseStock(item.getWarehouseCode(), item.getSku(), item.getQuantity()));
+    }
+
+    // A quote only saves the re-pricing; an unusable one costs nothing but that
+    private Quote verifiedQuote(OrderRequestDTO request) {
+        try {
+            return quoteService.verify(request.quoteToken(), request.items());
+        } catch (InvalidQuoteException e) {
+            log.debug("Ignoring quote token, re-pricing the order: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private List<OrderLine> toOrderLines(Order order) {
+        return order.getItems().stream()
+                .map(item -> new OrderLine(item.getSku(), item.getQuantity(), item.getPriceAtTimeOfOrder()))
                 .toList();
     }
 
-    private Map<String, BigDecimal> validateAndGetPrices(List<String> requestedSkus) {
+    private Map<String, Money> validateAndGetPrices(Map<String, Integer> quantities, String customerGroup) {
+        List<String> requestedSkus = List.copyOf(quantities.keySet());
         List<ProductResponseDTO> products = productService.findBySkus(requestedSkus);
 
         validateAllSkusExist(requestedSkus, products);
 
-        return products.stream()
-                .collect(Collectors.toMap(ProductResponseDTO::sku, ProductResponseDTO::price));
+        return promotionEngine.apply(products, quantities, customerGroup);
     }
 
     private void validateAllSkusExist(List<String> requestedSkus, List<ProductResponseDTO> products) {
@@ -77,34 +196,173 @@ public class OrderService {
         }
     }
 
-    private void reserveStockForItems(List<OrderItemRequestDTO> items) {
-        items.forEach(item -> {
-            log.info("Reserving {} units of SKU: {}", item.quantity(), item.sku());
-            inventoryService.reserveStock(item.sku(), item.quantity());
-        });
+    /**
+     * Plans the order against the availability index without touching the database. The index may
+     * lag behind the rows, so a shortfall here only means the rows have to be asked.
+     */
+    private Plan precheckAvailability(OrderRequestDTO request, Map<String, Integer> quantities) {
+        DeliveryLocationDTO location = request.deliveryLocation();
+        return allocationEngine.plan(quantities,
+                location == null ? null : location.latitude(),
+                location == null ? null : location.longitude(),
+                Set.of());
     }
 
-    private Order buildOrder(OrderRequestDTO request, Map<String, BigDecimal> priceMap) {
-        List<OrderItem> orderItems = buildOrderItems(request.items(), priceMap);
+    /**
+     * Reserves the pre-checked plan row by row, re-planning around warehouses that turned out to have
+     * less stock than the index said. What the index cannot place is then tried against every row
+     * that had stock when read. Anything still not reserved is returned as a shortfall, or fails the
+     * order when backorders are not allowed.
+     * <p>
+     * Rows are locked in (warehouse, SKU) order across the whole transaction, not just within a pass,
+     * so two orders can never wait on each other. A row that a re-plan or the fallback wants but that
+     * sorts before one already locked is skipped and counted as short.
+     */
+    private Plan reserveStockForItems(Map<String, Integer> quantities, Plan initialPlan,
+                                      DeliveryLocationDTO location, boolean backorderAllowed) {
+        Map<String, Integer> outstanding = new TreeMap<>(quantities);
+        Double latitude = location == null ? null : location.latitude();
+        Double longitude = location == null ? null : location.longitude();
 
-        return Order.builder()
-                .customerName(request.customerName())
-                .status(OrderStatus.PENDING)
-                .items(new ArrayList<>(orderItems))
-                .build();
+        List<Allocation> reserved = new ArrayList<>();
+        Set<StockKey> exhausted = new HashSet<>();
+        RowLocks rowLocks = new RowLocks();
+        for (int attempt = 0; attempt < MAX_ALLOCATION_ATTEMPTS && !outstanding.isEmpty(); attempt++) {
+            Plan plan = attempt == 0 ? initialPlan : allocationEngine.plan(outstanding, latitude, longitude, exhausted);
+            if (plan.allocations().isEmpty()) {
+                break;
+            }
+
+            outstanding.clear();
+            outstanding.putAll(plan.shortfalls());
+            List<Allocation> viaRedis = plan.allocations().stream()
+                    .filter(allocation -> redisReservationEngine.manages(allocation.sku()))
+                    .toList();
+            if (!viaRedis.isEmpty()) {
+                reserveInRedis(viaRedis, reserved, outstanding, exhausted);
+            }
+            for (Allocation allocation : sortedForLocking(plan.allocations())) {
+                if (redisReservationEngine.manages(allocation.sku())) {
+                    continue;
+                }
+                StockKey key = new StockKey(allocation.warehouseCode(), allocation.sku());
+                if (!rowLocks.mayLock(key)) {
+                    exhausted.add(key);
+                    outstanding.merge(allocation.sku(), allocation.quantity(), Integer::sum);
+                    continue;
+                }
+                rowLocks.lock(key);
+                log.debug("Reserving {} units of SKU: {} in warehouse {}",
+                        allocation.quantity(), allocation.sku(), allocation.warehouseCode());
+                int got = inventoryService.reserveUpTo(allocation.warehouseCode(), allocation.sku(), allocation.quantity());
+                if (got > 0) {
+                    reserved.add(new Allocation(allocation.sku(), allocation.warehouseCode(), got));
+                }
+                if (got < allocation.quantity()) {
+                    exhausted.add(key);
+                    outstanding.merge(allocation.sku(), allocation.quantity() - got, Integer::sum);
+                }
+            }
+        }
+
+        if (!outstanding.isEmpty()) {
+            reserveFromRows(reserved, outstanding, exhausted, rowLocks);
+        }
+        if (!outstanding.isEmpty() && !backorderAllowed) {
+            throw new InsufficientStockException("Insufficient stock available to reserve");
+        }
+        return new Plan(merged(reserved), new TreeMap<>(outstanding));
+    }
+
+    // Candidates for every outstanding SKU are collected first, so they can be locked in one sorted pass
+    private void reserveFromRows(List<Allocation> reserved, Map<String, Integer> outstanding,
+                                 Set<StockKey> exhausted, RowLocks rowLocks) {
+        List<StockKey> candidates = outstanding.keySet().stream()
+                .flatMap(sku -> inventoryService.getWarehouseCodesWithAvailableStock(sku).stream()
+                        .map(warehouseCode -> new StockKey(warehouseCode, sku)))
+                .filter(key -> !exhausted.contains(key) && rowLocks.mayLock(key))
+                .sorted(LOCK_ORDER)
+                .toList();
+        for (StockKey key : candidates) {
+            int wanted = outstanding.getOrDefault(key.sku(), 0);
+            if (wanted == 0) {
+                continue;
+            }
+            rowLocks.lock(key);
+            int got = inventoryService.reserveUpTo(key.warehouseCode(), key.sku(), wanted);
+            if (got > 0) {
+                reserved.add(new Allocation(key.sku(), key.warehouseCode(), got));
+                outstanding.compute(key.sku(), (_, units) -> units == got ? null : units - got);
+            }
+        }
+    }
+
+    // One allocation per SKU and warehouse, however many attempts reserved there
+    private static List<Allocation> merged(List<Allocation> allocations) {
+        Map<StockKey, Integer> units = new LinkedHashMap<>();
+        allocations.forEach(allocation -> units.merge(
+                new StockKey(allocation.warehouseCode(), allocation.sku()), allocation.quantity(), Integer::sum));
+        return units.entrySet().stream()
+                .map(entry -> new Allocation(entry.getKey().sku(), entry.getKey().warehouseCode(), entry.getValue()))
+                .toList();
+    }
+
+    // All lines or none; lines that were short are avoided when re-planning
+    private void reserveInRedis(List<Allocation> allocations, List<Allocation> reserved,
+                                Map<String, Integer> outstanding, Set<StockKey> exhausted) {
+        List<Integer> shortLines = redisReservationEngine.reserveAll(allocations);
+        if (shortLines.isEmpty()) {
+            reserved.addAll(allocations);
+            return;
+        }
+        shortLines.forEach(line -> exhausted.add(
+                new StockKey(allocations.get(line).warehouseCode(), allocations.get(line).sku())));
+        allocations.forEach(allocation -> outstanding.merge(allocation.sku(), allocation.quantity(), Integer::sum));
     }
 
-    private List<OrderItem> buildOrderItems(List<OrderItemRequestDTO> items, Map<String, BigDecimal> priceMap) {
-        return items.stream()
-                .map(item -> toOrderItem(item, priceMap.get(item.sku())))
+    private List<Allocation> sortedForLocking(List<Allocation> allocations) {
+        return allocations.stream()
+                .sorted(Comparator.comparing(allocation -> new StockKey(allocation.warehouseCode(), allocation.sku()), LOCK_ORDER))
                 .toList();
     }
 
-    private OrderItem toOrderItem(OrderItemRequestDTO item, BigDecimal price) {
+    // The rows this transaction has locked; a new one may only sort after all of them
+    private static final class RowLocks {
+
+        private final Set<StockKey> held = new HashSet<>();
+        private StockKey last;
+
+        boolean mayLock(StockKey key) {
+            return last == null || held.contains(key) || LOCK_ORDER.compare(key, last) > 0;
+        }
+
+        void lock(StockKey key) {
+            held.add(key);
+            if (last == null || LOCK_ORDER.compare(key, last) > 0) {
+                last = key;
+            }
+        }
+    }
+
+    private Order buildOrder(OrderRequestDTO request, Map<String, Money> priceMap, Plan reservation) {
+        Order order = Order.builder()
+                .customerName(request.customerName())
+                .status(reservation.shortfalls().isEmpty() ? OrderStatus.PENDING : OrderStatus.BACKORDERED)
+                .build();
+
+        reservation.allocations().forEach(allocation -> order.addItem(
+                toOrderItem(allocation.sku(), allocation.quantity(), priceMap.get(allocation.sku()), allocation.warehouseCode())));
+        reservation.shortfalls().forEach((sku, quantity) -> order.addItem(
+                toOrderItem(sku, quantity, priceMap.get(sku), null)));
+        return order;
+    }
+
+    private OrderItem toOrderItem(String sku, int quantity, Money price, String warehouseCode) {
         return OrderItem.builder()
-                .sku(item.sku())
-                .quantity(item.quantity())
-                .priceAtTimeOfOrder(price)
+                .sku(sku)
+                .quantity(quantity)
+                .priceAtTimeOfOrder(price.toBigDecimal())
+                .warehouseCode(warehouseCode)
                 .build();
     }
 
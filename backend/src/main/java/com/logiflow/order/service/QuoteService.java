@@ -0,0 +1,244 @@
+package com.logiflow.order.service;
+
+import com.logiflow.catalog.dto.ProductResponseDTO;
+import com.logiflow.catalog.service.CatalogChangeSequence;
+import com.logiflow.catalog.service.ProductService;
+import com.logiflow.inventory.service.WarehouseAvailabilityIndex;
+import com.logiflow.order.dto.OrderItemRequestDTO;
+import com.logiflow.order.dto.QuoteLineDTO;
+import com.logiflow.order.dto.QuoteRequestDTO;
+import com.logiflow.order.dto.QuoteResponseDTO;
+import com.logiflow.promotion.service.PromotionEngine;
+import com.logiflow.shared.money.Money;
+import com.logiflow.shared.exception.InvalidQuoteException;
+import com.logiflow.shared.exception.ProductNotFoundException;
+import com.logiflow.user.service.UserService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * First phase of checkout: prices the items against the catalog and the active promotions and returns
+ * them in a signed, short-lived token, so placing the order can trust those prices without reading the
+ * catalog again as long as neither the catalog nor the promotions have changed. A quote expires no later
+ * than the next start or end of a promotion.
+ * <p>
+ * A quote also places a soft hold on the quoted units when the availability index says they are
+ * there. Holds only count against other quotes: they keep two shoppers from being quoted the last
+ * unit at the same time, but never block an order, and they expire with the token.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class QuoteService {
+
+    private static final String AUDIENCE = "logiflow-quote";
+    private static final String HOLD_KEY_PREFIX = "logiflow:quotes:holds:";
+
+    // KEYS: one hold set per SKU; ARGV: now, expiry, quote id, then quantity and available units per SKU
+    private static final RedisScript<Long> HOLD = RedisScript.of("""
+            for i = 1, #KEYS do
+              redis.call('ZREMRANGEBYSCORE', KEYS[i], '-inf', ARGV[1])
+              local held = 0
+              for _, member in ipairs(redis.call('ZRANGE', KEYS[i], 0, -1)) do
+                held = held + tonumber(string.match(member, ':(%d+)$'))
+              end
+              if held + tonumber(ARGV[2 + 2 * i]) > tonumber(ARGV[3 + 2 * i]) then return 0 end
+            end
+            for i = 1, #KEYS do
+              redis.call('ZADD', KEYS[i], ARGV[2], ARGV[3] .. ':' .. ARGV[2 + 2 * i])
+              redis.call('PEXPIREAT', KEYS[i], ARGV[2])
+            end
+            return 1
+            """, Long.class);
+
+    private final ProductService productService;
+    private final CatalogChangeSequence catalogChangeSequence;
+    private final PromotionEngine promotionEngine;
+    private final WarehouseAvailabilityIndex availabilityIndex;
+    private final StringRedisTemplate redisTemplate;
+    private final UserService userService;
+
+    @Value("${jwt.secret}")
+    private String secret;
+
+    @Value("${app.orders.quotes.ttl-seconds:600}")
+    private long ttlSeconds = 600;
+
+    /**
+     * A verified quote token.
+     */
+    public record Quote(String id, long catalogVersion, long promotionsVersion, String customerGroup,
+                        Map<String, Integer> quantities, Map<String, Money> prices, boolean held) {
+    }
+
+    public QuoteResponseDTO quote(QuoteRequestDTO request) {
+        Map<String, Integer> quantities = new TreeMap<>();
+        request.items().forEach(item -> quantities.merge(item.sku(), item.quantity(), Integer::sum));
+
+        // Read before the prices, so a product change in between makes the quote look stale rather than current
+        long catalogVersion = catalogChangeSequence.current();
+        long promotionsVersion = promotionEngine.version();
+        Optional<Instant> promotionsChangeAt = promotionEngine.nextChange();
+        String customerGroup = userService.getCurrentCustomerGroup();
+        List<ProductResponseDTO> products = productService.findBySkus(List.copyOf(quantities.keySet()));
+        Map<String, Money> prices = promotionEngine.apply(products, quantities, customerGroup);
+        List<String> missing = quantities.keySet().stream().filter(sku -> !prices.containsKey(sku)).toList();
+        if (!missing.isEmpty()) {
+            throw ProductNotFoundException.forSkus(missing);
+        }
+
+        List<QuoteLineDTO> lines = quantities.entrySet().stream()
+                .map(line -> new QuoteLineDTO(line.getKey(), line.getValue(), prices.get(line.getKey()).toBigDecimal()))
+                .toList();
+        Money total = quantities.entrySet().stream()
+                .map(line -> prices.get(line.getKey()).times(line.getValue()))
+                .reduce(Money::plus)
+                .orElseThrow();
+        String id = UUID.randomUUID().toString();
+        // A promotion starting or ending does not move the promotions version, so the quote must not outlive it
+        Instant ttlEnd = Instant.now().plusSeconds(ttlSeconds);
+        Instant expiresAt = promotionsChangeAt.filter(at -> at.isBefore(ttlEnd)).orElse(ttlEnd);
+        boolean held = hold(id, quantities, expiresAt);
+
+        String token = Jwts.builder()
+                .id(id)
+                .audience().add(AUDIENCE).and()
+                .issuedAt(new Date())
+                .expiration(Date.from(expiresAt))
+                .claim("cv", catalogVersion)
+                .claim("pv", promotionsVersion)
+                .claim("grp", customerGroup)
+                .claim("held", held)
+                .claim("cur", total.currency().getCurrencyCode())
+                .claim("lines", quantities.entrySet().stream()
+                        .map(line -> Map.of("sku", line.getKey(), "qty", line.getValue(), "price", prices.get(line.getKey()).minorUnits()))
+                        .toList())
+                .signWith(signingKey())
+                .compact();
+
+        return new QuoteResponseDTO(token, LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault()),
+                catalogVersion, lines, total.toBigDecimal(), held);
+    }
+
+    /**
+     * Verifies a token and checks that it covers every ordered SKU.
+     */
+    public Quote verify(String token, List<OrderItemRequestDTO> items) {
+        Claims claims;
+        try {
+            claims = Jwts.parser()
+                    .verifyWith(signingKey())
+                    .requireAudience(AUDIENCE)
+                    .build()
+                    .parseSignedClaims(token)
+                    .getPayload();
+        } catch (ExpiredJwtException e) {
+            throw new InvalidQuoteException("Quote has expired, request a new one");
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new InvalidQuoteException("Invalid quote token");
+        }
+
+        Quote quote = toQuote(claims);
+        List<String> uncovered = items.stream()
+                .map(OrderItemRequestDTO::sku)
+                .filter(sku -> !quote.prices().containsKey(sku))
+                .distinct()
+                .toList();
+        if (!uncovered.isEmpty()) {
+            throw new InvalidQuoteException("Quote does not cover SKUs: " + uncovered);
+        }
+        return quote;
+    }
+
+    // Tokens signed before prices became minor units carry no currency and decimal string prices
+    private static Quote toQuote(Claims claims) {
+        try {
+            Currency currency = Currency.getInstance(claims.get("cur", String.class));
+            Map<String, Integer> quantities = new HashMap<>();
+            Map<String, Money> prices = new HashMap<>();
+            for (Object entry : claims.get("lines", List.class)) {
+                Map<?, ?> line = (Map<?, ?>) entry;
+                String sku = (String) line.get("sku");
+                quantities.put(sku, ((Number) line.get("qty")).intValue());
+                prices.put(sku, new Money(((Number) line.get("price")).longValue(), currency));
+            }
+            return new Quote(claims.getId(), claims.get("cv", Number.class).longValue(),
+                    claims.get("pv", Number.class).longValue(), claims.get("grp", String.class), quantities, prices,
+                    Boolean.TRUE.equals(claims.get("held", Boolean.class)));
+        } catch (NullPointerException | ClassCastException | IllegalArgumentException | JwtException e) {
+            throw new InvalidQuoteException("Quote token is in an outdated format, request a new one");
+        }
+    }
+
+    /**
+     * @return the quoted prices, or empty when they must be re-read: the catalog or the promotions
+     * changed since, or the order is for other quantities or another customer group, which quantity
+     * tiers and group prices depend on
+     */
+    public Optional<Map<String, Money>> trustedPrices(Quote quote, Map<String, Integer> quantities,
+                                                      String customerGroup) {
+        if (quote.catalogVersion() != catalogChangeSequence.current()
+                || quote.promotionsVersion() != promotionEngine.version()) {
+            log.debug("Catalog or promotions changed since quote {}, re-validating prices", quote.id());
+            return Optional.empty();
+        }
+        boolean sameLines = Objects.equals(quote.customerGroup(), customerGroup)
+                && quantities.entrySet().stream().allMatch(line ->
+                        line.getValue().equals(quote.quantities().get(line.getKey())));
+        if (!sameLines) {
+            log.debug("Order differs from quote {}, re-pricing", quote.id());
+            return Optional.empty();
+        }
+        return Optional.of(quote.prices());
+    }
+
+    public void releaseHold(Quote quote) {
+        if (!quote.held()) {
+            return;
+        }
+        quote.quantities().forEach((sku, quantity) ->
+                redisTemplate.opsForZSet().remove(HOLD_KEY_PREFIX + sku, quote.id() + ":" + quantity));
+    }
+
+    private boolean hold(String id, Map<String, Integer> quantities, Instant expiresAt) {
+        List<String> keys = new ArrayList<>();
+        List<String> args = new ArrayList<>(List.of(Long.toString(System.currentTimeMillis()),
+                Long.toString(expiresAt.toEpochMilli()), id));
+        quantities.forEach((sku, quantity) -> {
+            keys.add(HOLD_KEY_PREFIX + sku);
+            args.add(quantity.toString());
+            args.add(Integer.toString(Arrays.stream(availabilityIndex.stock(sku).available()).sum()));
+        });
+        return Long.valueOf(1).equals(redisTemplate.execute(HOLD, keys, args.toArray()));
+    }
+
+    // Derived from the JWT secret so a quote can never pass as an access token, nor the other way round
+    private SecretKey signingKey() {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return Keys.hmacShaKeyFor(mac.doFinal(AUDIENCE.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot derive the quote signing key", e);
+        }
+    }
+}
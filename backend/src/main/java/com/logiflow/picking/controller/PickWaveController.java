@@ -0,0 +1,71 @@
+package com.logiflow.picking.controller;
+
+import com.logiflow.picking.dto.PickWaveResponseDTO;
+import com.logiflow.picking.dto.PickWaveSummaryDTO;
+import com.logiflow.picking.service.PickWaveService;
+import com.logiflow.shared.dto.ErrorResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/pick-waves")
+@RequiredArgsConstructor
+@PreAuthorize("hasAnyRole('SUPER_ADMIN', 'ADMIN', 'WAREHOUSE_MANAGER', 'WAREHOUSE_WORKER')")
+@Tag(name = "Pick Waves", description = "Batched pick lists for warehouse workers")
+public class PickWaveController {
+
+    private final PickWaveService pickWaveService;
+
+    @PostMapping
+    @Operation(summary = "Plan pick waves", description = "Groups pending orders of a warehouse that are not in a wave yet into waves per zone and routes each wave through its bins")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Waves planned; empty when no order was waiting"),
+            @ApiResponse(responseCode = "404", description = "Warehouse not found",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<List<PickWaveSummaryDTO>> planWaves(
+            @Parameter(description = "Warehouse code", example = "KYIV-01") @RequestParam String warehouseCode) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(pickWaveService.planWaves(warehouseCode));
+    }
+
+    @GetMapping
+    @Operation(summary = "List pick waves", description = "Returns the waves of a warehouse, newest first")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved pick waves")
+    })
+    public Page<PickWaveSummaryDTO> getWaves(
+            @Parameter(description = "Warehouse code", example = "KYIV-01") @RequestParam String warehouseCode,
+            @Parameter(description = "Pageable parameters (page, size, sort)")
+            @PageableDefault(sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+        return pickWaveService.getWaves(warehouseCode, pageable);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get a pick wave", description = "Returns the wave's orders and its picks in walking order")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Pick wave found",
+                    content = @Content(schema = @Schema(implementation = PickWaveResponseDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Pick wave not found",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<PickWaveResponseDTO> getWave(
+            @Parameter(description = "Pick wave identifier") @PathVariable Long id) {
+        return ResponseEntity.ok(pickWaveService.getWave(id));
+    }
+}
@@ -0,0 +1,22 @@
+package com.logiflow.picking.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "One stop on a pick route")
+public record PickTaskDTO(
+        @Schema(description = "Position on the route, starting at 1", example = "1")
+        int sequence,
+
+        @Schema(description = "Stock Keeping Unit to pick", example = "WM-001")
+        String sku,
+
+        @Schema(description = "Aisle of the bin", example = "3")
+        int aisle,
+
+        @Schema(description = "Bay of the bin", example = "12")
+        int bay,
+
+        @Schema(description = "Units to pick for all orders in the wave", example = "7")
+        int quantity
+) {
+}
@@ -0,0 +1,31 @@
+package com.logiflow.picking.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Schema(description = "Pick wave with its orders and route")
+public record PickWaveResponseDTO(
+        @Schema(description = "Wave identifier", example = "42")
+        Long id,
+
+        @Schema(description = "Warehouse the wave is picked in", example = "KYIV-01")
+        String warehouseCode,
+
+        @Schema(description = "Pick zone", example = "A")
+        String zone,
+
+        @Schema(description = "Orders whose lines are picked in this wave")
+        List<Long> orderIds,
+
+        @Schema(description = "Walking distance of the route in bay widths", example = "310")
+        int routeLength,
+
+        @Schema(description = "When the wave was planned", example = "2025-12-27T10:30:00")
+        LocalDateTime createdAt,
+
+        @Schema(description = "Picks in walking order")
+        List<PickTaskDTO> tasks
+) {
+}
@@ -0,0 +1,30 @@
+package com.logiflow.picking.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Pick wave without its task list")
+public record PickWaveSummaryDTO(
+        @Schema(description = "Wave identifier", example = "42")
+        Long id,
+
+        @Schema(description = "Warehouse the wave is picked in", example = "KYIV-01")
+        String warehouseCode,
+
+        @Schema(description = "Pick zone", example = "A")
+        String zone,
+
+        @Schema(description = "Number of orders in the wave", example = "40")
+        int orderCount,
+
+        @Schema(description = "Number of stops on the route", example = "85")
+        int taskCount,
+
+        @Schema(description = "Walking distance of the route in bay widths", example = "310")
+        int routeLength,
+
+        @Schema(description = "When the wave was planned", example = "2025-12-27T10:30:00")
+        LocalDateTime createdAt
+) {
+}
@@ -0,0 +1,42 @@
+package com.logiflow.picking.mapper;
+
+import com.logiflow.picking.dto.PickTaskDTO;
+import com.logiflow.picking.dto.PickWaveResponseDTO;
+import com.logiflow.picking.dto.PickWaveSummaryDTO;
+import com.logiflow.picking.model.PickTask;
+import com.logiflow.picking.model.PickWave;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PickWaveMapper {
+
+    public PickWaveSummaryDTO toSummary(PickWave wave) {
+        if (wave == null) return null;
+        return new PickWaveSummaryDTO(
+                wave.getId(),
+                wave.getWarehouseCode(),
+                wave.getZone(),
+                wave.getOrderCount(),
+                wave.getTaskCount(),
+                wave.getRouteLength(),
+                wave.getCreatedAt()
+        );
+    }
+
+    public PickWaveResponseDTO toDto(PickWave wave) {
+        if (wave == null) return null;
+        return new PickWaveResponseDTO(
+                wave.getId(),
+                wave.getWarehouseCode(),
+                wave.getZone(),
+                wave.getOrderIds().stream().sorted().toList(),
+                wave.getRouteLength(),
+                wave.getCreatedAt(),
+                wave.getTasks().stream().map(this::toTaskDto).toList()
+        );
+    }
+
+    private PickTaskDTO toTaskDto(PickTask task) {
+        return new PickTaskDTO(task.getSequence(), task.getSku(), task.getAisle(), task.getBay(), task.getQuantity());
+    }
+}
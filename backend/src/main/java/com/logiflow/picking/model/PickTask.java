@@ -0,0 +1,43 @@
+package com.logiflow.picking.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(
+        name = "pick_tasks",
+        indexes = {
+                @Index(name = "idx_pick_task_wave", columnList = "wave_id, sequence")
+        }
+)
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class PickTask {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pick_tasks_seq")
+    @SequenceGenerator(name = "pick_tasks_seq", sequenceName = "pick_tasks_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "wave_id", nullable = false)
+    private PickWave wave;
+
+    @Column(nullable = false)
+    private int sequence;
+
+    @Column(nullable = false)
+    private String sku;
+
+    @Column(nullable = false)
+    private int aisle;
+
+    @Column(nullable = false)
+    private int bay;
+
+    @Column(nullable = false)
+    private int quantity;
+}
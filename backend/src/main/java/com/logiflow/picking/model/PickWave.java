@@ -0,0 +1,70 @@
+package com.logiflow.picking.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Entity
+@Table(
+        name = "pick_waves",
+        indexes = {
+                @Index(name = "idx_pick_wave_warehouse", columnList = "warehouseCode, createdAt")
+        }
+)
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class PickWave {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pick_waves_seq")
+    @SequenceGenerator(name = "pick_waves_seq", sequenceName = "pick_waves_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, updatable = false)
+    private String warehouseCode;
+
+    @Column(nullable = false, updatable = false)
+    private String zone;
+
+    @Builder.Default
+    @ElementCollection
+    @CollectionTable(
+            name = "pick_wave_orders",
+            joinColumns = @JoinColumn(name = "wave_id"),
+            indexes = @Index(name = "idx_pick_wave_orders_order_id", columnList = "order_id")
+    )
+    @Column(name = "order_id", nullable = false)
+    private Set<Long> orderIds = new HashSet<>();
+
+    @Column(nullable = false)
+    private int orderCount;
+
+    @Column(nullable = false)
+    private int taskCount;
+
+    // Walking distance of the route, in bay widths
+    @Column(nullable = false)
+    private int routeLength;
+
+    @Builder.Default
+    @OneToMany(mappedBy = "wave", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("sequence")
+    private List<PickTask> tasks = new ArrayList<>();
+
+    @Builder.Default
+    @Column(updatable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    public void addTask(PickTask task) {
+        tasks.add(task);
+        task.setWave(this);
+    }
+}
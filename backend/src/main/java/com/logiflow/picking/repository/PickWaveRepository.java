@@ -0,0 +1,19 @@
+package com.logiflow.picking.repository;
+
+import com.logiflow.picking.model.PickWave;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface PickWaveRepository extends JpaRepository<PickWave, Long> {
+
+    Page<PickWave> findByWarehouseCode(String warehouseCode, Pageable pageable);
+
+    @EntityGraph(attributePaths = "tasks")
+    Optional<PickWave> findWithTasksById(Long id);
+}
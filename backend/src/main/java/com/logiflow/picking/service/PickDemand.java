@@ -0,0 +1,119 @@
+package com.logiflow.picking.service;
+
+import java.util.*;
+
+/**
+ * Order lines waiting to be picked, stored column-wise in primitive arrays. SKUs, zones and orders
+ * are replaced by dense int ids so the planner never touches entities or boxed values per line.
+ */
+public final class PickDemand {
+
+    public static final String UNASSIGNED_ZONE = "UNASSIGNED";
+
+    private final Map<String, Integer> skuIds = new HashMap<>();
+    private final List<String> skus = new ArrayList<>();
+    private final Map<String, Integer> zoneIds = new HashMap<>();
+    private final List<String> zones = new ArrayList<>();
+    private final Map<Long, Integer> orderIndexes = new HashMap<>();
+    private long[] orderIds = new long[64];
+    private int orderCount;
+
+    private int[] lineOrder = new int[256];
+    private int[] lineSku = new int[256];
+    private int[] lineZone = new int[256];
+    private int[] lineAisle = new int[256];
+    private int[] lineBay = new int[256];
+    private int[] lineQuantity = new int[256];
+    private int lineCount;
+
+    /**
+     * Lines without a bin are collected in {@link #UNASSIGNED_ZONE} at the depot.
+     */
+    public void add(long orderId, String sku, int quantity, String zone, Integer aisle, Integer bay) {
+        boolean binned = zone != null && aisle != null && bay != null;
+        if (lineCount == lineOrder.length) {
+            int capacity = lineCount * 2;
+            lineOrder = Arrays.copyOf(lineOrder, capacity);
+            lineSku = Arrays.copyOf(lineSku, capacity);
+            lineZone = Arrays.copyOf(lineZone, capacity);
+            lineAisle = Arrays.copyOf(lineAisle, capacity);
+            lineBay = Arrays.copyOf(lineBay, capacity);
+            lineQuantity = Arrays.copyOf(lineQuantity, capacity);
+        }
+        lineOrder[lineCount] = orderIndex(orderId);
+        lineSku[lineCount] = intern(sku, skuIds, skus);
+        lineZone[lineCount] = intern(binned ? zone : UNASSIGNED_ZONE, zoneIds, zones);
+        lineAisle[lineCount] = binned ? aisle : 0;
+        lineBay[lineCount] = binned ? bay : 0;
+        lineQuantity[lineCount] = quantity;
+        lineCount++;
+    }
+
+    public int lineCount() {
+        return lineCount;
+    }
+
+    public int orderCount() {
+        return orderCount;
+    }
+
+    int zoneCount() {
+        return zones.size();
+    }
+
+    String zoneName(int zoneId) {
+        return zones.get(zoneId);
+    }
+
+    String skuName(int skuId) {
+        return skus.get(skuId);
+    }
+
+    long orderId(int order) {
+        return orderIds[order];
+    }
+
+    int orderOf(int line) {
+        return lineOrder[line];
+    }
+
+    int skuOf(int line) {
+        return lineSku[line];
+    }
+
+    int zoneOf(int line) {
+        return lineZone[line];
+    }
+
+    int aisle(int line) {
+        return lineAisle[line];
+    }
+
+    int bay(int line) {
+        return lineBay[line];
+    }
+
+    int quantity(int line) {
+        return lineQuantity[line];
+    }
+
+    private int orderIndex(long orderId) {
+        Integer index = orderIndexes.get(orderId);
+        if (index != null) {
+            return index;
+        }
+        if (orderCount == orderIds.length) {
+            orderIds = Arrays.copyOf(orderIds, orderCount * 2);
+        }
+        orderIds[orderCount] = orderId;
+        orderIndexes.put(orderId, orderCount);
+        return orderCount++;
+    }
+
+    private static int intern(String value, Map<String, Integer> ids, List<String> values) {
+        return ids.computeIfAbsent(value, _ -> {
+            values.add(value);
+            return values.size() - 1;
+        });
+    }
+}
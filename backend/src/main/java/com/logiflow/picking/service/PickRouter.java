@@ -0,0 +1,121 @@
+package com.logiflow.picking.service;
+
+/**
+ * Orders the bins of one wave into a short walking route that starts and ends at the depot (aisle 0,
+ * bay 0). Aisles are parallel and joined by a front cross-aisle before bay 1 and a back cross-aisle
+ * after the deepest bay, so moving between aisles goes around whichever end is shorter.
+ * <p>
+ * Nearest-neighbour gives a starting tour, 2-opt then removes crossings until no swap helps. Both
+ * are quadratic in the number of bins, which stays small because waves are capped by order count.
+ */
+final class PickRouter {
+
+    static final int AISLE_SPACING = 3;
+    private static final int MAX_TWO_OPT_PASSES = 50;
+
+    record Route(int[] order, int length) {
+    }
+
+    private PickRouter() {
+    }
+
+    /**
+     * @param aisle aisle of each bin
+     * @param bay   bay of each bin
+     * @param depth bay number of the back cross-aisle
+     * @return bin indexes in visiting order and the total length of the round trip
+     */
+    static Route route(int[] aisle, int[] bay, int depth) {
+        int n = aisle.length;
+        // Position 0 of the tour is the depot, positions 1..n are bins (shifted by one)
+        int[] xs = new int[n + 1];
+        int[] ys = new int[n + 1];
+        System.arraycopy(aisle, 0, xs, 1, n);
+        System.arraycopy(bay, 0, ys, 1, n);
+
+        int[] tour = nearestNeighbour(xs, ys, depth);
+        twoOpt(tour, xs, ys, depth);
+
+        int[] order = new int[n];
+        for (int i = 1; i <= n; i++) {
+            order[i - 1] = tour[i] - 1;
+        }
+        return new Route(order, length(tour, xs, ys, depth));
+    }
+
+    static int distance(int aisle1, int bay1, int aisle2, int bay2, int depth) {
+        if (aisle1 == aisle2) {
+            return Math.abs(bay1 - bay2);
+        }
+        int viaFront = bay1 + bay2;
+        int viaBack = 2 * depth - bay1 - bay2;
+        return Math.abs(aisle1 - aisle2) * AISLE_SPACING + Math.min(viaFront, viaBack);
+    }
+
+    private static int[] nearestNeighbour(int[] xs, int[] ys, int depth) {
+        int points = xs.length;
+        int[] tour = new int[points];
+        boolean[] visited = new boolean[points];
+        visited[0] = true;
+        int current = 0;
+        for (int position = 1; position < points; position++) {
+            int best = -1;
+            int bestDistance = Integer.MAX_VALUE;
+            for (int candidate = 1; candidate < points; candidate++) {
+                if (!visited[candidate]) {
+                    int d = distance(xs[current], ys[current], xs[candidate], ys[candidate], depth);
+                    if (d < bestDistance) {
+                        best = candidate;
+                        bestDistance = d;
+                    }
+                }
+            }
+            visited[best] = true;
+            tour[position] = best;
+            current = best;
+        }
+        return tour;
+    }
+
+    private static void twoOpt(int[] tour, int[] xs, int[] ys, int depth) {
+        int points = tour.length;
+        boolean improved = true;
+        for (int pass = 0; improved && pass < MAX_TWO_OPT_PASSES; pass++) {
+            improved = false;
+            for (int i = 1; i < points - 1; i++) {
+                for (int j = i + 1; j < points; j++) {
+                    int a = tour[i - 1];
+                    int b = tour[i];
+                    int c = tour[j];
+                    int d = tour[(j + 1) % points];
+                    int delta = distance(xs[a], ys[a], xs[c], ys[c], depth)
+                            + distance(xs[b], ys[b], xs[d], ys[d], depth)
+                            - distance(xs[a], ys[a], xs[b], ys[b], depth)
+                            - distance(xs[c], ys[c], xs[d], ys[d], depth);
+                    if (delta < 0) {
+                        reverse(tour, i, j);
+                        improved = true;
+                    }
+                }
+            }
+        }
+    }
+
+    private static void reverse(int[] tour, int from, int to) {
+        while (from < to) {
+            int swap = tour[from];
+            tour[from++] = tour[to];
+            tour[to--] = swap;
+        }
+    }
+
+    private static int length(int[] tour, int[] xs, int[] ys, int depth) {
+        int total = 0;
+        for (int i = 0; i < tour.length; i++) {
+            int from = tour[i];
+            int to = tour[(i + 1) % tour.length];
+            total += distance(xs[from], ys[from], xs[to], ys[to], depth);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,339 @@
+package com.logiflow.picking.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Groups pending order lines into pick waves and routes each wave through its bins.
+ * <p>
+ * Zones are planned independently as fork-join tasks. Within a zone, orders are sorted along the
+ * aisles and each wave starts from the first unplanned order, then takes the orders that share the
+ * most bins with it and tops up with the next orders along the aisles. Everything runs on primitive
+ * arrays indexed by the dense ids from {@link PickDemand}.
+ */
+@Component
+public class PickWavePlanner {
+
+    public record PlannedPick(String sku, int aisle, int bay, int quantity) {
+    }
+
+    public record PlannedWave(String zone, long[] orderIds, List<PlannedPick> picks, int routeLength) {
+    }
+
+    public List<PlannedWave> plan(PickDemand demand, int maxOrdersPerWave) {
+        if (demand.lineCount() == 0) {
+            return List.of();
+        }
+        int zones = demand.zoneCount();
+        int[] zoneStart = new int[zones + 1];
+        for (int line = 0; line < demand.lineCount(); line++) {
+            zoneStart[demand.zoneOf(line) + 1]++;
+        }
+        for (int zone = 0; zone < zones; zone++) {
+            zoneStart[zone + 1] += zoneStart[zone];
+        }
+        int[] zoneLines = new int[demand.lineCount()];
+        int[] fill = Arrays.copyOf(zoneStart, zones);
+        for (int line = 0; line < demand.lineCount(); line++) {
+            zoneLines[fill[demand.zoneOf(line)]++] = line;
+        }
+        return ForkJoinPool.commonPool().invoke(new ZoneTask(demand, zoneStart, zoneLines, maxOrdersPerWave, 0, zones));
+    }
+
+    private static final class ZoneTask extends RecursiveTask<List<PlannedWave>> {
+
+        private final PickDemand demand;
+        private final int[] zoneStart;
+        private final int[] zoneLines;
+        private final int maxOrdersPerWave;
+        private final int from;
+        private final int to;
+
+        ZoneTask(PickDemand demand, int[] zoneStart, int[] zoneLines, int maxOrdersPerWave, int from, int to) {
+            this.demand = demand;
+            this.zoneStart = zoneStart;
+            this.zoneLines = zoneLines;
+            this.maxOrdersPerWave = maxOrdersPerWave;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<PlannedWave> compute() {
+            if (to - from == 1) {
+                int[] lines = Arrays.copyOfRange(zoneLines, zoneStart[from], zoneStart[from + 1]);
+                return new ZonePlan(demand, from, lines).planWaves(maxOrdersPerWave);
+            }
+            int mid = (from + to) >>> 1;
+            ZoneTask left = new ZoneTask(demand, zoneStart, zoneLines, maxOrdersPerWave, from, mid);
+            left.fork();
+            List<PlannedWave> right = new ZoneTask(demand, zoneStart, zoneLines, maxOrdersPerWave, mid, to).compute();
+            List<PlannedWave> waves = new ArrayList<>(left.join());
+            waves.addAll(right);
+            return waves;
+        }
+    }
+
+    /**
+     * Working arrays for one zone. Line positions below index into {@code lines}; orders and bins use
+     * zone-local ids.
+     */
+    private static final class ZonePlan {
+
+        private final PickDemand demand;
+        private final int zone;
+        private final int[] lines;
+
+        private final int[] lineBin;
+        private final int[] binAisle;
+        private final int[] binBay;
+        private final int depth;
+
+        private final long[] orderIds;
+        private final int[] orderStart;
+        private final int[] orderLines;
+        private final int[] binStart;
+        private final int[] binOrders;
+
+        ZonePlan(PickDemand demand, int zone, int[] lines) {
+            this.demand = demand;
+            this.zone = zone;
+            this.lines = lines;
+            int n = lines.length;
+
+            // Bins sorted by (aisle, bay), so a lower bin id is further along the aisles
+            long[] binKeys = new long[n];
+            for (int pos = 0; pos < n; pos++) {
+                int key = demand.aisle(lines[pos]) << 16 | demand.bay(lines[pos]);
+                binKeys[pos] = (long) key << 32 | pos;
+            }
+            Arrays.sort(binKeys);
+            lineBin = new int[n];
+            int[] aisles = new int[n];
+            int[] bays = new int[n];
+            int bins = 0;
+            long previous = -1;
+            int deepest = 0;
+            for (long binKey : binKeys) {
+                int pos = (int) binKey;
+                long key = binKey >>> 32;
+                if (key != previous) {
+                    aisles[bins] = demand.aisle(lines[pos]);
+                    bays[bins] = demand.bay(lines[pos]);
+                    deepest = Math.max(deepest, bays[bins]);
+                    bins++;
+                    previous = key;
+                }
+                lineBin[pos] = bins - 1;
+            }
+            binAisle = Arrays.copyOf(aisles, bins);
+            binBay = Arrays.copyOf(bays, bins);
+            depth = deepest + 1;
+
+            // Zone-local orders and their lines
+            int[] localOf = new int[demand.orderCount()];
+            Arrays.fill(localOf, -1);
+            long[] ids = new long[n];
+            int[] lineOrder = new int[n];
+            int orders = 0;
+            for (int pos = 0; pos < n; pos++) {
+                int global = demand.orderOf(lines[pos]);
+                if (localOf[global] < 0) {
+                    localOf[global] = orders;
+                    ids[orders++] = demand.orderId(global);
+                }
+                lineOrder[pos] = localOf[global];
+            }
+            orderIds = Arrays.copyOf(ids, orders);
+            orderStart = new int[orders + 1];
+            for (int pos = 0; pos < n; pos++) {
+                orderStart[lineOrder[pos] + 1]++;
+            }
+            for (int order = 0; order < orders; order++) {
+                orderStart[order + 1] += orderStart[order];
+            }
+            orderLines = new int[n];
+            int[] fill = Arrays.copyOf(orderStart, orders);
+            for (int pos = 0; pos < n; pos++) {
+                orderLines[fill[lineOrder[pos]]++] = pos;
+            }
+
+            // Inverted index: bin -> orders that pick from it, each order listed once
+            binStart = new int[bins + 1];
+            int[] lastOrder = new int[bins];
+            Arrays.fill(lastOrder, -1);
+            for (int order = 0; order < orders; order++) {
+                for (int i = orderStart[order]; i < orderStart[order + 1]; i++) {
+                    int bin = lineBin[orderLines[i]];
+                    if (lastOrder[bin] != order) {
+                        lastOrder[bin] = order;
+                        binStart[bin + 1]++;
+                    }
+                }
+            }
+            for (int bin = 0; bin < bins; bin++) {
+                binStart[bin + 1] += binStart[bin];
+            }
+            binOrders = new int[binStart[bins]];
+            int[] binFill = Arrays.copyOf(binStart, bins);
+            Arrays.fill(lastOrder, -1);
+            for (int order = 0; order < orders; order++) {
+                for (int i = orderStart[order]; i < orderStart[order + 1]; i++) {
+                    int bin = lineBin[orderLines[i]];
+                    if (lastOrder[bin] != order) {
+                        lastOrder[bin] = order;
+                        binOrders[binFill[bin]++] = order;
+                    }
+                }
+            }
+        }
+
+        List<PlannedWave> planWaves(int maxOrdersPerWave) {
+            int orders = orderIds.length;
+            int[] sorted = sortAlongAisles();
+            int[] rank = new int[orders];
+            for (int position = 0; position < orders; position++) {
+                rank[sorted[position]] = position;
+            }
+
+            boolean[] assigned = new boolean[orders];
+            int[] shared = new int[orders];
+            int[] touched = new int[orders];
+            int[] members = new int[maxOrdersPerWave];
+            List<PlannedWave> waves = new ArrayList<>();
+            int cursor = 0;
+            while (true) {
+                while (cursor < orders && assigned[sorted[cursor]]) {
+                    cursor++;
+                }
+                if (cursor == orders) {
+                    return waves;
+                }
+
+                int seed = sorted[cursor];
+                assigned[seed] = true;
+                int size = 0;
+                members[size++] = seed;
+
+                int touchedCount = 0;
+                for (int i = orderStart[seed]; i < orderStart[seed + 1]; i++) {
+                    int bin = lineBin[orderLines[i]];
+                    for (int j = binStart[bin]; j < binStart[bin + 1]; j++) {
+                        int order = binOrders[j];
+                        if (!assigned[order] && shared[order]++ == 0) {
+                            touched[touchedCount++] = order;
+                        }
+                    }
+                }
+
+                // Most shared bins first, ties broken by position along the aisles
+                long[] candidates = new long[touchedCount];
+                for (int t = 0; t < touchedCount; t++) {
+                    int order = touched[t];
+                    candidates[t] = (long) (Integer.MAX_VALUE - shared[order]) << 32 | rank[order];
+                    shared[order] = 0;
+                }
+                Arrays.sort(candidates);
+                for (int c = 0; c < candidates.length && size < maxOrdersPerWave; c++) {
+                    int order = sorted[(int) candidates[c]];
+                    assigned[order] = true;
+                    members[size++] = order;
+                }
+
+                for (int next = cursor + 1; next < orders && size < maxOrdersPerWave; next++) {
+                    int order = sorted[next];
+                    if (!assigned[order]) {
+                        assigned[order] = true;
+                        members[size++] = order;
+                    }
+                }
+                waves.add(buildWave(members, size));
+            }
+        }
+
+        private int[] sortAlongAisles() {
+            int orders = orderIds.length;
+            long[] keys = new long[orders];
+            for (int order = 0; order < orders; order++) {
+                int firstBin = Integer.MAX_VALUE;
+                for (int i = orderStart[order]; i < orderStart[order + 1]; i++) {
+                    firstBin = Math.min(firstBin, lineBin[orderLines[i]]);
+                }
+                keys[order] = (long) firstBin << 32 | order;
+            }
+            Arrays.sort(keys);
+            int[] sorted = new int[orders];
+            for (int position = 0; position < orders; position++) {
+                sorted[position] = (int) keys[position];
+            }
+            return sorted;
+        }
+
+        private PlannedWave buildWave(int[] members, int size) {
+            int lineTotal = 0;
+            for (int m = 0; m < size; m++) {
+                lineTotal += orderStart[members[m] + 1] - orderStart[members[m]];
+            }
+
+            // One pick per (bin, SKU); keys sort by bin first
+            long[] keys = new long[lineTotal];
+            int k = 0;
+            for (int m = 0; m < size; m++) {
+                for (int i = orderStart[members[m]]; i < orderStart[members[m] + 1]; i++) {
+                    int pos = orderLines[i];
+                    keys[k++] = (long) lineBin[pos] << 32 | demand.skuOf(lines[pos]);
+                }
+            }
+            long[] picks = keys.clone();
+            Arrays.sort(picks);
+            int pickCount = 0;
+            for (int i = 0; i < picks.length; i++) {
+                if (i == 0 || picks[i] != picks[i - 1]) {
+                    picks[pickCount++] = picks[i];
+                }
+            }
+            int[] quantities = new int[pickCount];
+            k = 0;
+            for (int m = 0; m < size; m++) {
+                for (int i = orderStart[members[m]]; i < orderStart[members[m] + 1]; i++) {
+                    int pick = Arrays.binarySearch(picks, 0, pickCount, keys[k++]);
+                    quantities[pick] += demand.quantity(lines[orderLines[i]]);
+                }
+            }
+
+            int[] firstPick = new int[pickCount + 1];
+            int[] aisles = new int[pickCount];
+            int[] bays = new int[pickCount];
+            int stops = 0;
+            for (int pick = 0; pick < pickCount; pick++) {
+                if (pick == 0 || (picks[pick] >>> 32) != (picks[pick - 1] >>> 32)) {
+                    int bin = (int) (picks[pick] >>> 32);
+                    firstPick[stops] = pick;
+                    aisles[stops] = binAisle[bin];
+                    bays[stops] = binBay[bin];
+                    stops++;
+                }
+            }
+            firstPick[stops] = pickCount;
+
+            PickRouter.Route route = PickRouter.route(Arrays.copyOf(aisles, stops), Arrays.copyOf(bays, stops), depth);
+            List<PlannedPick> planned = new ArrayList<>(pickCount);
+            for (int stop : route.order()) {
+                for (int pick = firstPick[stop]; pick < firstPick[stop + 1]; pick++) {
+                    planned.add(new PlannedPick(demand.skuName((int) picks[pick]), aisles[stop], bays[stop], quantities[pick]));
+                }
+            }
+
+            long[] waveOrders = new long[size];
+            for (int m = 0; m < size; m++) {
+                waveOrders[m] = orderIds[members[m]];
+            }
+            return new PlannedWave(demand.zoneName(zone), waveOrders, planned, route.length());
+        }
+    }
+}
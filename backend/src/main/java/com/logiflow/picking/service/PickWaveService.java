@@ -0,0 +1,131 @@
+package com.logiflow.picking.service;
+
+import com.logiflow.inventory.model.Warehouse;
+import com.logiflow.inventory.service.WarehouseService;
+import com.logiflow.picking.dto.PickWaveResponseDTO;
+import com.logiflow.picking.dto.PickWaveSummaryDTO;
+import com.logiflow.picking.mapper.PickWaveMapper;
+import com.logiflow.picking.model.PickTask;
+import com.logiflow.picking.model.PickWave;
+import com.logiflow.picking.repository.PickWaveRepository;
+import com.logiflow.picking.service.PickWavePlanner.PlannedPick;
+import com.logiflow.picking.service.PickWavePlanner.PlannedWave;
+import com.logiflow.shared.exception.PickWaveNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PickWaveService {
+
+    // Pending orders shipping from the warehouse that are not in a wave yet, with the bin of each line
+    private static final String PENDING_LINES_SQL = """
+            SELECT oi.order_id, oi.sku, oi.quantity, i.bin_zone, i.bin_aisle, i.bin_bay
+            FROM order_items oi
+            JOIN (SELECT o.id FROM orders o
+                  WHERE o.status = 'PENDING'
+                    AND EXISTS (SELECT 1 FROM order_items x WHERE x.order_id = o.id AND x.warehouse_code = ?)
+                    AND NOT EXISTS (SELECT 1 FROM pick_wave_orders pwo JOIN pick_waves pw ON pw.id = pwo.wave_id
+                                    WHERE pwo.order_id = o.id AND pw.warehouse_code = ?)
+                  ORDER BY o.id
+                  LIMIT ?) pending ON pending.id = oi.order_id
+            LEFT JOIN inventories i ON i.warehouse_id = ? AND i.sku = oi.sku
+            WHERE oi.warehouse_code = ?
+            """;
+
+    private final PickWaveRepository pickWaveRepository;
+    private final PickWavePlanner pickWavePlanner;
+    private final PickWaveMapper pickWaveMapper;
+    private final WarehouseService warehouseService;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.picking.max-orders-per-wave:40}")
+    private int maxOrdersPerWave;
+
+    @Value("${app.picking.max-orders-per-run:20000}")
+    private int maxOrdersPerRun;
+
+    @Transactional
+    public List<PickWaveSummaryDTO> planWaves(String warehouseCode) {
+        Warehouse warehouse = warehouseService.getByCode(warehouseCode);
+        // Serialises planning per warehouse so two runs never put the same order in a wave
+        jdbcTemplate.query("SELECT pg_advisory_xact_lock(hashtext(?))", (RowCallbackHandler) _ -> {
+        }, "pick-waves:" + warehouseCode);
+
+        long started = System.nanoTime();
+        PickDemand demand = loadPendingLines(warehouse);
+        List<PlannedWave> planned = pickWavePlanner.plan(demand, maxOrdersPerWave);
+        long plannedAt = System.nanoTime();
+
+        List<PickWave> waves = pickWaveRepository.saveAll(planned.stream()
+                .map(wave -> toEntity(warehouseCode, wave))
+                .toList());
+        log.info("Planned {} pick waves for {} orders ({} lines) in warehouse {}: planning {} ms, total {} ms",
+                waves.size(), demand.orderCount(), demand.lineCount(), warehouseCode,
+                (plannedAt - started) / 1_000_000, (System.nanoTime() - started) / 1_000_000);
+        return waves.stream()
+                .map(pickWaveMapper::toSummary)
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public Page<PickWaveSummaryDTO> getWaves(String warehouseCode, Pageable pageable) {
+        return pickWaveRepository.findByWarehouseCode(warehouseCode, pageable)
+                .map(pickWaveMapper::toSummary);
+    }
+
+    @Transactional(readOnly = true)
+    public PickWaveResponseDTO getWave(Long id) {
+        return pickWaveRepository.findWithTasksById(id)
+                .map(pickWaveMapper::toDto)
+                .orElseThrow(() -> new PickWaveNotFoundException(id));
+    }
+
+    private PickDemand loadPendingLines(Warehouse warehouse) {
+        PickDemand demand = new PickDemand();
+        jdbcTemplate.query(PENDING_LINES_SQL,
+                (RowCallbackHandler) rs -> demand.add(
+                        rs.getLong(1),
+                        rs.getString(2),
+                        rs.getInt(3),
+                        rs.getString(4),
+                        rs.getObject(5, Integer.class),
+                        rs.getObject(6, Integer.class)),
+                warehouse.getCode(), warehouse.getCode(), maxOrdersPerRun, warehouse.getId(), warehouse.getCode());
+        return demand;
+    }
+
+    private PickWave toEntity(String warehouseCode, PlannedWave planned) {
+        PickWave wave = PickWave.builder()
+                .warehouseCode(warehouseCode)
+                .zone(planned.zone())
+                .orderIds(Arrays.stream(planned.orderIds()).boxed().collect(Collectors.toSet()))
+                .orderCount(planned.orderIds().length)
+                .taskCount(planned.picks().size())
+                .routeLength(planned.routeLength())
+                .build();
+        int sequence = 1;
+        for (PlannedPick pick : planned.picks()) {
+            wave.addTask(PickTask.builder()
+                    .sequence(sequence++)
+                    .sku(pick.sku())
+                    .aisle(pick.aisle())
+                    .bay(pick.bay())
+                    .quantity(pick.quantity())
+                    .build());
+        }
+        return wave;
+    }
+}
@@ -0,0 +1,96 @@
+package com.logiflow.promotion.controller;
+
+import com.logiflow.promotion.dto.PromotionRequestDTO;
+import com.logiflow.promotion.dto.PromotionResponseDTO;
+import com.logiflow.promotion.service.PromotionService;
+import com.logiflow.shared.dto.ErrorResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/promotions")
+@RequiredArgsConstructor
+@PreAuthorize("hasAnyRole('SUPER_ADMIN', 'ADMIN')")
+@Tag(name = "Promotions", description = "Pricing rules applied to quotes and orders")
+public class PromotionController {
+
+    private final PromotionService promotionService;
+
+    @GetMapping
+    @Operation(summary = "Get promotions", description = "Returns a paginated list of promotions")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved promotions")
+    })
+    public Page<PromotionResponseDTO> getPromotions(
+            @Parameter(description = "Only promotions that have not been deleted") @RequestParam(defaultValue = "true") boolean activeOnly,
+            @Parameter(description = "Pageable parameters (page, size, sort)") Pageable pageable) {
+        return promotionService.getPromotions(activeOnly, pageable);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get promotion by ID")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Promotion found",
+                    content = @Content(schema = @Schema(implementation = PromotionResponseDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Promotion not found",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<PromotionResponseDTO> getPromotion(
+            @Parameter(description = "Promotion ID") @PathVariable Long id) {
+        return ResponseEntity.ok(promotionService.getPromotion(id));
+    }
+
+    @PostMapping
+    @Operation(summary = "Create a promotion", description = "Creates a pricing rule. It applies to new quotes and orders within seconds on every node.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Promotion created",
+                    content = @Content(schema = @Schema(implementation = PromotionResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input data - validation failed, or the amount for the promotion type is missing",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<PromotionResponseDTO> createPromotion(@Valid @RequestBody PromotionRequestDTO dto) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(promotionService.createPromotion(dto));
+    }
+
+    @PutMapping("/{id}")
+    @Operation(summary = "Update a promotion")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Promotion updated",
+                    content = @Content(schema = @Schema(implementation = PromotionResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input data - validation failed, or the amount for the promotion type is missing",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Promotion not found",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<PromotionResponseDTO> updatePromotion(
+            @Parameter(description = "Promotion ID") @PathVariable Long id,
+            @Valid @RequestBody PromotionRequestDTO dto) {
+        return ResponseEntity.ok(promotionService.updatePromotion(id, dto));
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Deactivate a promotion", description = "Stops applying the promotion; the row is kept for audit purposes")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Promotion deactivated"),
+            @ApiResponse(responseCode = "404", description = "Promotion not found",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<Void> deactivatePromotion(
+            @Parameter(description = "Promotion ID") @PathVariable Long id) {
+        promotionService.deactivatePromotion(id);
+        return ResponseEntity.noContent().build();
+    }
+}
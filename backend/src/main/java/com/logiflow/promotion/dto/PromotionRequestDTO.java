@@ -0,0 +1,59 @@
+package com.logiflow.promotion.dto;
+
+import com.logiflow.promotion.model.PromotionType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Schema(description = "Request payload for creating or updating a promotion")
+public record PromotionRequestDTO(
+        @Schema(description = "Display name", example = "Spring mouse sale", requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotBlank(message = "Promotion name must not be blank")
+        String name,
+
+        @Schema(description = "Kind of price change", requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotNull(message = "Promotion type is required")
+        PromotionType type,
+
+        @Schema(description = "SKU the promotion applies to; leave empty to target an attribute or the whole catalog", example = "WM-001")
+        String sku,
+
+        @Schema(description = "Product attribute to match, together with attributeValue", example = "color")
+        String attributeName,
+
+        @Schema(description = "Value the product attribute must have", example = "black")
+        String attributeValue,
+
+        @Schema(description = "Only orders for this customer group get the promotion; empty for everyone", example = "WHOLESALE")
+        String customerGroup,
+
+        @Schema(description = "Smallest line quantity the promotion applies to", example = "1")
+        @Positive(message = "Minimum quantity must be positive")
+        Integer minQuantity,
+
+        @Schema(description = "Percentage taken off the unit price (PERCENT_OFF)", example = "15")
+        @DecimalMin(value = "0.01", message = "Percent off must be greater than zero")
+        @DecimalMax(value = "100", message = "Percent off must be at most 100")
+        BigDecimal percentOff,
+
+        @Schema(description = "Unit price (FIXED_PRICE)", example = "24.99")
+        @DecimalMin(value = "0", message = "Price must not be negative")
+        BigDecimal price,
+
+        @Schema(description = "Units to pay for (BUY_X_GET_Y)", example = "2")
+        @Positive(message = "Buy quantity must be positive")
+        Integer buyQuantity,
+
+        @Schema(description = "Units given free on top of buyQuantity (BUY_X_GET_Y)", example = "1")
+        @Positive(message = "Free quantity must be positive")
+        Integer freeQuantity,
+
+        @Schema(description = "Start of the promotion; empty to start immediately", example = "2026-03-01T00:00:00")
+        LocalDateTime startsAt,
+
+        @Schema(description = "End of the promotion, exclusive; empty to run until deactivated", example = "2026-04-01T00:00:00")
+        LocalDateTime endsAt
+) {
+}
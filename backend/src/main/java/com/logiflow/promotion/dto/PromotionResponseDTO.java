@@ -0,0 +1,59 @@
+package com.logiflow.promotion.dto;
+
+import com.logiflow.promotion.model.PromotionType;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Schema(description = "Response payload representing a promotion")
+public record PromotionResponseDTO(
+        @Schema(description = "Unique promotion identifier", example = "1")
+        Long id,
+
+        @Schema(description = "Display name", example = "Spring mouse sale")
+        String name,
+
+        @Schema(description = "Kind of price change")
+        PromotionType type,
+
+        @Schema(description = "Targeted SKU", example = "WM-001")
+        String sku,
+
+        @Schema(description = "Targeted product attribute", example = "color")
+        String attributeName,
+
+        @Schema(description = "Value the product attribute must have", example = "black")
+        String attributeValue,
+
+        @Schema(description = "Customer group the promotion is limited to", example = "WHOLESALE")
+        String customerGroup,
+
+        @Schema(description = "Smallest line quantity the promotion applies to", example = "1")
+        Integer minQuantity,
+
+        @Schema(description = "Percentage taken off the unit price", example = "15")
+        BigDecimal percentOff,
+
+        @Schema(description = "Unit price", example = "24.99")
+        BigDecimal price,
+
+        @Schema(description = "Units to pay for", example = "2")
+        Integer buyQuantity,
+
+        @Schema(description = "Units given free on top of buyQuantity", example = "1")
+        Integer freeQuantity,
+
+        @Schema(description = "Start of the promotion", example = "2026-03-01T00:00:00")
+        LocalDateTime startsAt,
+
+        @Schema(description = "End of the promotion, exclusive", example = "2026-04-01T00:00:00")
+        LocalDateTime endsAt,
+
+        @Schema(description = "Whether the promotion is in use (false once deleted)", example = "true")
+        Boolean active,
+
+        @Schema(description = "Last change", example = "2026-02-20T09:15:00")
+        LocalDateTime updatedAt
+) {
+}
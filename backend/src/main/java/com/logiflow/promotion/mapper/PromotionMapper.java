@@ -0,0 +1,54 @@
+package com.logiflow.promotion.mapper;
+
+import com.logiflow.promotion.dto.PromotionRequestDTO;
+import com.logiflow.promotion.dto.PromotionResponseDTO;
+import com.logiflow.promotion.model.Promotion;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+@Component
+public class PromotionMapper {
+
+    public void updateEntity(Promotion promotion, PromotionRequestDTO dto) {
+        promotion.setName(dto.name());
+        promotion.setType(dto.type());
+        promotion.setSku(blankToNull(dto.sku()));
+        promotion.setAttributeName(blankToNull(dto.attributeName()));
+        promotion.setAttributeValue(blankToNull(dto.attributeValue()));
+        promotion.setCustomerGroup(blankToNull(dto.customerGroup()));
+        promotion.setMinQuantity(Objects.requireNonNullElse(dto.minQuantity(), 1));
+        promotion.setPercentOff(dto.percentOff());
+        promotion.setPrice(dto.price());
+        promotion.setBuyQuantity(dto.buyQuantity());
+        promotion.setFreeQuantity(dto.freeQuantity());
+        promotion.setStartsAt(dto.startsAt());
+        promotion.setEndsAt(dto.endsAt());
+    }
+
+    public PromotionResponseDTO toDto(Promotion promotion) {
+        if (promotion == null) return null;
+        return new PromotionResponseDTO(
+                promotion.getId(),
+                promotion.getName(),
+                promotion.getType(),
+                promotion.getSku(),
+                promotion.getAttributeName(),
+                promotion.getAttributeValue(),
+                promotion.getCustomerGroup(),
+                promotion.getMinQuantity(),
+                promotion.getPercentOff(),
+                promotion.getPrice(),
+                promotion.getBuyQuantity(),
+                promotion.getFreeQuantity(),
+                promotion.getStartsAt(),
+                promotion.getEndsAt(),
+                promotion.isActive(),
+                promotion.getUpdatedAt()
+        );
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
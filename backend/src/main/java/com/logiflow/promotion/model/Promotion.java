@@ -0,0 +1,79 @@
+package com.logiflow.promotion.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A pricing rule. It targets one SKU, every product with a given attribute value, or the whole
+ * catalog when neither is set, and can be limited to a customer group, a minimum line quantity and a
+ * time window.
+ */
+@Entity
+@Table(
+        name = "promotions",
+        indexes = {
+                @Index(name = "idx_promotions_active", columnList = "active")
+        }
+)
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class Promotion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "promotions_seq")
+    @SequenceGenerator(name = "promotions_seq", sequenceName = "promotions_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PromotionType type;
+
+    private String sku;
+
+    private String attributeName;
+
+    private String attributeValue;
+
+    private String customerGroup;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private int minQuantity = 1;
+
+    @Column(precision = 5, scale = 2)
+    private BigDecimal percentOff;
+
+    @Column(precision = 19, scale = 2)
+    private BigDecimal price;
+
+    private Integer buyQuantity;
+
+    private Integer freeQuantity;
+
+    private LocalDateTime startsAt;
+
+    private LocalDateTime endsAt;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private boolean active = true;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,15 @@
+package com.logiflow.promotion.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "How a promotion changes the price of the lines it applies to")
+public enum PromotionType {
+    @Schema(description = "Takes percentOff percent off the unit price")
+    PERCENT_OFF,
+
+    @Schema(description = "Sets the unit price; with minQuantity above 1 it is a quantity tier, with customerGroup a group price")
+    FIXED_PRICE,
+
+    @Schema(description = "For every buyQuantity + freeQuantity units, freeQuantity of them are free")
+    BUY_X_GET_Y
+}
@@ -0,0 +1,24 @@
+package com.logiflow.promotion.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Single-row counter of promotion changes. Every change increments it in its own transaction, so
+ * the row lock orders changes by commit and a node that has seen a value has seen every change up
+ * to it. Written by {@code PromotionVersionRepository#increment()}.
+ */
+@Entity
+@Table(name = "promotion_versions")
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Builder
+public class PromotionVersion {
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private long version;
+}
@@ -0,0 +1,15 @@
+package com.logiflow.promotion.repository;
+
+import com.logiflow.promotion.model.Promotion;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface PromotionRepository extends JpaRepository<Promotion, Long> {
+
+    List<Promotion> findByActiveTrue();
+
+    Page<Promotion> findByActiveTrue(Pageable pageable);
+}
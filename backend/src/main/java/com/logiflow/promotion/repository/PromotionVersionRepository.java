@@ -0,0 +1,20 @@
+package com.logiflow.promotion.repository;
+
+import com.logiflow.promotion.model.PromotionVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+
+public interface PromotionVersionRepository extends JpaRepository<PromotionVersion, Integer> {
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO promotion_versions (id, version) VALUES (1, 1)
+            ON CONFLICT (id) DO UPDATE SET version = promotion_versions.version + 1""", nativeQuery = true)
+    void increment();
+
+    @Query("SELECT v.version FROM PromotionVersion v WHERE v.id = 1")
+    Optional<Long> findCurrent();
+}
@@ -0,0 +1,118 @@
+package com.logiflow.promotion.service;
+
+import com.logiflow.catalog.dto.ProductResponseDTO;
+import com.logiflow.promotion.model.Promotion;
+import com.logiflow.promotion.repository.PromotionRepository;
+import com.logiflow.promotion.repository.PromotionVersionRepository;
+import com.logiflow.shared.event.PromotionChangedEvent;
+import com.logiflow.shared.money.Money;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Applies the active promotions to order and quote prices from an in-memory {@link PromotionRules}
+ * snapshot, so pricing never waits on the database.
+ * <p>
+ * The snapshot is recompiled when a promotion changes on this node and, for changes made on other
+ * nodes, whenever the promotion version counter moves. Every change increments that counter in its
+ * own transaction, so unlike a timestamp it cannot be passed by a change that commits late. It is
+ * also the version quotes record, so a quote priced under other promotions is re-priced.
+ */
+@Service
+@Slf4j
+public class PromotionEngine {
+
+    private final PromotionRepository promotionRepository;
+    private final PromotionVersionRepository promotionVersionRepository;
+    private final Clock clock;
+
+    @Value("${app.pricing.currency:USD}")
+    private Currency currency = Currency.getInstance("USD");
+
+    private volatile PromotionRules rules = PromotionRules.EMPTY;
+
+    @Autowired
+    public PromotionEngine(PromotionRepository promotionRepository, PromotionVersionRepository promotionVersionRepository) {
+        this(promotionRepository, promotionVersionRepository, Clock.systemDefaultZone());
+    }
+
+    PromotionEngine(PromotionRepository promotionRepository, PromotionVersionRepository promotionVersionRepository,
+                    Clock clock) {
+        this.promotionRepository = promotionRepository;
+        this.promotionVersionRepository = promotionVersionRepository;
+        this.clock = clock;
+    }
+
+    public long version() {
+        return rules.version();
+    }
+
+    /**
+     * @return when an active promotion next starts or ends. That changes prices without moving the
+     * {@link #version()}, so prices computed now are only good until then.
+     */
+    public Optional<Instant> nextChange() {
+        long next = rules.nextChange(clock.millis());
+        return next == Long.MAX_VALUE ? Optional.empty() : Optional.of(Instant.ofEpochMilli(next));
+    }
+
+    /**
+     * @return the unit price of each product after promotions, keyed by SKU
+     */
+    public Map<String, Money> apply(Collection<ProductResponseDTO> products, Map<String, Integer> quantities,
+                                    String customerGroup) {
+        PromotionRules current = rules;
+        long now = clock.millis();
+        Map<String, Money> prices = HashMap.newHashMap(products.size());
+        for (ProductResponseDTO product : products) {
+            Money listPrice = Money.of(product.price(), currency);
+            Integer quantity = quantities.get(product.sku());
+            prices.put(product.sku(), quantity == null ? listPrice
+                    : current.unitPrice(product.sku(), product.attributes(), listPrice, quantity, customerGroup, now));
+        }
+        return prices;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.promotions.refresh-interval-ms:10000}")
+    public void refresh() {
+        long version = promotionVersionRepository.findCurrent().orElse(0L);
+        if (version != rules.version()) {
+            recompile(version);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPromotionChanged(PromotionChangedEvent event) {
+        refresh();
+    }
+
+    private synchronized void recompile(long version) {
+        if (version == rules.version()) {
+            return;
+        }
+        long started = System.nanoTime();
+        // Read after the version: rules newer than their label only cost another recompile and re-priced quotes
+        List<Promotion> active = promotionRepository.findByActiveTrue();
+        PromotionRules compiled = PromotionRules.compile(active, version, ZoneId.systemDefault(), currency);
+        rules = compiled;
+        log.info("Compiled {} active promotions in {} ms", compiled.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+}
@@ -0,0 +1,189 @@
+package com.logiflow.promotion.service;
+
+import com.logiflow.promotion.model.Promotion;
+import com.logiflow.promotion.model.PromotionType;
+import com.logiflow.shared.money.Money;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * Active promotions compiled into lookup tables: one keyed by SKU, one keyed by attribute name and
+ * value, and a list of catalog-wide rules. Pricing a line only visits the rules filed under its SKU
+ * and its own attribute values, so the cost grows with the rules that can apply rather than with
+ * the number of promotions. Instances are immutable and replaced as a whole when promotions change.
+ * <p>
+ * Price rules do not stack: the lowest of the list price, the fixed prices and the percent-off
+ * prices wins. Buy-X-get-Y then makes some units free, and the line is charged the average price of
+ * its units. All of it runs on minor units, rounding half up to a whole minor unit after each rule.
+ */
+final class PromotionRules {
+
+    // Matches no stored version, so the first refresh always compiles
+    static final PromotionRules EMPTY = new PromotionRules(-1, Map.of(), Map.of(), new Rule[0], 0, new long[0]);
+
+    private static final long BASIS_POINTS = 10_000;
+
+    private final long version;
+    private final Map<String, Rule[]> bySku;
+    private final Map<String, Map<String, Rule[]>> byAttribute;
+    private final Rule[] global;
+    private final int size;
+    // Every start and end time of the rules, sorted
+    private final long[] boundaries;
+
+    // price in minor units, percentOff in basis points
+    record Rule(PromotionType type, String customerGroup, int minQuantity, long price, long percentOff,
+                int buyQuantity, int freeQuantity, long startsAt, long endsAt) {
+
+        boolean applies(String group, int quantity, long now) {
+            return quantity >= minQuantity
+                    && now >= startsAt && now < endsAt
+                    && (customerGroup == null || customerGroup.equals(group));
+        }
+    }
+
+    private PromotionRules(long version, Map<String, Rule[]> bySku, Map<String, Map<String, Rule[]>> byAttribute,
+                           Rule[] global, int size, long[] boundaries) {
+        this.version = version;
+        this.bySku = bySku;
+        this.byAttribute = byAttribute;
+        this.global = global;
+        this.size = size;
+        this.boundaries = boundaries;
+    }
+
+    static PromotionRules compile(Collection<Promotion> promotions, long version, ZoneId zone, Currency currency) {
+        Map<String, List<Rule>> bySku = new HashMap<>();
+        Map<String, Map<String, List<Rule>>> byAttribute = new HashMap<>();
+        List<Rule> global = new ArrayList<>();
+        long[] boundaries = new long[promotions.size() * 2];
+        int boundaryCount = 0;
+        for (Promotion promotion : promotions) {
+            Rule rule = toRule(promotion, zone, currency);
+            if (rule.startsAt() != Long.MIN_VALUE) {
+                boundaries[boundaryCount++] = rule.startsAt();
+            }
+            if (rule.endsAt() != Long.MAX_VALUE) {
+                boundaries[boundaryCount++] = rule.endsAt();
+            }
+            if (promotion.getSku() != null) {
+                bySku.computeIfAbsent(promotion.getSku(), _ -> new ArrayList<>()).add(rule);
+            } else if (promotion.getAttributeName() != null) {
+                byAttribute.computeIfAbsent(promotion.getAttributeName(), _ -> new HashMap<>())
+                        .computeIfAbsent(promotion.getAttributeValue(), _ -> new ArrayList<>())
+                        .add(rule);
+            } else {
+                global.add(rule);
+            }
+        }
+
+        Map<String, Map<String, Rule[]>> attributeIndex = HashMap.newHashMap(byAttribute.size());
+        byAttribute.forEach((name, values) -> attributeIndex.put(name, toArrays(values)));
+        long[] sorted = Arrays.copyOf(boundaries, boundaryCount);
+        Arrays.sort(sorted);
+        return new PromotionRules(version, toArrays(bySku), attributeIndex, global.toArray(Rule[]::new),
+                promotions.size(), sorted);
+    }
+
+    long version() {
+        return version;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return the first time after {@code now} at which a rule starts or ends, or {@link Long#MAX_VALUE}
+     */
+    long nextChange(long now) {
+        int index = Arrays.binarySearch(boundaries, now);
+        int next = index >= 0 ? index + 1 : -index - 1;
+        // Equal boundaries sit next to each other
+        while (next < boundaries.length && boundaries[next] <= now) {
+            next++;
+        }
+        return next < boundaries.length ? boundaries[next] : Long.MAX_VALUE;
+    }
+
+    Money unitPrice(String sku, Map<String, ?> attributes, Money listPrice, int quantity,
+                    String customerGroup, long now) {
+        LinePrice line = new LinePrice(listPrice.minorUnits(), quantity, customerGroup, now);
+        line.apply(bySku.get(sku));
+        if (attributes != null && !byAttribute.isEmpty()) {
+            for (Map.Entry<String, ?> attribute : attributes.entrySet()) {
+                Map<String, Rule[]> values = byAttribute.get(attribute.getKey());
+                if (values != null && attribute.getValue() != null) {
+                    line.apply(values.get(attribute.getValue().toString()));
+                }
+            }
+        }
+        line.apply(global);
+        long unitPrice = line.unitPrice();
+        return unitPrice == listPrice.minorUnits() ? listPrice : new Money(unitPrice, listPrice.currency());
+    }
+
+    private static Rule toRule(Promotion promotion, ZoneId zone, Currency currency) {
+        return new Rule(
+                promotion.getType(),
+                promotion.getCustomerGroup(),
+                promotion.getMinQuantity(),
+                promotion.getPrice() == null ? 0 : Money.of(promotion.getPrice(), currency).minorUnits(),
+                promotion.getPercentOff() == null ? 0 : promotion.getPercentOff().movePointRight(2).longValue(),
+                Objects.requireNonNullElse(promotion.getBuyQuantity(), 0),
+                Objects.requireNonNullElse(promotion.getFreeQuantity(), 0),
+                toMillis(promotion.getStartsAt(), zone, Long.MIN_VALUE),
+                toMillis(promotion.getEndsAt(), zone, Long.MAX_VALUE));
+    }
+
+    private static long toMillis(LocalDateTime time, ZoneId zone, long otherwise) {
+        return time == null ? otherwise : time.atZone(zone).toInstant().toEpochMilli();
+    }
+
+    private static Map<String, Rule[]> toArrays(Map<String, List<Rule>> rules) {
+        Map<String, Rule[]> arrays = HashMap.newHashMap(rules.size());
+        rules.forEach((key, list) -> arrays.put(key, list.toArray(Rule[]::new)));
+        return arrays;
+    }
+
+    private static final class LinePrice {
+        private final long listPrice;
+        private final int quantity;
+        private final String customerGroup;
+        private final long now;
+        private long unitPrice;
+        private int freeUnits;
+
+        private LinePrice(long listPrice, int quantity, String customerGroup, long now) {
+            this.listPrice = listPrice;
+            this.quantity = quantity;
+            this.customerGroup = customerGroup;
+            this.now = now;
+            this.unitPrice = listPrice;
+        }
+
+        void apply(Rule[] rules) {
+            if (rules == null) {
+                return;
+            }
+            for (Rule rule : rules) {
+                if (!rule.applies(customerGroup, quantity, now)) {
+                    continue;
+                }
+                switch (rule.type()) {
+                    case FIXED_PRICE -> unitPrice = Math.min(unitPrice, rule.price());
+                    case PERCENT_OFF -> unitPrice = Math.min(unitPrice,
+                            Money.multiplyRounded(listPrice, BASIS_POINTS - rule.percentOff(), BASIS_POINTS));
+                    case BUY_X_GET_Y -> freeUnits = Math.max(freeUnits,
+                            quantity / (rule.buyQuantity() + rule.freeQuantity()) * rule.freeQuantity());
+                }
+            }
+        }
+
+        long unitPrice() {
+            return freeUnits == 0 ? unitPrice : Money.multiplyRounded(unitPrice, quantity - freeUnits, quantity);
+        }
+    }
+}
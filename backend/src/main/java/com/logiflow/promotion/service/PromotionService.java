@@ -0,0 +1,100 @@
+package com.logiflow.promotion.service;
+
+import com.logiflow.promotion.dto.PromotionRequestDTO;
+import com.logiflow.promotion.dto.PromotionResponseDTO;
+import com.logiflow.promotion.mapper.PromotionMapper;
+import com.logiflow.promotion.model.Promotion;
+import com.logiflow.promotion.repository.PromotionRepository;
+import com.logiflow.promotion.repository.PromotionVersionRepository;
+import com.logiflow.shared.event.PromotionChangedEvent;
+import com.logiflow.shared.exception.InvalidPromotionException;
+import com.logiflow.shared.exception.PromotionNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PromotionService {
+
+    private final PromotionRepository promotionRepository;
+    private final PromotionVersionRepository promotionVersionRepository;
+    private final PromotionMapper promotionMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
+    public Page<PromotionResponseDTO> getPromotions(boolean activeOnly, Pageable pageable) {
+        Page<Promotion> promotions = activeOnly
+                ? promotionRepository.findByActiveTrue(pageable)
+                : promotionRepository.findAll(pageable);
+        return promotions.map(promotionMapper::toDto);
+    }
+
+    @Transactional(readOnly = true)
+    public PromotionResponseDTO getPromotion(Long id) {
+        return promotionMapper.toDto(findByIdOrThrow(id));
+    }
+
+    @Transactional
+    public PromotionResponseDTO createPromotion(PromotionRequestDTO dto) {
+        validate(dto);
+        Promotion promotion = Promotion.builder().build();
+        promotionMapper.updateEntity(promotion, dto);
+        Promotion saved = promotionRepository.save(promotion);
+        promotionVersionRepository.increment();
+        eventPublisher.publishEvent(new PromotionChangedEvent(saved.getId()));
+        log.info("Promotion {} created: {} {}", saved.getId(), saved.getType(), saved.getName());
+        return promotionMapper.toDto(saved);
+    }
+
+    @Transactional
+    public PromotionResponseDTO updatePromotion(Long id, PromotionRequestDTO dto) {
+        validate(dto);
+        Promotion promotion = findByIdOrThrow(id);
+        promotionMapper.updateEntity(promotion, dto);
+        Promotion saved = promotionRepository.saveAndFlush(promotion);
+        promotionVersionRepository.increment();
+        eventPublisher.publishEvent(new PromotionChangedEvent(id));
+        log.info("Promotion {} updated", id);
+        return promotionMapper.toDto(saved);
+    }
+
+    @Transactional
+    public void deactivatePromotion(Long id) {
+        Promotion promotion = findByIdOrThrow(id);
+        promotion.setActive(false);
+        promotionVersionRepository.increment();
+        eventPublisher.publishEvent(new PromotionChangedEvent(id));
+        log.info("Promotion {} deactivated", id);
+    }
+
+    private Promotion findByIdOrThrow(Long id) {
+        return promotionRepository.findById(id)
+                .orElseThrow(() -> new PromotionNotFoundException(id));
+    }
+
+    private void validate(PromotionRequestDTO dto) {
+        if ((dto.attributeName() == null) != (dto.attributeValue() == null)) {
+            throw new InvalidPromotionException("attributeName and attributeValue must be given together");
+        }
+        if (dto.sku() != null && dto.attributeName() != null) {
+            throw new InvalidPromotionException("A promotion targets either a SKU or an attribute, not both");
+        }
+        if (dto.startsAt() != null && dto.endsAt() != null && !dto.endsAt().isAfter(dto.startsAt())) {
+            throw new InvalidPromotionException("endsAt must be after startsAt");
+        }
+        boolean complete = switch (dto.type()) {
+            case PERCENT_OFF -> dto.percentOff() != null;
+            case FIXED_PRICE -> dto.price() != null;
+            case BUY_X_GET_Y -> dto.buyQuantity() != null && dto.freeQuantity() != null;
+        };
+        if (!complete) {
+            throw new InvalidPromotionException("Missing the amount for a " + dto.type() + " promotion");
+        }
+    }
+}
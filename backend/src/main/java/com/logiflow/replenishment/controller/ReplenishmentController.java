@@ -0,0 +1,50 @@
+package com.logiflow.replenishment.controller;
+
+import com.logiflow.replenishment.dto.ReplenishmentSuggestionDTO;
+import com.logiflow.replenishment.service.ReplenishmentService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/replenishment")
+@RequiredArgsConstructor
+@PreAuthorize("hasAnyRole('SUPER_ADMIN', 'ADMIN', 'WAREHOUSE_MANAGER')")
+@Tag(name = "Replenishment", description = "Reorder suggestions computed from order history")
+public class ReplenishmentController {
+
+    private final ReplenishmentService replenishmentService;
+
+    @GetMapping("/suggestions")
+    @Operation(summary = "Get replenishment suggestions", description = "Returns the suggestions from the latest nightly run, lowest days of cover first")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved suggestions")
+    })
+    public Page<ReplenishmentSuggestionDTO> getSuggestions(
+            @Parameter(description = "Only SKUs that are at or below their reorder point") @RequestParam(defaultValue = "true") boolean reorderOnly,
+            @Parameter(description = "Pageable parameters (page, size, sort)")
+            @PageableDefault(sort = "daysOfCover", direction = Sort.Direction.ASC) Pageable pageable) {
+        return replenishmentService.getSuggestions(reorderOnly, pageable);
+    }
+
+    @PostMapping("/runs")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'ADMIN')")
+    @Operation(summary = "Recompute suggestions now", description = "Runs the nightly job immediately. Does nothing if a run is already in progress.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Suggestions recomputed")
+    })
+    public ResponseEntity<Void> refreshSuggestions() {
+        replenishmentService.refreshSuggestions();
+        return ResponseEntity.noContent().build();
+    }
+}
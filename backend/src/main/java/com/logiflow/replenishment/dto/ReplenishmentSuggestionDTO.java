@@ -0,0 +1,33 @@
+package com.logiflow.replenishment.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Replenishment suggestion for one SKU")
+public record ReplenishmentSuggestionDTO(
+        @Schema(description = "Stock Keeping Unit", example = "WM-001")
+        String sku,
+
+        @Schema(description = "Units available over all warehouses when the suggestion was computed", example = "120")
+        int availableQuantity,
+
+        @Schema(description = "Average units ordered per day over the lookback window", example = "8.5")
+        double averageDailyDemand,
+
+        @Schema(description = "Standard deviation of daily demand", example = "3.2")
+        double demandStdDev,
+
+        @Schema(description = "Days the available stock lasts at average demand; empty without demand", example = "14.1")
+        Double daysOfCover,
+
+        @Schema(description = "Stock level at or below which a reorder is due", example = "74")
+        int reorderPoint,
+
+        @Schema(description = "Suggested units to order now; 0 when above the reorder point", example = "0")
+        int reorderQuantity,
+
+        @Schema(description = "When the suggestion was computed", example = "2025-12-27T02:30:00")
+        LocalDateTime computedAt
+) {
+}
@@ -0,0 +1,23 @@
+package com.logiflow.replenishment.mapper;
+
+import com.logiflow.replenishment.dto.ReplenishmentSuggestionDTO;
+import com.logiflow.replenishment.model.ReplenishmentSuggestion;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ReplenishmentSuggestionMapper {
+
+    public ReplenishmentSuggestionDTO toDto(ReplenishmentSuggestion suggestion) {
+        if (suggestion == null) return null;
+        return new ReplenishmentSuggestionDTO(
+                suggestion.getSku(),
+                suggestion.getAvailableQuantity(),
+                suggestion.getAverageDailyDemand(),
+                suggestion.getDemandStdDev(),
+                suggestion.getDaysOfCover(),
+                suggestion.getReorderPoint(),
+                suggestion.getReorderQuantity(),
+                suggestion.getComputedAt()
+        );
+    }
+}
@@ -0,0 +1,29 @@
+package com.logiflow.replenishment.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Units ordered per SKU and day, excluding cancelled orders. Filled incrementally from
+ * {@code order_items} by the replenishment job; days without orders have no row.
+ */
+@Entity
+@Table(
+        name = "sku_daily_demand",
+        indexes = {
+                @Index(name = "idx_sku_daily_demand_day", columnList = "day")
+        }
+)
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class DailyDemand {
+
+    @EmbeddedId
+    private DailyDemandId id;
+
+    @Column(nullable = false)
+    private Long units;
+}
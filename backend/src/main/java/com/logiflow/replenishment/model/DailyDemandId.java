@@ -0,0 +1,23 @@
+package com.logiflow.replenishment.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Embeddable
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@EqualsAndHashCode
+public class DailyDemandId implements Serializable {
+
+    @Column(nullable = false)
+    private String sku;
+
+    @Column(nullable = false)
+    private LocalDate day;
+}
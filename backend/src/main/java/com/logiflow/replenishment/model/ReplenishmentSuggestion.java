@@ -0,0 +1,45 @@
+package com.logiflow.replenishment.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(
+        name = "replenishment_suggestions",
+        indexes = {
+                @Index(name = "idx_replenishment_reorder", columnList = "reorderQuantity, daysOfCover")
+        }
+)
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class ReplenishmentSuggestion {
+
+    @Id
+    private String sku;
+
+    @Column(nullable = false)
+    private int availableQuantity;
+
+    @Column(nullable = false)
+    private double averageDailyDemand;
+
+    @Column(nullable = false)
+    private double demandStdDev;
+
+    // Null when there was no demand in the lookback window
+    private Double daysOfCover;
+
+    @Column(nullable = false)
+    private int reorderPoint;
+
+    @Column(nullable = false)
+    private int reorderQuantity;
+
+    @Column(nullable = false)
+    private LocalDateTime computedAt;
+}
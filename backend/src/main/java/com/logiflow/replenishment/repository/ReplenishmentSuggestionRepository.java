@@ -0,0 +1,13 @@
+package com.logiflow.replenishment.repository;
+
+import com.logiflow.replenishment.model.ReplenishmentSuggestion;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReplenishmentSuggestionRepository extends JpaRepository<ReplenishmentSuggestion, String> {
+
+    Page<ReplenishmentSuggestion> findByReorderQuantityGreaterThan(int reorderQuantity, Pageable pageable);
+}
@@ -0,0 +1,129 @@
+package com.logiflow.replenishment.service;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Turns per-SKU demand totals into reorder suggestions, one {@link Chunk} of SKUs at a time.
+ * <p>
+ * Daily demand is treated as independent draws: the reorder point covers average demand over the
+ * lead time plus {@code z * sigma * sqrt(leadTime)} of safety stock, and a reorder tops stock up to
+ * cover the lead time and the review period on top of the same safety stock.
+ */
+final class ReplenishmentCalculator {
+
+    private static final int SEQUENTIAL_THRESHOLD = 256;
+
+    private final int lookbackDays;
+    private final int leadTimeDays;
+    private final int reviewPeriodDays;
+    private final double serviceLevelZ;
+
+    ReplenishmentCalculator(int lookbackDays, int leadTimeDays, int reviewPeriodDays, double serviceLevelZ) {
+        this.lookbackDays = lookbackDays;
+        this.leadTimeDays = leadTimeDays;
+        this.reviewPeriodDays = reviewPeriodDays;
+        this.serviceLevelZ = serviceLevelZ;
+    }
+
+    ForkJoinTask<Void> submit(Chunk chunk, ForkJoinPool pool) {
+        return pool.submit(new ComputeTask(chunk, 0, chunk.size));
+    }
+
+    void compute(Chunk chunk, int i) {
+        double mean = chunk.demand[i] / lookbackDays;
+        double variance = Math.max(0, chunk.demandSquared[i] / lookbackDays - mean * mean);
+        double stdDev = Math.sqrt(variance);
+        double safetyStock = serviceLevelZ * stdDev * Math.sqrt(leadTimeDays);
+        int reorderPoint = (int) Math.ceil(mean * leadTimeDays + safetyStock);
+        int orderUpTo = (int) Math.ceil(mean * (leadTimeDays + reviewPeriodDays) + safetyStock);
+        int available = chunk.available[i];
+
+        chunk.mean[i] = mean;
+        chunk.stdDev[i] = stdDev;
+        chunk.daysOfCover[i] = mean > 0 ? available / mean : Double.NaN;
+        chunk.reorderPoint[i] = reorderPoint;
+        chunk.reorderQuantity[i] = available <= reorderPoint && mean > 0 ? Math.max(0, orderUpTo - available) : 0;
+    }
+
+    private final class ComputeTask extends RecursiveAction {
+
+        private final Chunk chunk;
+        private final int from;
+        private final int to;
+
+        ComputeTask(Chunk chunk, int from, int to) {
+            this.chunk = chunk;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    ReplenishmentCalculator.this.compute(chunk, i);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ComputeTask(chunk, from, mid), new ComputeTask(chunk, mid, to));
+        }
+    }
+
+    /**
+     * Column-wise input and output for a block of SKUs, filled row by row while streaming.
+     */
+    static final class Chunk {
+
+        final String[] skus;
+        final int[] available;
+        final double[] demand;
+        final double[] demandSquared;
+        int size;
+
+        final double[] mean;
+        final double[] stdDev;
+        final double[] daysOfCover;
+        final int[] reorderPoint;
+        final int[] reorderQuantity;
+
+        Chunk(int capacity) {
+            skus = new String[capacity];
+            available = new int[capacity];
+            demand = new double[capacity];
+            demandSquared = new double[capacity];
+            mean = new double[capacity];
+            stdDev = new double[capacity];
+            daysOfCover = new double[capacity];
+            reorderPoint = new int[capacity];
+            reorderQuantity = new int[capacity];
+        }
+
+        boolean isFull() {
+            return size == skus.length;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        String lastSku() {
+            return size == 0 ? null : skus[size - 1];
+        }
+
+        void startSku(String sku, int availableQuantity) {
+            skus[size] = sku;
+            available[size] = availableQuantity;
+            demand[size] = 0;
+            demandSquared[size] = 0;
+            size++;
+        }
+
+        void addDailyDemand(long units) {
+            demand[size - 1] += units;
+            demandSquared[size - 1] += (double) units * units;
+        }
+    }
+}
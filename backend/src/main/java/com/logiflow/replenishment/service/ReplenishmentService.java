@@ -0,0 +1,246 @@
+package com.logiflow.replenishment.service;
+
+import com.logiflow.replenishment.dto.ReplenishmentSuggestionDTO;
+import com.logiflow.replenishment.mapper.ReplenishmentSuggestionMapper;
+import com.logiflow.replenishment.repository.ReplenishmentSuggestionRepository;
+import com.logiflow.replenishment.service.ReplenishmentCalculator.Chunk;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Nightly reorder suggestions per SKU.
+ * <p>
+ * Demand history is kept as one row per SKU and day in {@code sku_daily_demand}. Each run only
+ * aggregates the days since the previous run (plus a few recent days, to pick up late cancellations)
+ * from {@code order_items} inside the database. The window is then streamed through a server-side
+ * cursor together with current stock, computed in fork-join chunks and upserted in batches.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReplenishmentService {
+
+    private static final int CHUNK_SIZE = 2_000;
+    private static final int FETCH_SIZE = 10_000;
+
+    private static final String AGGREGATE_DEMAND_SQL = """
+            INSERT INTO sku_daily_demand (sku, day, units)
+            SELECT oi.sku, CAST(oi.created_at AS date), SUM(oi.quantity)
+            FROM order_items oi
+            JOIN orders o ON o.id = oi.order_id AND o.created_at = oi.created_at
+            WHERE oi.created_at >= ? AND oi.created_at < ? AND o.status <> 'CANCELLED'
+            GROUP BY 1, 2
+            """;
+
+    // Rows arrive grouped by SKU: one per day with demand, or a single row with null units
+    private static final String DEMAND_AND_STOCK_SQL = """
+            SELECT COALESCE(d.sku, i.sku), i.available, d.units
+            FROM (SELECT sku, SUM(quantity - reserved) AS available FROM inventories GROUP BY sku) i
+            FULL JOIN (SELECT sku, units FROM sku_daily_demand WHERE day >= ?) d ON d.sku = i.sku
+            ORDER BY 1
+            """;
+
+    private static final String UPSERT_SUGGESTION_SQL = """
+            INSERT INTO replenishment_suggestions (sku, available_quantity, average_daily_demand, demand_std_dev,
+                                                   days_of_cover, reorder_point, reorder_quantity, computed_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (sku) DO UPDATE SET
+                available_quantity = EXCLUDED.available_quantity,
+                average_daily_demand = EXCLUDED.average_daily_demand,
+                demand_std_dev = EXCLUDED.demand_std_dev,
+                days_of_cover = EXCLUDED.days_of_cover,
+                reorder_point = EXCLUDED.reorder_point,
+                reorder_quantity = EXCLUDED.reorder_quantity,
+                computed_at = EXCLUDED.computed_at
+            """;
+
+    private final ReplenishmentSuggestionRepository suggestionRepository;
+    private final ReplenishmentSuggestionMapper suggestionMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.replenishment.lookback-days:56}")
+    private int lookbackDays;
+
+    @Value("${app.replenishment.restate-days:3}")
+    private int restateDays;
+
+    @Value("${app.replenishment.lead-time-days:7}")
+    private int leadTimeDays;
+
+    @Value("${app.replenishment.review-period-days:14}")
+    private int reviewPeriodDays;
+
+    @Value("${app.replenishment.service-level-z:1.65}")
+    private double serviceLevelZ;
+
+    @Transactional(readOnly = true)
+    public Page<ReplenishmentSuggestionDTO> getSuggestions(boolean reorderOnly, Pageable pageable) {
+        return (reorderOnly
+                ? suggestionRepository.findByReorderQuantityGreaterThan(0, pageable)
+                : suggestionRepository.findAll(pageable))
+                .map(suggestionMapper::toDto);
+    }
+
+    @Scheduled(cron = "${app.replenishment.cron:0 30 2 * * *}")
+    public void refreshSuggestionsNightly() {
+        refreshSuggestions();
+    }
+
+    /**
+     * @return number of SKUs with a fresh suggestion, or 0 when another node is already running
+     */
+    public int refreshSuggestions() {
+        return Objects.requireNonNull(transactionTemplate.execute(_ -> {
+            Boolean locked = jdbcTemplate.queryForObject(
+                    "SELECT pg_try_advisory_xact_lock(hashtext('replenishment'))", Boolean.class);
+            if (!Boolean.TRUE.equals(locked)) {
+                log.info("Replenishment run skipped: another run is in progress");
+                return 0;
+            }
+
+            long started = System.nanoTime();
+            LocalDate today = LocalDate.now();
+            LocalDate windowStart = today.minusDays(lookbackDays);
+            refreshDailyDemand(windowStart, today);
+
+            LocalDateTime computedAt = LocalDateTime.now();
+            int written = computeSuggestions(windowStart, computedAt);
+            int removed = jdbcTemplate.update("DELETE FROM replenishment_suggestions WHERE computed_at < ?", computedAt);
+            log.info("Replenishment suggestions refreshed for {} SKUs ({} removed) in {} ms",
+                    written, removed, (System.nanoTime() - started) / 1_000_000);
+            return written;
+        }));
+    }
+
+    private void refreshDailyDemand(LocalDate windowStart, LocalDate today) {
+        LocalDate latest = jdbcTemplate.queryForObject("SELECT MAX(day) FROM sku_daily_demand", LocalDate.class);
+        LocalDate from = latest == null ? windowStart : latest.plusDays(1);
+        if (from.isAfter(today.minusDays(restateDays))) {
+            from = today.minusDays(restateDays);
+        }
+        if (from.isBefore(windowStart)) {
+            from = windowStart;
+        }
+
+        jdbcTemplate.update("DELETE FROM sku_daily_demand WHERE day >= ? OR day < ?", from, windowStart);
+        int rows = jdbcTemplate.update(AGGREGATE_DEMAND_SQL, from.atStartOfDay(), today.atStartOfDay());
+        log.info("Daily demand aggregated from {} to {}: {} rows", from, today.minusDays(1), rows);
+    }
+
+    private int computeSuggestions(LocalDate windowStart, LocalDateTime computedAt) {
+        ReplenishmentCalculator calculator =
+                new ReplenishmentCalculator(lookbackDays, leadTimeDays, reviewPeriodDays, serviceLevelZ);
+        SuggestionPipeline pipeline = new SuggestionPipeline(calculator, Timestamp.valueOf(computedAt));
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(DEMAND_AND_STOCK_SQL);
+            statement.setFetchSize(FETCH_SIZE);
+            statement.setObject(1, windowStart);
+            return statement;
+        }, (RowCallbackHandler) rs -> pipeline.accept(rs.getString(1), rs.getInt(2), rs.getObject(3, Long.class)));
+        return pipeline.finish();
+    }
+
+    /**
+     * Fills one chunk from the cursor while the previous one is computed in the fork-join pool,
+     * then writes the computed chunk as one JDBC batch. Two chunks are reused for the whole run.
+     */
+    private final class SuggestionPipeline {
+
+        private final ReplenishmentCalculator calculator;
+        private final Timestamp computedAt;
+        private Chunk filling = new Chunk(CHUNK_SIZE);
+        private Chunk computing = new Chunk(CHUNK_SIZE);
+        private ForkJoinTask<Void> task;
+        private int written;
+
+        SuggestionPipeline(ReplenishmentCalculator calculator, Timestamp computedAt) {
+            this.calculator = calculator;
+            this.computedAt = computedAt;
+        }
+
+        void accept(String sku, int available, Long units) {
+            if (!sku.equals(filling.lastSku())) {
+                if (filling.isFull()) {
+                    handOff();
+                }
+                filling.startSku(sku, available);
+            }
+            if (units != null) {
+                filling.addDailyDemand(units);
+            }
+        }
+
+        int finish() {
+            handOff();
+            drain();
+            return written;
+        }
+
+        private void handOff() {
+            drain();
+            Chunk full = filling;
+            filling = computing;
+            filling.size = 0;
+            computing = full;
+            if (!computing.isEmpty()) {
+                task = calculator.submit(computing, ForkJoinPool.commonPool());
+            }
+        }
+
+        private void drain() {
+            if (task == null) {
+                return;
+            }
+            task.join();
+            task = null;
+            write(computing);
+        }
+
+        private void write(Chunk chunk) {
+            jdbcTemplate.batchUpdate(UPSERT_SUGGESTION_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    ps.setString(1, chunk.skus[i]);
+                    ps.setInt(2, chunk.available[i]);
+                    ps.setDouble(3, chunk.mean[i]);
+                    ps.setDouble(4, chunk.stdDev[i]);
+                    if (Double.isNaN(chunk.daysOfCover[i])) {
+                        ps.setNull(5, Types.DOUBLE);
+                    } else {
+                        ps.setDouble(5, chunk.daysOfCover[i]);
+                    }
+                    ps.setInt(6, chunk.reorderPoint[i]);
+                    ps.setInt(7, chunk.reorderQuantity[i]);
+                    ps.setTimestamp(8, computedAt);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return chunk.size;
+                }
+            });
+            written += chunk.size;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.logiflow.shared.event;
+
+/**
+ * Committed levels of one inventory row. {@code version} is the row's version after the change, so
+ * receivers can tell a late or repeated message from a newer one.
+ */
+public record InventoryChangedEvent(Long warehouseId, String sku, int quantity, int reserved, long version) {
+}
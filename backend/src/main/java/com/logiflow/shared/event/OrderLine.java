@@ -0,0 +1,6 @@
+package com.logiflow.shared.event;
+
+import java.math.BigDecimal;
+
+public record OrderLine(String sku, int quantity, BigDecimal unitPrice) {
+}
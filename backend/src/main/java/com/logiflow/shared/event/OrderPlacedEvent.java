@@ -0,0 +1,7 @@
+package com.logiflow.shared.event;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record OrderPlacedEvent(Long orderId, LocalDateTime createdAt, List<OrderLine> lines) {
+}
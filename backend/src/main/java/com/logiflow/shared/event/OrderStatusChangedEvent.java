@@ -0,0 +1,15 @@
+package com.logiflow.shared.event;
+
+import com.logiflow.order.model.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record OrderStatusChangedEvent(
+        Long orderId,
+        OrderStatus previousStatus,
+        OrderStatus newStatus,
+        LocalDateTime createdAt,
+        List<OrderLine> lines
+) {
+}
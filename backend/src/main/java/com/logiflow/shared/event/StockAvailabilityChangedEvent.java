@@ -0,0 +1,7 @@
+package com.logiflow.shared.event;
+
+/**
+ * A committed change of available units of one row; {@code version} is the row's version after it.
+ */
+public record StockAvailabilityChangedEvent(String warehouseCode, String sku, int delta, long version) {
+}
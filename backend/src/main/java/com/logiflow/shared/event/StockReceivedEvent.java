@@ -0,0 +1,6 @@
+package com.logiflow.shared.event;
+
+import java.util.Set;
+
+public record StockReceivedEvent(Set<String> skus) {
+}
@@ -0,0 +1,4 @@
+package com.logiflow.shared.event;
+
+public record WarehouseCreatedEvent(Long warehouseId, String code) {
+}
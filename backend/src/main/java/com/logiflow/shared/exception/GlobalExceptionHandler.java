@@ -34,16 +34,56 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(HttpStatus.CONFLICT, ex.getMessage(), null);
     }
 
+    @ExceptionHandler(ReservationOwnerUnavailableException.class)
+    public ResponseEntity<@NonNull ErrorResponse> handleReservationOwnerUnavailableException(ReservationOwnerUnavailableException ex) {
+        return buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), null);
+    }
+
     @ExceptionHandler(InventoryNotFoundException.class)
     public ResponseEntity<@NonNull ErrorResponse> handleInventoryNotFoundException(InventoryNotFoundException ex) {
         return buildErrorResponse(HttpStatus.NOT_FOUND, ex.getMessage(), null);
     }
 
+    @ExceptionHandler(WarehouseNotFoundException.class)
+    public ResponseEntity<@NonNull ErrorResponse> handleWarehouseNotFoundException(WarehouseNotFoundException ex) {
+        return buildErrorResponse(HttpStatus.NOT_FOUND, ex.getMessage(), null);
+    }
+
     @ExceptionHandler(ProductNotFoundException.class)
     public ResponseEntity<@NonNull ErrorResponse> handleProductNotFoundException(ProductNotFoundException ex) {
         return buildErrorResponse(HttpStatus.NOT_FOUND, ex.getMessage(), null);
     }
 
+    @ExceptionHandler(OrderNotFoundException.class)
+    public ResponseEntity<@NonNull ErrorResponse> handleOrderNotFoundException(OrderNotFoundException ex) {
+        return buildErrorResponse(HttpStatus.NOT_FOUND, ex.getMessage(), null);
+    }
+
+    @ExceptionHandler(PickWaveNotFoundException.class)
+    public ResponseEntity<@NonNull ErrorResponse> handlePickWaveNotFoundException(PickWaveNotFoundException ex) {
+        return buildErrorResponse(HttpStatus.NOT_FOUND, ex.getMessage(), null);
+    }
+
+    @ExceptionHandler(InvalidQuoteException.class)
+    public ResponseEntity<@NonNull ErrorResponse> handleInvalidQuoteException(InvalidQuoteException ex) {
+        return buildErrorResponse(HttpStatus.BAD_REQUEST, ex.getMessage(), null);
+    }
+
+    @ExceptionHandler(PromotionNotFoundException.class)
+    public ResponseEntity<@NonNull ErrorResponse> handlePromotionNotFoundException(PromotionNotFoundException ex) {
+        return buildErrorResponse(HttpStatus.NOT_FOUND, ex.getMessage(), null);
+    }
+
+    @ExceptionHandler(InvalidPromotionException.class)
+    public ResponseEntity<@NonNull ErrorResponse> handleInvalidPromotionException(InvalidPromotionException ex) {
+        return buildErrorResponse(HttpStatus.BAD_REQUEST, ex.getMessage(), null);
+    }
+
+    @ExceptionHandler(InvalidOrderStatusTransitionException.class)
+    public ResponseEntity<@NonNull ErrorResponse> handleInvalidOrderStatusTransitionException(InvalidOrderStatusTransitionException ex) {
+        return buildErrorResponse(HttpStatus.CONFLICT, ex.getMessage(), null);
+    }
+
     @ExceptionHandler(UserNotFoundException.class)
     public ResponseEntity<@NonNull ErrorResponse> handleUserNotFoundException(UserNotFoundException ex) {
         return buildErrorResponse(HttpStatus.NOT_FOUND, ex.getMessage(), null);
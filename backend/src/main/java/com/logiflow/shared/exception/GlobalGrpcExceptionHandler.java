@@ -0,0 +1,51 @@
+package com.logiflow.shared.exception;
+
+import io.grpc.Status;
+import io.grpc.StatusException;
+import io.grpc.StatusRuntimeException;
+import jakarta.validation.ConstraintViolationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.grpc.server.exception.GrpcExceptionHandler;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Collectors;
+
+/**
+ * gRPC counterpart of {@link GlobalExceptionHandler}: maps the same exceptions to status codes.
+ */
+@Component
+@Slf4j
+public class GlobalGrpcExceptionHandler implements GrpcExceptionHandler {
+
+    @Override
+    public StatusException handleException(Throwable exception) {
+        return toStatus(exception).asException();
+    }
+
+    public Status toStatus(Throwable exception) {
+        return switch (exception) {
+            case StatusRuntimeException e -> e.getStatus();
+            case StatusException e -> e.getStatus();
+            case ConstraintViolationException e -> Status.INVALID_ARGUMENT.withDescription(e.getConstraintViolations().stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+            case IllegalArgumentException e -> Status.INVALID_ARGUMENT.withDescription(e.getMessage());
+            case InsufficientStockException e -> Status.FAILED_PRECONDITION.withDescription(e.getMessage());
+            case InvalidQuoteException e -> Status.INVALID_ARGUMENT.withDescription(e.getMessage());
+            case ReservationOwnerUnavailableException e -> Status.UNAVAILABLE.withDescription(e.getMessage());
+            case InvalidOrderStatusTransitionException e -> Status.FAILED_PRECONDITION.withDescription(e.getMessage());
+            case DuplicateResourceException e -> Status.ALREADY_EXISTS.withDescription(e.getMessage());
+            case InventoryNotFoundException e -> Status.NOT_FOUND.withDescription(e.getMessage());
+            case WarehouseNotFoundException e -> Status.NOT_FOUND.withDescription(e.getMessage());
+            case ProductNotFoundException e -> Status.NOT_FOUND.withDescription(e.getMessage());
+            case OrderNotFoundException e -> Status.NOT_FOUND.withDescription(e.getMessage());
+            case AccessDeniedException e -> Status.PERMISSION_DENIED.withDescription(e.getMessage());
+            default -> {
+                log.error("Unexpected gRPC error: ", exception);
+                yield Status.INTERNAL.withDescription("An unexpected error occurred");
+            }
+        };
+    }
+}
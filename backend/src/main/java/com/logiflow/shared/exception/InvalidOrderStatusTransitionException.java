@@ -0,0 +1,9 @@
+package com.logiflow.shared.exception;
+
+import com.logiflow.order.model.OrderStatus;
+
+public class InvalidOrderStatusTransitionException extends RuntimeException {
+    public InvalidOrderStatusTransitionException(OrderStatus from, OrderStatus to) {
+        super("Cannot change order status from " + from + " to " + to);
+    }
+}
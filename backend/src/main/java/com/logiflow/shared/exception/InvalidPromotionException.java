@@ -0,0 +1,7 @@
+package com.logiflow.shared.exception;
+
+public class InvalidPromotionException extends RuntimeException {
+    public InvalidPromotionException(String message) {
+        super(message);
+    }
+}
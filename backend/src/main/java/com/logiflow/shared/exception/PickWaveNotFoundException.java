@@ -0,0 +1,7 @@
+package com.logiflow.shared.exception;
+
+public class PickWaveNotFoundException extends RuntimeException {
+    public PickWaveNotFoundException(Long id) {
+        super("Pick wave not found with id: " + id);
+    }
+}
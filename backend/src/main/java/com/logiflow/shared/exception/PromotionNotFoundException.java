@@ -0,0 +1,7 @@
+package com.logiflow.shared.exception;
+
+public class PromotionNotFoundException extends RuntimeException {
+    public PromotionNotFoundException(Long id) {
+        super("Promotion not found with id: " + id);
+    }
+}
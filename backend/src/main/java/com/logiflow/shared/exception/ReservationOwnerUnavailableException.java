@@ -0,0 +1,7 @@
+package com.logiflow.shared.exception;
+
+public class ReservationOwnerUnavailableException extends RuntimeException {
+    public ReservationOwnerUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
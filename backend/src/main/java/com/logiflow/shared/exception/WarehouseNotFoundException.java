@@ -0,0 +1,7 @@
+package com.logiflow.shared.exception;
+
+public class WarehouseNotFoundException extends RuntimeException {
+    public WarehouseNotFoundException(String code) {
+        super("Warehouse not found with code: " + code);
+    }
+}
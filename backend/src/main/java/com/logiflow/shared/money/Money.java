@@ -0,0 +1,86 @@
+package com.logiflow.shared.money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Objects;
+
+/**
+ * An amount as a whole number of minor units (cents for USD) plus its currency. Pricing, promotion
+ * and total arithmetic runs on the {@code long}, so it allocates at most this record; amounts are
+ * converted from and to {@link BigDecimal} only where they enter or leave the application (catalog,
+ * API, database).
+ * <p>
+ * Arithmetic overflowing a {@code long} throws {@link ArithmeticException} rather than wrapping.
+ * Amounts in different currencies are never combined.
+ */
+public record Money(long minorUnits, Currency currency) implements Comparable<Money> {
+
+    public Money {
+        Objects.requireNonNull(currency, "currency");
+    }
+
+    public static Money of(BigDecimal amount, Currency currency) {
+        return new Money(amount.setScale(fractionDigits(currency), RoundingMode.HALF_UP).unscaledValue().longValueExact(),
+                currency);
+    }
+
+    public static Money zero(Currency currency) {
+        return new Money(0, currency);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, fractionDigits(currency));
+    }
+
+    public Money plus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.addExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public Money times(long quantity) {
+        return new Money(Math.multiplyExact(minorUnits, quantity), currency);
+    }
+
+    /**
+     * Multiplies by {@code numerator / denominator}, rounding half away from zero to a whole minor unit.
+     */
+    public Money times(long numerator, long denominator) {
+        return new Money(multiplyRounded(minorUnits, numerator, denominator), currency);
+    }
+
+    public Money min(Money other) {
+        return compareTo(other) <= 0 ? this : other;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        requireSameCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString() + " " + currency.getCurrencyCode();
+    }
+
+    public static long multiplyRounded(long amount, long numerator, long denominator) {
+        long product = Math.multiplyExact(amount, numerator);
+        long quotient = product / denominator;
+        long remainder = product % denominator;
+        if (Math.abs(remainder) * 2 >= Math.abs(denominator)) {
+            quotient += Long.signum(product) * Long.signum(denominator);
+        }
+        return quotient;
+    }
+
+    private static int fractionDigits(Currency currency) {
+        return Math.max(currency.getDefaultFractionDigits(), 0);
+    }
+
+    private void requireSameCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Cannot combine " + currency + " and " + other.currency);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.logiflow.shared.partition;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains native PostgreSQL monthly range partitions.
+ * <p>
+ * A plain table created by Hibernate is converted in place: the existing table is renamed to
+ * {@code <table>_legacy} and attached as the partition covering everything up to the moment of the
+ * conversion, so no rows are rewritten. The rest of that month goes to a shortened monthly partition,
+ * and every later month to a full one, named {@code <table>_pYYYY_MM}. The legacy partition is only
+ * archived as a whole, once its newest rows are past retention.
+ * <p>
+ * Foreign keys from or to the table are dropped and not recreated: the parent's key includes the
+ * partition column and partitions are detached one by one, so the application keeps the relation.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.partitioning", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class MonthlyPartitionManager {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("'_p'yyyy_MM");
+    private static final DateTimeFormatter BOUND = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final Pattern UPPER_BOUND = Pattern.compile("TO \\('([^']+)'\\)");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional
+    public void convertIfNeeded(PartitionedTable table) {
+        lock(table);
+        if (isPartitioned(table.name())) {
+            return;
+        }
+
+        String name = table.name();
+        String legacy = table.legacyPartitionName();
+        String column = table.partitionColumn();
+        List<Map<String, Object>> indexes = jdbcTemplate.queryForList(
+                "SELECT indexname, indexdef FROM pg_indexes WHERE schemaname = current_schema() AND tablename = ?", name);
+
+        if (table.backfillSql() != null) {
+            jdbcTemplate.update(table.backfillSql());
+        }
+        dropForeignKeys(name);
+
+        jdbcTemplate.execute("ALTER TABLE " + name + " RENAME TO " + legacy);
+        indexes.forEach(index -> jdbcTemplate.execute(
+                "ALTER INDEX " + index.get("indexname") + " RENAME TO " + index.get("indexname") + "_legacy"));
+        jdbcTemplate.execute("ALTER TABLE " + legacy + " ALTER COLUMN " + column + " SET NOT NULL");
+        // Tables created while ids were IDENTITY columns keep them, and a partition cannot have one
+        jdbcTemplate.execute("ALTER TABLE " + legacy + " ALTER COLUMN id DROP IDENTITY IF EXISTS");
+        dropUniqueConstraints(legacy);
+
+        jdbcTemplate.execute("CREATE TABLE " + name + " (LIKE " + legacy + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS) " +
+                "PARTITION BY RANGE (" + column + ")");
+        jdbcTemplate.execute("ALTER TABLE " + name + " ADD PRIMARY KEY (id, " + column + ")");
+        // Unique indexes cannot span partitions unless they include the partition key, so only plain ones are recreated
+        indexes.stream()
+                .map(index -> (String) index.get("indexdef"))
+                .filter(definition -> !definition.startsWith("CREATE UNIQUE"))
+                .forEach(jdbcTemplate::execute);
+
+        // Rows written from now on belong to monthly partitions, so the legacy one stops growing
+        LocalDateTime legacyUpperBound = latestValue(legacy, column).truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+        jdbcTemplate.execute("ALTER TABLE " + name + " ATTACH PARTITION " + legacy +
+                " FOR VALUES FROM (MINVALUE) TO ('" + BOUND.format(legacyUpperBound) + "')");
+        createUpcomingPartitions(table, 0);
+
+        log.info("Converted {} to a partitioned table; existing rows kept in {} (until {})", name, legacy, legacyUpperBound);
+    }
+
+    @Transactional
+    public void createUpcomingPartitions(PartitionedTable table, int monthsAhead) {
+        lock(table);
+        LocalDateTime coveredUntil = legacyUpperBound(table).orElse(LocalDateTime.MIN);
+        YearMonth current = YearMonth.now();
+
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            LocalDateTime start = month.atDay(1).atStartOfDay();
+            LocalDateTime end = month.plusMonths(1).atDay(1).atStartOfDay();
+            if (!end.isAfter(coveredUntil)) {
+                continue;
+            }
+            // The month the table was converted in starts where the legacy partition ends
+            LocalDateTime from = start.isBefore(coveredUntil) ? coveredUntil : start;
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(table, month) +
+                    " PARTITION OF " + table.name() +
+                    " FOR VALUES FROM ('" + BOUND.format(from) + "') TO ('" + BOUND.format(end) + "')");
+        }
+    }
+
+    /**
+     * Upper bound of the legacy partition, empty once it has been archived or for a table that was
+     * created partitioned.
+     */
+    @Transactional(readOnly = true)
+    public Optional<LocalDateTime> legacyUpperBound(PartitionedTable table) {
+        List<String> bounds = jdbcTemplate.queryForList(
+                "SELECT pg_get_expr(c.relpartbound, c.oid) FROM pg_class c " +
+                        "WHERE c.oid = to_regclass(?) AND c.relispartition",
+                String.class, table.legacyPartitionName());
+        return bounds.stream()
+                .map(UPPER_BOUND::matcher)
+                .filter(Matcher::find)
+                .map(matcher -> parseBound(matcher.group(1)))
+                .findFirst();
+    }
+
+    @Transactional(readOnly = true)
+    public List<YearMonth> listMonthlyPartitions(PartitionedTable table) {
+        String prefix = table.name() + "_p";
+        return childTables(table).stream()
+                .filter(child -> child.startsWith(prefix))
+                .map(child -> YearMonth.parse(child, DateTimeFormatter.ofPattern("'" + prefix + "'yyyy_MM")))
+                .sorted()
+                .toList();
+    }
+
+    public void detachAndDrop(PartitionedTable table, YearMonth month) {
+        detachAndDrop(table, partitionName(table, month));
+    }
+
+    public void detachAndDrop(PartitionedTable table, String partition) {
+        jdbcTemplate.execute("ALTER TABLE " + table.name() + " DETACH PARTITION " + partition);
+        jdbcTemplate.execute("DROP TABLE " + partition);
+    }
+
+    public String partitionName(PartitionedTable table, YearMonth month) {
+        return table.name() + month.format(PARTITION_SUFFIX);
+    }
+
+    public void lock(PartitionedTable table) {
+        jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(hashtext(?))", "partition:" + table.name());
+    }
+
+    private boolean isPartitioned(String tableName) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass(?))",
+                Boolean.class, tableName));
+    }
+
+    private List<String> childTables(PartitionedTable table) {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                        "WHERE i.inhparent = to_regclass(?)",
+                String.class, table.name());
+    }
+
+    private LocalDateTime latestValue(String tableName, String column) {
+        Timestamp latest = jdbcTemplate.queryForObject("SELECT MAX(" + column + ") FROM " + tableName, Timestamp.class);
+        LocalDateTime now = LocalDateTime.now();
+        return latest == null || latest.toLocalDateTime().isBefore(now) ? now : latest.toLocalDateTime();
+    }
+
+    // Bounds written before the conversion kept the time of day are plain dates
+    private static LocalDateTime parseBound(String value) {
+        return value.length() <= 10
+                ? LocalDate.parse(value).atStartOfDay()
+                : LocalDateTime.parse(value.replace(' ', 'T'));
+    }
+
+    // The parent's primary key is (id, partition column), and a unique column left on one partition
+    // would reject rows that other partitions accept
+    private void dropUniqueConstraints(String tableName) {
+        jdbcTemplate.queryForList(
+                "SELECT conname FROM pg_constraint WHERE contype IN ('p', 'u') AND conrelid = to_regclass(?)",
+                String.class, tableName
+        ).forEach(constraint -> jdbcTemplate.execute("ALTER TABLE " + tableName + " DROP CONSTRAINT " + constraint));
+        jdbcTemplate.queryForList(
+                "SELECT indexname FROM pg_indexes WHERE schemaname = current_schema() AND tablename = ? " +
+                        "AND indexdef LIKE 'CREATE UNIQUE%'",
+                String.class, tableName
+        ).forEach(index -> jdbcTemplate.execute("DROP INDEX " + index));
+    }
+
+    private void dropForeignKeys(String tableName) {
+        jdbcTemplate.queryForList(
+                "SELECT conname, conrelid::regclass::text AS owner FROM pg_constraint " +
+                        "WHERE contype = 'f' AND (conrelid = to_regclass(?) OR confrelid = to_regclass(?))",
+                tableName, tableName
+        ).forEach(fk -> jdbcTemplate.execute(
+                "ALTER TABLE " + fk.get("owner") + " DROP CONSTRAINT " + fk.get("conname")));
+    }
+}
@@ -0,0 +1,80 @@
+package com.logiflow.shared.partition;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams a partition into a gzip-compressed CSV file. Must run inside a transaction so the
+ * PostgreSQL driver uses a server-side cursor instead of loading the whole partition.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.partitioning", name = "enabled", havingValue = "true")
+public class PartitionArchiveWriter {
+
+    private static final int FETCH_SIZE = 5_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PartitionArchiveWriter(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    public Path export(String partition, Path directory) {
+        Path target = directory.resolve(partition + ".csv.gz");
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, partition, ".tmp");
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(temp)), StandardCharsets.UTF_8))) {
+                jdbcTemplate.query("SELECT * FROM " + partition, (ResultSetExtractor<Void>) rs -> writeRows(rs, writer));
+            }
+            return Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to archive partition " + partition, e);
+        }
+    }
+
+    private Void writeRows(ResultSet rs, Writer writer) throws SQLException {
+        try {
+            ResultSetMetaData metaData = rs.getMetaData();
+            int columns = metaData.getColumnCount();
+            for (int i = 1; i <= columns; i++) {
+                writeField(writer, metaData.getColumnName(i), i == columns);
+            }
+            while (rs.next()) {
+                for (int i = 1; i <= columns; i++) {
+                    writeField(writer, rs.getString(i), i == columns);
+                }
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeField(Writer writer, String value, boolean last) throws IOException {
+        if (value != null) {
+            boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0;
+            writer.write(quote ? '"' + value.replace("\"", "\"\"") + '"' : value);
+        }
+        writer.write(last ? '\n' : ',');
+    }
+}
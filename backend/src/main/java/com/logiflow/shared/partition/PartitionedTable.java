@@ -0,0 +1,19 @@
+package com.logiflow.shared.partition;
+
+/**
+ * A table range-partitioned by month on a timestamp column.
+ *
+ * @param name            table name
+ * @param partitionColumn timestamp column used as the partition key
+ * @param backfillSql     optional statement that fills the partition column on legacy rows before conversion
+ */
+public record PartitionedTable(String name, String partitionColumn, String backfillSql) {
+
+    public PartitionedTable(String name, String partitionColumn) {
+        this(name, partitionColumn, null);
+    }
+
+    public String legacyPartitionName() {
+        return name + "_legacy";
+    }
+}
@@ -0,0 +1,89 @@
+package com.logiflow.shared.sku;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.ObjIntConsumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Per-SKU values indexed by {@link SkuDictionary} id: a reference per SKU instead of a hash map
+ * entry plus a string key. Storage grows in fixed-size chunks that are never copied, so reads are
+ * plain array loads and concurrent updates of different SKUs never block or lose each other.
+ */
+public final class SkuArray<V> {
+
+    private static final int CHUNK_BITS = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private volatile AtomicReferenceArray<?>[] chunks = new AtomicReferenceArray<?>[0];
+
+    public V get(int id) {
+        AtomicReferenceArray<V> chunk = chunk(id);
+        return chunk == null ? null : chunk.get(id & CHUNK_MASK);
+    }
+
+    public void set(int id, V value) {
+        chunkForWrite(id).set(id & CHUNK_MASK, value);
+    }
+
+    /**
+     * Atomically replaces the value of one SKU; {@code update} may run more than once and gets null
+     * for a SKU without a value.
+     */
+    public V update(int id, UnaryOperator<V> update) {
+        AtomicReferenceArray<V> chunk = chunkForWrite(id);
+        int index = id & CHUNK_MASK;
+        while (true) {
+            V current = chunk.get(index);
+            V updated = update.apply(current);
+            if (chunk.compareAndSet(index, current, updated)) {
+                return updated;
+            }
+        }
+    }
+
+    /**
+     * Visits every SKU that has a value, in id order; values changed during the walk may or may not
+     * be seen.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(ObjIntConsumer<V> action) {
+        AtomicReferenceArray<?>[] current = chunks;
+        for (int chunk = 0; chunk < current.length; chunk++) {
+            AtomicReferenceArray<V> values = (AtomicReferenceArray<V>) current[chunk];
+            for (int index = 0; index < CHUNK_SIZE; index++) {
+                V value = values.get(index);
+                if (value != null) {
+                    action.accept(value, chunk << CHUNK_BITS | index);
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private AtomicReferenceArray<V> chunk(int id) {
+        AtomicReferenceArray<?>[] current = chunks;
+        int chunk = id >>> CHUNK_BITS;
+        return chunk < current.length ? (AtomicReferenceArray<V>) current[chunk] : null;
+    }
+
+    private AtomicReferenceArray<V> chunkForWrite(int id) {
+        AtomicReferenceArray<V> chunk = chunk(id);
+        return chunk != null ? chunk : grow(id);
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized AtomicReferenceArray<V> grow(int id) {
+        AtomicReferenceArray<?>[] current = chunks;
+        int needed = (id >>> CHUNK_BITS) + 1;
+        if (needed > current.length) {
+            AtomicReferenceArray<?>[] grown = Arrays.copyOf(current, Math.max(needed, current.length * 2));
+            for (int i = current.length; i < grown.length; i++) {
+                grown[i] = new AtomicReferenceArray<V>(CHUNK_SIZE);
+            }
+            chunks = grown;
+        }
+        return (AtomicReferenceArray<V>) chunks[id >>> CHUNK_BITS];
+    }
+}
@@ -0,0 +1,138 @@
+package com.logiflow.shared.sku;
+
+import com.logiflow.shared.event.ProductCreatedEvent;
+import com.logiflow.shared.event.ProductSkuUpdatedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * Process-wide, append-only mapping between SKU strings and dense int ids (0, 1, 2, ...), so
+ * in-memory structures can key per-SKU data by array index (see {@link SkuArray}) instead of by
+ * string, and every SKU string is held once.
+ * <p>
+ * Lookups are lock-free: an open-addressing table of ids over an id-indexed array of SKUs, published
+ * with release/acquire ordering. Adding a SKU takes a lock. Ids are never reused or removed, and are
+ * only meaningful inside this process: they must not be persisted or sent to other nodes.
+ * <p>
+ * Only {@code WarehouseAvailabilityIndex} is keyed by these ids; it is the one structure holding an
+ * entry for every SKU in the catalog. The other per-SKU state stays on strings:
+ * <ul>
+ *     <li>the Redis caches and the reservation engine's keys live outside this process, where these
+ *     ids mean nothing;</li>
+ *     <li>{@code StockHistoryStore} writes its series keys into segment files and checkpoints, which
+ *     must outlive the process;</li>
+ *     <li>{@code SkuContentionTracker}, {@code InventoryStreamService} and {@code TrendingSkuTracker}
+ *     only hold SKUs that were busy or watched recently, and {@code SalesRollupService} keeps none
+ *     between calls;</li>
+ *     <li>{@code PromotionRules} only holds SKUs with a promotion and is rebuilt as a whole.</li>
+ * </ul>
+ * Even in the index most of the heap is the per-SKU stock arrays rather than the keys, so ids save
+ * roughly a tenth of it, not a multiple.
+ */
+@Component
+public class SkuDictionary {
+
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(int[].class);
+    private static final int INITIAL_CAPACITY = 1 << 12;
+
+    // slots hold id + 1, 0 marks an empty slot; kept at most half full
+    private record Table(int[] slots, String[] skus) {
+    }
+
+    private volatile Table table = new Table(new int[INITIAL_CAPACITY * 2], new String[INITIAL_CAPACITY]);
+    private volatile int size;
+
+    /**
+     * @return the id of the SKU, or -1 if it has never been encoded
+     */
+    public int idOf(String sku) {
+        Table current = table;
+        int[] slots = current.slots();
+        int mask = slots.length - 1;
+        for (int slot = spread(sku.hashCode()) & mask; ; slot = (slot + 1) & mask) {
+            int entry = (int) SLOT.getAcquire(slots, slot);
+            if (entry == 0) {
+                return -1;
+            }
+            if (current.skus()[entry - 1].equals(sku)) {
+                return entry - 1;
+            }
+        }
+    }
+
+    /**
+     * @return the id of the SKU, assigning the next free one if it is new
+     */
+    public int encode(String sku) {
+        int id = idOf(sku);
+        return id >= 0 ? id : add(sku);
+    }
+
+    public String decode(int id) {
+        if (id < 0 || id >= size) {
+            throw new IllegalArgumentException("Unknown SKU id: " + id);
+        }
+        return table.skus()[id];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleProductCreatedEvent(ProductCreatedEvent event) {
+        encode(event.sku());
+    }
+
+    // The old SKU keeps its id, in-memory data may still refer to it
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleProductSkuUpdatedEvent(ProductSkuUpdatedEvent event) {
+        encode(event.newSku());
+    }
+
+    private synchronized int add(String sku) {
+        int existing = idOf(sku);
+        if (existing >= 0) {
+            return existing;
+        }
+        int id = size;
+        Table current = table;
+        if (id == current.skus().length) {
+            current = grow(current);
+        }
+        current.skus()[id] = sku;
+        insert(current.slots(), sku, id);
+        size = id + 1;
+        return id;
+    }
+
+    private Table grow(Table current) {
+        String[] skus = Arrays.copyOf(current.skus(), current.skus().length * 2);
+        int[] slots = new int[skus.length * 2];
+        for (int id = 0; id < size; id++) {
+            insert(slots, skus[id], id);
+        }
+        Table grown = new Table(slots, skus);
+        table = grown;
+        return grown;
+    }
+
+    private static void insert(int[] slots, String sku, int id) {
+        int mask = slots.length - 1;
+        int slot = spread(sku.hashCode()) & mask;
+        while (slots[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        // The SKU is stored before its slot is published, so readers never see an id without a SKU
+        SLOT.setRelease(slots, slot, id + 1);
+    }
+
+    private static int spread(int hash) {
+        return (hash ^ (hash >>> 16)) * 0x9E3779B9;
+    }
+}
@@ -0,0 +1,40 @@
+package com.logiflow.sync.controller;
+
+import com.logiflow.sync.service.SyncService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/v1/sync")
+@RequiredArgsConstructor
+@PreAuthorize("hasAnyRole('SUPER_ADMIN', 'ADMIN', 'WAREHOUSE_MANAGER', 'WAREHOUSE_WORKER')")
+@Tag(name = "Sync", description = "Delta sync of inventory and catalog for warehouse handhelds")
+public class SyncController {
+
+    private final SyncService syncService;
+
+    @GetMapping(value = "/changes", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Get changes since a cursor", description = "Streams newline-delimited JSON: a {\"resync\":...} header, one compact array per changed inventory row (i), product (p) or deactivated product (d), and a {\"next\":...} cursor for the following call. Omit the cursor for a full download; a resync header means the cursor is no longer usable.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Changes streamed"),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public ResponseEntity<StreamingResponseBody> getChanges(
+            @Parameter(description = "Cursor returned by the previous call") @RequestParam(required = false) String since) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> syncService.writeChanges(since, out));
+    }
+}
@@ -0,0 +1,186 @@
+package com.logiflow.sync.service;
+
+import com.logiflow.catalog.model.Product;
+import com.logiflow.catalog.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.json.JsonFactory;
+
+import java.io.OutputStream;
+import java.sql.PreparedStatement;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Streams the inventory and catalog rows changed since a cursor as newline-delimited JSON, so
+ * handhelds keeping a local copy download O(changes) instead of O(catalog):
+ * <pre>
+ * {"resync":false}
+ * ["i",17,"MAIN","WM-001",200,50]                inventory id, warehouse, SKU, quantity, reserved
+ * ["p","507f1f77","WM-001","Wireless Mouse",29.99] product id, SKU, name, price
+ * ["d","507f1f77","WM-001"]                      product deactivated
+ * {"next":"48213.1042"}
+ * </pre>
+ * Without a cursor every row is sent. Rows may repeat across responses, so clients apply them as
+ * upserts. When the cursor cannot be honoured, or more rows changed than {@code max-changes}, only
+ * {@code {"resync":true}} is sent and the client starts over without a cursor.
+ * <p>
+ * The inventory part of the cursor is a transaction-id watermark (see
+ * {@link com.logiflow.config.ChangeSequenceInitializer}); the catalog part skips product changes
+ * younger than a grace period, so a write that took its sequence number before a later one was saved
+ * is never skipped.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SyncService {
+
+    private static final JsonFactory JSON = JsonFactory.builder().rootValueSeparator("\n").build();
+    private static final int FETCH_SIZE = 1_000;
+
+    private static final String INVENTORY_SQL = """
+            SELECT i.id, w.code, i.sku, i.quantity, i.reserved
+            FROM inventories i
+            JOIN warehouses w ON w.id = i.warehouse_id
+            """;
+    private static final String INVENTORY_CHANGES_FILTER = "WHERE i.change_seq >= ? AND i.change_seq < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProductRepository productRepository;
+
+    @Value("${app.sync.max-changes:20000}")
+    private int maxChanges = 20_000;
+
+    @Value("${app.sync.catalog-grace-seconds:5}")
+    private long catalogGraceSeconds = 5;
+
+    record SyncCursor(long inventory, long catalog) {
+
+        static SyncCursor parse(String value) {
+            String[] parts = value.split("\\.");
+            if (parts.length != 2) {
+                return null;
+            }
+            try {
+                return new SyncCursor(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return inventory + "." + catalog;
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void writeChanges(String since, OutputStream out) {
+        long inventoryWatermark = Objects.requireNonNull(jdbcTemplate.queryForObject(
+                "SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint", Long.class));
+        Instant catalogCutoff = Instant.now().minusSeconds(catalogGraceSeconds);
+
+        try (JsonGenerator json = JSON.createGenerator(out)) {
+            if (since == null || since.isBlank()) {
+                writeEverything(json, inventoryWatermark, catalogCutoff);
+                return;
+            }
+
+            SyncCursor cursor = SyncCursor.parse(since);
+            if (cursor == null || cursor.inventory() > inventoryWatermark
+                    || countChanges(cursor, inventoryWatermark, catalogCutoff) > maxChanges) {
+                json.writeStartObject().writeBooleanProperty("resync", true).writeEndObject();
+                json.writeRaw('\n');
+                return;
+            }
+            writeDelta(json, cursor, inventoryWatermark, catalogCutoff);
+        }
+    }
+
+    private void writeEverything(JsonGenerator json, long inventoryWatermark, Instant catalogCutoff) {
+        // Taken before reading so products saved meanwhile are sent again next time rather than never
+        long catalogNext = productRepository.findFirstByChangedAtBeforeOrderByChangeSeqDesc(catalogCutoff)
+                .map(Product::getChangeSeq)
+                .orElse(0L);
+        writeHeader(json);
+        streamInventory(json, INVENTORY_SQL);
+        try (Stream<Product> products = productRepository.streamByActiveTrue()) {
+            products.forEach(product -> writeProduct(json, product));
+        }
+        SyncCursor next = new SyncCursor(inventoryWatermark, catalogNext);
+        writeNext(json, next);
+        log.info("Full sync sent up to cursor {}", next);
+    }
+
+    private void writeDelta(JsonGenerator json, SyncCursor cursor, long inventoryWatermark, Instant catalogCutoff) {
+        writeHeader(json);
+        streamInventory(json, INVENTORY_SQL + INVENTORY_CHANGES_FILTER, cursor.inventory(), inventoryWatermark);
+        long catalogNext = cursor.catalog();
+        try (Stream<Product> products = productRepository
+                .streamByChangeSeqGreaterThanAndChangedAtBeforeOrderByChangeSeqAsc(cursor.catalog(), catalogCutoff)) {
+            for (Product product : (Iterable<Product>) products::iterator) {
+                writeProduct(json, product);
+                catalogNext = Math.max(catalogNext, product.getChangeSeq());
+            }
+        }
+        writeNext(json, new SyncCursor(inventoryWatermark, catalogNext));
+    }
+
+    private long countChanges(SyncCursor cursor, long inventoryWatermark, Instant catalogCutoff) {
+        Long inventoryChanges = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM inventories i " + INVENTORY_CHANGES_FILTER,
+                Long.class, cursor.inventory(), inventoryWatermark);
+        return Objects.requireNonNullElse(inventoryChanges, 0L)
+                + productRepository.countByChangeSeqGreaterThanAndChangedAtBefore(cursor.catalog(), catalogCutoff);
+    }
+
+    private void streamInventory(JsonGenerator json, String sql, Object... args) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setFetchSize(FETCH_SIZE);
+            for (int i = 0; i < args.length; i++) {
+                statement.setObject(i + 1, args[i]);
+            }
+            return statement;
+        }, (RowCallbackHandler) rs -> {
+            json.writeStartArray()
+                    .writeString("i")
+                    .writeNumber(rs.getLong(1))
+                    .writeString(rs.getString(2))
+                    .writeString(rs.getString(3))
+                    .writeNumber(rs.getInt(4))
+                    .writeNumber(rs.getInt(5))
+                    .writeEndArray();
+        });
+    }
+
+    private static void writeProduct(JsonGenerator json, Product product) {
+        json.writeStartArray();
+        if (Boolean.FALSE.equals(product.getActive())) {
+            json.writeString("d").writeString(product.getId()).writeString(product.getSku());
+        } else {
+            json.writeString("p")
+                    .writeString(product.getId())
+                    .writeString(product.getSku())
+                    .writeString(product.getName())
+                    .writeNumber(product.getPrice());
+        }
+        json.writeEndArray();
+    }
+
+    private static void writeHeader(JsonGenerator json) {
+        json.writeStartObject().writeBooleanProperty("resync", false).writeEndObject();
+    }
+
+    private static void writeNext(JsonGenerator json, SyncCursor next) {
+        json.writeStartObject().writeStringProperty("next", next.toString()).writeEndObject();
+        json.writeRaw('\n');
+    }
+}
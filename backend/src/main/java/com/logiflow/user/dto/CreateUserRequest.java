@@ -24,5 +24,8 @@ public record CreateUserRequest(
         String fullName,
 
         @NotNull(message = "Role is required")
-        Role role
+        Role role,
+
+        @Size(max = 50, message = "Customer group must not exceed 50 characters")
+        String customerGroup
 ) {}
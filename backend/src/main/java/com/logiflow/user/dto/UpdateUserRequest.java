@@ -13,6 +13,9 @@ public record UpdateUserRequest(
 
         Role role,
 
-        Boolean enabled
+        Boolean enabled,
+
+        @Size(max = 50, message = "Customer group must not exceed 50 characters")
+        String customerGroup
 ) {}
 
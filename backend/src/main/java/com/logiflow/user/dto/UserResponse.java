@@ -11,6 +11,7 @@ public record UserResponse(
         String email,
         String fullName,
         Role role,
+        String customerGroup,
         boolean enabled,
         LocalDateTime createdAt,
         LocalDateTime updatedAt
@@ -22,6 +23,7 @@ public record UserResponse(
                 user.getEmail(),
                 user.getFullName(),
                 user.getRole(),
+                user.getCustomerGroup(),
                 user.isEnabled(),
                 user.getCreatedAt(),
                 user.getUpdatedAt()
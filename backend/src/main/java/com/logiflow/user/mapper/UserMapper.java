@@ -15,6 +15,7 @@ public class UserMapper {
                 user.getEmail(),
                 user.getFullName(),
                 user.getRole(),
+                user.getCustomerGroup(),
                 user.isEnabled(),
                 user.getCreatedAt(),
                 user.getUpdatedAt()
@@ -19,7 +19,8 @@ import java.time.LocalDateTime;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -38,6 +39,10 @@ public class User {
     @Column(nullable = false)
     private Role role;
 
+    // Decides group prices and group-only promotions on this user's quotes and orders
+    @Column(length = 50)
+    private String customerGroup;
+
     @Column(nullable = false)
     @Builder.Default
     private boolean enabled = true;
@@ -8,10 +8,15 @@ import com.logiflow.user.model.Role;
 import com.logiflow.user.model.User;
 import com.logiflow.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -26,6 +31,7 @@ public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final UserMapper userMapper;
+    private final CacheManager cacheManager;
 
     private static final Set<Role> ADMIN_ROLES = Set.of(Role.SUPER_ADMIN, Role.ADMIN);
     private static final Set<Role> ADMIN_CREATABLE_ROLES = Set.of(Role.WAREHOUSE_MANAGER, Role.WAREHOUSE_WORKER, Role.CUSTOMER);
@@ -53,6 +59,26 @@ public class UserService {
         return findByUsernameOrThrow(username);
     }
 
+    /**
+     * @return the customer group of the authenticated user, which decides their group prices and
+     * group-only promotions, or null for anonymous callers and users without one. Reads the security
+     * context, so call it on the request thread. The user comes from the "users" cache, so pricing only
+     * goes to the database when the user is not cached yet.
+     */
+    public String getCurrentCustomerGroup() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        String username = authentication.getName();
+        // The same entries as getUserByUsername, which cannot be called from here without bypassing its proxy
+        Cache cache = cacheManager.getCache("users");
+        UserResponse user = cache == null ? getUserByUsername(username)
+                : cache.get(username, () -> userMapper.toDto(findByUsernameOrThrow(username)));
+        return user == null ? null : user.customerGroup();
+    }
+
     @Transactional(readOnly = true)
     public List<UserResponse> getUsersByRole(Role role) {
         return userRepository.findByRole(role).stream()
@@ -71,6 +97,7 @@ public class UserService {
                 .password(passwordEncoder.encode(request.password()))
                 .fullName(request.fullName())
                 .role(request.role())
+                .customerGroup(request.customerGroup())
                 .enabled(true)
                 .createdBy(currentUser.getId())
                 .build();
@@ -79,7 +106,7 @@ public class UserService {
     }
 
     @Transactional
-    @CachePut(value = "users", key = "#currentUser.username")
+    @CachePut(value = "users", key = "#result.username()")
     public UserResponse updateUser(Long id, UpdateUserRequest request, User currentUser) {
         User user = findByIdOrThrow(id);
         validateUserModificationPermission(currentUser, user, request.role());
@@ -91,6 +118,7 @@ public class UserService {
         updateFieldIfPresent(request.fullName(), user::setFullName);
         updateFieldIfPresent(request.role(), user::setRole);
         updateFieldIfPresent(request.enabled(), user::setEnabled);
+        updateFieldIfPresent(request.customerGroup(), user::setCustomerGroup);
 
         return userMapper.toDto(userRepository.save(user));
     }
@@ -0,0 +1,81 @@
+package com.logiflow.analytics.service;
+
+import com.logiflow.analytics.repository.SalesRollupRepository;
+import com.logiflow.shared.event.OrderLine;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.Mockito.inOrder;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SalesRollupService Unit Tests")
+class SalesRollupServiceTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 1, 6, 14, 37, 12);
+    private static final LocalDateTime HOUR_BUCKET = LocalDateTime.of(2026, 1, 6, 14, 0);
+    private static final LocalDateTime DAY_BUCKET = LocalDateTime.of(2026, 1, 6, 0, 0);
+
+    @Mock
+    private SalesRollupRepository salesRollupRepository;
+
+    @InjectMocks
+    private SalesRollupService salesRollupService;
+
+    @Nested
+    @DisplayName("recordPlaced")
+    class RecordPlaced {
+
+        @Test
+        @DisplayName("should merge lines per SKU and increment hour and day buckets in SKU order")
+        void shouldMergeLinesAndIncrementBothGranularities() {
+            // Given
+            List<OrderLine> lines = List.of(
+                    new OrderLine("SKU-B", 2, new BigDecimal("10.00")),
+                    new OrderLine("SKU-A", 1, new BigDecimal("5.50")),
+                    new OrderLine("SKU-B", 3, new BigDecimal("10.00"))
+            );
+
+            // When
+            salesRollupService.recordPlaced(CREATED_AT, lines);
+
+            // Then
+            InOrder order = inOrder(salesRollupRepository);
+            order.verify(salesRollupRepository).increment("SKU-A", "HOUR", HOUR_BUCKET, 1, new BigDecimal("5.50"));
+            order.verify(salesRollupRepository).increment("SKU-B", "HOUR", HOUR_BUCKET, 5, new BigDecimal("50.00"));
+            order.verify(salesRollupRepository).increment("SKU-A", "DAY", DAY_BUCKET, 1, new BigDecimal("5.50"));
+            order.verify(salesRollupRepository).increment("SKU-B", "DAY", DAY_BUCKET, 5, new BigDecimal("50.00"));
+            order.verifyNoMoreInteractions();
+        }
+    }
+
+    @Nested
+    @DisplayName("recordCancelled")
+    class RecordCancelled {
+
+        @Test
+        @DisplayName("should subtract cancelled lines from the buckets of the original order time")
+        void shouldDecrementOriginalBuckets() {
+            // Given
+            List<OrderLine> lines = List.of(new OrderLine("SKU-A", 4, new BigDecimal("2.25")));
+
+            // When
+            salesRollupService.recordCancelled(CREATED_AT, lines);
+
+            // Then
+            InOrder order = inOrder(salesRollupRepository);
+            order.verify(salesRollupRepository).increment("SKU-A", "HOUR", HOUR_BUCKET, -4, new BigDecimal("-9.00"));
+            order.verify(salesRollupRepository).increment("SKU-A", "DAY", DAY_BUCKET, -4, new BigDecimal("-9.00"));
+            order.verifyNoMoreInteractions();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.logiflow.analytics.service;
+
+import com.logiflow.analytics.model.StockHistoryResolution;
+import com.logiflow.analytics.service.StockHistoryStore.Point;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.*;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DisplayName("StockHistoryStore Unit Tests")
+class StockHistoryStoreTest {
+
+    private static final long WAREHOUSE_ID = 1L;
+    private static final Instant START = Instant.parse("2026-01-06T14:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    private MutableClock clock;
+    private StockHistoryStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        clock = new MutableClock(START);
+        store = new StockHistoryStore(clock, directory.toString(), 4);
+        store.open();
+    }
+
+    @Nested
+    @DisplayName("Chunk encoding")
+    class ChunkEncoding {
+
+        @Test
+        @DisplayName("should round-trip points in a few bytes each")
+        void shouldRoundTripCompactly() {
+            // Given
+            List<Point> points = new ArrayList<>();
+            long quantity = 5_000;
+            for (int minute = 0; minute < 1_000; minute++) {
+                quantity += minute % 7 - 3;
+                points.add(new Point(START.getEpochSecond() + minute * 60L, quantity, minute % 20, quantity - 2, quantity + 1));
+            }
+
+            // When
+            TimeSeriesChunk chunk = TimeSeriesChunk.of(points);
+            byte[] encoded = chunk.toByteArray();
+
+            // Then
+            assertThat(TimeSeriesChunk.decode(ByteBuffer.wrap(encoded), chunk.count())).isEqualTo(points);
+            assertThat(encoded.length).isLessThan(points.size() * 6);
+        }
+    }
+
+    @Test
+    @DisplayName("should roll minute buckets into hour buckets with min and max")
+    void shouldRollUpIntoHours() {
+        // Given
+        store.record(WAREHOUSE_ID, "SKU-001", 100, 0);
+        clock.advance(Duration.ofMinutes(10));
+        store.record(WAREHOUSE_ID, "SKU-001", 40, 5);
+        clock.advance(Duration.ofMinutes(10));
+        store.record(WAREHOUSE_ID, "SKU-001", 70, 5);
+        clock.advance(Duration.ofHours(1));
+        store.record(WAREHOUSE_ID, "SKU-001", 65, 0);
+
+        // When
+        List<Point> hours = store.query(WAREHOUSE_ID, "SKU-001", StockHistoryResolution.HOUR,
+                START.getEpochSecond(), START.plus(Duration.ofDays(1)).getEpochSecond());
+
+        // Then
+        assertThat(hours)
+                .extracting(Point::timestamp, Point::quantity, Point::reserved, Point::minQuantity, Point::maxQuantity)
+                .containsExactly(
+                        tuple(START.getEpochSecond(), 70L, 5L, 40L, 100L),
+                        tuple(START.getEpochSecond() + 3_600, 65L, 0L, 65L, 65L));
+    }
+
+    @Test
+    @DisplayName("should serve sealed and open points after a restart")
+    void shouldRestoreAfterRestart() throws IOException {
+        // Given
+        for (int minute = 0; minute < 10; minute++) {
+            store.record(WAREHOUSE_ID, "SKU-001", 100 - minute, 0);
+            clock.advance(Duration.ofMinutes(1));
+        }
+        store.close();
+
+        // When
+        StockHistoryStore reopened = new StockHistoryStore(clock, directory.toString(), 4);
+        reopened.open();
+        List<Point> minutes = reopened.query(WAREHOUSE_ID, "SKU-001", StockHistoryResolution.MINUTE,
+                START.getEpochSecond(), clock.instant().getEpochSecond());
+
+        // Then
+        assertThat(minutes).hasSize(10);
+        assertThat(minutes).extracting(Point::quantity).startsWith(100L, 99L).endsWith(91L);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
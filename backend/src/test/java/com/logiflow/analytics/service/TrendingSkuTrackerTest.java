@@ -0,0 +1,155 @@
+package com.logiflow.analytics.service;
+
+import com.logiflow.analytics.dto.TrendingSkuDTO;
+import com.logiflow.analytics.model.TrendingWindow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DisplayName("TrendingSkuTracker Unit Tests")
+class TrendingSkuTrackerTest {
+
+    private MutableClock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private TrendingSkuTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2026-01-06T14:00:00Z"));
+        meterRegistry = new SimpleMeterRegistry();
+        tracker = new TrendingSkuTracker(meterRegistry, clock);
+    }
+
+    @Test
+    @DisplayName("should rank SKUs by units ordered within the window")
+    void shouldRankSkusByUnits() {
+        // Given
+        tracker.record("SKU-A", 3);
+        tracker.record("SKU-B", 10);
+        tracker.record("SKU-A", 4);
+        tracker.record("SKU-C", 1);
+
+        // When
+        tracker.refresh();
+
+        // Then
+        assertThat(tracker.getTrending(TrendingWindow.FIVE_MINUTES))
+                .extracting(TrendingSkuDTO::sku, TrendingSkuDTO::units)
+                .containsExactly(
+                        tuple("SKU-B", 10L),
+                        tuple("SKU-A", 7L),
+                        tuple("SKU-C", 1L));
+    }
+
+    @Test
+    @DisplayName("should drop sales that fall out of the shorter windows")
+    void shouldExpireOldMinutesPerWindow() {
+        // Given
+        tracker.record("SKU-OLD", 50);
+        tracker.refresh();
+        clock.advance(Duration.ofMinutes(10));
+        tracker.refresh();
+        tracker.record("SKU-NEW", 5);
+
+        // When
+        tracker.refresh();
+
+        // Then
+        assertThat(tracker.getTrending(TrendingWindow.FIVE_MINUTES))
+                .extracting(TrendingSkuDTO::sku)
+                .containsExactly("SKU-NEW");
+        assertThat(tracker.getTrending(TrendingWindow.FIFTEEN_MINUTES))
+                .extracting(TrendingSkuDTO::sku)
+                .containsExactly("SKU-OLD", "SKU-NEW");
+    }
+
+    @Test
+    @DisplayName("should forget everything after the largest window has passed")
+    void shouldForgetAfterLargestWindow() {
+        // Given
+        tracker.record("SKU-A", 5);
+        for (int minute = 0; minute < 61; minute++) {
+            clock.advance(Duration.ofMinutes(1));
+            tracker.refresh();
+        }
+
+        // When
+        tracker.refresh();
+
+        // Then
+        assertThat(tracker.getTrending(TrendingWindow.SIXTY_MINUTES)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should let a fast seller displace the weakest candidate of a full minute")
+    void shouldEvictWeakestCandidate() {
+        // Given
+        for (int i = 0; i < 600; i++) {
+            tracker.record("SKU-" + i, 1);
+        }
+
+        // When
+        tracker.record("SKU-HOT", 50);
+        tracker.refresh();
+
+        // Then
+        assertThat(tracker.getTrending(TrendingWindow.FIVE_MINUTES).getFirst().sku()).isEqualTo("SKU-HOT");
+    }
+
+    @Test
+    @DisplayName("should publish a fixed set of gauges tagged by window and rank")
+    void shouldPublishGauges() {
+        // Given
+        tracker.record("SKU-A", 8);
+
+        // When
+        tracker.refresh();
+
+        // Then
+        assertThat(meterRegistry.get("logiflow.trending.sku.units")
+                .tags("window", "5m", "rank", "1")
+                .gauge().value()).isEqualTo(8.0);
+        assertThat(meterRegistry.get("logiflow.trending.sku.units")
+                .tags("window", "5m", "rank", "2")
+                .gauge().value()).isZero();
+        assertThat(meterRegistry.get("logiflow.trending.sku.units").gauges())
+                .hasSize(10 * TrendingWindow.values().length);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
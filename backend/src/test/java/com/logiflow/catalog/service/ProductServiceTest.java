@@ -13,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -32,6 +33,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.times;
 
 @ExtendWith(MockitoExtension.class)
@@ -56,6 +58,9 @@ class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private CatalogChangeSequence catalogChangeSequence;
+
     @InjectMocks
     private ProductService productService;
 
@@ -299,6 +304,11 @@ class ProductServiceTest {
             Product capturedProduct = productCaptor.getValue();
             assertThat(capturedProduct.getId()).isEqualTo(PRODUCT_ID);
             assertThat(capturedProduct.getActive()).isFalse();
+
+            InOrder order = inOrder(catalogChangeSequence, productRepository);
+            order.verify(catalogChangeSequence).next();
+            order.verify(productRepository).save(capturedProduct);
+            order.verify(catalogChangeSequence).advance();
         }
 
         @Test
@@ -314,6 +324,7 @@ class ProductServiceTest {
 
             then(productRepository).should().findById(NON_EXISTING_PRODUCT_ID);
             then(productRepository).shouldHaveNoMoreInteractions();
+            then(catalogChangeSequence).shouldHaveNoInteractions();
         }
     }
 }
@@ -0,0 +1,145 @@
+package com.logiflow.cluster.service;
+
+import com.logiflow.cluster.model.ClusterMember;
+import com.logiflow.shared.exception.ReservationOwnerUnavailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.ConnectException;
+import java.net.http.HttpTimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ClusterReservationService Unit Tests")
+class ClusterReservationServiceTest {
+
+    private static final ClusterMember SELF = new ClusterMember("node-a", "http://node-a:8080");
+    private static final ClusterMember OWNER = new ClusterMember("node-b", "http://node-b:8080");
+    private static final String TOKEN = "secret";
+
+    @Mock
+    private SkuOwnershipService skuOwnershipService;
+
+    @Mock
+    private OwnedReservationExecutor ownedReservationExecutor;
+
+    @Mock
+    private ClusterClient clusterClient;
+
+    private ClusterReservationService clusterReservationService;
+
+    @BeforeEach
+    void setUp() {
+        clusterReservationService = new ClusterReservationService(skuOwnershipService, ownedReservationExecutor, clusterClient);
+        ReflectionTestUtils.setField(clusterReservationService, "token", TOKEN);
+    }
+
+    @Test
+    @DisplayName("should reserve locally when the owner refuses the connection")
+    void shouldHandleLocally_WhenConnectionFails() {
+        // Given
+        remoteOwner();
+        given(clusterClient.reserveUpTo(eq(OWNER), anyString(), eq("MAIN"), eq("SKU-001"), eq(5)))
+                .willThrow(new ResourceAccessException("refused", new ConnectException("Connection refused")));
+        given(ownedReservationExecutor.reserveUpTo("MAIN", "SKU-001", 5)).willReturn(5);
+
+        // When
+        int reserved = clusterReservationService.reserveUpTo("MAIN", "SKU-001", 5);
+
+        // Then
+        assertThat(reserved).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("should resend under the same id instead of reserving locally after a read timeout")
+    void shouldResendWithSameId_WhenReplyLost() {
+        // Given
+        remoteOwner();
+        given(clusterClient.reserveUpTo(eq(OWNER), anyString(), eq("MAIN"), eq("SKU-001"), eq(5)))
+                .willThrow(new ResourceAccessException("timed out", new HttpTimeoutException("request timed out")))
+                .willReturn(5);
+
+        // When
+        int reserved = clusterReservationService.reserveUpTo("MAIN", "SKU-001", 5);
+
+        // Then
+        assertThat(reserved).isEqualTo(5);
+        ArgumentCaptor<String> requestIds = ArgumentCaptor.forClass(String.class);
+        then(clusterClient).should(times(2)).reserveUpTo(eq(OWNER), requestIds.capture(), eq("MAIN"), eq("SKU-001"), eq(5));
+        assertThat(requestIds.getAllValues().get(1)).isEqualTo(requestIds.getAllValues().get(0));
+        then(ownedReservationExecutor).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("should cancel the reservation and fail when the owner never confirms it")
+    void shouldCancelAndFail_WhenOutcomeUnknown() {
+        // Given
+        remoteOwner();
+        given(clusterClient.reserveUpTo(eq(OWNER), anyString(), eq("MAIN"), eq("SKU-001"), eq(5)))
+                .willThrow(new ResourceAccessException("timed out", new HttpTimeoutException("request timed out")));
+
+        // When / Then
+        assertThatThrownBy(() -> clusterReservationService.reserveUpTo("MAIN", "SKU-001", 5))
+                .isInstanceOf(ReservationOwnerUnavailableException.class);
+        ArgumentCaptor<String> requestId = ArgumentCaptor.forClass(String.class);
+        then(clusterClient).should().cancel(eq(OWNER), requestId.capture(), eq("MAIN"), eq("SKU-001"), eq(5));
+        then(clusterClient).should(times(2)).reserveUpTo(OWNER, requestId.getValue(), "MAIN", "SKU-001", 5);
+        then(ownedReservationExecutor).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("should run a resent request once and release it on cancellation")
+    void shouldDeduplicateForwardedRequests() {
+        // Given
+        given(ownedReservationExecutor.reserveUpTo("MAIN", "SKU-001", 5)).willReturn(4);
+        given(ownedReservationExecutor.release("MAIN", "SKU-001", 4)).willReturn(4);
+
+        // When
+        int first = clusterReservationService.handleForwarded(TOKEN, "r-1", "MAIN", "SKU-001", 5, true);
+        int resent = clusterReservationService.handleForwarded(TOKEN, "r-1", "MAIN", "SKU-001", 5, true);
+        int released = clusterReservationService.handleCancel(TOKEN, "r-1", "MAIN", "SKU-001");
+        int releasedAgain = clusterReservationService.handleCancel(TOKEN, "r-1", "MAIN", "SKU-001");
+
+        // Then
+        assertThat(first).isEqualTo(4);
+        assertThat(resent).isEqualTo(4);
+        assertThat(released).isEqualTo(4);
+        assertThat(releasedAgain).isEqualTo(4);
+        then(ownedReservationExecutor).should().reserveUpTo("MAIN", "SKU-001", 5);
+        then(ownedReservationExecutor).should().release("MAIN", "SKU-001", 4);
+    }
+
+    @Test
+    @DisplayName("should ignore a reservation arriving after its cancellation")
+    void shouldIgnoreReservation_WhenCancelledFirst() {
+        // When
+        int released = clusterReservationService.handleCancel(TOKEN, "r-2", "MAIN", "SKU-001");
+        int reserved = clusterReservationService.handleForwarded(TOKEN, "r-2", "MAIN", "SKU-001", 5, true);
+
+        // Then
+        assertThat(released).isZero();
+        assertThat(reserved).isZero();
+        then(ownedReservationExecutor).should(never()).reserveUpTo(anyString(), anyString(), anyInt());
+    }
+
+    private void remoteOwner() {
+        given(skuOwnershipService.ownerOf("SKU-001")).willReturn(OWNER);
+        given(skuOwnershipService.self()).willReturn(SELF);
+    }
+}
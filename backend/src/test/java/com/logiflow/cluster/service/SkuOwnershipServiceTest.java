@@ -0,0 +1,133 @@
+package com.logiflow.cluster.service;
+
+import com.logiflow.cluster.model.ClusterMember;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.*;
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SkuOwnershipService Unit Tests")
+class SkuOwnershipServiceTest {
+
+    private static final List<String> SKUS = IntStream.range(0, 10_000).mapToObj(i -> "SKU-" + i).toList();
+
+    private MutableClock clock;
+    private InMemoryMembershipRegistry registry;
+    private SkuOwnershipService nodeA;
+    private SkuOwnershipService nodeB;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2026-01-06T14:00:00Z"));
+        registry = new InMemoryMembershipRegistry(clock);
+        nodeA = new SkuOwnershipService(registry, "node-a", "http://node-a:8080");
+        nodeB = new SkuOwnershipService(registry, "node-b", "http://node-b:8080");
+    }
+
+    @Nested
+    @DisplayName("Hash ring")
+    class HashRing {
+
+        @Test
+        @DisplayName("should spread SKUs evenly over the members")
+        void shouldSpreadEvenly() {
+            // Given
+            ConsistentHashRing ring = new ConsistentHashRing(members(4), 128);
+
+            // When
+            Map<ClusterMember, Integer> counts = new HashMap<>();
+            SKUS.forEach(sku -> counts.merge(ring.owner(sku), 1, Integer::sum));
+
+            // Then
+            assertThat(counts).hasSize(4);
+            assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(2_000, 3_000));
+        }
+
+        @Test
+        @DisplayName("should only move the new member's share of SKUs when a member joins")
+        void shouldMoveFewKeysOnJoin() {
+            // Given
+            ConsistentHashRing before = new ConsistentHashRing(members(4), 128);
+            ConsistentHashRing after = new ConsistentHashRing(members(5), 128);
+
+            // When
+            long moved = SKUS.stream().filter(sku -> !before.owner(sku).equals(after.owner(sku))).count();
+            long movedElsewhere = SKUS.stream()
+                    .filter(sku -> !before.owner(sku).equals(after.owner(sku)))
+                    .filter(sku -> !after.owner(sku).nodeId().equals("node-4"))
+                    .count();
+
+            // Then
+            assertThat(moved).isBetween(1_400L, 2_600L);
+            assertThat(movedElsewhere).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("should agree on owners once both nodes have heartbeated")
+    void shouldAgreeOnOwners() {
+        // When
+        nodeA.heartbeat();
+        nodeB.heartbeat();
+        nodeA.heartbeat();
+
+        // Then
+        assertThat(SKUS).allSatisfy(sku -> assertThat(nodeA.ownerOf(sku)).isEqualTo(nodeB.ownerOf(sku)));
+        assertThat(SKUS.stream().filter(nodeA::ownsLocally).count()).isBetween(4_000L, 6_000L);
+    }
+
+    @Test
+    @DisplayName("should take over all SKUs when the other node stops heartbeating")
+    void shouldTakeOverExpiredNode() {
+        // Given
+        nodeA.heartbeat();
+        nodeB.heartbeat();
+        nodeA.heartbeat();
+
+        // When
+        clock.advance(Duration.ofSeconds(7));
+        nodeA.heartbeat();
+
+        // Then
+        assertThat(SKUS).allSatisfy(sku -> assertThat(nodeA.ownsLocally(sku)).isTrue());
+    }
+
+    private static List<ClusterMember> members(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new ClusterMember("node-" + i, "http://node-" + i + ":8080"))
+                .toList();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.logiflow.config;
+
+import com.logiflow.catalog.dto.ProductResponseDTO;
+import com.logiflow.inventory.dto.InventoryResponseDTO;
+import com.logiflow.user.dto.UserResponse;
+import com.logiflow.user.model.Role;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.GenericJacksonJsonRedisSerializer;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes and deserializes the cached DTOs with the polymorphic JSON serializer the cache used to
+ * have and with {@link CacheValueSerializer}. Payload sizes are printed before the run, and the GC
+ * profiler adds the bytes allocated per operation:
+ * {@code ./mvnw test-compile exec:exec -Dbenchmark=com.logiflow.config.CacheValueSerializerBenchmark}.
+ * Only the payload sizes have been checked so far; the timings still need a JMH run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class CacheValueSerializerBenchmark {
+
+    @Param({"inventory", "user", "product", "product-large-attributes"})
+    String payload;
+
+    private GenericJacksonJsonRedisSerializer json;
+    private CacheValueSerializer binary;
+    private Object value;
+    private byte[] jsonBytes;
+    private byte[] binaryBytes;
+
+    @Setup
+    public void setUp() {
+        json = jsonSerializer();
+        binary = new CacheValueSerializer(json, JsonMapper.builder().build(), 512);
+        value = value(payload);
+        jsonBytes = json.serialize(value);
+        binaryBytes = binary.serialize(value);
+    }
+
+    @Benchmark
+    public byte[] jsonSerialize() {
+        return json.serialize(value);
+    }
+
+    @Benchmark
+    public Object jsonDeserialize() {
+        return json.deserialize(jsonBytes);
+    }
+
+    @Benchmark
+    public byte[] binarySerialize() {
+        return binary.serialize(value);
+    }
+
+    @Benchmark
+    public Object binaryDeserialize() {
+        return binary.deserialize(binaryBytes);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        GenericJacksonJsonRedisSerializer json = jsonSerializer();
+        CacheValueSerializer binary = new CacheValueSerializer(json, JsonMapper.builder().build(), 512);
+        for (String payload : new String[]{"inventory", "user", "product", "product-large-attributes"}) {
+            Object value = value(payload);
+            System.out.printf("%-26s json %6d bytes, binary %6d bytes%n",
+                    payload, json.serialize(value).length, binary.serialize(value).length);
+        }
+        new Runner(new OptionsBuilder()
+                .include(CacheValueSerializerBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+    // Configured like RedisConfig
+    private static GenericJacksonJsonRedisSerializer jsonSerializer() {
+        return GenericJacksonJsonRedisSerializer.builder()
+                .enableDefaultTyping(BasicPolymorphicTypeValidator.builder()
+                        .allowIfBaseType("com.logiflow.")
+                        .allowIfBaseType("java.util.")
+                        .allowIfBaseType("java.math.")
+                        .allowIfBaseType("java.time.")
+                        .build())
+                .build();
+    }
+
+    private static Object value(String payload) {
+        return switch (payload) {
+            case "inventory" -> new InventoryResponseDTO("WM-001", 150);
+            case "user" -> new UserResponse(42L, "warehouse.manager", "manager@logiflow.com", "Warehouse Manager",
+                    Role.WAREHOUSE_MANAGER, null, true, LocalDateTime.of(2025, 12, 27, 10, 30), LocalDateTime.of(2026, 1, 5, 8, 0));
+            case "product" -> product(Map.of("color", "black", "weight", "100g", "wireless", true));
+            default -> {
+                Map<String, Object> attributes = new LinkedHashMap<>();
+                for (int i = 0; i < 40; i++) {
+                    attributes.put("spec-" + i, "Value of specification " + i + " for the wireless mouse");
+                }
+                attributes.put("description", "Ergonomic wireless mouse with silent buttons and a two-year battery. ".repeat(15));
+                yield product(attributes);
+            }
+        };
+    }
+
+    private static ProductResponseDTO product(Map<String, Object> attributes) {
+        return new ProductResponseDTO("507f1f77bcf86cd799439011", "Wireless Mouse", "WM-001",
+                new BigDecimal("29.99"), new LinkedHashMap<>(attributes), true);
+    }
+}
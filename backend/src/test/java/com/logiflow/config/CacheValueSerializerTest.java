@@ -0,0 +1,76 @@
+package com.logiflow.config;
+
+import com.logiflow.catalog.dto.ProductResponseDTO;
+import com.logiflow.inventory.dto.InventoryResponseDTO;
+import com.logiflow.user.dto.UserResponse;
+import com.logiflow.user.model.Role;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJacksonJsonRedisSerializer;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CacheValueSerializer Unit Tests")
+class CacheValueSerializerTest {
+
+    private final GenericJacksonJsonRedisSerializer jsonSerializer = GenericJacksonJsonRedisSerializer.builder()
+            .enableDefaultTyping(BasicPolymorphicTypeValidator.builder()
+                    .allowIfBaseType("com.logiflow.")
+                    .allowIfBaseType("java.util.")
+                    .allowIfBaseType("java.math.")
+                    .allowIfBaseType("java.time.")
+                    .build())
+            .build();
+    private final CacheValueSerializer serializer = new CacheValueSerializer(jsonSerializer, JsonMapper.builder().build(), 512);
+
+    @Test
+    @DisplayName("should round-trip cached DTOs in fewer bytes than polymorphic JSON")
+    void shouldRoundTripCompactly() {
+        // Given
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("color", "black");
+        attributes.put("weight", 100);
+        attributes.put("description", "Quiet wireless mouse with a long battery life. ".repeat(20));
+        List<Object> values = List.of(
+                new ProductResponseDTO("507f1f77bcf86cd799439011", "Wireless Mouse", "WM-001",
+                        new BigDecimal("29.99"), attributes, true),
+                new ProductResponseDTO("507f1f77bcf86cd799439012", "Cable", "CB-001",
+                        new BigDecimal("123456789012345678901234.5"), null, null),
+                new InventoryResponseDTO("WM-001", -3),
+                new StampedeProtectedCache.CachedValue(new InventoryResponseDTO("WM-002", 5), 1_767_600_000_000L, 12),
+                new UserResponse(7L, "jdoe", "jdoe@logiflow.com", "John Doe", Role.ADMIN, "WHOLESALE", true,
+                        LocalDateTime.of(2026, 1, 5, 10, 30, 0, 123_456_789), null));
+
+        for (Object value : values) {
+            // When
+            byte[] binary = serializer.serialize(value);
+
+            // Then
+            assertThat(serializer.deserialize(binary)).isEqualTo(value);
+            assertThat(binary.length).isLessThan(jsonSerializer.serialize(value).length);
+        }
+    }
+
+    @Test
+    @DisplayName("should read entries cached as JSON and treat unknown formats as misses")
+    void shouldReadLegacyEntries() {
+        // Given
+        InventoryResponseDTO inventory = new InventoryResponseDTO("WM-001", 150);
+        byte[] legacy = jsonSerializer.serialize(inventory);
+        byte[] newer = serializer.serialize(inventory);
+        newer[0] = CacheValueSerializer.FORMAT_VERSION + 1;
+
+        // When / Then
+        assertThat(serializer.deserialize(legacy)).isEqualTo(inventory);
+        assertThat(serializer.deserialize(newer)).isNull();
+        assertThat(serializer.deserialize(new byte[]{CacheValueSerializer.FORMAT_VERSION, 1, 9})).isNull();
+    }
+}
@@ -0,0 +1,119 @@
+package com.logiflow.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StampedeProtectedCache Unit Tests")
+class StampedeProtectedCacheTest {
+
+    private static final Duration FRESH_FOR = Duration.ofMinutes(60);
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private Clock clock;
+
+    private StampedeProtectedCache cache;
+
+    @BeforeEach
+    void setUp() {
+        given(redisTemplate.opsForValue()).willReturn(valueOperations);
+        cache = new StampedeProtectedCache(new ConcurrentMapCache("products"), redisTemplate, FRESH_FOR, 0,
+                Duration.ofSeconds(2), Duration.ofMillis(50), clock);
+    }
+
+    @Test
+    @DisplayName("should load a missing key once for all concurrent callers")
+    void shouldCoalesceConcurrentMisses() throws Exception {
+        // Given
+        given(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).willReturn(true);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+
+        // When
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            for (int i = 0; i < 16; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return cache.get("p-1", () -> {
+                        loads.incrementAndGet();
+                        Thread.sleep(200);
+                        return "product";
+                    });
+                }));
+            }
+            start.countDown();
+        }
+
+        // Then
+        for (Future<String> result : results) {
+            assertThat(result.get()).isEqualTo("product");
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("should serve a stale value while another node refreshes it")
+    void shouldServeStaleWhileRefreshing() {
+        // Given
+        given(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).willReturn(true, false, true);
+        given(clock.millis()).willReturn(0L);
+        cache.get("p-1", () -> "v1");
+        given(clock.millis()).willReturn(FRESH_FOR.toMillis() + 1);
+
+        // When
+        String whileLocked = cache.get("p-1", () -> "v2");
+        String afterUnlock = cache.get("p-1", () -> "v3");
+
+        // Then
+        assertThat(whileLocked).isEqualTo("v1");
+        assertThat(afterUnlock).isEqualTo("v3");
+        assertThat(cache.get("p-1", String.class)).isEqualTo("v3");
+    }
+
+    @Test
+    @DisplayName("should refresh a value written by put before it expires")
+    void shouldRefreshPutValueEarly() {
+        // Given
+        StampedeProtectedCache eager = new StampedeProtectedCache(new ConcurrentMapCache("users"), redisTemplate,
+                FRESH_FOR, 1_000_000, Duration.ofSeconds(2), Duration.ofMillis(50), clock);
+        given(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).willReturn(true);
+        given(clock.millis()).willReturn(0L);
+        eager.put("u-1", "v1");
+        given(clock.millis()).willReturn(FRESH_FOR.toMillis() - 1);
+
+        // When
+        String value = eager.get("u-1", () -> "v2");
+
+        // Then
+        assertThat(value).isEqualTo("v2");
+    }
+}
@@ -2,6 +2,7 @@ package com.logiflow.config;
 
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.GenericContainer;
 import org.testcontainers.containers.MongoDBContainer;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Testcontainers;
@@ -17,8 +18,12 @@ public abstract class TestcontainersConfiguration {
     @ServiceConnection
     static final MongoDBContainer mongo = new MongoDBContainer("mongo:latest");
 
+    @ServiceConnection(name = "redis")
+    static final GenericContainer<?> redis = new GenericContainer<>("redis:8.2.2-alpine").withExposedPorts(6379);
+
     static {
         mongo.start();
         postgres.start();
+        redis.start();
     }
 }
@@ -0,0 +1,137 @@
+package com.logiflow.grpc.service;
+
+import com.logiflow.grpc.mapper.GrpcMessageMapper;
+import com.logiflow.grpc.v1.GetInventoriesRequest;
+import com.logiflow.grpc.v1.InventoryServiceGrpc;
+import com.logiflow.grpc.v1.InventorySummary;
+import com.logiflow.grpc.v1.StockAdjustment;
+import com.logiflow.grpc.v1.StockAdjustmentResult;
+import com.logiflow.inventory.dto.InventorySummaryDTO;
+import com.logiflow.inventory.dto.WarehouseStockDTO;
+import com.logiflow.inventory.service.InventoryService;
+import com.logiflow.shared.exception.GlobalGrpcExceptionHandler;
+import com.logiflow.shared.exception.InsufficientStockException;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willThrow;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InventoryGrpcService Unit Tests")
+class InventoryGrpcServiceTest {
+
+    @Mock
+    private InventoryService inventoryService;
+
+    private Server server;
+    private ManagedChannel channel;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name)
+                .directExecutor()
+                .addService(new InventoryGrpcService(inventoryService, new GrpcMessageMapper(), new GlobalGrpcExceptionHandler()))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("should stream one summary per SKU")
+    void shouldStreamSummaries() {
+        // Given
+        given(inventoryService.getInventoriesBySKUs(List.of("SKU-001", "SKU-002"))).willReturn(List.of(
+                new InventorySummaryDTO("SKU-001", 90, List.of(new WarehouseStockDTO("MAIN", 100, 10, 90))),
+                new InventorySummaryDTO("SKU-002", 5, List.of(new WarehouseStockDTO("MAIN", 5, 0, 5)))));
+
+        // When
+        List<InventorySummary> summaries = new ArrayList<>();
+        InventoryServiceGrpc.newBlockingStub(channel)
+                .getInventories(GetInventoriesRequest.newBuilder().addSkus("SKU-001").addSkus(" SKU-002 ").build())
+                .forEachRemaining(summaries::add);
+
+        // Then
+        assertThat(summaries).extracting(InventorySummary::getSku, InventorySummary::getAvailableQuantity)
+                .containsExactly(tuple("SKU-001", 90), tuple("SKU-002", 5));
+        assertThat(summaries.getFirst().getWarehouses(0).getReserved()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("should answer every adjustment and report failures without ending the stream")
+    void shouldReportEachAdjustment() throws InterruptedException {
+        // Given
+        willThrow(new InsufficientStockException("Insufficient stock for SKU: SKU-002"))
+                .given(inventoryService).reserveStock(null, "SKU-002", 5);
+        List<StockAdjustmentResult> results = new ArrayList<>();
+        CountDownLatch completed = new CountDownLatch(1);
+
+        // When
+        StreamObserver<StockAdjustment> requests = InventoryServiceGrpc.newStub(channel).adjustStock(new StreamObserver<>() {
+            @Override
+            public void onNext(StockAdjustmentResult result) {
+                results.add(result);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                completed.countDown();
+            }
+
+            @Override
+            public void onCompleted() {
+                completed.countDown();
+            }
+        });
+        requests.onNext(adjustment("a", "SKU-001", 10, StockAdjustment.Type.ADD));
+        requests.onNext(adjustment("b", "SKU-002", 5, StockAdjustment.Type.REMOVE));
+        requests.onNext(adjustment("c", "SKU-003", 0, StockAdjustment.Type.ADD));
+        requests.onCompleted();
+
+        // Then
+        assertThat(completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(results).extracting(StockAdjustmentResult::getRequestId, StockAdjustmentResult::getApplied)
+                .containsExactly(
+                        tuple("a", true),
+                        tuple("b", false),
+                        tuple("c", false));
+        assertThat(results.get(1).getError()).startsWith("FAILED_PRECONDITION");
+        assertThat(results.get(2).getError()).startsWith("INVALID_ARGUMENT");
+        then(inventoryService).should().addStock(null, "SKU-001", 10);
+    }
+
+    private static StockAdjustment adjustment(String requestId, String sku, int quantity, StockAdjustment.Type type) {
+        return StockAdjustment.newBuilder()
+                .setRequestId(requestId)
+                .setSku(sku)
+                .setQuantity(quantity)
+                .setType(type)
+                .build();
+    }
+}
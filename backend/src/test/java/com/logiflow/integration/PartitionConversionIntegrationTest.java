@@ -0,0 +1,66 @@
+package com.logiflow.integration;
+
+import com.logiflow.config.TestcontainersConfiguration;
+import com.logiflow.shared.partition.MonthlyPartitionManager;
+import com.logiflow.shared.partition.PartitionedTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Partition Conversion Integration Tests")
+class PartitionConversionIntegrationTest extends TestcontainersConfiguration {
+
+    private static final PartitionedTable TABLE = new PartitionedTable("partition_it_orders", "created_at",
+            "UPDATE partition_it_orders SET created_at = now() WHERE created_at IS NULL");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        // The DDL Hibernate generated for orders while ids were GenerationType.IDENTITY
+        jdbcTemplate.execute("""
+                CREATE TABLE partition_it_orders (
+                    id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                    customer_name varchar(255) NOT NULL,
+                    created_at timestamp(6)
+                )""");
+        jdbcTemplate.execute("CREATE INDEX idx_partition_it_orders_customer ON partition_it_orders (customer_name)");
+        jdbcTemplate.update("INSERT INTO partition_it_orders (customer_name, created_at) VALUES ('John Doe', now())");
+        jdbcTemplate.update("INSERT INTO partition_it_orders (customer_name) VALUES ('Jane Doe')");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS partition_it_orders CASCADE");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS partition_it_orders_legacy CASCADE");
+    }
+
+    @Test
+    @DisplayName("should convert a table with an identity id and keep its rows in the legacy partition")
+    void shouldConvertTableWithIdentityColumn() {
+        // Given
+        MonthlyPartitionManager partitionManager = new MonthlyPartitionManager(jdbcTemplate);
+
+        // When
+        transactionTemplate.executeWithoutResult(_ -> partitionManager.convertIfNeeded(TABLE));
+
+        // Then
+        assertThat(partitionManager.legacyUpperBound(TABLE)).isPresent();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM partition_it_orders_legacy", Long.class))
+                .isEqualTo(2L);
+        jdbcTemplate.update("INSERT INTO partition_it_orders (id, customer_name, created_at) " +
+                "VALUES (100, 'Late Order', now())");
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM partition_it_orders", Long.class))
+                .isEqualTo(3L);
+    }
+}
@@ -0,0 +1,107 @@
+package com.logiflow.integration;
+
+import com.logiflow.config.TestcontainersConfiguration;
+import com.logiflow.inventory.model.Inventory;
+import com.logiflow.inventory.repository.InventoryRepository;
+import com.logiflow.inventory.service.AllocationEngine.Allocation;
+import com.logiflow.inventory.service.InventoryService;
+import com.logiflow.inventory.service.RedisReservationEngine;
+import com.logiflow.inventory.service.ReservationReconciler;
+import com.logiflow.inventory.service.WarehouseService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "app.inventory.redis-reservations.enabled=true",
+        "app.inventory.redis-reservations.reconcile-interval-ms=3600000"
+})
+@DisplayName("Redis Reservation Integration Tests")
+class RedisReservationIntegrationTest extends TestcontainersConfiguration {
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private WarehouseService warehouseService;
+
+    @Autowired
+    private RedisReservationEngine redisReservationEngine;
+
+    @Autowired
+    private ReservationReconciler reservationReconciler;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    private String warehouseCode;
+
+    @BeforeEach
+    void setUp() {
+        inventoryRepository.deleteAll();
+        redisTemplate.execute(connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        }, true);
+        warehouseCode = warehouseService.getDefaultWarehouse().getCode();
+    }
+
+    @Test
+    @DisplayName("should reserve all lines of an order or none of them")
+    void shouldReserveAllOrNothing() {
+        // Given
+        inventoryService.addStock("SKU-A", 5);
+        inventoryService.addStock("SKU-B", 1);
+
+        // When
+        List<Integer> rejected = redisReservationEngine.reserveAll(List.of(
+                new Allocation("SKU-A", warehouseCode, 3), new Allocation("SKU-B", warehouseCode, 2)));
+        List<Integer> accepted = redisReservationEngine.reserveAll(List.of(
+                new Allocation("SKU-A", warehouseCode, 3), new Allocation("SKU-B", warehouseCode, 1)));
+        reservationReconciler.reconcile();
+
+        // Then
+        assertThat(rejected).containsExactly(1);
+        assertThat(accepted).isEmpty();
+        assertThat(inventoryRepository.findAllBySku("SKU-A")).extracting(Inventory::getReserved).containsExactly(3);
+        assertThat(inventoryRepository.findAllBySku("SKU-B")).extracting(Inventory::getReserved).containsExactly(1);
+    }
+
+    @Test
+    @DisplayName("should never reserve more than is available under concurrent load")
+    void shouldNotOversell() throws Exception {
+        // Given
+        inventoryService.addStock("SKU-HOT", 100);
+
+        // When
+        List<Future<Integer>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 200; i++) {
+                results.add(executor.submit(() -> inventoryService.reserveUpTo(warehouseCode, "SKU-HOT", 1)));
+            }
+        }
+        int reserved = 0;
+        for (Future<Integer> result : results) {
+            reserved += result.get();
+        }
+        reservationReconciler.reconcile();
+
+        // Then
+        assertThat(reserved).isEqualTo(100);
+        assertThat(inventoryRepository.findAllBySku("SKU-HOT")).extracting(Inventory::getReserved).containsExactly(100);
+    }
+}
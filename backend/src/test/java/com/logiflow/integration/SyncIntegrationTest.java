@@ -0,0 +1,74 @@
+package com.logiflow.integration;
+
+import com.logiflow.config.TestcontainersConfiguration;
+import com.logiflow.inventory.repository.InventoryRepository;
+import com.logiflow.inventory.service.InventoryService;
+import com.logiflow.sync.service.SyncService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Sync Integration Tests")
+class SyncIntegrationTest extends TestcontainersConfiguration {
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        inventoryRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("should send a row committed after the cursor by a transaction that was running when it was issued")
+    void shouldNotSkipLateCommits() throws Exception {
+        // Given
+        inventoryService.addStock("SYNC-A", 5);
+        List<String> delta;
+        try (Connection late = dataSource.getConnection()) {
+            late.setAutoCommit(false);
+            try (Statement statement = late.createStatement()) {
+                statement.executeUpdate("UPDATE inventories SET quantity = 42 WHERE sku = 'SYNC-A'");
+            }
+            List<String> full = sync(null);
+            late.commit();
+
+            // When
+            delta = sync(next(full));
+        }
+
+        // Then
+        assertThat(delta.getFirst()).isEqualTo("{\"resync\":false}");
+        assertThat(delta).anyMatch(line -> line.endsWith("\"SYNC-A\",42,0]"));
+    }
+
+    private List<String> sync(String since) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        syncService.writeChanges(since, out);
+        return out.toString(StandardCharsets.UTF_8).lines().toList();
+    }
+
+    private static String next(List<String> lines) {
+        String last = lines.getLast();
+        return last.substring(last.indexOf(":\"") + 2, last.lastIndexOf('"'));
+    }
+}
@@ -0,0 +1,114 @@
+package com.logiflow.inventory.listener;
+
+import com.logiflow.inventory.model.Warehouse;
+import com.logiflow.inventory.service.AvailabilityReadModel;
+import com.logiflow.inventory.service.InventoryStreamService;
+import com.logiflow.inventory.service.WarehouseAvailabilityIndex;
+import com.logiflow.shared.event.InventoryChangedEvent;
+import com.logiflow.shared.event.ProductSkuUpdatedEvent;
+import com.logiflow.shared.sku.SkuDictionary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InventoryChangeRelay Unit Tests")
+class InventoryChangeRelayTest {
+
+    private static final String CHANNEL = "logiflow:inventory-changes:v2";
+    private static final String RETIRED_SKU_CHANNEL = "logiflow:retired-skus:v1";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private AvailabilityReadModel availabilityReadModel;
+
+    @Mock
+    private InventoryStreamService inventoryStreamService;
+
+    private WarehouseAvailabilityIndex availabilityIndex;
+    private InventoryChangeRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        availabilityIndex = new WarehouseAvailabilityIndex(null, new SkuDictionary());
+        availabilityIndex.registerWarehouse(Warehouse.builder()
+                .id(1L)
+                .code("KYIV")
+                .shippingCostPerUnit(BigDecimal.ONE)
+                .build());
+        relay = new InventoryChangeRelay(redisTemplate, availabilityIndex, availabilityReadModel, inventoryStreamService);
+    }
+
+    @Test
+    @DisplayName("should relay a committed change with its version and apply it on receipt")
+    void shouldRoundTripVersionedChange() {
+        // Given
+        InventoryChangedEvent event = new InventoryChangedEvent(1L, "SKU:A", 20, 5, 7);
+        relay.handleInventoryChangedEvent(event);
+        ArgumentCaptor<String> sent = ArgumentCaptor.forClass(String.class);
+        then(redisTemplate).should().convertAndSend(eq(CHANNEL), sent.capture());
+
+        // When
+        relay.onMessage(message(sent.getValue()), null);
+
+        // Then
+        assertThat(sent.getValue()).isEqualTo("1:20:5:7:SKU:A");
+        then(availabilityReadModel).should(times(2)).apply(event);
+        assertThat(availabilityIndex.stock("SKU:A").available()).containsExactly(15);
+    }
+
+    @Test
+    @DisplayName("should ignore a relayed change older than the level already applied")
+    void shouldIgnoreStaleMessage() {
+        // Given
+        relay.handleInventoryChangedEvent(new InventoryChangedEvent(1L, "SKU-A", 20, 5, 8));
+
+        // When
+        relay.onMessage(message("1:30:0:7:SKU-A"), null);
+
+        // Then
+        assertThat(availabilityIndex.stock("SKU-A").available()).containsExactly(15);
+        assertThat(availabilityIndex.stock("SKU-A").versions()).containsExactly(8L);
+    }
+
+    @Test
+    @DisplayName("should relay a SKU rename so other nodes drop the old SKU")
+    void shouldRelayRetiredSku() {
+        // Given
+        relay.onMessage(message("1:20:5:7:SKU-OLD"), null);
+        relay.handleProductSkuUpdatedEvent(new ProductSkuUpdatedEvent("p-1", "SKU-OLD", "SKU-NEW"));
+        ArgumentCaptor<String> sent = ArgumentCaptor.forClass(String.class);
+        then(redisTemplate).should().convertAndSend(eq(RETIRED_SKU_CHANNEL), sent.capture());
+
+        // When
+        relay.onMessage(message(RETIRED_SKU_CHANNEL, sent.getValue()), null);
+
+        // Then
+        assertThat(availabilityIndex.stock("SKU-OLD").available()).isEmpty();
+        then(availabilityReadModel).should().retire("SKU-OLD");
+    }
+
+    private static DefaultMessage message(String body) {
+        return message(CHANNEL, body);
+    }
+
+    private static DefaultMessage message(String channel, String body) {
+        return new DefaultMessage(channel.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+}
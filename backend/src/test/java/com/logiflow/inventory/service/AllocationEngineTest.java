@@ -0,0 +1,100 @@
+package com.logiflow.inventory.service;
+
+import com.logiflow.inventory.model.Warehouse;
+import com.logiflow.inventory.service.AllocationEngine.Allocation;
+import com.logiflow.inventory.service.AllocationEngine.Plan;
+import com.logiflow.inventory.service.AllocationEngine.StockKey;
+import com.logiflow.shared.event.InventoryChangedEvent;
+import com.logiflow.shared.sku.SkuDictionary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AllocationEngine Unit Tests")
+class AllocationEngineTest {
+
+    private WarehouseAvailabilityIndex index;
+    private AllocationEngine allocationEngine;
+
+    @BeforeEach
+    void setUp() {
+        index = new WarehouseAvailabilityIndex(null, new SkuDictionary());
+        allocationEngine = new AllocationEngine(index);
+        warehouse(1L, "KYIV", 50.45, 30.52, "1.00");
+        warehouse(2L, "LVIV", 49.84, 24.03, "0.50");
+        warehouse(3L, "ODESA", 46.48, 30.72, "0.80");
+    }
+
+    @Test
+    @DisplayName("should ship from the nearest warehouse that can cover the whole order")
+    void shouldPreferNearestSingleWarehouse() {
+        // Given
+        stock(1L, "SKU-A", 10);
+        stock(2L, "SKU-A", 10);
+        stock(2L, "SKU-B", 10);
+        stock(3L, "SKU-A", 10);
+        stock(3L, "SKU-B", 10);
+
+        // When
+        Plan plan = allocationEngine.plan(Map.of("SKU-A", 2, "SKU-B", 3), 46.0, 30.0, Set.of());
+
+        // Then
+        assertThat(plan.shortfalls()).isEmpty();
+        assertThat(plan.allocations()).containsExactlyInAnyOrder(
+                new Allocation("SKU-A", "ODESA", 2),
+                new Allocation("SKU-B", "ODESA", 3));
+    }
+
+    @Test
+    @DisplayName("should split across the fewest warehouses and report what is left")
+    void shouldSplitAndReportShortfall() {
+        // Given
+        stock(1L, "SKU-A", 5);
+        stock(2L, "SKU-A", 3);
+        stock(2L, "SKU-B", 4);
+
+        // When
+        Plan plan = allocationEngine.plan(Map.of("SKU-A", 10, "SKU-B", 4), null, null, Set.of());
+
+        // Then
+        assertThat(plan.allocations()).containsExactlyInAnyOrder(
+                new Allocation("SKU-A", "LVIV", 3),
+                new Allocation("SKU-B", "LVIV", 4),
+                new Allocation("SKU-A", "KYIV", 5));
+        assertThat(plan.shortfalls()).containsExactly(Map.entry("SKU-A", 2));
+    }
+
+    @Test
+    @DisplayName("should skip warehouses known to be exhausted")
+    void shouldSkipExhaustedStock() {
+        // Given
+        stock(1L, "SKU-A", 10);
+        stock(2L, "SKU-A", 10);
+
+        // When
+        Plan plan = allocationEngine.plan(Map.of("SKU-A", 4), null, null, Set.of(new StockKey("LVIV", "SKU-A")));
+
+        // Then
+        assertThat(plan.allocations()).containsExactly(new Allocation("SKU-A", "KYIV", 4));
+    }
+
+    private void warehouse(Long id, String code, double latitude, double longitude, String cost) {
+        index.registerWarehouse(Warehouse.builder()
+                .id(id)
+                .code(code)
+                .latitude(latitude)
+                .longitude(longitude)
+                .shippingCostPerUnit(new BigDecimal(cost))
+                .build());
+    }
+
+    private void stock(Long warehouseId, String sku, int available) {
+        index.handleInventoryChangedEvent(new InventoryChangedEvent(warehouseId, sku, available, 0, 0));
+    }
+}
@@ -0,0 +1,151 @@
+package com.logiflow.inventory.service;
+
+import com.logiflow.inventory.dto.InventoryResponseDTO;
+import com.logiflow.inventory.dto.InventorySummaryDTO;
+import com.logiflow.inventory.dto.WarehouseStockDTO;
+import com.logiflow.inventory.model.Warehouse;
+import com.logiflow.shared.event.InventoryChangedEvent;
+import com.logiflow.shared.event.ProductSkuUpdatedEvent;
+import com.logiflow.shared.sku.SkuDictionary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AvailabilityReadModel Unit Tests")
+class AvailabilityReadModelTest {
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private WarehouseAvailabilityIndex availabilityIndex;
+
+    @BeforeEach
+    void setUp() {
+        availabilityIndex = new WarehouseAvailabilityIndex(null, new SkuDictionary());
+        warehouse(1L, "KYIV");
+        warehouse(2L, "LVIV");
+    }
+
+    @Test
+    @DisplayName("should answer from records updated in place by inventory changes")
+    void shouldAnswerFromUpdatedRecords() {
+        // Given
+        given(jdbcTemplate.queryForObject(any(String.class), any(RowMapper.class))).willReturn(new long[]{7, 100});
+        AvailabilityReadModel model = open();
+        assertThat(model.find("SKU-A")).isNull();
+
+        // When
+        model.apply(new InventoryChangedEvent(1L, "SKU-A", 10, 4, 1));
+        model.apply(new InventoryChangedEvent(2L, "SKU-A", 7, 0, 1));
+        model.apply(new InventoryChangedEvent(1L, "SKU-A", 12, 4, 2));
+        model.apply(new InventoryChangedEvent(1L, "SKU-B", 3, 0, 1));
+        model.handleProductSkuUpdatedEvent(new ProductSkuUpdatedEvent("p-1", "SKU-B", "SKU-C"));
+
+        // Then
+        assertThat(model.find("SKU-A")).isEqualTo(new InventoryResponseDTO("SKU-A", 15));
+        List<String> unanswered = new ArrayList<>();
+        List<InventorySummaryDTO> summaries = model.findSummaries(List.of("SKU-A", "SKU-B", "X".repeat(200)), unanswered);
+        assertThat(summaries).containsExactly(new InventorySummaryDTO("SKU-A", 15, List.of(
+                new WarehouseStockDTO("KYIV", 12, 4, 8),
+                new WarehouseStockDTO("LVIV", 7, 0, 7))));
+        assertThat(unanswered).containsExactly("SKU-B", "X".repeat(200));
+    }
+
+    @Test
+    @DisplayName("should ignore older versions and messages for a retired SKU")
+    void shouldRejectStaleWrites() {
+        // Given
+        given(jdbcTemplate.queryForObject(any(String.class), any(RowMapper.class))).willReturn(new long[]{7, 100});
+        AvailabilityReadModel model = open();
+        model.apply(new InventoryChangedEvent(1L, "SKU-A", 10, 0, 5));
+        model.apply(new InventoryChangedEvent(1L, "SKU-B", 4, 0, 3));
+        model.retire("SKU-B");
+
+        // When
+        model.apply(new InventoryChangedEvent(1L, "SKU-A", 30, 0, 4));
+        model.apply(new InventoryChangedEvent(1L, "SKU-B", 4, 0, 3));
+
+        // Then
+        assertThat(model.find("SKU-A")).isEqualTo(new InventoryResponseDTO("SKU-A", 10));
+        assertThat(model.find("SKU-B")).isNull();
+        model.apply(new InventoryChangedEvent(1L, "SKU-B", 6, 0, 4));
+        assertThat(model.find("SKU-B")).isEqualTo(new InventoryResponseDTO("SKU-B", 6));
+    }
+
+    @Test
+    @DisplayName("should leave SKUs stocked in a warehouse the index does not know to the database")
+    void shouldFallBack_WhenWarehouseUnknown() {
+        // Given
+        given(jdbcTemplate.queryForObject(any(String.class), any(RowMapper.class))).willReturn(new long[]{7, 100});
+        AvailabilityReadModel model = open();
+        model.apply(new InventoryChangedEvent(1L, "SKU-A", 10, 0, 1));
+        model.apply(new InventoryChangedEvent(3L, "SKU-A", 5, 0, 1));
+        model.apply(new InventoryChangedEvent(1L, "SKU-B", 2, 0, 1));
+
+        // When
+        List<String> unanswered = new ArrayList<>();
+        List<InventorySummaryDTO> summaries = model.findSummaries(List.of("SKU-A", "SKU-B"), unanswered);
+
+        // Then
+        assertThat(model.find("SKU-A")).isNull();
+        assertThat(unanswered).containsExactly("SKU-A");
+        assertThat(summaries).extracting(InventorySummaryDTO::sku).containsExactly("SKU-B");
+    }
+
+    @Test
+    @DisplayName("should reopen the file and read back only rows changed since its watermark")
+    void shouldCatchUpFromWatermarkAfterRestart() {
+        // Given
+        given(jdbcTemplate.queryForObject(any(String.class), any(RowMapper.class)))
+                .willReturn(new long[]{7, 100}, new long[]{7, 120});
+        AvailabilityReadModel first = open();
+        first.apply(new InventoryChangedEvent(2L, "SKU-A", 9, 1, 1));
+        then(jdbcTemplate).should().query(eq("SELECT warehouse_id, sku, quantity, reserved, version FROM inventories"),
+                any(RowCallbackHandler.class));
+
+        // When
+        AvailabilityReadModel restarted = open();
+
+        // Then
+        assertThat(restarted.find("SKU-A")).isEqualTo(new InventoryResponseDTO("SKU-A", 8));
+        then(jdbcTemplate).should().query(contains("change_seq >= ?"), any(RowCallbackHandler.class), eq(100L));
+    }
+
+    private AvailabilityReadModel open() {
+        AvailabilityReadModel model = new AvailabilityReadModel(jdbcTemplate, availabilityIndex,
+                directory.resolve("availability.bin").toString(), 1024);
+        model.open();
+        return model;
+    }
+
+    private void warehouse(Long id, String code) {
+        availabilityIndex.registerWarehouse(Warehouse.builder()
+                .id(id)
+                .code(code)
+                .shippingCostPerUnit(BigDecimal.ONE)
+                .build());
+    }
+}
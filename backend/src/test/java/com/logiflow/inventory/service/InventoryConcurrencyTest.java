@@ -30,6 +30,9 @@ public class InventoryConcurrencyTest extends TestcontainersConfiguration {
     @Autowired
     private InventoryRepository inventoryRepository;
 
+    @Autowired
+    private WarehouseService warehouseService;
+
     @BeforeEach
     void setUp() {
         inventoryRepository.deleteAll();
@@ -40,6 +43,7 @@ public class InventoryConcurrencyTest extends TestcontainersConfiguration {
     void shouldNeverAllowNegativeStock_UnderHighConcurrency() throws InterruptedException {
         // Given - Setup inventory with 10 items
         Inventory inventory = Inventory.builder()
+                .warehouse(warehouseService.getDefaultWarehouse())
                 .sku(TEST_SKU)
                 .quantity(10)
                 .reserved(0)
@@ -1,9 +1,21 @@
 package com.logiflow.inventory.service;
 
+import com.logiflow.cluster.service.ClusterReservationService;
+import com.logiflow.inventory.dto.StockReceiptDTO;
+import com.logiflow.inventory.model.ContentionMode;
 import com.logiflow.inventory.model.Inventory;
+import com.logiflow.inventory.model.MovementType;
+import com.logiflow.inventory.model.StockMovement;
+import com.logiflow.inventory.model.Warehouse;
 import com.logiflow.inventory.repository.InventoryRepository;
+import com.logiflow.shared.event.InventoryChangedEvent;
+import com.logiflow.shared.event.StockAvailabilityChangedEvent;
+import com.logiflow.shared.event.StockReceivedEvent;
 import com.logiflow.shared.exception.InsufficientStockException;
 import com.logiflow.shared.exception.InventoryNotFoundException;
+import com.logiflow.shared.exception.WarehouseNotFoundException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -14,15 +26,33 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("InventoryService Unit Tests")
@@ -36,22 +66,61 @@ class InventoryServiceTest {
     @Mock
     private InventoryRepository inventoryRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private WarehouseService warehouseService;
+
+    @Mock
+    private StockLedgerService stockLedgerService;
+
+    @Mock
+    private RedisReservationEngine redisReservationEngine;
+
+    @Mock
+    private ClusterReservationService clusterReservationService;
+
+    @Mock
+    private SkuContentionTracker contentionTracker;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private CacheManager cacheManager;
+
     @InjectMocks
     private InventoryService inventoryService;
 
     @Captor
     private ArgumentCaptor<Inventory> inventoryCaptor;
 
+    @Captor
+    private ArgumentCaptor<List<StockMovement>> movementsCaptor;
+
+    private Warehouse defaultWarehouse;
     private Inventory existingInventory;
 
     @BeforeEach
     void setUp() {
+        defaultWarehouse = Warehouse.builder()
+                .id(TEST_ID)
+                .code("MAIN")
+                .defaultWarehouse(true)
+                .build();
         existingInventory = Inventory.builder()
                 .id(TEST_ID)
+                .warehouse(defaultWarehouse)
                 .sku(TEST_SKU)
                 .quantity(INITIAL_QUANTITY)
                 .reserved(INITIAL_RESERVED)
+                .version(3L)
                 .build();
+        lenient().when(contentionTracker.mode(anyString())).thenReturn(ContentionMode.PESSIMISTIC);
     }
 
     @Nested
@@ -83,6 +152,7 @@ class InventoryServiceTest {
             String newSku = "NEW-SKU-001";
             Integer amount = 25;
             given(inventoryRepository.findBySku(newSku)).willReturn(Optional.empty());
+            given(warehouseService.getDefaultWarehouse()).willReturn(defaultWarehouse);
 
             // When
             inventoryService.addStock(newSku, amount);
@@ -93,6 +163,20 @@ class InventoryServiceTest {
 
             assertThat(savedInventory.getSku()).isEqualTo(newSku);
             assertThat(savedInventory.getQuantity()).isEqualTo(amount);
+            assertThat(savedInventory.getWarehouse()).isEqualTo(defaultWarehouse);
+        }
+
+        @Test
+        @DisplayName("should record a receipt movement in the ledger")
+        void shouldRecordReceiptMovement() {
+            // Given
+            given(inventoryRepository.findBySku(TEST_SKU)).willReturn(Optional.of(existingInventory));
+
+            // When
+            inventoryService.addStock(TEST_SKU, 25);
+
+            // Then
+            then(stockLedgerService).should().record(existingInventory, MovementType.RECEIPT, 25, 0);
         }
 
         @Test
@@ -241,6 +325,7 @@ class InventoryServiceTest {
             // Given
             Inventory fullyReservedInventory = Inventory.builder()
                     .id(2L)
+                    .warehouse(defaultWarehouse)
                     .sku(TEST_SKU)
                     .quantity(100)
                     .reserved(100)
@@ -255,4 +340,209 @@ class InventoryServiceTest {
             then(inventoryRepository).should(never()).save(any(Inventory.class));
         }
     }
+
+    @Nested
+    @DisplayName("optimistic reservations")
+    class OptimisticReservations {
+
+        @BeforeEach
+        void setUp() {
+            given(contentionTracker.mode(TEST_SKU)).willReturn(ContentionMode.OPTIMISTIC);
+        }
+
+        @Test
+        @DisplayName("should retry with the refreshed row after a version conflict")
+        void shouldRetryAfterVersionConflict() {
+            // Given
+            given(inventoryRepository.findBySku(TEST_SKU)).willReturn(Optional.of(existingInventory));
+            given(inventoryRepository.addReservedIfVersion(TEST_ID, 3L, 5)).willReturn(0, 1);
+
+            // When
+            int reserved = inventoryService.reserveUpTo(null, TEST_SKU, 5);
+
+            // Then
+            assertThat(reserved).isEqualTo(5);
+            then(contentionTracker).should().recordOptimistic(TEST_SKU, true);
+            then(contentionTracker).should().recordOptimistic(TEST_SKU, false);
+            then(entityManager).should(times(2)).refresh(existingInventory);
+            then(stockLedgerService).should().record(existingInventory, MovementType.RESERVATION, 0, 5);
+            then(inventoryRepository).should(never()).findBySkuForUpdate(TEST_SKU);
+        }
+
+        @Test
+        @DisplayName("should lock the row after repeated version conflicts")
+        void shouldFallBackToLockAfterRepeatedConflicts() {
+            // Given
+            given(inventoryRepository.findBySku(TEST_SKU)).willReturn(Optional.of(existingInventory));
+            given(inventoryRepository.addReservedIfVersion(TEST_ID, 3L, 5)).willReturn(0);
+
+            // When
+            inventoryService.reserveStock(TEST_SKU, 5);
+
+            // Then
+            then(inventoryRepository).should(times(3)).addReservedIfVersion(TEST_ID, 3L, 5);
+            then(entityManager).should().refresh(existingInventory, LockModeType.PESSIMISTIC_WRITE);
+            then(inventoryRepository).should().save(inventoryCaptor.capture());
+            assertThat(inventoryCaptor.getValue().getReserved()).isEqualTo(INITIAL_RESERVED + 5);
+        }
+    }
+
+    @Nested
+    @DisplayName("shipStock")
+    class ShipStock {
+
+        @Test
+        @DisplayName("should take shipped units off both quantity and reserved")
+        void shouldConsumeReservation() {
+            // Given
+            given(inventoryRepository.findByWarehouseCodeAndSkuForUpdate("MAIN", TEST_SKU))
+                    .willReturn(Optional.of(existingInventory));
+
+            // When
+            inventoryService.shipStock("MAIN", TEST_SKU, 4);
+
+            // Then
+            assertThat(existingInventory.getQuantity()).isEqualTo(INITIAL_QUANTITY - 4);
+            assertThat(existingInventory.getReserved()).isEqualTo(INITIAL_RESERVED - 4);
+            then(stockLedgerService).should().record(existingInventory, MovementType.SHIPMENT, -4, -4);
+        }
+
+        @Test
+        @DisplayName("should settle a Redis reservation through the journal without touching Redis availability")
+        void shouldSettleRedisReservation() {
+            // Given
+            given(redisReservationEngine.manages(TEST_SKU)).willReturn(true);
+            given(inventoryRepository.findByWarehouseCodeAndSkuForUpdate("MAIN", TEST_SKU))
+                    .willReturn(Optional.of(existingInventory));
+
+            // When
+            inventoryService.shipStock("MAIN", TEST_SKU, 4);
+
+            // Then
+            assertThat(existingInventory.getQuantity()).isEqualTo(INITIAL_QUANTITY - 4);
+            assertThat(existingInventory.getReserved()).isEqualTo(INITIAL_RESERVED);
+            then(stockLedgerService).should().record(existingInventory, MovementType.SHIPMENT, -4, 0);
+            then(redisReservationEngine).should().settle(List.of(new AllocationEngine.Allocation(TEST_SKU, "MAIN", 4)));
+            then(eventPublisher).should(never()).publishEvent(any(StockAvailabilityChangedEvent.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("receiveStockBatch")
+    class ReceiveStockBatch {
+
+        private Warehouse kyiv;
+
+        @BeforeEach
+        void setUp() {
+            kyiv = Warehouse.builder()
+                    .id(2L)
+                    .code("KYIV")
+                    .build();
+        }
+
+        @Test
+        @DisplayName("should sum duplicate pairs, update existing rows and insert only the missing ones")
+        void shouldMergeDuplicatePairs() throws SQLException {
+            // Given
+            given(warehouseService.getByCode("MAIN")).willReturn(defaultWarehouse);
+            given(warehouseService.getDefaultWarehouse()).willReturn(defaultWarehouse);
+            given(warehouseService.getByCode("KYIV")).willReturn(kyiv);
+            ResultSet updated = row(TEST_ID, TEST_ID, TEST_SKU, 107, 10, 4L);
+            ResultSet inserted = row(9L, 2L, "SKU-002", 5, 0, 0L);
+            List<Statement> statements = new ArrayList<>();
+            willAnswer(invocation -> {
+                Statement statement = Statement.of(invocation.getArgument(0));
+                statements.add(statement);
+                RowCallbackHandler handler = invocation.getArgument(1);
+                if (statement.sql().startsWith("UPDATE")) {
+                    handler.processRow(updated);
+                } else if (statement.sql().startsWith("INSERT")) {
+                    handler.processRow(inserted);
+                }
+                return null;
+            }).given(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+            // When
+            inventoryService.receiveStockBatch(List.of(
+                    new StockReceiptDTO("MAIN", TEST_SKU, 3),
+                    new StockReceiptDTO(null, TEST_SKU, 4),
+                    new StockReceiptDTO("KYIV", "SKU-002", 5)));
+
+            // Then
+            assertThat(statements).hasSize(3);
+            assertThat(statements.get(0).sql()).contains("FOR UPDATE");
+            assertThat(statements.get(1).arrays()).containsExactly(
+                    new Object[]{TEST_ID, 2L}, new Object[]{TEST_SKU, "SKU-002"}, new Object[]{7, 5});
+            assertThat(statements.get(2).arrays()).containsExactly(
+                    new Object[]{2L}, new Object[]{"SKU-002"}, new Object[]{5});
+
+            then(stockLedgerService).should().recordAll(movementsCaptor.capture());
+            assertThat(movementsCaptor.getValue())
+                    .extracting(StockMovement::getInventoryId, StockMovement::getWarehouseCode, StockMovement::getSku,
+                            StockMovement::getType, StockMovement::getQuantityDelta, StockMovement::getReservedDelta)
+                    .containsExactly(
+                            tuple(TEST_ID, "MAIN", TEST_SKU, MovementType.RECEIPT, 7, 0),
+                            tuple(9L, "KYIV", "SKU-002", MovementType.RECEIPT, 5, 0));
+
+            then(eventPublisher).should().publishEvent(new InventoryChangedEvent(TEST_ID, TEST_SKU, 107, 10, 4L));
+            then(eventPublisher).should().publishEvent(new InventoryChangedEvent(2L, "SKU-002", 5, 0, 0L));
+            then(eventPublisher).should().publishEvent(new StockAvailabilityChangedEvent("MAIN", TEST_SKU, 7, 4L));
+            then(eventPublisher).should().publishEvent(new StockAvailabilityChangedEvent("KYIV", "SKU-002", 5, 0L));
+            then(eventPublisher).should().publishEvent(new StockReceivedEvent(Set.of(TEST_SKU, "SKU-002")));
+            then(cacheManager).should().getCache("inventory");
+        }
+
+        @Test
+        @DisplayName("should write nothing when one receipt names an unknown warehouse")
+        void shouldRejectWholeBatch_WhenWarehouseUnknown() {
+            // Given
+            given(warehouseService.getByCode("MAIN")).willReturn(defaultWarehouse);
+            given(warehouseService.getByCode("NOPE")).willThrow(new WarehouseNotFoundException("NOPE"));
+
+            // When / Then
+            assertThatThrownBy(() -> inventoryService.receiveStockBatch(List.of(
+                    new StockReceiptDTO("MAIN", TEST_SKU, 3),
+                    new StockReceiptDTO("NOPE", "SKU-002", 1))))
+                    .isInstanceOf(WarehouseNotFoundException.class);
+
+            then(jdbcTemplate).shouldHaveNoInteractions();
+            then(stockLedgerService).shouldHaveNoInteractions();
+            then(eventPublisher).shouldHaveNoInteractions();
+        }
+
+        private static ResultSet row(long id, long warehouseId, String sku, int quantity, int reserved, long version)
+                throws SQLException {
+            ResultSet rs = mock(ResultSet.class);
+            given(rs.getLong(1)).willReturn(id);
+            given(rs.getLong(2)).willReturn(warehouseId);
+            given(rs.getString(3)).willReturn(sku);
+            given(rs.getInt(4)).willReturn(quantity);
+            given(rs.getInt(5)).willReturn(reserved);
+            given(rs.getLong(6)).willReturn(version);
+            return rs;
+        }
+    }
+
+    /**
+     * The SQL and array parameters a {@link PreparedStatementCreator} produces.
+     */
+    private record Statement(String sql, List<Object[]> arrays) {
+
+        static Statement of(PreparedStatementCreator creator) throws SQLException {
+            Connection connection = mock(Connection.class);
+            List<String> sql = new ArrayList<>();
+            List<Object[]> arrays = new ArrayList<>();
+            willAnswer(invocation -> {
+                sql.add(invocation.getArgument(0));
+                return mock(PreparedStatement.class);
+            }).given(connection).prepareStatement(anyString());
+            willAnswer(invocation -> {
+                arrays.add(invocation.getArgument(1));
+                return null;
+            }).given(connection).createArrayOf(anyString(), any());
+            creator.createPreparedStatement(connection);
+            return new Statement(sql.getFirst().strip(), arrays);
+        }
+    }
 }
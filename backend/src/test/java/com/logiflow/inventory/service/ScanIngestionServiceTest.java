@@ -0,0 +1,127 @@
+package com.logiflow.inventory.service;
+
+import com.logiflow.inventory.dto.StockReceiptDTO;
+import com.logiflow.inventory.model.Warehouse;
+import com.logiflow.shared.exception.WarehouseNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ScanIngestionService Unit Tests")
+class ScanIngestionServiceTest {
+
+    @Mock
+    private InventoryService inventoryService;
+
+    @Mock
+    private WarehouseService warehouseService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private ScanIngestionService scanIngestionService;
+
+    @BeforeEach
+    void setUp() {
+        scanIngestionService = new ScanIngestionService(inventoryService, warehouseService, jdbcTemplate,
+                transactionTemplate, JsonMapper.builder().build());
+        willAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null))
+                .given(transactionTemplate).execute(any());
+        // Device GUN-1 has already committed everything up to 2, GUN-2 nothing yet
+        Map<String, Long> cursors = Map.of("GUN-1", 2L, "GUN-2", 0L);
+        willAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (Map.Entry<String, Long> cursor : cursors.entrySet()) {
+                ResultSet rs = mock(ResultSet.class);
+                given(rs.getString(1)).willReturn(cursor.getKey());
+                given(rs.getLong(2)).willReturn(cursor.getValue());
+                handler.processRow(rs);
+            }
+            return null;
+        }).given(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    @DisplayName("should sum new scans per warehouse and SKU and acknowledge the highest sequence per device")
+    void shouldMergeScansAndAcknowledge() throws Exception {
+        // Given
+        Warehouse main = Warehouse.builder().id(1L).code("MAIN").build();
+        given(warehouseService.getDefaultWarehouse()).willReturn(main);
+        given(warehouseService.getByCode("MAIN")).willReturn(main);
+        given(warehouseService.getByCode("NOPE")).willThrow(new WarehouseNotFoundException("NOPE"));
+        String scans = """
+                {"deviceId":"GUN-1","seq":2,"sku":"SKU-001"}
+                {"deviceId":"GUN-1","seq":4,"sku":"SKU-001","warehouseCode":"MAIN","quantity":2}
+                {"deviceId":"GUN-1","seq":3,"sku":"SKU-001"}
+                not json
+                {"deviceId":"GUN-1","seq":5,"sku":"SKU-002","warehouseCode":"NOPE"}
+                {"deviceId":"GUN-2","seq":1,"sku":"SKU-001"}
+                {"deviceId":"GUN-2","seq":2,"sku":"SKU-002","quantity":0}
+                {"seq":9,"sku":"SKU-001"}
+                """;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        scanIngestionService.ingest(new ByteArrayInputStream(scans.getBytes(StandardCharsets.UTF_8)), out);
+
+        // Then
+        then(inventoryService).should().receiveStockBatch(List.of(new StockReceiptDTO("MAIN", "SKU-001", 4)));
+        // Cursors are created, locked and advanced in the same transaction as the receipts
+        then(jdbcTemplate).should(times(2)).update(any(PreparedStatementCreator.class));
+        assertThat(out.toString(StandardCharsets.UTF_8).lines()).containsExactly(
+                "{\"deviceId\":\"GUN-1\",\"ackSeq\":5,\"rejectedSeqs\":[5]}",
+                "{\"deviceId\":\"GUN-2\",\"ackSeq\":2,\"rejectedSeqs\":[2]}");
+    }
+
+    @Test
+    @DisplayName("should not acknowledge or advance cursors when the batch fails")
+    void shouldNotAcknowledge_WhenBatchFails() throws Exception {
+        // Given
+        given(warehouseService.getDefaultWarehouse()).willReturn(Warehouse.builder().id(1L).code("MAIN").build());
+        willThrow(new QueryTimeoutException("timeout")).given(inventoryService).receiveStockBatch(anyList());
+        String scans = """
+                {"deviceId":"GUN-1","seq":3,"sku":"SKU-001"}
+                {"deviceId":"GUN-2","seq":1,"sku":"SKU-002"}
+                """;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        scanIngestionService.ingest(new ByteArrayInputStream(scans.getBytes(StandardCharsets.UTF_8)), out);
+
+        // Then
+        assertThat(out.size()).isZero();
+        // Only the cursor insert ran; the update that would acknowledge the scans did not
+        then(jdbcTemplate).should(times(1)).update(any(PreparedStatementCreator.class));
+    }
+}
@@ -0,0 +1,117 @@
+package com.logiflow.inventory.service;
+
+import com.logiflow.inventory.model.ContentionMode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SkuContentionTracker Unit Tests")
+class SkuContentionTrackerTest {
+
+    private static final String HOT_SKU = "SKU-HOT";
+    private static final long LONG_WAIT_NANOS = 50_000_000;
+
+    private MutableClock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private SkuContentionTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2026-01-06T14:00:00Z"));
+        meterRegistry = new SimpleMeterRegistry();
+        tracker = new SkuContentionTracker(meterRegistry, clock);
+    }
+
+    @Test
+    @DisplayName("should escalate a conflicting SKU step by step and expose its mode")
+    void shouldEscalateUnderContention() {
+        // Given
+        for (int i = 0; i < 30; i++) {
+            tracker.recordOptimistic(HOT_SKU, i % 2 == 0);
+        }
+        clock.advance(Duration.ofSeconds(10));
+
+        // When
+        ContentionMode afterConflicts = tracker.mode(HOT_SKU);
+        for (int i = 0; i < 30; i++) {
+            tracker.recordLocked(HOT_SKU, LONG_WAIT_NANOS);
+        }
+        clock.advance(Duration.ofSeconds(10));
+        tracker.sweep();
+
+        // Then
+        assertThat(afterConflicts).isEqualTo(ContentionMode.PESSIMISTIC);
+        assertThat(tracker.mode(HOT_SKU)).isEqualTo(ContentionMode.QUEUED);
+        assertThat(meterRegistry.get("logiflow.inventory.contention.mode").tag("sku", HOT_SKU).tag("mode", "QUEUED")
+                .gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("logiflow.inventory.contention.conflicts").tag("sku", HOT_SKU)
+                .gauge().value()).isEqualTo(15);
+    }
+
+    @Test
+    @DisplayName("should not escalate on a handful of conflicts")
+    void shouldIgnoreSparseConflicts() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            tracker.recordOptimistic(HOT_SKU, true);
+        }
+
+        // When
+        clock.advance(Duration.ofSeconds(10));
+
+        // Then
+        assertThat(tracker.mode(HOT_SKU)).isEqualTo(ContentionMode.OPTIMISTIC);
+    }
+
+    @Test
+    @DisplayName("should step back down once contention is gone")
+    void shouldDeescalateWhenQuiet() {
+        // Given
+        for (int i = 0; i < 30; i++) {
+            tracker.recordOptimistic(HOT_SKU, true);
+        }
+        clock.advance(Duration.ofSeconds(10));
+        assertThat(tracker.mode(HOT_SKU)).isEqualTo(ContentionMode.PESSIMISTIC);
+
+        // When
+        for (int i = 0; i < 30; i++) {
+            tracker.recordLocked(HOT_SKU, 0);
+        }
+        clock.advance(Duration.ofSeconds(10));
+
+        // Then
+        assertThat(tracker.mode(HOT_SKU)).isEqualTo(ContentionMode.OPTIMISTIC);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
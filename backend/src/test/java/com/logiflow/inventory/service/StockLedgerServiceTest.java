@@ -0,0 +1,116 @@
+package com.logiflow.inventory.service;
+
+import com.logiflow.inventory.dto.StockLevelDTO;
+import com.logiflow.inventory.mapper.InventoryMapper;
+import com.logiflow.inventory.model.Inventory;
+import com.logiflow.inventory.model.StockSnapshot;
+import com.logiflow.inventory.model.StockSnapshotId;
+import com.logiflow.inventory.model.Warehouse;
+import com.logiflow.inventory.repository.InventoryRepository;
+import com.logiflow.inventory.repository.StockMovementRepository;
+import com.logiflow.inventory.repository.StockMovementRepository.Delta;
+import com.logiflow.inventory.repository.StockSnapshotRepository;
+import com.logiflow.shared.exception.InventoryNotFoundException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StockLedgerService Unit Tests")
+class StockLedgerServiceTest {
+
+    private static final String TEST_SKU = "SKU-001";
+    private static final LocalDateTime AS_OF = LocalDateTime.of(2025, 12, 27, 10, 30);
+
+    @Mock
+    private StockMovementRepository stockMovementRepository;
+
+    @Mock
+    private StockSnapshotRepository stockSnapshotRepository;
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @Mock
+    private InventoryMapper inventoryMapper;
+
+    @InjectMocks
+    private StockLedgerService stockLedgerService;
+
+    @Nested
+    @DisplayName("getStockAsOf")
+    class GetStockAsOf {
+
+        @Test
+        @DisplayName("should add the movements after the latest snapshot to it, summed over warehouses")
+        void shouldCombineSnapshotAndTail() {
+            // Given
+            Inventory main = inventory(1L, "MAIN");
+            Inventory branch = inventory(2L, "KYIV-01");
+            LocalDateTime snapshotTime = AS_OF.minusMinutes(40);
+            given(inventoryRepository.findAllBySku(TEST_SKU)).willReturn(List.of(main, branch));
+            given(stockSnapshotRepository.findFirstByIdInventoryIdAndIdAsOfLessThanEqualOrderByIdAsOfDesc(1L, AS_OF))
+                    .willReturn(Optional.of(new StockSnapshot(new StockSnapshotId(1L, snapshotTime), 100, 10)));
+            given(stockSnapshotRepository.findFirstByIdInventoryIdAndIdAsOfLessThanEqualOrderByIdAsOfDesc(2L, AS_OF))
+                    .willReturn(Optional.empty());
+            given(stockMovementRepository.sumDeltas(1L, snapshotTime, AS_OF)).willReturn(delta(-5, 3));
+            given(stockMovementRepository.sumDeltas(eq(2L), any(), eq(AS_OF))).willReturn(delta(20, 0));
+
+            // When
+            StockLevelDTO level = stockLedgerService.getStockAsOf(TEST_SKU, null, AS_OF);
+
+            // Then
+            assertThat(level.quantity()).isEqualTo(115);
+            assertThat(level.reserved()).isEqualTo(13);
+            assertThat(level.availableQuantity()).isEqualTo(102);
+        }
+
+        @Test
+        @DisplayName("should throw when the SKU has no inventory in the warehouse")
+        void shouldThrowForUnknownWarehouse() {
+            // Given
+            given(inventoryRepository.findAllBySku(TEST_SKU)).willReturn(List.of(inventory(1L, "MAIN")));
+
+            // When / Then
+            assertThatThrownBy(() -> stockLedgerService.getStockAsOf(TEST_SKU, "LVIV-01", AS_OF))
+                    .isInstanceOf(InventoryNotFoundException.class);
+        }
+    }
+
+    private Inventory inventory(Long id, String warehouseCode) {
+        return Inventory.builder()
+                .id(id)
+                .warehouse(Warehouse.builder().code(warehouseCode).build())
+                .sku(TEST_SKU)
+                .quantity(0)
+                .build();
+    }
+
+    private Delta delta(long quantity, long reserved) {
+        return new Delta() {
+            @Override
+            public long getQuantity() {
+                return quantity;
+            }
+
+            @Override
+            public long getReserved() {
+                return reserved;
+            }
+        };
+    }
+}
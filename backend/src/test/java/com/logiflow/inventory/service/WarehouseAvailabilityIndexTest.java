@@ -0,0 +1,112 @@
+package com.logiflow.inventory.service;
+
+import com.logiflow.inventory.service.WarehouseAvailabilityIndex.WarehouseSite;
+import com.logiflow.shared.event.InventoryChangedEvent;
+import com.logiflow.shared.sku.SkuDictionary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WarehouseAvailabilityIndex Unit Tests")
+class WarehouseAvailabilityIndexTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private WarehouseAvailabilityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new WarehouseAvailabilityIndex(jdbcTemplate, new SkuDictionary());
+    }
+
+    @Test
+    @DisplayName("should add a warehouse created on another node when a change names it")
+    void shouldLoadUnknownWarehouseOnChange() {
+        // Given
+        given(jdbcTemplate.query(eq("SELECT id, code, latitude, longitude, shipping_cost_per_unit FROM warehouses WHERE id = ?"),
+                any(RowMapper.class), eq(7L)))
+                .willReturn(List.of(site(0, 7L, "ODESA")));
+
+        // When
+        index.handleInventoryChangedEvent(new InventoryChangedEvent(7L, "SKU-A", 12, 2, 1));
+        index.handleInventoryChangedEvent(new InventoryChangedEvent(7L, "SKU-A", 15, 2, 2));
+
+        // Then
+        assertThat(index.sites()).extracting(WarehouseSite::code).containsExactly("ODESA");
+        assertThat(index.stock("SKU-A").available()).containsExactly(13);
+    }
+
+    @Test
+    @DisplayName("should keep slots handed out before a reload")
+    void shouldKeepSlotsAcrossReload() {
+        // Given
+        given(jdbcTemplate.query(eq("SELECT id, code, latitude, longitude, shipping_cost_per_unit FROM warehouses WHERE id = ?"),
+                any(RowMapper.class), eq(9L)))
+                .willReturn(List.of(site(0, 9L, "LVIV")));
+        given(jdbcTemplate.query(eq("SELECT id, code, latitude, longitude, shipping_cost_per_unit FROM warehouses ORDER BY id"),
+                any(RowMapper.class)))
+                .willReturn(List.of(site(0, 4L, "KYIV"), site(1, 9L, "LVIV")));
+        index.registerWarehouse(9L);
+
+        // When
+        index.reload();
+
+        // Then
+        assertThat(index.sites())
+                .extracting(WarehouseSite::slot, WarehouseSite::code)
+                .containsExactly(
+                        tuple(0, "LVIV"),
+                        tuple(1, "KYIV"));
+    }
+
+    @Test
+    @DisplayName("should keep changes applied during a reload when they are newer than the rows read")
+    void shouldKeepNewerChangesAcrossReload() {
+        // Given
+        given(jdbcTemplate.query(eq("SELECT id, code, latitude, longitude, shipping_cost_per_unit FROM warehouses ORDER BY id"),
+                any(RowMapper.class)))
+                .willReturn(List.of(site(0, 4L, "KYIV")));
+        willAnswer(invocation -> {
+            index.handleInventoryChangedEvent(new InventoryChangedEvent(4L, "SKU-A", 30, 0, 6));
+            ResultSet rs = mock(ResultSet.class);
+            given(rs.getLong(1)).willReturn(4L);
+            given(rs.getString(2)).willReturn("SKU-A");
+            given(rs.getInt(3)).willReturn(10);
+            given(rs.getLong(4)).willReturn(5L);
+            invocation.<RowCallbackHandler>getArgument(1).processRow(rs);
+            return null;
+        }).given(jdbcTemplate).query(startsWith("SELECT warehouse_id, sku"), any(RowCallbackHandler.class));
+        index.reload();
+
+        // When
+        index.handleInventoryChangedEvent(new InventoryChangedEvent(4L, "SKU-A", 25, 0, 4));
+
+        // Then
+        assertThat(index.stock("SKU-A").available()).containsExactly(30);
+        assertThat(index.stock("SKU-A").versions()).containsExactly(6L);
+    }
+
+    private static WarehouseSite site(int slot, long id, String code) {
+        return new WarehouseSite(slot, id, code, 0, 0, false, 1.0);
+    }
+}
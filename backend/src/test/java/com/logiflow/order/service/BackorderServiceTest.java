@@ -0,0 +1,169 @@
+package com.logiflow.order.service;
+
+import com.logiflow.inventory.service.InventoryService;
+import com.logiflow.order.model.Backorder;
+import com.logiflow.order.model.Order;
+import com.logiflow.order.model.OrderItem;
+import com.logiflow.order.model.OrderStatus;
+import com.logiflow.order.repository.BackorderRepository;
+import com.logiflow.order.repository.OrderRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BackorderService Unit Tests")
+class BackorderServiceTest {
+
+    private static final String TEST_SKU = "SKU-001";
+    private static final String MAIN = "MAIN";
+    private static final String BRANCH = "KYIV-01";
+
+    @Mock
+    private BackorderRepository backorderRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private InventoryService inventoryService;
+
+    @InjectMocks
+    private BackorderService backorderService;
+
+    @Nested
+    @DisplayName("allocate")
+    class Allocate {
+
+        @Test
+        @DisplayName("should fill the queue in order and leave the last line partially allocated")
+        void shouldAllocateInQueueOrder() {
+            // Given
+            Backorder first = backorder(1L, 10L, 4);
+            Backorder second = backorder(2L, 11L, 3);
+            Backorder third = backorder(3L, 12L, 5);
+            given(backorderRepository.sumQuantityBySku(TEST_SKU)).willReturn(12L);
+            given(inventoryService.getWarehouseCodesWithAvailableStock(TEST_SKU)).willReturn(List.of(MAIN));
+            given(inventoryService.reserveUpTo(MAIN, TEST_SKU, 12)).willReturn(9);
+            given(backorderRepository.findQueue(eq(TEST_SKU), any())).willReturn(List.of(first, second, third));
+            given(backorderRepository.findWaitingOrderIds(anyCollection())).willReturn(Set.of(12L));
+            given(orderRepository.findWithItemsByIdIn(anyCollection())).willReturn(List.of());
+
+            // When
+            backorderService.allocate(List.of(TEST_SKU));
+
+            // Then
+            assertThat(first.getQuantity()).isZero();
+            assertThat(second.getQuantity()).isZero();
+            assertThat(third.getQuantity()).isEqualTo(3);
+            then(backorderRepository).should().deleteAll(List.of(first, second));
+            then(inventoryService).should(never()).releaseStock(anyString(), anyString(), anyInt());
+        }
+
+        @Test
+        @DisplayName("should move fully allocated orders back to PENDING")
+        void shouldReleaseCompletedOrders() {
+            // Given
+            Order order = Order.builder().id(10L).customerName("John Doe").status(OrderStatus.BACKORDERED).build();
+            order.addItem(OrderItem.builder().sku(TEST_SKU).quantity(2).priceAtTimeOfOrder(BigDecimal.TEN).build());
+            given(backorderRepository.sumQuantityBySku(TEST_SKU)).willReturn(2L);
+            given(inventoryService.getWarehouseCodesWithAvailableStock(TEST_SKU)).willReturn(List.of(MAIN));
+            given(inventoryService.reserveUpTo(MAIN, TEST_SKU, 2)).willReturn(2);
+            given(backorderRepository.findQueue(eq(TEST_SKU), any())).willReturn(List.of(backorder(1L, 10L, 2)));
+            given(backorderRepository.findWaitingOrderIds(anyCollection())).willReturn(Set.of());
+            given(orderRepository.findWithItemsByIdIn(Set.of(10L))).willReturn(List.of(order));
+
+            // When
+            backorderService.allocate(List.of(TEST_SKU));
+
+            // Then
+            assertThat(order.getStatus()).isEqualTo(OrderStatus.PENDING);
+            assertThat(order.getItems()).singleElement()
+                    .extracting(OrderItem::getWarehouseCode).isEqualTo(MAIN);
+        }
+
+        @Test
+        @DisplayName("should split a line across warehouses when no single one has enough")
+        void shouldSplitAcrossWarehouses() {
+            // Given
+            Order order = Order.builder().id(10L).customerName("John Doe").status(OrderStatus.BACKORDERED).build();
+            order.addItem(OrderItem.builder().sku(TEST_SKU).quantity(5).priceAtTimeOfOrder(BigDecimal.TEN).build());
+            given(backorderRepository.sumQuantityBySku(TEST_SKU)).willReturn(5L);
+            given(inventoryService.getWarehouseCodesWithAvailableStock(TEST_SKU)).willReturn(List.of(MAIN, BRANCH));
+            given(inventoryService.reserveUpTo(MAIN, TEST_SKU, 5)).willReturn(3);
+            given(inventoryService.reserveUpTo(BRANCH, TEST_SKU, 2)).willReturn(2);
+            given(backorderRepository.findQueue(eq(TEST_SKU), any())).willReturn(List.of(backorder(1L, 10L, 5)));
+            given(backorderRepository.findWaitingOrderIds(anyCollection())).willReturn(Set.of());
+            given(orderRepository.findWithItemsByIdIn(Set.of(10L))).willReturn(List.of(order));
+
+            // When
+            backorderService.allocate(List.of(TEST_SKU));
+
+            // Then
+            assertThat(order.getItems())
+                    .extracting(OrderItem::getWarehouseCode, OrderItem::getQuantity)
+                    .containsExactlyInAnyOrder(tuple(MAIN, 3), tuple(BRANCH, 2));
+        }
+
+        @Test
+        @DisplayName("should hand back stock that no waiting line needs any more")
+        void shouldReleaseSurplusStock() {
+            // Given
+            given(backorderRepository.sumQuantityBySku(TEST_SKU)).willReturn(5L);
+            given(inventoryService.getWarehouseCodesWithAvailableStock(TEST_SKU)).willReturn(List.of(MAIN));
+            given(inventoryService.reserveUpTo(MAIN, TEST_SKU, 5)).willReturn(5);
+            given(backorderRepository.findQueue(eq(TEST_SKU), any()))
+                    .willReturn(List.of(backorder(1L, 10L, 2)))
+                    .willReturn(List.of());
+            given(backorderRepository.findWaitingOrderIds(anyCollection())).willReturn(Set.of());
+            given(orderRepository.findWithItemsByIdIn(anyCollection())).willReturn(List.of());
+
+            // When
+            backorderService.allocate(List.of(TEST_SKU));
+
+            // Then
+            then(inventoryService).should().releaseStock(MAIN, TEST_SKU, 3);
+        }
+
+        @Test
+        @DisplayName("should not touch inventory when nothing is waiting for the SKU")
+        void shouldSkipSkuWithoutQueue() {
+            // Given
+            given(backorderRepository.sumQuantityBySku(TEST_SKU)).willReturn(0L);
+
+            // When
+            backorderService.allocate(List.of(TEST_SKU));
+
+            // Then
+            then(inventoryService).shouldHaveNoInteractions();
+        }
+    }
+
+    private Backorder backorder(Long id, Long orderId, int quantity) {
+        return Backorder.builder()
+                .id(id)
+                .orderId(orderId)
+                .sku(TEST_SKU)
+                .quantity(quantity)
+                .build();
+    }
+}
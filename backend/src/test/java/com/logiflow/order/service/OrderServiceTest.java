@@ -0,0 +1,280 @@
+package com.logiflow.order.service;
+
+import com.logiflow.catalog.dto.ProductResponseDTO;
+import com.logiflow.catalog.service.ProductService;
+import com.logiflow.inventory.service.AllocationEngine;
+import com.logiflow.inventory.service.AllocationEngine.Allocation;
+import com.logiflow.inventory.service.AllocationEngine.Plan;
+import com.logiflow.inventory.service.InventoryService;
+import com.logiflow.inventory.service.RedisReservationEngine;
+import com.logiflow.order.dto.OrderItemRequestDTO;
+import com.logiflow.order.dto.OrderRequestDTO;
+import com.logiflow.order.mapper.OrderMapper;
+import com.logiflow.order.model.Order;
+import com.logiflow.order.model.OrderItem;
+import com.logiflow.order.model.OrderStatus;
+import com.logiflow.order.repository.OrderRepository;
+import com.logiflow.order.service.QuoteService.Quote;
+import com.logiflow.promotion.service.PromotionEngine;
+import com.logiflow.shared.exception.InsufficientStockException;
+import com.logiflow.shared.exception.InvalidQuoteException;
+import com.logiflow.shared.money.Money;
+import com.logiflow.user.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderService Unit Tests")
+class OrderServiceTest {
+
+    private static final String TEST_SKU = "SKU-001";
+    private static final Money PRICE = Money.of(new BigDecimal("29.99"), Currency.getInstance("USD"));
+    private static final List<OrderItemRequestDTO> ITEMS = List.of(new OrderItemRequestDTO(TEST_SKU, 5));
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private InventoryService inventoryService;
+
+    @Mock
+    private OrderMapper orderMapper;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private BackorderService backorderService;
+
+    @Mock
+    private AllocationEngine allocationEngine;
+
+    @Mock
+    private RedisReservationEngine redisReservationEngine;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private QuoteService quoteService;
+
+    @Mock
+    private PromotionEngine promotionEngine;
+
+    @Mock
+    private UserService userService;
+
+    @InjectMocks
+    private OrderService orderService;
+
+    @Captor
+    private ArgumentCaptor<Order> orderCaptor;
+
+    @BeforeEach
+    void setUp() {
+        lenient().doAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null))
+                .when(transactionTemplate).execute(any());
+        lenient().when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
+            Order order = invocation.getArgument(0);
+            order.setId(42L);
+            return order;
+        });
+    }
+
+    @Test
+    @DisplayName("should take the prices from a current quote without reading the catalog")
+    void shouldUseQuotedPrices() {
+        // Given
+        Quote quote = new Quote("q-1", 7L, 3L, null, Map.of(TEST_SKU, 5), Map.of(TEST_SKU, PRICE), true);
+        given(quoteService.verify("token", ITEMS)).willReturn(quote);
+        given(quoteService.trustedPrices(eq(quote), eq(Map.of(TEST_SKU, 5)), isNull())).willReturn(Optional.of(Map.of(TEST_SKU, PRICE)));
+        planned(new Plan(List.of(new Allocation(TEST_SKU, "MAIN", 5)), Map.of()));
+        given(inventoryService.reserveUpTo("MAIN", TEST_SKU, 5)).willReturn(5);
+
+        // When
+        orderService.createOrder(new OrderRequestDTO("John Doe", ITEMS, false, 0, null, "token"));
+
+        // Then
+        then(productService).shouldHaveNoInteractions();
+        then(promotionEngine).shouldHaveNoInteractions();
+        then(quoteService).should().releaseHold(quote);
+        then(orderRepository).should().save(orderCaptor.capture());
+        assertThat(orderCaptor.getValue().getStatus()).isEqualTo(OrderStatus.PENDING);
+        assertThat(orderCaptor.getValue().getItems())
+                .extracting(OrderItem::getSku, OrderItem::getWarehouseCode, OrderItem::getQuantity, OrderItem::getPriceAtTimeOfOrder)
+                .containsExactly(tuple(TEST_SKU, "MAIN", 5, new BigDecimal("29.99")));
+    }
+
+    @Test
+    @DisplayName("should re-price the order when the quote token is invalid or expired")
+    void shouldRepriceOrder_WhenQuoteInvalid() {
+        // Given
+        given(quoteService.verify("expired", ITEMS)).willThrow(new InvalidQuoteException("Quote has expired, request a new one"));
+        priced();
+        planned(new Plan(List.of(new Allocation(TEST_SKU, "MAIN", 5)), Map.of()));
+        given(inventoryService.reserveUpTo("MAIN", TEST_SKU, 5)).willReturn(5);
+
+        // When
+        orderService.createOrder(new OrderRequestDTO("John Doe", ITEMS, false, 0, null, "expired"));
+
+        // Then
+        then(productService).should().findBySkus(List.of(TEST_SKU));
+        then(quoteService).should(never()).releaseHold(any());
+        then(orderRepository).should().save(orderCaptor.capture());
+        assertThat(orderCaptor.getValue().getItems())
+                .extracting(OrderItem::getPriceAtTimeOfOrder)
+                .containsExactly(new BigDecimal("29.99"));
+    }
+
+    @Test
+    @DisplayName("should price with the customer group of the caller's account")
+    void shouldPriceWithAccountCustomerGroup() {
+        // Given
+        Quote quote = new Quote("q-1", 7L, 3L, null, Map.of(TEST_SKU, 5), Map.of(TEST_SKU, PRICE), false);
+        given(quoteService.verify("token", ITEMS)).willReturn(quote);
+        given(userService.getCurrentCustomerGroup()).willReturn("WHOLESALE");
+        given(quoteService.trustedPrices(quote, Map.of(TEST_SKU, 5), "WHOLESALE")).willReturn(Optional.empty());
+        ProductResponseDTO product = new ProductResponseDTO("p-1", "Wireless Mouse", TEST_SKU, new BigDecimal("29.99"), null, true);
+        given(productService.findBySkus(List.of(TEST_SKU))).willReturn(List.of(product));
+        Money groupPrice = Money.of(new BigDecimal("24.99"), Currency.getInstance("USD"));
+        given(promotionEngine.apply(anyList(), anyMap(), eq("WHOLESALE"))).willReturn(Map.of(TEST_SKU, groupPrice));
+        planned(new Plan(List.of(new Allocation(TEST_SKU, "MAIN", 5)), Map.of()));
+        given(inventoryService.reserveUpTo("MAIN", TEST_SKU, 5)).willReturn(5);
+
+        // When
+        orderService.createOrder(new OrderRequestDTO("John Doe", ITEMS, false, 0, null, "token"));
+
+        // Then
+        then(orderRepository).should().save(orderCaptor.capture());
+        assertThat(orderCaptor.getValue().getItems())
+                .extracting(OrderItem::getPriceAtTimeOfOrder)
+                .containsExactly(new BigDecimal("24.99"));
+    }
+
+    @Test
+    @DisplayName("should backorder what the locked rows could not cover")
+    void shouldBackorderShortfall() {
+        // Given
+        ReflectionTestUtils.setField(orderService, "backordersEnabled", true);
+        priced();
+        planned(new Plan(List.of(new Allocation(TEST_SKU, "MAIN", 5)), Map.of()));
+        given(inventoryService.reserveUpTo("MAIN", TEST_SKU, 5)).willReturn(3);
+        given(allocationEngine.plan(eq(Map.of(TEST_SKU, 2)), isNull(), isNull(), any())).willReturn(new Plan(List.of(), Map.of(TEST_SKU, 2)));
+        given(inventoryService.getWarehouseCodesWithAvailableStock(TEST_SKU)).willReturn(List.of());
+
+        // When
+        orderService.createOrder(new OrderRequestDTO("John Doe", ITEMS, true, 2, null, null));
+
+        // Then
+        then(orderRepository).should().save(orderCaptor.capture());
+        assertThat(orderCaptor.getValue().getStatus()).isEqualTo(OrderStatus.BACKORDERED);
+        assertThat(orderCaptor.getValue().getItems())
+                .extracting(OrderItem::getWarehouseCode, OrderItem::getQuantity)
+                .containsExactly(tuple("MAIN", 3), tuple(null, 2));
+        then(backorderService).should().enqueue(42L, Map.of(TEST_SKU, 2), 2);
+    }
+
+    @Test
+    @DisplayName("should reserve from the rows when the index wrongly reports a shortfall")
+    void shouldReserveFromRows_WhenIndexLags() {
+        // Given
+        priced();
+        planned(new Plan(List.of(), Map.of(TEST_SKU, 5)));
+        given(inventoryService.getWarehouseCodesWithAvailableStock(TEST_SKU)).willReturn(List.of("KYIV", "MAIN"));
+        given(inventoryService.reserveUpTo("KYIV", TEST_SKU, 5)).willReturn(2);
+        given(inventoryService.reserveUpTo("MAIN", TEST_SKU, 3)).willReturn(3);
+
+        // When
+        orderService.createOrder(new OrderRequestDTO("John Doe", ITEMS));
+
+        // Then
+        then(orderRepository).should().save(orderCaptor.capture());
+        assertThat(orderCaptor.getValue().getStatus()).isEqualTo(OrderStatus.PENDING);
+        assertThat(orderCaptor.getValue().getItems())
+                .extracting(OrderItem::getWarehouseCode, OrderItem::getQuantity)
+                .containsExactlyInAnyOrder(tuple("KYIV", 2), tuple("MAIN", 3));
+    }
+
+    @Test
+    @DisplayName("should reject the order only when the rows confirm the shortfall")
+    void shouldReject_WhenRowsConfirmShortfall() {
+        // Given
+        priced();
+        planned(new Plan(List.of(), Map.of(TEST_SKU, 5)));
+        given(inventoryService.getWarehouseCodesWithAvailableStock(TEST_SKU)).willReturn(List.of("MAIN"));
+        given(inventoryService.reserveUpTo("MAIN", TEST_SKU, 5)).willReturn(4);
+
+        // When / Then
+        assertThatThrownBy(() -> orderService.createOrder(new OrderRequestDTO("John Doe", ITEMS)))
+                .isInstanceOf(InsufficientStockException.class);
+        then(orderRepository).should(never()).save(any(Order.class));
+    }
+
+    @Test
+    @DisplayName("should not lock a row that sorts before one already locked")
+    void shouldKeepLockOrder_WhenReplanGoesBack() {
+        // Given
+        ReflectionTestUtils.setField(orderService, "backordersEnabled", true);
+        priced();
+        planned(new Plan(List.of(new Allocation(TEST_SKU, "MAIN", 5)), Map.of()));
+        given(inventoryService.reserveUpTo("MAIN", TEST_SKU, 5)).willReturn(3);
+        given(allocationEngine.plan(eq(Map.of(TEST_SKU, 2)), isNull(), isNull(), any()))
+                .willReturn(new Plan(List.of(new Allocation(TEST_SKU, "KYIV", 2)), Map.of()));
+        given(inventoryService.getWarehouseCodesWithAvailableStock(TEST_SKU)).willReturn(List.of("KYIV"));
+
+        // When
+        orderService.createOrder(new OrderRequestDTO("John Doe", ITEMS, true, 0, null, null));
+
+        // Then
+        then(inventoryService).should(never()).reserveUpTo(eq("KYIV"), any(), any(Integer.class));
+        then(orderRepository).should().save(orderCaptor.capture());
+        assertThat(orderCaptor.getValue().getItems())
+                .extracting(OrderItem::getWarehouseCode, OrderItem::getQuantity)
+                .containsExactly(tuple("MAIN", 3), tuple(null, 2));
+    }
+
+    private void priced() {
+        ProductResponseDTO product = new ProductResponseDTO("p-1", "Wireless Mouse", TEST_SKU, new BigDecimal("29.99"), null, true);
+        given(productService.findBySkus(List.of(TEST_SKU))).willReturn(List.of(product));
+        given(promotionEngine.apply(anyList(), anyMap(), isNull())).willReturn(Map.of(TEST_SKU, PRICE));
+    }
+
+    private void planned(Plan plan) {
+        given(allocationEngine.plan(eq(Map.of(TEST_SKU, 5)), isNull(), isNull(), eq(Set.of()))).willReturn(plan);
+    }
+}
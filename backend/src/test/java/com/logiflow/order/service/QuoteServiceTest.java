@@ -0,0 +1,178 @@
+package com.logiflow.order.service;
+
+import com.logiflow.catalog.dto.ProductResponseDTO;
+import com.logiflow.catalog.service.CatalogChangeSequence;
+import com.logiflow.catalog.service.ProductService;
+import com.logiflow.inventory.service.WarehouseAvailabilityIndex;
+import com.logiflow.inventory.service.WarehouseAvailabilityIndex.SkuStock;
+import com.logiflow.order.dto.OrderItemRequestDTO;
+import com.logiflow.order.dto.QuoteRequestDTO;
+import com.logiflow.order.dto.QuoteResponseDTO;
+import com.logiflow.order.service.QuoteService.Quote;
+import com.logiflow.promotion.service.PromotionEngine;
+import com.logiflow.shared.money.Money;
+import com.logiflow.shared.exception.InvalidQuoteException;
+import com.logiflow.user.service.UserService;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Currency;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("QuoteService Unit Tests")
+class QuoteServiceTest {
+
+    private static final String TEST_SKU = "SKU-001";
+    private static final List<OrderItemRequestDTO> ITEMS = List.of(new OrderItemRequestDTO(TEST_SKU, 2));
+    private static final Money PRICE = Money.of(new BigDecimal("29.99"), Currency.getInstance("USD"));
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private CatalogChangeSequence catalogChangeSequence;
+
+    @Mock
+    private PromotionEngine promotionEngine;
+
+    @Mock
+    private WarehouseAvailabilityIndex availabilityIndex;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private UserService userService;
+
+    @InjectMocks
+    private QuoteService quoteService;
+
+    private QuoteResponseDTO response;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ReflectionTestUtils.setField(quoteService, "secret", "415ea452f6ee5b59bc0756e6dd104111df42856f802e01aad18acd0e8ce7586f");
+        given(catalogChangeSequence.current()).willReturn(41L);
+        given(productService.findBySkus(List.of(TEST_SKU))).willReturn(List.of(
+                new ProductResponseDTO("p1", "Wireless Mouse", TEST_SKU, new BigDecimal("29.99"), null, true)));
+        given(promotionEngine.version()).willReturn(7L);
+        given(promotionEngine.apply(anyList(), anyMap(), isNull())).willReturn(Map.of(TEST_SKU, PRICE));
+        given(availabilityIndex.stock(TEST_SKU)).willReturn(new SkuStock(new int[]{0}, new int[]{10}, new long[]{0}));
+        given(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).willReturn(1L);
+
+        response = quoteService.quote(new QuoteRequestDTO(ITEMS));
+    }
+
+    @Test
+    @DisplayName("should trust the quoted prices while the catalog is unchanged")
+    void shouldTrustPricesOfCurrentCatalog() {
+        // When
+        Quote quote = quoteService.verify(response.token(), ITEMS);
+
+        // Then
+        assertThat(response.held()).isTrue();
+        assertThat(response.total()).isEqualByComparingTo("59.98");
+        assertThat(quoteService.trustedPrices(quote, Map.of(TEST_SKU, 2), null))
+                .contains(Map.of(TEST_SKU, PRICE));
+    }
+
+    @Test
+    @DisplayName("should ask for re-validation once the catalog has changed")
+    void shouldDistrustPricesOfChangedCatalog() {
+        // Given
+        Quote quote = quoteService.verify(response.token(), ITEMS);
+        given(catalogChangeSequence.current()).willReturn(42L);
+
+        // When / Then
+        assertThat(quoteService.trustedPrices(quote, Map.of(TEST_SKU, 2), null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should re-price an order for other quantities or another customer group")
+    void shouldDistrustPricesOfDifferentOrder() {
+        // Given
+        Quote quote = quoteService.verify(response.token(), ITEMS);
+
+        // When / Then
+        assertThat(quoteService.trustedPrices(quote, Map.of(TEST_SKU, 12), null)).isEmpty();
+        assertThat(quoteService.trustedPrices(quote, Map.of(TEST_SKU, 2), "WHOLESALE")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should reject a tampered token and SKUs the quote does not cover")
+    void shouldRejectTamperedOrUncoveredQuotes() {
+        // Given
+        String token = response.token();
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        // When / Then
+        assertThatThrownBy(() -> quoteService.verify(tampered, ITEMS))
+                .isInstanceOf(InvalidQuoteException.class);
+        assertThatThrownBy(() -> quoteService.verify(token, List.of(new OrderItemRequestDTO("SKU-002", 1))))
+                .isInstanceOf(InvalidQuoteException.class)
+                .hasMessageContaining("SKU-002");
+    }
+
+    @Test
+    @DisplayName("should expire the quote when a promotion starts or ends")
+    void shouldExpireWithNextPromotionChange() {
+        // Given
+        Instant promotionEnds = Instant.now().plusSeconds(60);
+        given(promotionEngine.nextChange()).willReturn(Optional.of(promotionEnds));
+
+        // When
+        QuoteResponseDTO capped = quoteService.quote(new QuoteRequestDTO(ITEMS));
+
+        // Then
+        assertThat(capped.expiresAt()).isEqualTo(LocalDateTime.ofInstant(promotionEnds, ZoneId.systemDefault()));
+        assertThat(response.expiresAt()).isAfter(capped.expiresAt());
+    }
+
+    @Test
+    @DisplayName("should reject a token signed before prices carried a currency")
+    void shouldRejectOutdatedQuoteFormat() {
+        // Given
+        SecretKey key = ReflectionTestUtils.invokeMethod(quoteService, "signingKey");
+        String outdated = Jwts.builder()
+                .id("q-old")
+                .audience().add("logiflow-quote").and()
+                .expiration(Date.from(Instant.now().plusSeconds(60)))
+                .claim("cv", 41L)
+                .claim("pv", 7L)
+                .claim("lines", List.of(Map.of("sku", TEST_SKU, "qty", 2, "price", "29.99")))
+                .signWith(key)
+                .compact();
+
+        // When / Then
+        assertThatThrownBy(() -> quoteService.verify(outdated, ITEMS))
+                .isInstanceOf(InvalidQuoteException.class)
+                .hasMessageContaining("outdated");
+    }
+}
@@ -0,0 +1,115 @@
+package com.logiflow.picking.service;
+
+import com.logiflow.picking.service.PickWavePlanner.PlannedPick;
+import com.logiflow.picking.service.PickWavePlanner.PlannedWave;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PickWavePlanner Unit Tests")
+class PickWavePlannerTest {
+
+    private final PickWavePlanner planner = new PickWavePlanner();
+
+    @Nested
+    @DisplayName("plan")
+    class Plan {
+
+        @Test
+        @DisplayName("should put orders sharing bins into the same wave")
+        void shouldGroupOrdersBySharedBins() {
+            // Given
+            PickDemand demand = new PickDemand();
+            demand.add(1L, "SKU-A", 1, "A", 1, 1);
+            demand.add(2L, "SKU-Z", 1, "A", 9, 30);
+            demand.add(3L, "SKU-B", 1, "A", 2, 5);
+            demand.add(4L, "SKU-Z", 2, "A", 9, 30);
+
+            // When
+            List<PlannedWave> waves = planner.plan(demand, 2);
+
+            // Then
+            assertThat(waves).extracting(wave -> Arrays.stream(wave.orderIds()).sorted().boxed().toList())
+                    .containsExactlyInAnyOrder(List.of(1L, 3L), List.of(2L, 4L));
+            PlannedWave shared = waves.stream().filter(wave -> wave.picks().size() == 1).findFirst().orElseThrow();
+            assertThat(shared.picks()).containsExactly(new PlannedPick("SKU-Z", 9, 30, 3));
+        }
+
+        @Test
+        @DisplayName("should plan each zone separately and keep lines without a bin apart")
+        void shouldSplitByZone() {
+            // Given
+            PickDemand demand = new PickDemand();
+            demand.add(1L, "SKU-A", 1, "A", 1, 1);
+            demand.add(1L, "SKU-B", 1, "B", 1, 1);
+            demand.add(1L, "SKU-C", 1, null, null, null);
+
+            // When
+            List<PlannedWave> waves = planner.plan(demand, 10);
+
+            // Then
+            assertThat(waves).extracting(PlannedWave::zone)
+                    .containsExactlyInAnyOrder("A", "B", PickDemand.UNASSIGNED_ZONE);
+        }
+
+        @Test
+        @DisplayName("should route a wave up one aisle and down the next instead of zig-zagging")
+        void shouldRouteWithoutCrossing() {
+            // Given
+            PickDemand demand = new PickDemand();
+            demand.add(1L, "SKU-1", 1, "A", 1, 2);
+            demand.add(1L, "SKU-2", 1, "A", 2, 9);
+            demand.add(1L, "SKU-3", 1, "A", 1, 9);
+            demand.add(1L, "SKU-4", 1, "A", 2, 2);
+
+            // When
+            PlannedWave wave = planner.plan(demand, 10).getFirst();
+
+            // Then
+            List<String> route = wave.picks().stream().map(PlannedPick::sku).toList();
+            assertThat(route).isIn(
+                    List.of("SKU-1", "SKU-3", "SKU-2", "SKU-4"),
+                    List.of("SKU-4", "SKU-2", "SKU-3", "SKU-1"));
+            // In at aisle 1 (5), up it (7), across the back (5), down aisle 2 (7), back to the depot (8)
+            assertThat(wave.routeLength()).isEqualTo(5 + 7 + 5 + 7 + 8);
+        }
+
+        @Test
+        @DisplayName("should place every order in exactly one wave per zone")
+        void shouldCoverAllOrders() {
+            // Given
+            PickDemand demand = new PickDemand();
+            Random random = new Random(42);
+            int orders = 20_000;
+            for (long order = 1; order <= orders; order++) {
+                for (int line = 0; line < 3; line++) {
+                    int sku = random.nextInt(2_000);
+                    demand.add(order, "SKU-" + sku, 1, "Z" + sku % 8, 1 + sku % 40, 1 + sku / 40);
+                }
+            }
+
+            // When
+            List<PlannedWave> waves = planner.plan(demand, 40);
+
+            // Then
+            assertThat(waves).allSatisfy(wave -> assertThat(wave.orderIds().length).isBetween(1, 40));
+            long placements = waves.stream().mapToLong(wave -> wave.orderIds().length).sum();
+            long expected = 0;
+            for (String zone : waves.stream().map(PlannedWave::zone).distinct().toList()) {
+                long[] ids = waves.stream().filter(wave -> wave.zone().equals(zone))
+                        .flatMapToLong(wave -> Arrays.stream(wave.orderIds())).toArray();
+                assertThat(Arrays.stream(ids).distinct().count()).isEqualTo(ids.length);
+                expected += ids.length;
+            }
+            assertThat(placements).isEqualTo(expected);
+            assertThat(waves.stream().mapToInt(wave -> wave.picks().stream().mapToInt(PlannedPick::quantity).sum()).sum())
+                    .isEqualTo(orders * 3);
+        }
+    }
+}
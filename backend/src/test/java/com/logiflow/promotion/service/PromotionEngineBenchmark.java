@@ -0,0 +1,111 @@
+package com.logiflow.promotion.service;
+
+import com.logiflow.catalog.dto.ProductResponseDTO;
+import com.logiflow.promotion.model.Promotion;
+import com.logiflow.promotion.model.PromotionType;
+import com.logiflow.shared.money.Money;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prices a 100-line basket against a few thousand active promotions, split between SKU, attribute
+ * and catalog-wide rules. Run with
+ * {@code ./mvnw test-compile exec:exec -Dbenchmark=com.logiflow.promotion.service.PromotionEngineBenchmark}.
+ * It has not been run yet, so there are no figures for the compiled rules to quote.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class PromotionEngineBenchmark {
+
+    private static final int CATALOG_SIZE = 50_000;
+    private static final int BASKET_LINES = 100;
+    private static final String[] COLORS = {"black", "white", "red", "blue", "green", "grey", "silver", "gold"};
+    private static final Currency USD = Currency.getInstance("USD");
+    private static final String[] BRANDS = new String[200];
+
+    static {
+        for (int i = 0; i < BRANDS.length; i++) {
+            BRANDS[i] = "brand-" + i;
+        }
+    }
+
+    @Param({"1000", "5000"})
+    int promotions;
+
+    private PromotionRules rules;
+    private List<ProductResponseDTO> basket;
+    private Money[] listPrices;
+    private Map<String, Integer> quantities;
+    private long now;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+
+        List<Promotion> active = new ArrayList<>(promotions);
+        for (int i = 0; i < promotions; i++) {
+            PromotionType type = PromotionType.values()[i % PromotionType.values().length];
+            Promotion.PromotionBuilder promotion = Promotion.builder()
+                    .name("promotion-" + i)
+                    .type(type)
+                    .minQuantity(1 + random.nextInt(3) * 5)
+                    .customerGroup(random.nextInt(4) == 0 ? "WHOLESALE" : null)
+                    .percentOff(BigDecimal.valueOf(5 + random.nextInt(30)))
+                    .price(BigDecimal.valueOf(1 + random.nextInt(5_000), 2))
+                    .buyQuantity(2 + random.nextInt(3))
+                    .freeQuantity(1);
+            int target = random.nextInt(100);
+            if (target < 85) {
+                promotion.sku(sku(random.nextInt(CATALOG_SIZE)));
+            } else if (target < 99) {
+                promotion.attributeName("brand").attributeValue(BRANDS[random.nextInt(BRANDS.length)]);
+            } else {
+                promotion.attributeName("color").attributeValue(COLORS[random.nextInt(COLORS.length)]);
+            }
+            active.add(promotion.build());
+        }
+        rules = PromotionRules.compile(active, 1, ZoneId.systemDefault(), USD);
+
+        basket = new ArrayList<>(BASKET_LINES);
+        listPrices = new Money[BASKET_LINES];
+        quantities = new HashMap<>();
+        for (int i = 0; i < BASKET_LINES; i++) {
+            String sku = sku(random.nextInt(CATALOG_SIZE));
+            basket.add(new ProductResponseDTO("p" + i, "Product " + i, sku, BigDecimal.valueOf(100 + random.nextInt(10_000), 2),
+                    Map.of("brand", BRANDS[random.nextInt(BRANDS.length)], "color", COLORS[random.nextInt(COLORS.length)]), true));
+            listPrices[i] = Money.of(basket.get(i).price(), USD);
+            quantities.put(sku, 1 + random.nextInt(20));
+        }
+        now = System.currentTimeMillis();
+    }
+
+    @Benchmark
+    public Map<String, Money> priceBasket() {
+        Map<String, Money> prices = HashMap.newHashMap(basket.size());
+        for (int i = 0; i < BASKET_LINES; i++) {
+            ProductResponseDTO product = basket.get(i);
+            prices.put(product.sku(), rules.unitPrice(product.sku(), product.attributes(), listPrices[i],
+                    quantities.get(product.sku()), "WHOLESALE", now));
+        }
+        return prices;
+    }
+
+    private static String sku(int i) {
+        return "SKU-" + i;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PromotionEngineBenchmark.class.getSimpleName()).build()).run();
+    }
+}
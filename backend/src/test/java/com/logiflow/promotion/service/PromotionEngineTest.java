@@ -0,0 +1,145 @@
+package com.logiflow.promotion.service;
+
+import com.logiflow.catalog.dto.ProductResponseDTO;
+import com.logiflow.promotion.model.Promotion;
+import com.logiflow.promotion.model.PromotionType;
+import com.logiflow.promotion.repository.PromotionRepository;
+import com.logiflow.promotion.repository.PromotionVersionRepository;
+import com.logiflow.shared.money.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.*;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PromotionEngine Unit Tests")
+class PromotionEngineTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 10, 12, 0);
+
+    private static final ProductResponseDTO MOUSE = new ProductResponseDTO(
+            "p1", "Wireless Mouse", "WM-001", new BigDecimal("20.00"), Map.of("color", "black"), true);
+    private static final ProductResponseDTO CABLE = new ProductResponseDTO(
+            "p2", "USB Cable", "UC-001", new BigDecimal("9.00"), Map.of("color", "white"), true);
+
+    @Mock
+    private PromotionRepository promotionRepository;
+
+    @Mock
+    private PromotionVersionRepository promotionVersionRepository;
+
+    private PromotionEngine promotionEngine;
+
+    @BeforeEach
+    void setUp() {
+        promotionEngine = new PromotionEngine(promotionRepository, promotionVersionRepository,
+                Clock.fixed(NOW.atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault()));
+    }
+
+    @Test
+    @DisplayName("should apply the lowest price from SKU, attribute and catalog-wide rules")
+    void shouldPickLowestPrice() {
+        // Given
+        compile(
+                promotion(PromotionType.PERCENT_OFF).sku("WM-001").percentOff(new BigDecimal("10")).build(),
+                promotion(PromotionType.PERCENT_OFF).attributeName("color").attributeValue("black").percentOff(new BigDecimal("15")).build(),
+                promotion(PromotionType.PERCENT_OFF).percentOff(new BigDecimal("5")).build(),
+                promotion(PromotionType.PERCENT_OFF).percentOff(new BigDecimal("50")).endsAt(NOW.minusDays(1)).build());
+
+        // When
+        Map<String, Money> prices = promotionEngine.apply(List.of(MOUSE, CABLE), Map.of("WM-001", 1, "UC-001", 1), null);
+
+        // Then
+        assertThat(prices.get("WM-001").toBigDecimal()).isEqualByComparingTo("17.00");
+        assertThat(prices.get("UC-001").toBigDecimal()).isEqualByComparingTo("8.55");
+    }
+
+    @Test
+    @DisplayName("should apply quantity tiers and group prices only when they qualify")
+    void shouldApplyTiersAndGroupPrices() {
+        // Given
+        compile(
+                promotion(PromotionType.FIXED_PRICE).sku("WM-001").minQuantity(10).price(new BigDecimal("18.00")).build(),
+                promotion(PromotionType.FIXED_PRICE).sku("WM-001").minQuantity(50).price(new BigDecimal("16.00")).build(),
+                promotion(PromotionType.FIXED_PRICE).sku("WM-001").customerGroup("WHOLESALE").price(new BigDecimal("17.00")).build());
+
+        // When / Then
+        assertThat(mousePrice(9, null)).isEqualByComparingTo("20.00");
+        assertThat(mousePrice(10, null)).isEqualByComparingTo("18.00");
+        assertThat(mousePrice(10, "WHOLESALE")).isEqualByComparingTo("17.00");
+        assertThat(mousePrice(60, "WHOLESALE")).isEqualByComparingTo("16.00");
+    }
+
+    @Test
+    @DisplayName("should spread free units of buy-X-get-Y over the line")
+    void shouldSpreadFreeUnits() {
+        // Given
+        compile(promotion(PromotionType.BUY_X_GET_Y).sku("UC-001").buyQuantity(2).freeQuantity(1).build());
+
+        // When
+        Money unitPrice = promotionEngine.apply(List.of(CABLE), Map.of("UC-001", 7), null).get("UC-001");
+
+        // Then
+        assertThat(unitPrice.toBigDecimal()).isEqualByComparingTo("6.43");
+    }
+
+    @Test
+    @DisplayName("should recompile only when the version counter moves")
+    void shouldRecompileOnVersionChange() {
+        // Given
+        compile(promotion(PromotionType.PERCENT_OFF).sku("WM-001").percentOff(new BigDecimal("10")).build());
+        given(promotionRepository.findByActiveTrue()).willReturn(List.of());
+
+        // When
+        promotionEngine.refresh();
+        BigDecimal unchanged = mousePrice(1, null);
+        given(promotionVersionRepository.findCurrent()).willReturn(Optional.of(4L));
+        promotionEngine.refresh();
+
+        // Then
+        assertThat(unchanged).isEqualByComparingTo("18.00");
+        assertThat(mousePrice(1, null)).isEqualByComparingTo("20.00");
+        assertThat(promotionEngine.version()).isEqualTo(4L);
+        then(promotionRepository).should(times(2)).findByActiveTrue();
+    }
+
+    @Test
+    @DisplayName("should report the next start or end of a promotion")
+    void shouldReportNextChange() {
+        // Given
+        compile(
+                promotion(PromotionType.PERCENT_OFF).sku("WM-001").percentOff(new BigDecimal("10")).endsAt(NOW.plusHours(2)).build(),
+                promotion(PromotionType.PERCENT_OFF).sku("UC-001").percentOff(new BigDecimal("10")).startsAt(NOW.plusHours(1)).build(),
+                promotion(PromotionType.PERCENT_OFF).percentOff(new BigDecimal("5")).startsAt(NOW.minusDays(1)).build());
+
+        // When / Then
+        assertThat(promotionEngine.nextChange()).contains(NOW.plusHours(1).atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private BigDecimal mousePrice(int quantity, String customerGroup) {
+        return promotionEngine.apply(List.of(MOUSE), Map.of("WM-001", quantity), customerGroup).get("WM-001").toBigDecimal();
+    }
+
+    private void compile(Promotion... promotions) {
+        given(promotionVersionRepository.findCurrent()).willReturn(Optional.of(3L));
+        given(promotionRepository.findByActiveTrue()).willReturn(List.of(promotions));
+        promotionEngine.refresh();
+    }
+
+    private static Promotion.PromotionBuilder promotion(PromotionType type) {
+        return Promotion.builder().name(type.name()).type(type);
+    }
+}
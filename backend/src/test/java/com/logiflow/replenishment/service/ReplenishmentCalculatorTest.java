@@ -0,0 +1,59 @@
+package com.logiflow.replenishment.service;
+
+import com.logiflow.replenishment.service.ReplenishmentCalculator.Chunk;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("ReplenishmentCalculator Unit Tests")
+class ReplenishmentCalculatorTest {
+
+    // 10-day window, 2 days lead time, 5 days review period, z = 2
+    private final ReplenishmentCalculator calculator = new ReplenishmentCalculator(10, 2, 5, 2.0);
+
+    @Test
+    @DisplayName("should suggest topping up stock once it falls to the reorder point")
+    void shouldSuggestReorderBelowReorderPoint() {
+        // Given
+        Chunk chunk = new Chunk(4);
+        chunk.startSku("SKU-LOW", 10);
+        for (int day = 0; day < 10; day++) {
+            chunk.addDailyDemand(day % 2 == 0 ? 4 : 6);
+        }
+
+        // When
+        calculator.submit(chunk, ForkJoinPool.commonPool()).join();
+
+        // Then
+        assertThat(chunk.mean[0]).isEqualTo(5.0);
+        assertThat(chunk.stdDev[0]).isCloseTo(1.0, within(1e-9));
+        assertThat(chunk.daysOfCover[0]).isEqualTo(2.0);
+        // 5 * 2 + 2 * 1 * sqrt(2) = 12.83
+        assertThat(chunk.reorderPoint[0]).isEqualTo(13);
+        // 5 * 7 + 2.83 = 37.83, minus 10 available
+        assertThat(chunk.reorderQuantity[0]).isEqualTo(28);
+    }
+
+    @Test
+    @DisplayName("should not reorder SKUs that are well stocked or have no demand")
+    void shouldNotReorderWhenCovered() {
+        // Given
+        Chunk chunk = new Chunk(4);
+        chunk.startSku("SKU-STOCKED", 500);
+        chunk.addDailyDemand(20);
+        chunk.startSku("SKU-IDLE", 0);
+
+        // When
+        calculator.submit(chunk, ForkJoinPool.commonPool()).join();
+
+        // Then
+        assertThat(chunk.reorderQuantity[0]).isZero();
+        assertThat(chunk.daysOfCover[0]).isEqualTo(250.0);
+        assertThat(chunk.reorderQuantity[1]).isZero();
+        assertThat(chunk.daysOfCover[1]).isNaN();
+    }
+}
@@ -0,0 +1,83 @@
+package com.logiflow.shared.money;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prices and totals a large basket the way orders and quotes do (percent off, buy-X-get-Y average,
+ * line totals, basket total), once on {@link BigDecimal} and once on {@link Money}. Runs with the GC
+ * profiler, so {@code gc.alloc.rate.norm} shows the bytes allocated per basket next to the time:
+ * {@code ./mvnw test-compile exec:exec -Dbenchmark=com.logiflow.shared.money.MoneyBenchmark}.
+ * No JMH results have been recorded for it yet.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class MoneyBenchmark {
+
+    private static final Currency USD = Currency.getInstance("USD");
+    private static final BigDecimal PERCENT_OFF_FACTOR = new BigDecimal("0.85");
+
+    @Param({"100", "1000"})
+    int lines;
+
+    private BigDecimal[] decimalPrices;
+    private Money[] moneyPrices;
+    private int[] quantities;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        decimalPrices = new BigDecimal[lines];
+        moneyPrices = new Money[lines];
+        quantities = new int[lines];
+        for (int i = 0; i < lines; i++) {
+            decimalPrices[i] = BigDecimal.valueOf(100 + random.nextInt(100_000), 2);
+            moneyPrices[i] = Money.of(decimalPrices[i], USD);
+            quantities[i] = 1 + random.nextInt(50);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalBasket() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < lines; i++) {
+            int quantity = quantities[i];
+            BigDecimal unit = decimalPrices[i].multiply(PERCENT_OFF_FACTOR).setScale(2, RoundingMode.HALF_UP);
+            unit = unit.multiply(BigDecimal.valueOf(quantity - quantity / 3))
+                    .divide(BigDecimal.valueOf(quantity), 2, RoundingMode.HALF_UP);
+            total = total.add(unit.multiply(BigDecimal.valueOf(quantity)));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Money moneyBasket() {
+        Money total = Money.zero(USD);
+        for (int i = 0; i < lines; i++) {
+            int quantity = quantities[i];
+            Money unit = moneyPrices[i].times(85, 100).times(quantity - quantity / 3, quantity);
+            total = total.plus(unit.times(quantity));
+        }
+        return total;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MoneyBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
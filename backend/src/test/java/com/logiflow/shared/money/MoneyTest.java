@@ -0,0 +1,54 @@
+package com.logiflow.shared.money;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Money Unit Tests")
+class MoneyTest {
+
+    private static final Currency USD = Currency.getInstance("USD");
+    private static final Currency JPY = Currency.getInstance("JPY");
+
+    @Test
+    @DisplayName("should convert at the edges using the currency's minor units")
+    void shouldConvertUsingMinorUnits() {
+        // When
+        Money dollars = Money.of(new BigDecimal("29.995"), USD);
+        Money yen = Money.of(new BigDecimal("1500"), JPY);
+
+        // Then
+        assertThat(dollars.minorUnits()).isEqualTo(3000);
+        assertThat(dollars.toBigDecimal()).isEqualTo(new BigDecimal("30.00"));
+        assertThat(yen.minorUnits()).isEqualTo(1500);
+        assertThat(yen.toBigDecimal()).isEqualTo(new BigDecimal("1500"));
+    }
+
+    @Test
+    @DisplayName("should round ratios half away from zero")
+    void shouldRoundRatiosHalfUp() {
+        // Given
+        Money price = new Money(900, USD);
+
+        // When / Then
+        assertThat(price.times(5, 7).minorUnits()).isEqualTo(643);
+        assertThat(new Money(5, USD).times(1, 2).minorUnits()).isEqualTo(3);
+        assertThat(new Money(-5, USD).times(1, 2).minorUnits()).isEqualTo(-3);
+        assertThat(price.times(3).plus(new Money(1, USD)).minorUnits()).isEqualTo(2701);
+    }
+
+    @Test
+    @DisplayName("should refuse to combine currencies or overflow")
+    void shouldRefuseMixedCurrenciesAndOverflow() {
+        // When / Then
+        assertThatThrownBy(() -> new Money(100, USD).plus(new Money(100, JPY)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new Money(Long.MAX_VALUE / 2, USD).times(3))
+                .isInstanceOf(ArithmeticException.class);
+    }
+}
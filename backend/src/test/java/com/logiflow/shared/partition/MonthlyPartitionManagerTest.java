@@ -0,0 +1,109 @@
+package com.logiflow.shared.partition;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MonthlyPartitionManager Unit Tests")
+class MonthlyPartitionManagerTest {
+
+    private static final PartitionedTable ORDER_ITEMS = new PartitionedTable("order_items", "created_at");
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private MonthlyPartitionManager partitionManager;
+
+    private final List<String> statements = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        willAnswer(invocation -> statements.add(invocation.getArgument(0))).given(jdbcTemplate).execute(anyString());
+    }
+
+    @Test
+    @DisplayName("should end the legacy partition at the conversion and drop its unique constraints")
+    void shouldBoundLegacyPartitionAtConversion() {
+        // Given
+        given(jdbcTemplate.queryForObject(contains("pg_partitioned_table"), eq(Boolean.class), eq("order_items")))
+                .willReturn(false);
+        lenient().when(jdbcTemplate.queryForList(contains("SELECT indexname, indexdef FROM pg_indexes"), eq("order_items")))
+                .thenReturn(List.of(
+                        Map.of("indexname", "order_items_pkey",
+                                "indexdef", "CREATE UNIQUE INDEX order_items_pkey ON public.order_items USING btree (id)"),
+                        Map.of("indexname", "uk_order_items_sku",
+                                "indexdef", "CREATE UNIQUE INDEX uk_order_items_sku ON public.order_items USING btree (sku)"),
+                        Map.of("indexname", "idx_order_item_order_id",
+                                "indexdef", "CREATE INDEX idx_order_item_order_id ON public.order_items USING btree (order_id)")));
+        lenient().when(jdbcTemplate.queryForList(contains("FROM pg_constraint WHERE contype IN"), eq(String.class),
+                eq("order_items_legacy")))
+                .thenReturn(List.of("order_items_pkey_legacy", "uk_order_items_sku_legacy"));
+        lenient().when(jdbcTemplate.queryForList(contains("relpartbound"), eq(String.class), eq("order_items_legacy")))
+                .thenAnswer(_ -> statements.stream()
+                        .filter(statement -> statement.contains("ATTACH PARTITION"))
+                        .map(statement -> statement.substring(statement.indexOf("FOR VALUES")))
+                        .toList());
+        LocalDateTime started = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+        // When
+        partitionManager.convertIfNeeded(ORDER_ITEMS);
+
+        // Then
+        assertThat(statements).contains(
+                "ALTER TABLE order_items_legacy DROP CONSTRAINT order_items_pkey_legacy",
+                "ALTER TABLE order_items_legacy DROP CONSTRAINT uk_order_items_sku_legacy",
+                "CREATE INDEX idx_order_item_order_id ON public.order_items USING btree (order_id)");
+        assertThat(statements).noneMatch(statement -> statement.startsWith("CREATE UNIQUE"));
+
+        LocalDateTime bound = partitionManager.legacyUpperBound(ORDER_ITEMS).orElseThrow();
+        assertThat(bound).isAfter(started).isBefore(started.plusMinutes(1));
+        YearMonth month = YearMonth.from(bound);
+        assertThat(statements).last().isEqualTo(
+                "CREATE TABLE IF NOT EXISTS " + partitionManager.partitionName(ORDER_ITEMS, month) +
+                        " PARTITION OF order_items FOR VALUES FROM ('" + bound.toString().replace('T', ' ') +
+                        "') TO ('" + month.plusMonths(1).atDay(1) + " 00:00:00')");
+    }
+
+    @Test
+    @DisplayName("should create whole months after a legacy partition bounded by a date")
+    void shouldSkipMonthsCoveredByLegacyPartition() {
+        // Given
+        YearMonth next = YearMonth.now().plusMonths(1);
+        lenient().when(jdbcTemplate.queryForList(contains("relpartbound"), eq(String.class), eq("order_items_legacy")))
+                .thenReturn(List.of("FOR VALUES FROM (MINVALUE) TO ('" + next.atDay(1) + "')"));
+
+        // When
+        partitionManager.createUpcomingPartitions(ORDER_ITEMS, 2);
+
+        // Then
+        assertThat(statements).containsExactly(
+                "CREATE TABLE IF NOT EXISTS " + partitionManager.partitionName(ORDER_ITEMS, next) +
+                        " PARTITION OF order_items FOR VALUES FROM ('" + next.atDay(1) + " 00:00:00') TO ('" +
+                        next.plusMonths(1).atDay(1) + " 00:00:00')",
+                "CREATE TABLE IF NOT EXISTS " + partitionManager.partitionName(ORDER_ITEMS, next.plusMonths(1)) +
+                        " PARTITION OF order_items FOR VALUES FROM ('" + next.plusMonths(1).atDay(1) + " 00:00:00') TO ('" +
+                        next.plusMonths(2).atDay(1) + " 00:00:00')");
+    }
+}
@@ -0,0 +1,60 @@
+package com.logiflow.shared.sku;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SkuDictionary Unit Tests")
+class SkuDictionaryTest {
+
+    private final SkuDictionary dictionary = new SkuDictionary();
+
+    @Test
+    @DisplayName("should assign dense ids that survive growing the table")
+    void shouldAssignDenseIds() {
+        // When
+        for (int i = 0; i < 20_000; i++) {
+            assertThat(dictionary.encode("SKU-" + i)).isEqualTo(i);
+        }
+
+        // Then
+        assertThat(dictionary.size()).isEqualTo(20_000);
+        assertThat(dictionary.idOf("SKU-12345")).isEqualTo(12_345);
+        assertThat(dictionary.decode(19_999)).isEqualTo("SKU-19999");
+        assertThat(dictionary.idOf("SKU-20000")).isEqualTo(-1);
+        assertThat(dictionary.encode("SKU-7")).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("should give concurrent callers the same id for the same SKU")
+    void shouldEncodeConsistentlyUnderContention() throws Exception {
+        // Given
+        List<Future<int[]>> results = new ArrayList<>();
+
+        // When
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int thread = 0; thread < 8; thread++) {
+                results.add(executor.submit(() -> IntStream.range(0, 10_000)
+                        .map(i -> dictionary.encode("SKU-" + i))
+                        .toArray()));
+            }
+        }
+
+        // Then
+        int[] first = results.getFirst().get();
+        for (Future<int[]> result : results) {
+            assertThat(result.get()).containsExactly(first);
+        }
+        assertThat(dictionary.size()).isEqualTo(10_000);
+        assertThat(IntStream.of(first).distinct().count()).isEqualTo(10_000);
+        IntStream.range(0, 10_000).forEach(i -> assertThat(dictionary.decode(first[i])).isEqualTo("SKU-" + i));
+    }
+}
@@ -0,0 +1,110 @@
+package com.logiflow.sync.service;
+
+import com.logiflow.catalog.model.Product;
+import com.logiflow.catalog.repository.ProductRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SyncService Unit Tests")
+class SyncServiceTest {
+
+    private static final String WATERMARK_SQL = "SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @InjectMocks
+    private SyncService syncService;
+
+    @Test
+    @DisplayName("should send rows stamped from the cursor up to the watermark and hand out the watermark next")
+    void shouldSendChangesBetweenCursorAndWatermark() throws Exception {
+        // Given
+        given(jdbcTemplate.queryForObject(WATERMARK_SQL, Long.class)).willReturn(120L);
+        given(jdbcTemplate.queryForObject(contains("count(*)"), eq(Long.class), eq(100L), eq(120L))).willReturn(1L);
+        given(productRepository.streamByChangeSeqGreaterThanAndChangedAtBeforeOrderByChangeSeqAsc(eq(5L), any(Instant.class)))
+                .willReturn(Stream.of(Product.builder()
+                        .id("p-1").sku("WM-001").name("Wireless Mouse").price(new BigDecimal("29.99")).changeSeq(9L)
+                        .build()));
+        PreparedStatement statement = mock(PreparedStatement.class);
+        willAnswer(invocation -> {
+            Connection connection = mock(Connection.class);
+            given(connection.prepareStatement(anyString())).willReturn(statement);
+            assertThat(invocation.<PreparedStatementCreator>getArgument(0).createPreparedStatement(connection))
+                    .isSameAs(statement);
+            then(connection).should().prepareStatement(contains("WHERE i.change_seq >= ? AND i.change_seq < ?"));
+            ResultSet rs = mock(ResultSet.class);
+            given(rs.getLong(1)).willReturn(17L);
+            given(rs.getString(2)).willReturn("MAIN");
+            given(rs.getString(3)).willReturn("WM-001");
+            given(rs.getInt(4)).willReturn(200);
+            given(rs.getInt(5)).willReturn(50);
+            invocation.<RowCallbackHandler>getArgument(1).processRow(rs);
+            return null;
+        }).given(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        syncService.writeChanges("100.5", out);
+
+        // Then
+        // The cursor is inclusive: a transaction still running when it was handed out has an id at or above it
+        then(statement).should().setObject(1, 100L);
+        then(statement).should().setObject(2, 120L);
+        assertThat(out.toString(StandardCharsets.UTF_8).lines()).containsExactly(
+                "{\"resync\":false}",
+                "[\"i\",17,\"MAIN\",\"WM-001\",200,50]",
+                "[\"p\",\"p-1\",\"WM-001\",\"Wireless Mouse\",29.99]",
+                "{\"next\":\"120.9\"}");
+    }
+
+    @Test
+    @DisplayName("should ask for a resync when the cursor is unreadable, ahead of the database or too far behind")
+    void shouldRequestResyncForUnusableCursors() {
+        // Given
+        given(jdbcTemplate.queryForObject(WATERMARK_SQL, Long.class)).willReturn(120L);
+        given(jdbcTemplate.queryForObject(contains("count(*)"), eq(Long.class), eq(3L), eq(120L))).willReturn(20_001L);
+
+        for (String cursor : new String[]{"garbage", "121.0", "3.0"}) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            // When
+            syncService.writeChanges(cursor, out);
+
+            // Then
+            assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("{\"resync\":true}\n");
+        }
+        then(jdbcTemplate).should(never()).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+}
@@ -14,5 +14,10 @@ export const inventoryService = {
     return api.get('/inventory/batch', {
       params: {skus: skus.join(',')}
     })
+  },
+
+  streamStock(skus) {
+    const query = new URLSearchParams({skus: skus.join(',')})
+    return new EventSource(`/api/v1/inventory/stream?${query}`, {withCredentials: true})
   }
 }
@@ -1,12 +1,17 @@
 import {defineStore} from "pinia";
 import {ref} from "vue";
 import {inventoryService} from "@/services/inventoryService.js";
+import api from "@/services/api.js";
+
+const STREAM_RETRY_MS = 5000
 
 export const useInventoryStore = defineStore('inventory', () => {
   const stock = ref(null)
   const loading = ref(false)
   const error = ref(null)
   const inventoryMap = ref({})
+  let stockStream = null
+  let streamRetryTimer = null
 
   async function fetchStock(sku) {
     loading.value = true
@@ -63,6 +68,40 @@ export const useInventoryStore = defineStore('inventory', () => {
     }
   }
 
+  // Keeps inventoryMap live for the given SKUs; the server pushes the latest levels as they change
+  function watchStock(skus) {
+    unwatchStock()
+    if (!skus || skus.length === 0) return
+
+    stockStream = inventoryService.streamStock(skus)
+    stockStream.addEventListener('stock', event => {
+      const map = {...inventoryMap.value}
+      JSON.parse(event.data).forEach(item => {
+        map[item.sku] = item.availableQuantity
+      })
+      inventoryMap.value = map
+    })
+    stockStream.onerror = () => {
+      // The browser reconnects by itself unless the server refused the stream, e.g. an expired token
+      if (stockStream?.readyState !== EventSource.CLOSED) return
+      stockStream = null
+      streamRetryTimer = setTimeout(async () => {
+        try {
+          await api.post('/auth/refresh')
+        } catch {
+          return
+        }
+        watchStock(skus)
+      }, STREAM_RETRY_MS)
+    }
+  }
+
+  function unwatchStock() {
+    clearTimeout(streamRetryTimer)
+    stockStream?.close()
+    stockStream = null
+  }
+
   function setError(message) {
     error.value = message
   }
@@ -79,6 +118,8 @@ export const useInventoryStore = defineStore('inventory', () => {
     fetchStock,
     fetchInventoryBySKUs,
     adjustStock,
+    watchStock,
+    unwatchStock,
     setError,
     getStockBySku
   }